@@ -0,0 +1,68 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.benchmark;
+
+import java.io.IOException;
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.ProfilerConfig;
+
+/**
+ * The entry point of benchmarks.jar. Takes the same options as JMH and always adds the GC profiler,
+ * so that the allocation rate per operation (gc.alloc.rate.norm) is reported along with the scores.
+ *
+ * <pre>
+ * java -jar pcap4j-benchmark/target/benchmarks.jar [JMH options] [benchmark regexps]
+ * </pre>
+ *
+ * @since pcap4j 1.8.3
+ */
+public final class BenchmarkMain {
+
+  private BenchmarkMain() {
+    throw new AssertionError();
+  }
+
+  /**
+   * @param args JMH options and benchmark regexps
+   * @throws CommandLineOptionException if the options are invalid.
+   * @throws RunnerException if a benchmark fails.
+   * @throws IOException if JMH fails to list the benchmarks.
+   */
+  public static void main(String[] args)
+      throws CommandLineOptionException, RunnerException, IOException {
+    CommandLineOptions cmdOptions = new CommandLineOptions(args);
+    if (cmdOptions.shouldHelp()
+        || cmdOptions.shouldList()
+        || cmdOptions.shouldListWithParams()
+        || cmdOptions.shouldListProfilers()
+        || cmdOptions.shouldListResultFormats()) {
+      Main.main(args);
+      return;
+    }
+
+    ChainedOptionsBuilder options = new OptionsBuilder().parent(cmdOptions);
+    boolean hasGcProfiler = false;
+    for (ProfilerConfig profiler : cmdOptions.getProfilers()) {
+      if ("gc".equals(profiler.getKlass())
+          || GCProfiler.class.getName().equals(profiler.getKlass())) {
+        hasGcProfiler = true;
+      }
+    }
+    if (!hasGcProfiler) {
+      options.addProfiler(GCProfiler.class);
+    }
+    new Runner(options.build()).run();
+  }
+}
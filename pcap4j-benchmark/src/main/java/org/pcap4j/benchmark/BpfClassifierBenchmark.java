@@ -0,0 +1,132 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pcap4j.benchmark.PcapFileReader.PcapFile;
+import org.pcap4j.core.BpfClassifier;
+import org.pcap4j.core.BpfProgram;
+import org.pcap4j.core.BpfProgram.BpfCompileMode;
+import org.pcap4j.core.PcapHandle;
+import org.pcap4j.core.PcapNativeException;
+import org.pcap4j.core.Pcaps;
+import org.pcap4j.packet.namednumber.DataLinkType;
+
+/**
+ * Tags the Ethernet frames in the pcap files of pcap4j-packettest against a number of BPF
+ * expressions, one {@link BpfProgram} at a time or with a {@link BpfClassifier}. The expressions
+ * are compiled by libpcap, which needs to be installed.
+ *
+ * @since pcap4j 1.8.3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BpfClassifierBenchmark {
+
+  private static final String[] EXPRESSION_TEMPLATES = {
+    "tcp port %d", "udp dst port %d", "host 192.0.2.%d", "ip6 and tcp src port %d", "vlan %d",
+  };
+
+  /** The number of BPF expressions. */
+  @Param({"1", "10", "50", "200"})
+  public int filterCount;
+
+  private byte[][] frames;
+  private List<BpfProgram> programs;
+  private BpfClassifier classifier;
+  private BitSet result;
+
+  /**
+   * Loads the frames and compiles the expressions.
+   *
+   * @throws IOException if the pcap files can't be read.
+   * @throws PcapNativeException if libpcap fails to compile an expression.
+   */
+  @Setup
+  public void setUp() throws IOException, PcapNativeException {
+    List<byte[]> frameList = new ArrayList<byte[]>();
+    for (String name : PcapFileReader.listPacketTestPcaps()) {
+      PcapFile pcap = PcapFileReader.read(name);
+      if (pcap.getLinkType() == DataLinkType.EN10MB.value()) {
+        frameList.addAll(pcap.getFrames());
+      }
+    }
+    frames = frameList.toArray(new byte[frameList.size()][]);
+
+    programs = new ArrayList<BpfProgram>(filterCount);
+    for (int i = 0; i < filterCount; i++) {
+      String expression =
+          String.format(EXPRESSION_TEMPLATES[i % EXPRESSION_TEMPLATES.length], i + 1);
+      programs.add(
+          Pcaps.compileFilter(
+              65536,
+              DataLinkType.EN10MB,
+              expression,
+              BpfCompileMode.OPTIMIZE,
+              PcapHandle.PCAP_NETMASK_UNKNOWN));
+    }
+    classifier = new BpfClassifier(programs);
+    result = new BitSet(filterCount);
+  }
+
+  /** Frees the programs. */
+  @TearDown
+  public void tearDown() {
+    for (BpfProgram program : programs) {
+      program.free();
+    }
+  }
+
+  /**
+   * Applies every program to every frame.
+   *
+   * @param bh bh
+   */
+  @Benchmark
+  public void applyEach(Blackhole bh) {
+    for (byte[] frame : frames) {
+      for (BpfProgram program : programs) {
+        bh.consume(program.applyFilter(frame));
+      }
+    }
+  }
+
+  /**
+   * Classifies every frame.
+   *
+   * @param bh bh
+   */
+  @Benchmark
+  public void classify(Blackhole bh) {
+    for (byte[] frame : frames) {
+      classifier.classify(frame, 0, frame.length, frame.length, result);
+      bh.consume(result);
+    }
+  }
+}
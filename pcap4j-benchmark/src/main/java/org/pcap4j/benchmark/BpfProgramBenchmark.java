@@ -0,0 +1,149 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pcap4j.benchmark.PcapFileReader.PcapFile;
+import org.pcap4j.core.BpfProgram;
+import org.pcap4j.core.BpfProgram.BpfCompileMode;
+import org.pcap4j.core.PcapHandle;
+import org.pcap4j.core.PcapNativeException;
+import org.pcap4j.core.Pcaps;
+import org.pcap4j.packet.namednumber.DataLinkType;
+
+/**
+ * Filters the Ethernet frames in the pcap files of pcap4j-packettest with a few {@link BpfProgram}s
+ * shared by 32 threads. <code>serialized</code> takes a lock per filter like applyFilter used to
+ * do, for comparison. The expressions are compiled by libpcap, which needs to be installed.
+ *
+ * @since pcap4j 1.8.3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(32)
+public class BpfProgramBenchmark {
+
+  private static final String[] EXPRESSIONS = {
+    "tcp port 80", "udp and not port 53", "icmp or icmp6", "ip6 and tcp[tcpflags] & tcp-syn != 0",
+  };
+
+  private final Object lock = new Object();
+  private byte[][] frames;
+  private BpfProgram[] programs;
+
+  /**
+   * The position of a thread in the frames.
+   *
+   * @since pcap4j 1.8.3
+   */
+  @State(Scope.Thread)
+  public static class Cursor {
+
+    private int index;
+
+    private int next(int length) {
+      int i = index;
+      index = i + 1 == length ? 0 : i + 1;
+      return i;
+    }
+  }
+
+  /**
+   * Loads the frames and compiles the expressions.
+   *
+   * @throws IOException if the pcap files can't be read.
+   * @throws PcapNativeException if libpcap fails to compile an expression.
+   */
+  @Setup
+  public void setUp() throws IOException, PcapNativeException {
+    List<byte[]> frameList = new ArrayList<byte[]>();
+    for (String name : PcapFileReader.listPacketTestPcaps()) {
+      PcapFile pcap = PcapFileReader.read(name);
+      if (pcap.getLinkType() == DataLinkType.EN10MB.value()) {
+        frameList.addAll(pcap.getFrames());
+      }
+    }
+    frames = frameList.toArray(new byte[frameList.size()][]);
+
+    programs = new BpfProgram[EXPRESSIONS.length];
+    for (int i = 0; i < programs.length; i++) {
+      programs[i] =
+          Pcaps.compileFilter(
+              65536,
+              DataLinkType.EN10MB,
+              EXPRESSIONS[i],
+              BpfCompileMode.OPTIMIZE,
+              PcapHandle.PCAP_NETMASK_UNKNOWN);
+    }
+  }
+
+  /** Frees the programs. */
+  @TearDown
+  public void tearDown() {
+    for (BpfProgram program : programs) {
+      program.free();
+    }
+  }
+
+  /**
+   * Applies all the programs to a frame.
+   *
+   * @param cursor cursor
+   * @return the number of the programs the frame passes.
+   */
+  @Benchmark
+  public int shared(Cursor cursor) {
+    byte[] frame = frames[cursor.next(frames.length)];
+    int passed = 0;
+    for (BpfProgram program : programs) {
+      if (program.applyFilter(frame)) {
+        passed++;
+      }
+    }
+    return passed;
+  }
+
+  /**
+   * Applies all the programs to a frame holding a lock per program.
+   *
+   * @param cursor cursor
+   * @return the number of the programs the frame passes.
+   */
+  @Benchmark
+  public int serialized(Cursor cursor) {
+    byte[] frame = frames[cursor.next(frames.length)];
+    int passed = 0;
+    for (BpfProgram program : programs) {
+      synchronized (lock) {
+        if (program.applyFilter(frame)) {
+          passed++;
+        }
+      }
+    }
+    return passed;
+  }
+}
@@ -0,0 +1,125 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pcap4j.util.Checksums;
+
+/**
+ * Compares the checksum calculations of {@link Checksums} with byte-at-a-time implementations, i.e.
+ * the table-driven CRC-32C and the 16-bit Internet checksum loop pcap4j used to have.
+ *
+ * @since pcap4j 1.8.3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChecksumBenchmark {
+
+  private static final int[] CRC32C_TABLE = new int[256];
+
+  static {
+    for (int i = 0; i < 256; i++) {
+      int c = i;
+      for (int j = 0; j < 8; j++) {
+        c = (c & 1) != 0 ? (c >>> 1) ^ 0x82F63B78 : c >>> 1;
+      }
+      CRC32C_TABLE[i] = c;
+    }
+  }
+
+  /** The length of the data. */
+  @Param({"64", "576", "1500", "9000"})
+  public int length;
+
+  private byte[] data;
+  private ByteBuffer directData;
+
+  /** Fills the data with random bytes. */
+  @Setup
+  public void setUp() {
+    data = new byte[length + 1];
+    new Random(1L).nextBytes(data);
+    directData = ByteBuffer.allocateDirect(length);
+    directData.put(data, 1, length);
+    directData.flip();
+  }
+
+  /** @return the CRC-32C of the data calculated one byte at a time. */
+  @Benchmark
+  public int crc32cByteTable() {
+    int c = 0xFFFFFFFF;
+    for (int i = 1; i <= length; i++) {
+      c = CRC32C_TABLE[(c ^ data[i]) & 0xFF] ^ (c >>> 8);
+    }
+    return c ^ 0xFFFFFFFF;
+  }
+
+  /** @return the CRC-32C of the data. */
+  @Benchmark
+  public int crc32cRange() {
+    return Checksums.calcCrc32c(data, 1, length);
+  }
+
+  /** @return the CRC-32C of the data in a direct buffer. */
+  @Benchmark
+  public int crc32cDirectBuffer() {
+    return Checksums.calcCrc32c(directData);
+  }
+
+  /** @return the CRC-32 of the data. */
+  @Benchmark
+  public int crc32Range() {
+    return Checksums.calcCrc32(data, 1, length);
+  }
+
+  /** @return the Adler-32 of the data. */
+  @Benchmark
+  public int adler32Range() {
+    return Checksums.calcAdler32(data, 1, length);
+  }
+
+  /** @return the Internet checksum of the data calculated 16 bits at a time. */
+  @Benchmark
+  public short internetChecksumByWord() {
+    int sum = 0;
+    int end = 1 + length - 1;
+    for (int i = 1; i < end; i += 2) {
+      sum += ((data[i] & 0xFF) << 8) | (data[i + 1] & 0xFF);
+    }
+    if ((length & 1) != 0) {
+      sum += (data[length] & 0xFF) << 8;
+    }
+    while ((sum >>> 16) != 0) {
+      sum = (sum & 0xFFFF) + (sum >>> 16);
+    }
+    return (short) ~sum;
+  }
+
+  /** @return the Internet checksum of the data. */
+  @Benchmark
+  public short internetChecksumRange() {
+    return Checksums.calcChecksum(data, 1, length);
+  }
+}
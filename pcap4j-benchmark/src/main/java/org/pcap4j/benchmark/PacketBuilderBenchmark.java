@@ -0,0 +1,183 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.benchmark;
+
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pcap4j.packet.EthernetPacket;
+import org.pcap4j.packet.IpV4Packet;
+import org.pcap4j.packet.IpV4Rfc791Tos;
+import org.pcap4j.packet.IpV6Packet;
+import org.pcap4j.packet.IpV6SimpleFlowLabel;
+import org.pcap4j.packet.IpV6SimpleTrafficClass;
+import org.pcap4j.packet.Packet;
+import org.pcap4j.packet.TcpPacket;
+import org.pcap4j.packet.UdpPacket;
+import org.pcap4j.packet.UnknownPacket;
+import org.pcap4j.packet.namednumber.EtherType;
+import org.pcap4j.packet.namednumber.IpNumber;
+import org.pcap4j.packet.namednumber.IpVersion;
+import org.pcap4j.packet.namednumber.TcpPort;
+import org.pcap4j.packet.namednumber.UdpPort;
+import org.pcap4j.util.MacAddress;
+import org.pcap4j.util.PacketTemplate;
+
+/**
+ * Builds and serializes Ethernet/IPv4/TCP and Ethernet/IPv6/UDP packets with their builders,
+ * calculating the lengths and checksums, and compares them with emitting variants of a {@link
+ * PacketTemplate}.
+ *
+ * @since pcap4j 1.8.3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketBuilderBenchmark {
+
+  private static final int PAYLOAD_LENGTH = 512;
+
+  private EthernetPacket.Builder tcpBuilder;
+  private EthernetPacket.Builder udpBuilder;
+  private EthernetPacket tcpPacket;
+  private PacketTemplate.Field templateSrcPort;
+  private byte[] frame;
+  private short port;
+
+  /**
+   * Prepares the builders and the template.
+   *
+   * @throws UnknownHostException if an address can't be parsed.
+   */
+  @Setup
+  public void setUp() throws UnknownHostException {
+    Inet4Address srcAddr4 = (Inet4Address) InetAddress.getByName("192.0.2.1");
+    Inet4Address dstAddr4 = (Inet4Address) InetAddress.getByName("198.51.100.1");
+    Inet6Address srcAddr6 = (Inet6Address) InetAddress.getByName("2001:db8::1");
+    Inet6Address dstAddr6 = (Inet6Address) InetAddress.getByName("2001:db8::2");
+    UnknownPacket.Builder payload = new UnknownPacket.Builder().rawData(new byte[PAYLOAD_LENGTH]);
+
+    TcpPacket.Builder tcpLayerBuilder = new TcpPacket.Builder();
+    tcpLayerBuilder
+        .srcPort(TcpPort.getInstance((short) 40000))
+        .dstPort(TcpPort.HTTP)
+        .sequenceNumber(1234567)
+        .acknowledgmentNumber(7654321)
+        .ack(true)
+        .psh(true)
+        .window((short) 65535)
+        .srcAddr(srcAddr4)
+        .dstAddr(dstAddr4)
+        .payloadBuilder(payload)
+        .correctChecksumAtBuild(true)
+        .correctLengthAtBuild(true)
+        .paddingAtBuild(true);
+    IpV4Packet.Builder ipV4Builder = new IpV4Packet.Builder();
+    ipV4Builder
+        .version(IpVersion.IPV4)
+        .tos(IpV4Rfc791Tos.newInstance((byte) 0))
+        .identification((short) 100)
+        .dontFragmentFlag(true)
+        .ttl((byte) 64)
+        .protocol(IpNumber.TCP)
+        .srcAddr(srcAddr4)
+        .dstAddr(dstAddr4)
+        .payloadBuilder(tcpLayerBuilder)
+        .correctChecksumAtBuild(true)
+        .correctLengthAtBuild(true)
+        .paddingAtBuild(true);
+    tcpBuilder = new EthernetPacket.Builder();
+    tcpBuilder
+        .dstAddr(MacAddress.getByName("00:00:5e:00:53:01"))
+        .srcAddr(MacAddress.getByName("00:00:5e:00:53:02"))
+        .type(EtherType.IPV4)
+        .payloadBuilder(ipV4Builder)
+        .paddingAtBuild(true);
+
+    UdpPacket.Builder udpLayerBuilder = new UdpPacket.Builder();
+    udpLayerBuilder
+        .srcPort(UdpPort.getInstance((short) 40000))
+        .dstPort(UdpPort.DOMAIN)
+        .srcAddr(srcAddr6)
+        .dstAddr(dstAddr6)
+        .payloadBuilder(payload)
+        .correctChecksumAtBuild(true)
+        .correctLengthAtBuild(true);
+    IpV6Packet.Builder ipV6Builder = new IpV6Packet.Builder();
+    ipV6Builder
+        .version(IpVersion.IPV6)
+        .trafficClass(IpV6SimpleTrafficClass.newInstance((byte) 0))
+        .flowLabel(IpV6SimpleFlowLabel.newInstance(0))
+        .nextHeader(IpNumber.UDP)
+        .hopLimit((byte) 64)
+        .srcAddr(srcAddr6)
+        .dstAddr(dstAddr6)
+        .payloadBuilder(udpLayerBuilder)
+        .correctLengthAtBuild(true);
+    udpBuilder = new EthernetPacket.Builder();
+    udpBuilder
+        .dstAddr(MacAddress.getByName("00:00:5e:00:53:01"))
+        .srcAddr(MacAddress.getByName("00:00:5e:00:53:02"))
+        .type(EtherType.IPV6)
+        .payloadBuilder(ipV6Builder)
+        .paddingAtBuild(true);
+
+    tcpPacket = tcpBuilder.build();
+    PacketTemplate template = new PacketTemplate(tcpPacket);
+    templateSrcPort = template.getSrcPort();
+    frame = template.newFrame();
+  }
+
+  /** @return the serialized Ethernet/IPv4/TCP packet built from the builders. */
+  @Benchmark
+  public byte[] buildIpV4Tcp() {
+    return tcpBuilder.build().getRawData();
+  }
+
+  /** @return the serialized Ethernet/IPv6/UDP packet built from the builders. */
+  @Benchmark
+  public byte[] buildIpV6Udp() {
+    return udpBuilder.build().getRawData();
+  }
+
+  /** @return the serialized Ethernet/IPv4/TCP packet rebuilt from a packet with a new port. */
+  @Benchmark
+  public byte[] rebuildWithNewPort() {
+    Packet.Builder builder = tcpPacket.getBuilder();
+    builder.get(TcpPacket.Builder.class).srcPort(TcpPort.getInstance(port++));
+    return builder.build().getRawData();
+  }
+
+  /** @return the frame of a variant of the Ethernet/IPv4/TCP packet with a new port. */
+  @Benchmark
+  public byte[] templateWithNewPort() {
+    templateSrcPort.setShort(frame, port++);
+    return frame;
+  }
+
+  /** @return the Ethernet/IPv4/TCP packet built from the builders. */
+  @Benchmark
+  public Packet buildIpV4TcpWithoutSerialization() {
+    return tcpBuilder.build();
+  }
+}
@@ -0,0 +1,88 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pcap4j.benchmark.PcapFileReader.PcapFile;
+import org.pcap4j.packet.Packet;
+import org.pcap4j.packet.factory.PacketFactories;
+import org.pcap4j.packet.factory.PacketFactory;
+import org.pcap4j.packet.namednumber.DataLinkType;
+
+/**
+ * Decodes all the frames in the pcap files of pcap4j-packettest with the packet factory selected by
+ * a subclass. Each subclass runs in its own fork since the packet factory is chosen once per JVM.
+ *
+ * @since pcap4j 1.8.3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public abstract class PacketFactoryBenchmark {
+
+  private PacketFactory<Packet, DataLinkType> factory;
+  private byte[][] frames;
+  private DataLinkType[] dlts;
+
+  /** @return the package name prefix of the binder which the benchmark expects to be used. */
+  protected abstract String getExpectedFactoryPackage();
+
+  /**
+   * Loads the frames and makes sure the expected packet factory is used.
+   *
+   * @throws IOException if the pcap files can't be read.
+   */
+  @Setup
+  public void setUp() throws IOException {
+    factory = PacketFactories.getFactory(Packet.class, DataLinkType.class);
+    if (!factory.getClass().getName().startsWith(getExpectedFactoryPackage())) {
+      throw new IllegalStateException(
+          factory.getClass().getName() + " is used instead of " + getExpectedFactoryPackage());
+    }
+
+    List<byte[]> frameList = new ArrayList<byte[]>();
+    List<DataLinkType> dltList = new ArrayList<DataLinkType>();
+    for (String name : PcapFileReader.listPacketTestPcaps()) {
+      PcapFile pcap = PcapFileReader.read(name);
+      DataLinkType dlt = DataLinkType.getInstance(pcap.getLinkType());
+      for (byte[] frame : pcap.getFrames()) {
+        frameList.add(frame);
+        dltList.add(dlt);
+      }
+    }
+    frames = frameList.toArray(new byte[frameList.size()][]);
+    dlts = dltList.toArray(new DataLinkType[dltList.size()]);
+  }
+
+  /**
+   * Decodes all the frames once.
+   *
+   * @param bh bh
+   */
+  @Benchmark
+  public void decodeAll(Blackhole bh) {
+    for (int i = 0; i < frames.length; i++) {
+      bh.consume(factory.newInstance(frames[i], 0, frames[i].length, dlts[i]));
+    }
+  }
+}
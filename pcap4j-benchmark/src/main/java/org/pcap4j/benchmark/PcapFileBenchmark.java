@@ -0,0 +1,158 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pcap4j.benchmark.PcapFileReader.PcapFile;
+import org.pcap4j.core.NotOpenException;
+import org.pcap4j.core.PcapDumper;
+import org.pcap4j.core.PcapHandle;
+import org.pcap4j.core.PcapNativeException;
+import org.pcap4j.core.Pcaps;
+import org.pcap4j.packet.Packet;
+import org.pcap4j.packet.namednumber.DataLinkType;
+
+/**
+ * Reads and writes a pcap file of all the Ethernet frames in the pcap files of pcap4j-packettest
+ * through libpcap, i.e. {@link Pcaps#openOffline(String)} and {@link PcapDumper}, which needs to be
+ * installed. Each operation processes the whole file, including opening and closing it.
+ *
+ * @since pcap4j 1.8.3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PcapFileBenchmark {
+
+  private static final int SNAPLEN = 65536;
+
+  private byte[][] frames;
+  private Timestamp timestamp;
+  private File inFile;
+  private File outFile;
+  private PcapHandle deadHandle;
+
+  /**
+   * Writes the frames to the file to read.
+   *
+   * @throws IOException if the pcap files can't be read or a temporary file can't be created.
+   * @throws PcapNativeException if libpcap fails.
+   * @throws NotOpenException if a handle is closed unexpectedly.
+   */
+  @Setup
+  public void setUp() throws IOException, PcapNativeException, NotOpenException {
+    List<byte[]> frameList = new ArrayList<byte[]>();
+    for (String name : PcapFileReader.listPacketTestPcaps()) {
+      PcapFile pcap = PcapFileReader.read(name);
+      if (pcap.getLinkType() == DataLinkType.EN10MB.value()) {
+        frameList.addAll(pcap.getFrames());
+      }
+    }
+    frames = frameList.toArray(new byte[frameList.size()][]);
+    timestamp = new Timestamp(System.currentTimeMillis());
+
+    inFile = File.createTempFile("pcap4j-benchmark-in", ".pcap");
+    outFile = File.createTempFile("pcap4j-benchmark-out", ".pcap");
+    deadHandle = Pcaps.openDead(DataLinkType.EN10MB, SNAPLEN);
+    PcapDumper dumper = deadHandle.dumpOpen(inFile.getPath());
+    try {
+      for (byte[] frame : frames) {
+        dumper.dumpRaw(frame, timestamp);
+      }
+    } finally {
+      dumper.close();
+    }
+  }
+
+  /** Deletes the files. */
+  @TearDown
+  public void tearDown() {
+    deadHandle.close();
+    inFile.delete();
+    outFile.delete();
+  }
+
+  /**
+   * Reads the raw frames in the file.
+   *
+   * @return the number of the frames.
+   * @throws PcapNativeException if libpcap fails.
+   * @throws NotOpenException if the handle is closed unexpectedly.
+   */
+  @Benchmark
+  public int readRaw() throws PcapNativeException, NotOpenException {
+    PcapHandle handle = Pcaps.openOffline(inFile.getPath());
+    try {
+      int count = 0;
+      while (handle.getNextRawPacket() != null) {
+        count++;
+      }
+      return count;
+    } finally {
+      handle.close();
+    }
+  }
+
+  /**
+   * Reads and decodes the frames in the file.
+   *
+   * @param bh bh
+   * @throws PcapNativeException if libpcap fails.
+   * @throws NotOpenException if the handle is closed unexpectedly.
+   */
+  @Benchmark
+  public void readPackets(Blackhole bh) throws PcapNativeException, NotOpenException {
+    PcapHandle handle = Pcaps.openOffline(inFile.getPath());
+    try {
+      Packet packet;
+      while ((packet = handle.getNextPacket()) != null) {
+        bh.consume(packet);
+      }
+    } finally {
+      handle.close();
+    }
+  }
+
+  /**
+   * Writes the frames to a file.
+   *
+   * @throws PcapNativeException if libpcap fails.
+   * @throws NotOpenException if the handle is closed unexpectedly.
+   */
+  @Benchmark
+  public void dumpRaw() throws PcapNativeException, NotOpenException {
+    PcapDumper dumper = deadHandle.dumpOpen(outFile.getPath());
+    try {
+      for (byte[] frame : frames) {
+        dumper.dumpRaw(frame, timestamp);
+      }
+    } finally {
+      dumper.close();
+    }
+  }
+}
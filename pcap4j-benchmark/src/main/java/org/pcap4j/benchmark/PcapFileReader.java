@@ -0,0 +1,174 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import org.pcap4j.util.ByteArrays;
+
+/**
+ * A minimal reader of pcap savefiles which doesn't depend on libpcap, so that benchmarks can feed
+ * the packet factories with real frames on any machine.
+ *
+ * @since pcap4j 1.8.3
+ */
+final class PcapFileReader {
+
+  private static final int MAGIC = 0xa1b2c3d4;
+  private static final int MAGIC_NANO = 0xa1b23c4d;
+  private static final int GLOBAL_HEADER_SIZE = 24;
+  private static final int RECORD_HEADER_SIZE = 16;
+
+  /** The pcap file of this resource name is used to locate the pcap files of pcap4j-packettest. */
+  private static final String ANCHOR_RESOURCE = "EthernetPacketTest.pcap";
+
+  private PcapFileReader() {
+    throw new AssertionError();
+  }
+
+  /**
+   * @return the names of the pcap files bundled in the test-jar of pcap4j-packettest.
+   * @throws IOException if an I/O error occurs.
+   */
+  static List<String> listPacketTestPcaps() throws IOException {
+    URL anchor = PcapFileReader.class.getClassLoader().getResource(ANCHOR_RESOURCE);
+    if (anchor == null) {
+      throw new IOException(ANCHOR_RESOURCE + " is not found in the class path.");
+    }
+
+    List<String> names = new ArrayList<String>();
+    if ("jar".equals(anchor.getProtocol())) {
+      JarFile jar = ((JarURLConnection) anchor.openConnection()).getJarFile();
+      Enumeration<JarEntry> entries = jar.entries();
+      while (entries.hasMoreElements()) {
+        String name = entries.nextElement().getName();
+        if (name.endsWith(".pcap") && name.indexOf('/') < 0) {
+          names.add(name);
+        }
+      }
+    } else {
+      File dir;
+      try {
+        dir = new File(anchor.toURI()).getParentFile();
+      } catch (URISyntaxException e) {
+        throw new IOException(e);
+      }
+      String[] files = dir.list();
+      if (files != null) {
+        for (String name : files) {
+          if (name.endsWith(".pcap")) {
+            names.add(name);
+          }
+        }
+      }
+    }
+    Collections.sort(names);
+    return names;
+  }
+
+  /**
+   * @param resourceName resourceName
+   * @return the frames in the pcap file.
+   * @throws IOException if an I/O error occurs or the file is not a pcap savefile.
+   */
+  static PcapFile read(String resourceName) throws IOException {
+    InputStream in = PcapFileReader.class.getClassLoader().getResourceAsStream(resourceName);
+    if (in == null) {
+      throw new IOException(resourceName + " is not found in the class path.");
+    }
+
+    byte[] data;
+    try {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buf = new byte[8192];
+      int n;
+      while ((n = in.read(buf)) != -1) {
+        out.write(buf, 0, n);
+      }
+      data = out.toByteArray();
+    } finally {
+      in.close();
+    }
+
+    if (data.length < GLOBAL_HEADER_SIZE) {
+      throw new IOException(resourceName + " is too short.");
+    }
+    int magic = ByteArrays.getInt(data, 0);
+    boolean swapped;
+    if (magic == MAGIC || magic == MAGIC_NANO) {
+      swapped = false;
+    } else if (Integer.reverseBytes(magic) == MAGIC || Integer.reverseBytes(magic) == MAGIC_NANO) {
+      swapped = true;
+    } else {
+      throw new IOException(resourceName + " is not a pcap savefile.");
+    }
+
+    int linkType = getInt(data, 20, swapped);
+    List<byte[]> frames = new ArrayList<byte[]>();
+    int offset = GLOBAL_HEADER_SIZE;
+    while (offset + RECORD_HEADER_SIZE <= data.length) {
+      int capLen = getInt(data, offset + 8, swapped);
+      offset += RECORD_HEADER_SIZE;
+      if (capLen < 0 || offset + capLen > data.length) {
+        throw new IOException(resourceName + " is truncated.");
+      }
+      frames.add(ByteArrays.getSubArray(data, offset, capLen));
+      offset += capLen;
+    }
+    return new PcapFile(resourceName, linkType, frames);
+  }
+
+  private static int getInt(byte[] data, int offset, boolean swapped) {
+    int value = ByteArrays.getInt(data, offset);
+    return swapped ? Integer.reverseBytes(value) : value;
+  }
+
+  /**
+   * The content of a pcap savefile.
+   *
+   * @since pcap4j 1.8.3
+   */
+  static final class PcapFile {
+
+    private final String name;
+    private final int linkType;
+    private final List<byte[]> frames;
+
+    private PcapFile(String name, int linkType, List<byte[]> frames) {
+      this.name = name;
+      this.linkType = linkType;
+      this.frames = Collections.unmodifiableList(frames);
+    }
+
+    /** @return name */
+    String getName() {
+      return name;
+    }
+
+    /** @return the link-layer header type of the file. */
+    int getLinkType() {
+      return linkType;
+    }
+
+    /** @return frames */
+    List<byte[]> getFrames() {
+      return frames;
+    }
+  }
+}
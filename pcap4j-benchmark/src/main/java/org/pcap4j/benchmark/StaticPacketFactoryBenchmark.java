@@ -0,0 +1,28 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.benchmark;
+
+import org.openjdk.jmh.annotations.Fork;
+
+/**
+ * {@link PacketFactoryBenchmark} with pcap4j-packetfactory-static.
+ *
+ * @since pcap4j 1.8.3
+ */
+@Fork(
+    value = 1,
+    jvmArgsAppend =
+        "-Dorg.pcap4j.packet.factory.PacketFactories.binderProviderClass="
+            + "org.pcap4j.packet.factory.statik.services.StaticPacketFactoryBinderProvider")
+public class StaticPacketFactoryBenchmark extends PacketFactoryBenchmark {
+
+  @Override
+  protected String getExpectedFactoryPackage() {
+    return "org.pcap4j.packet.factory.statik.";
+  }
+}
@@ -36,6 +36,9 @@ public final class Pcap4jPropertiesLoader {
   /** */
   public static final String DLT_RAW_KEY = KEY_PREFIX + ".dlt.raw";
 
+  /** */
+  public static final String COMPILE_SERIALIZED_KEY = KEY_PREFIX + ".compile.serialized";
+
   private static final int AF_INET_DEFAULT = 2;
   private static final int AF_PACKET_DEFAULT = 17;
   private static final int AF_LINK_DEFAULT = 18;
@@ -99,6 +102,17 @@ public final class Pcap4jPropertiesLoader {
     return loader.getInteger(DLT_RAW_KEY, getDefaultDltRaw());
   }
 
+  /**
+   * Whether calls to pcap_compile are serialized by a global lock. If this is not specified, the
+   * calls are serialized unless the BPF compiler of libpcap is reentrant, i.e. libpcap 1.8 or
+   * later.
+   *
+   * @return true if the calls are serialized; false if not; null if not specified.
+   */
+  public Boolean getCompileSerialized() {
+    return loader.getBoolean(COMPILE_SERIALIZED_KEY, null);
+  }
+
   /** @return The default address family for IPv6 addresses (platform specific) */
   private int getDefaultAfInet6() {
     switch (Platform.getOSType()) {
@@ -0,0 +1,444 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.core;
+
+import java.net.Inet4Address;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.pcap4j.core.BpfProgram.BpfCompileMode;
+import org.pcap4j.packet.Packet;
+import org.pcap4j.packet.namednumber.DataLinkType;
+
+/**
+ * Classifies packets by many BPF programs at once.
+ *
+ * <p>Programs compiled from similar expressions share long runs of identical instructions, e.g. the
+ * checks of the EtherType and the IP protocol. This class merges the programs into a decision DAG,
+ * in which a node executes an instruction once for all the programs which execute it on the same
+ * machine state, and evaluates the DAG in one pass per packet. The result is a {@link BitSet} whose
+ * bit <code>i</code> is set if the <code>i</code>th program accepts the packet.
+ *
+ * <p>This class is immutable and thread-safe.
+ *
+ * @since pcap4j 1.8.3
+ */
+public final class BpfClassifier {
+
+  private final List<String> expressions;
+  private final Node root;
+  private final int nodeCount;
+
+  /**
+   * @param programs the programs to classify packets by. The programs can be freed after this
+   *     constructor returns.
+   * @throws IllegalArgumentException if any of the programs is already freed or has an instruction
+   *     the Java implementation of <code>bpf_filter()</code> doesn't support.
+   */
+  public BpfClassifier(List<BpfProgram> programs) {
+    if (programs == null) {
+      throw new NullPointerException("programs must not be null.");
+    }
+
+    List<String> expressions = new ArrayList<String>(programs.size());
+    BpfInterpreter[] interpreters = new BpfInterpreter[programs.size()];
+    for (int i = 0; i < interpreters.length; i++) {
+      BpfProgram program = programs.get(i);
+      interpreters[i] = program.getInterpreter();
+      if (interpreters[i] == null) {
+        throw new IllegalArgumentException("The program is freed: " + program.getExpression());
+      }
+      expressions.add(program.getExpression());
+    }
+    this.expressions = Collections.unmodifiableList(expressions);
+
+    DagBuilder builder = new DagBuilder(interpreters);
+    long[] entries = new long[interpreters.length];
+    for (int i = 0; i < entries.length; i++) {
+      entries[i] = member(i, 0);
+    }
+    this.root = builder.build(entries);
+    this.nodeCount = builder.nodeCount;
+  }
+
+  /**
+   * Compiles BPF expressions by {@link Pcaps#compileFilter(int, DataLinkType, String,
+   * BpfCompileMode, Inet4Address)} and builds a classifier of them.
+   *
+   * @param snaplen snaplen
+   * @param dlt dlt
+   * @param bpfExpressions bpfExpressions
+   * @param mode mode
+   * @param netmask netmask
+   * @return a new BpfClassifier object.
+   * @throws PcapNativeException if an error occurs in the pcap native library.
+   */
+  public static BpfClassifier compile(
+      int snaplen,
+      DataLinkType dlt,
+      List<String> bpfExpressions,
+      BpfCompileMode mode,
+      Inet4Address netmask)
+      throws PcapNativeException {
+    List<BpfProgram> programs = new ArrayList<BpfProgram>(bpfExpressions.size());
+    try {
+      for (String expression : bpfExpressions) {
+        programs.add(Pcaps.compileFilter(snaplen, dlt, expression, mode, netmask));
+      }
+      return new BpfClassifier(programs);
+    } finally {
+      for (BpfProgram program : programs) {
+        program.free();
+      }
+    }
+  }
+
+  /** @return the expressions of the programs in the order of the bits of results. */
+  public List<String> getExpressions() {
+    return expressions;
+  }
+
+  /** @return the number of nodes of the decision DAG. */
+  int getNodeCount() {
+    return nodeCount;
+  }
+
+  /**
+   * @param packet the packet to classify.
+   * @return a new BitSet whose bit <code>i</code> is set if the <code>i</code>th program accepts
+   *     the packet.
+   */
+  public BitSet classify(Packet packet) {
+    int length = packet.length();
+    byte[] buffer = BpfProgram.getBuffer(length);
+    packet.writeTo(buffer, 0);
+    BitSet result = new BitSet(expressions.size());
+    classify(buffer, 0, length, length, result);
+    return result;
+  }
+
+  /**
+   * @param packet the packet to classify.
+   * @return a new BitSet whose bit <code>i</code> is set if the <code>i</code>th program accepts
+   *     the packet.
+   */
+  public BitSet classify(byte[] packet) {
+    BitSet result = new BitSet(expressions.size());
+    classify(packet, 0, packet.length, packet.length, result);
+    return result;
+  }
+
+  /**
+   * Classifies a packet into a given BitSet, which can be reused for many packets.
+   *
+   * @param packet a byte array including the packet to classify.
+   * @param offset the offset of the packet in the array.
+   * @param orgPacketLen the length of the original packet
+   * @param packetLen the length of the packet present
+   * @param result the BitSet to be cleared and to have bit <code>i</code> set if the <code>i</code>
+   *     th program accepts the packet.
+   * @throws IllegalArgumentException if the packet is out of the array.
+   */
+  public void classify(byte[] packet, int offset, int orgPacketLen, int packetLen, BitSet result) {
+    BpfInterpreter.checkRange(packet, offset, packetLen);
+    result.clear();
+    if (root != null) {
+      run(root, BpfInterpreter.clearedRegisters(), packet, offset, orgPacketLen, packetLen, result);
+    }
+  }
+
+  private static void run(
+      Node node, int[] regs, byte[] packet, int offset, int wirelen, int buflen, BitSet result) {
+    while (true) {
+      switch (node.code) {
+        case Node.RETURN:
+          for (int program : node.accepts) {
+            result.set(program);
+          }
+          if (regs[BpfInterpreter.REG_A] != 0) {
+            for (int program : node.acceptsIfA) {
+              result.set(program);
+            }
+          }
+          if (regs[BpfInterpreter.REG_X] != 0) {
+            for (int program : node.acceptsIfX) {
+              result.set(program);
+            }
+          }
+          return;
+        case Node.FORK:
+          // Every child runs on the state at the fork. Only instruction children change it.
+          Node[] children = node.children;
+          int[] saved = null;
+          boolean dirty = false;
+          for (int i = 0; i < children.length; i++) {
+            Node child = children[i];
+            if (dirty) {
+              System.arraycopy(saved, 0, regs, 0, saved.length);
+              dirty = false;
+            }
+            if (child.code != Node.RETURN && i != children.length - 1) {
+              if (saved == null) {
+                saved = regs.clone();
+              }
+              dirty = true;
+            }
+            run(child, regs, packet, offset, wirelen, buflen, result);
+          }
+          return;
+        case Node.SWITCH:
+          int index = Arrays.binarySearch(node.keys, regs[BpfInterpreter.REG_A]);
+          if (index < 0) {
+            return;
+          }
+          node = node.children[index];
+          break;
+        default:
+          switch (BpfInterpreter.step(node.code, node.k, regs, packet, offset, wirelen, buflen)) {
+            case BpfInterpreter.STEP_NEXT:
+              node = node.next;
+              break;
+            case BpfInterpreter.STEP_TRUE:
+              node = node.jt;
+              break;
+            case BpfInterpreter.STEP_FALSE:
+              node = node.jf;
+              break;
+            default:
+              return;
+          }
+      }
+      if (node == null) {
+        return;
+      }
+    }
+  }
+
+  private static long member(int program, int pc) {
+    return ((long) program << 32) | pc;
+  }
+
+  /**
+   * A node of the decision DAG, which executes an instruction, forks the execution with the same
+   * machine state, returns the results of the programs, or goes to the child whose key equals A.
+   */
+  private static final class Node {
+
+    static final int FORK = -1;
+    static final int RETURN = -2;
+    static final int SWITCH = -3;
+
+    /** An instruction code, {@link #FORK}, {@link #RETURN}, or {@link #SWITCH}. */
+    private final int code;
+
+    private int k;
+    private Node next;
+    private Node jt;
+    private Node jf;
+    private Node[] children;
+    private int[] keys;
+    private int[] accepts;
+    private int[] acceptsIfA;
+    private int[] acceptsIfX;
+
+    private Node(int code) {
+      this.code = code;
+    }
+  }
+
+  /**
+   * Builds the decision DAG. A node is built for a set of members, i.e. pairs of a program and its
+   * program counter, which are reached with the same machine state. The members which execute the
+   * same instruction stay in the same set until their instructions differ. Nodes of the same set
+   * are shared.
+   */
+  private static final class DagBuilder {
+
+    private final BpfInterpreter[] interpreters;
+    private final Map<MemberSet, Node> nodes = new HashMap<MemberSet, Node>();
+    private int nodeCount = 0;
+
+    private DagBuilder(BpfInterpreter[] interpreters) {
+      this.interpreters = interpreters;
+    }
+
+    private Node build(long[] members) {
+      for (int i = 0; i < members.length; i++) {
+        members[i] = skipJumps(members[i]);
+      }
+      Arrays.sort(members);
+      MemberSet key = new MemberSet(members);
+      if (nodes.containsKey(key)) {
+        return nodes.get(key);
+      }
+
+      List<Integer> accepts = new ArrayList<Integer>();
+      List<Integer> acceptsIfA = new ArrayList<Integer>();
+      List<Integer> acceptsIfX = new ArrayList<Integer>();
+      Map<Long, List<Long>> groups = new LinkedHashMap<Long, List<Long>>();
+      for (long member : members) {
+        int program = (int) (member >>> 32);
+        int pc = (int) member;
+        BpfInterpreter interpreter = interpreters[program];
+        int code = interpreter.getCode(pc);
+        int k = interpreter.getK(pc);
+        if (code == (BpfInterpreter.BPF_RET | BpfInterpreter.BPF_K)) {
+          if (k != 0) {
+            accepts.add(program);
+          }
+        } else if (code == (BpfInterpreter.BPF_RET | BpfInterpreter.BPF_A)) {
+          acceptsIfA.add(program);
+        } else if (code == (BpfInterpreter.BPF_RET | BpfInterpreter.BPF_X)) {
+          acceptsIfX.add(program);
+        } else {
+          Long instruction = ((long) code << 32) | (k & 0xFFFFFFFFL);
+          List<Long> group = groups.get(instruction);
+          if (group == null) {
+            group = new ArrayList<Long>();
+            groups.put(instruction, group);
+          }
+          group.add(member);
+        }
+      }
+
+      List<Node> children = new ArrayList<Node>();
+      if (!accepts.isEmpty() || !acceptsIfA.isEmpty() || !acceptsIfX.isEmpty()) {
+        Node ret = newNode(Node.RETURN);
+        ret.accepts = toArray(accepts);
+        ret.acceptsIfA = toArray(acceptsIfA);
+        ret.acceptsIfX = toArray(acceptsIfX);
+        children.add(ret);
+      }
+      // Siblings comparing A with different constants and rejecting otherwise, e.g. the checks of
+      // ports of "tcp port N" programs, are merged into a switch, which is a binary search.
+      List<Node> cases = new ArrayList<Node>();
+      for (Map.Entry<Long, List<Long>> entry : groups.entrySet()) {
+        Node child = buildInstructionNode(entry.getKey(), entry.getValue());
+        if (child.code == (BpfInterpreter.BPF_JMP | BpfInterpreter.BPF_JEQ | BpfInterpreter.BPF_K)
+            && child.jf == null) {
+          cases.add(child);
+        } else {
+          children.add(child);
+        }
+      }
+      if (cases.size() == 1) {
+        children.add(cases.get(0));
+      } else if (cases.size() > 1) {
+        Collections.sort(
+            cases,
+            new Comparator<Node>() {
+              @Override
+              public int compare(Node o1, Node o2) {
+                return o1.k < o2.k ? -1 : o1.k == o2.k ? 0 : 1;
+              }
+            });
+        Node child = newNode(Node.SWITCH);
+        child.keys = new int[cases.size()];
+        child.children = new Node[cases.size()];
+        for (int i = 0; i < child.keys.length; i++) {
+          child.keys[i] = cases.get(i).k;
+          child.children[i] = cases.get(i).jt;
+        }
+        children.add(child);
+      }
+
+      Node node;
+      if (children.isEmpty()) {
+        node = null;
+      } else if (children.size() == 1) {
+        node = children.get(0);
+      } else {
+        node = newNode(Node.FORK);
+        node.children = children.toArray(new Node[children.size()]);
+      }
+      nodes.put(key, node);
+      return node;
+    }
+
+    private Node buildInstructionNode(long instruction, List<Long> members) {
+      Node node = newNode((int) (instruction >>> 32));
+      node.k = (int) instruction;
+      if ((node.code & 0x07) == BpfInterpreter.BPF_JMP) {
+        long[] trueMembers = new long[members.size()];
+        long[] falseMembers = new long[members.size()];
+        for (int i = 0; i < trueMembers.length; i++) {
+          long member = members.get(i);
+          int program = (int) (member >>> 32);
+          int pc = (int) member;
+          trueMembers[i] = member(program, pc + 1 + interpreters[program].getJt(pc));
+          falseMembers[i] = member(program, pc + 1 + interpreters[program].getJf(pc));
+        }
+        node.jt = build(trueMembers);
+        node.jf = build(falseMembers);
+      } else {
+        long[] nextMembers = new long[members.size()];
+        for (int i = 0; i < nextMembers.length; i++) {
+          nextMembers[i] = members.get(i) + 1;
+        }
+        node.next = build(nextMembers);
+      }
+      return node;
+    }
+
+    private Node newNode(int code) {
+      nodeCount++;
+      return new Node(code);
+    }
+
+    private long skipJumps(long member) {
+      int program = (int) (member >>> 32);
+      int pc = (int) member;
+      BpfInterpreter interpreter = interpreters[program];
+      while (interpreter.getCode(pc) == (BpfInterpreter.BPF_JMP | BpfInterpreter.BPF_JA)) {
+        pc += 1 + interpreter.getK(pc);
+      }
+      return member(program, pc);
+    }
+
+    private static int[] toArray(List<Integer> list) {
+      int[] array = new int[list.size()];
+      for (int i = 0; i < array.length; i++) {
+        array[i] = list.get(i);
+      }
+      return array;
+    }
+  }
+
+  private static final class MemberSet {
+
+    private final long[] members;
+    private final int hashCode;
+
+    private MemberSet(long[] members) {
+      this.members = members;
+      this.hashCode = Arrays.hashCode(members);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (!(obj instanceof MemberSet)) {
+        return false;
+      }
+      return Arrays.equals(members, ((MemberSet) obj).members);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
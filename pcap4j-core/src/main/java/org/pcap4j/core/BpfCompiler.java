@@ -0,0 +1,113 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.core;
+
+import com.sun.jna.Pointer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.pcap4j.Pcap4jPropertiesLoader;
+import org.pcap4j.core.NativeMappings.bpf_program;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Calls the BPF compiler of libpcap. The BPF compiler of libpcap before 1.8 keeps its state in
+ * globals, so the calls are serialized by a global lock for such versions or if the property {@link
+ * Pcap4jPropertiesLoader#COMPILE_SERIALIZED_KEY} is true. Otherwise, callers must serialize the
+ * calls with the same pcap_t themselves, as {@link PcapHandle} does.
+ *
+ * @since pcap4j 1.8.3
+ */
+final class BpfCompiler {
+
+  private static final Logger logger = LoggerFactory.getLogger(BpfCompiler.class);
+
+  private static final Pattern LIBPCAP_VERSION_PATTERN =
+      Pattern.compile("libpcap version (\\d+)\\.(\\d+)");
+
+  private static final Object lock = new Object();
+
+  private BpfCompiler() {
+    throw new AssertionError();
+  }
+
+  /** Decides whether to serialize the calls at the first compilation, when libpcap is loaded. */
+  private static final class SerializationHolder {
+
+    private static final boolean SERIALIZED;
+
+    static {
+      Boolean property = Pcap4jPropertiesLoader.getInstance().getCompileSerialized();
+      if (property != null) {
+        SERIALIZED = property;
+      } else {
+        SERIALIZED = !isReentrant(NativeMappings.pcap_lib_version());
+      }
+      logger.info("pcap_compile is serialized: {}", SERIALIZED);
+    }
+  }
+
+  /**
+   * @param libVersion a string returned by pcap_lib_version.
+   * @return true if the version of libpcap is 1.8 or later; false otherwise.
+   */
+  static boolean isReentrant(String libVersion) {
+    if (libVersion == null) {
+      return false;
+    }
+    Matcher m = LIBPCAP_VERSION_PATTERN.matcher(libVersion);
+    if (!m.find()) {
+      return false;
+    }
+    int major = Integer.parseInt(m.group(1));
+    int minor = Integer.parseInt(m.group(2));
+    return major > 1 || (major == 1 && minor >= 8);
+  }
+
+  /**
+   * Calls pcap_compile.
+   *
+   * @param handle handle
+   * @param prog prog
+   * @param bpfExpression bpfExpression
+   * @param optimize optimize
+   * @param netmask netmask
+   * @return the return value of pcap_compile.
+   */
+  static int compile(
+      Pointer handle, bpf_program prog, String bpfExpression, int optimize, int netmask) {
+    if (SerializationHolder.SERIALIZED) {
+      synchronized (lock) {
+        return NativeMappings.pcap_compile(handle, prog, bpfExpression, optimize, netmask);
+      }
+    }
+    return NativeMappings.pcap_compile(handle, prog, bpfExpression, optimize, netmask);
+  }
+
+  /**
+   * Calls pcap_compile_nopcap.
+   *
+   * @param snaplen snaplen
+   * @param dlt dlt
+   * @param prog prog
+   * @param bpfExpression bpfExpression
+   * @param optimize optimize
+   * @param netmask netmask
+   * @return the return value of pcap_compile_nopcap.
+   */
+  static int compileNopcap(
+      int snaplen, int dlt, bpf_program prog, String bpfExpression, int optimize, int netmask) {
+    if (SerializationHolder.SERIALIZED) {
+      synchronized (lock) {
+        return NativeMappings.pcap_compile_nopcap(
+            snaplen, dlt, prog, bpfExpression, optimize, netmask);
+      }
+    }
+    return NativeMappings.pcap_compile_nopcap(snaplen, dlt, prog, bpfExpression, optimize, netmask);
+  }
+}
@@ -0,0 +1,576 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.core;
+
+import com.sun.jna.Pointer;
+import java.util.Arrays;
+
+/**
+ * A Java implementation of <code>bpf_filter()</code> of libpcap. The instructions of a program are
+ * validated and decoded into arrays once, so that an instance can run the program without native
+ * calls or locks. This class is immutable and thread-safe.
+ *
+ * @since pcap4j 1.8.3
+ */
+final class BpfInterpreter {
+
+  /** The size of <code>struct bpf_insn</code>. */
+  static final int INSN_SIZE = 8;
+
+  // Instruction classes
+  static final int BPF_LD = 0x00;
+  static final int BPF_LDX = 0x01;
+  static final int BPF_ST = 0x02;
+  static final int BPF_STX = 0x03;
+  static final int BPF_ALU = 0x04;
+  static final int BPF_JMP = 0x05;
+  static final int BPF_RET = 0x06;
+  static final int BPF_MISC = 0x07;
+
+  // Sizes of ld
+  static final int BPF_W = 0x00;
+  static final int BPF_H = 0x08;
+  static final int BPF_B = 0x10;
+
+  // Modes of ld and ldx
+  static final int BPF_IMM = 0x00;
+  static final int BPF_ABS = 0x20;
+  static final int BPF_IND = 0x40;
+  static final int BPF_MEM = 0x60;
+  static final int BPF_LEN = 0x80;
+  static final int BPF_MSH = 0xA0;
+
+  // Operations of alu and jmp
+  static final int BPF_ADD = 0x00;
+  static final int BPF_SUB = 0x10;
+  static final int BPF_MUL = 0x20;
+  static final int BPF_DIV = 0x30;
+  static final int BPF_OR = 0x40;
+  static final int BPF_AND = 0x50;
+  static final int BPF_LSH = 0x60;
+  static final int BPF_RSH = 0x70;
+  static final int BPF_NEG = 0x80;
+  static final int BPF_MOD = 0x90;
+  static final int BPF_XOR = 0xA0;
+  static final int BPF_JA = 0x00;
+  static final int BPF_JEQ = 0x10;
+  static final int BPF_JGT = 0x20;
+  static final int BPF_JGE = 0x30;
+  static final int BPF_JSET = 0x40;
+
+  // Sources of alu and jmp
+  static final int BPF_K = 0x00;
+  static final int BPF_X = 0x08;
+
+  // Return values of ret
+  static final int BPF_A = 0x10;
+
+  // Operations of misc
+  static final int BPF_TAX = 0x00;
+  static final int BPF_TXA = 0x80;
+
+  /** The number of words of the scratch memory. */
+  static final int BPF_MEMWORDS = 16;
+
+  /** The index of A in registers. */
+  static final int REG_A = 0;
+
+  /** The index of X in registers. */
+  static final int REG_X = 1;
+
+  /** The index of the first word of the scratch memory in registers. */
+  static final int REG_MEM = 2;
+
+  /** The size of registers. */
+  static final int REGS_SIZE = REG_MEM + BPF_MEMWORDS;
+
+  /** A result of {@link #step}: go to the next instruction. */
+  static final int STEP_NEXT = 0;
+
+  /** A result of {@link #step}: the condition of a jump is true. */
+  static final int STEP_TRUE = 1;
+
+  /** A result of {@link #step}: the condition of a jump is false. */
+  static final int STEP_FALSE = 2;
+
+  /** A result of {@link #step}: reject the packet. */
+  static final int STEP_REJECT = 3;
+
+  private static final ThreadLocal<int[]> registers =
+      new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+          return new int[REGS_SIZE];
+        }
+      };
+
+  private final int[] codes;
+  private final int[] jts;
+  private final int[] jfs;
+  private final int[] ks;
+
+  /**
+   * @param codes codes
+   * @param jts jt of each instruction
+   * @param jfs jf of each instruction
+   * @param ks k of each instruction
+   * @throws IllegalArgumentException if the program is invalid.
+   */
+  BpfInterpreter(short[] codes, byte[] jts, byte[] jfs, int[] ks) {
+    int len = codes.length;
+    if (len == 0 || jts.length != len || jfs.length != len || ks.length != len) {
+      throw new IllegalArgumentException("Malformed program. length: " + len);
+    }
+    this.codes = new int[len];
+    this.jts = new int[len];
+    this.jfs = new int[len];
+    this.ks = ks.clone();
+    for (int i = 0; i < len; i++) {
+      this.codes[i] = codes[i] & 0xFFFF;
+      this.jts[i] = jts[i] & 0xFF;
+      this.jfs[i] = jfs[i] & 0xFF;
+    }
+    validate();
+  }
+
+  /**
+   * @param insns a pointer to an array of <code>struct bpf_insn</code>.
+   * @param len the number of instructions.
+   * @return a new BpfInterpreter object.
+   * @throws IllegalArgumentException if the program is invalid.
+   */
+  static BpfInterpreter newInstance(Pointer insns, int len) {
+    short[] codes = new short[len];
+    byte[] jts = new byte[len];
+    byte[] jfs = new byte[len];
+    int[] ks = new int[len];
+    for (int i = 0; i < len; i++) {
+      long offset = (long) i * INSN_SIZE;
+      codes[i] = insns.getShort(offset);
+      jts[i] = insns.getByte(offset + 2);
+      jfs[i] = insns.getByte(offset + 3);
+      ks[i] = insns.getInt(offset + 4);
+    }
+    return new BpfInterpreter(codes, jts, jfs, ks);
+  }
+
+  /** @return the number of instructions. */
+  int length() {
+    return codes.length;
+  }
+
+  /**
+   * @param pc pc
+   * @return code
+   */
+  int getCode(int pc) {
+    return codes[pc];
+  }
+
+  /**
+   * @param pc pc
+   * @return jt
+   */
+  int getJt(int pc) {
+    return jts[pc];
+  }
+
+  /**
+   * @param pc pc
+   * @return jf
+   */
+  int getJf(int pc) {
+    return jfs[pc];
+  }
+
+  /**
+   * @param pc pc
+   * @return k
+   */
+  int getK(int pc) {
+    return ks[pc];
+  }
+
+  /**
+   * Validates the program in the same way as <code>bpf_validate()</code>, except that instructions
+   * with unused bits set, which libpcap never generates, are rejected.
+   */
+  private void validate() {
+    int len = codes.length;
+    for (int pc = 0; pc < len; pc++) {
+      int code = codes[pc];
+      int k = ks[pc];
+      boolean valid;
+      switch (code) {
+        case BPF_RET | BPF_K:
+        case BPF_RET | BPF_A:
+        case BPF_RET | BPF_X:
+        case BPF_LD | BPF_W | BPF_ABS:
+        case BPF_LD | BPF_H | BPF_ABS:
+        case BPF_LD | BPF_B | BPF_ABS:
+        case BPF_LD | BPF_W | BPF_IND:
+        case BPF_LD | BPF_H | BPF_IND:
+        case BPF_LD | BPF_B | BPF_IND:
+        case BPF_LDX | BPF_B | BPF_MSH:
+        case BPF_LD | BPF_W | BPF_LEN:
+        case BPF_LDX | BPF_W | BPF_LEN:
+        case BPF_LD | BPF_IMM:
+        case BPF_LDX | BPF_W | BPF_IMM:
+        case BPF_ALU | BPF_ADD | BPF_X:
+        case BPF_ALU | BPF_SUB | BPF_X:
+        case BPF_ALU | BPF_MUL | BPF_X:
+        case BPF_ALU | BPF_DIV | BPF_X:
+        case BPF_ALU | BPF_MOD | BPF_X:
+        case BPF_ALU | BPF_AND | BPF_X:
+        case BPF_ALU | BPF_OR | BPF_X:
+        case BPF_ALU | BPF_XOR | BPF_X:
+        case BPF_ALU | BPF_LSH | BPF_X:
+        case BPF_ALU | BPF_RSH | BPF_X:
+        case BPF_ALU | BPF_ADD | BPF_K:
+        case BPF_ALU | BPF_SUB | BPF_K:
+        case BPF_ALU | BPF_MUL | BPF_K:
+        case BPF_ALU | BPF_AND | BPF_K:
+        case BPF_ALU | BPF_OR | BPF_K:
+        case BPF_ALU | BPF_XOR | BPF_K:
+        case BPF_ALU | BPF_NEG:
+        case BPF_MISC | BPF_TAX:
+        case BPF_MISC | BPF_TXA:
+          valid = true;
+          break;
+        case BPF_LD | BPF_MEM:
+        case BPF_LDX | BPF_W | BPF_MEM:
+        case BPF_ST:
+        case BPF_STX:
+          valid = Integer.compareUnsigned(k, BPF_MEMWORDS) < 0;
+          break;
+        case BPF_ALU | BPF_DIV | BPF_K:
+        case BPF_ALU | BPF_MOD | BPF_K:
+          valid = k != 0;
+          break;
+        case BPF_ALU | BPF_LSH | BPF_K:
+        case BPF_ALU | BPF_RSH | BPF_K:
+          valid = Integer.compareUnsigned(k, 32) < 0;
+          break;
+        case BPF_JMP | BPF_JA:
+          // The offset is unsigned, so programs always go forward and terminate.
+          valid = Integer.compareUnsigned(k, len - pc - 1) < 0;
+          break;
+        case BPF_JMP | BPF_JGT | BPF_K:
+        case BPF_JMP | BPF_JGE | BPF_K:
+        case BPF_JMP | BPF_JEQ | BPF_K:
+        case BPF_JMP | BPF_JSET | BPF_K:
+        case BPF_JMP | BPF_JGT | BPF_X:
+        case BPF_JMP | BPF_JGE | BPF_X:
+        case BPF_JMP | BPF_JEQ | BPF_X:
+        case BPF_JMP | BPF_JSET | BPF_X:
+          valid = pc + 1 + jts[pc] < len && pc + 1 + jfs[pc] < len;
+          break;
+        default:
+          valid = false;
+      }
+      if (!valid) {
+        StringBuilder sb = new StringBuilder(60);
+        sb.append("Invalid instruction at ")
+            .append(pc)
+            .append(". code: 0x")
+            .append(Integer.toHexString(code))
+            .append(", k: ")
+            .append(k & 0xFFFFFFFFL);
+        throw new IllegalArgumentException(sb.toString());
+      }
+    }
+
+    if ((codes[len - 1] & 0x07) != BPF_RET) {
+      throw new IllegalArgumentException("The last instruction is not a return.");
+    }
+  }
+
+  /**
+   * Returns the registers and the scratch memory of the current thread, which are reused by every
+   * run in the thread, after clearing them to zero.
+   *
+   * @return an array of {@link #REGS_SIZE} ints.
+   */
+  static int[] clearedRegisters() {
+    int[] regs = registers.get();
+    Arrays.fill(regs, 0);
+    return regs;
+  }
+
+  /**
+   * Runs the program on a packet.
+   *
+   * @param packet a byte array including the packet.
+   * @param offset the offset of the packet in the array.
+   * @param wirelen the length of the original packet.
+   * @param buflen the length of the packet present in the array.
+   * @return the return value of the program, i.e. the number of bytes to accept, or 0 to reject the
+   *     packet. An unsigned int.
+   * @throws IllegalArgumentException if the packet is out of the array.
+   */
+  int run(byte[] packet, int offset, int wirelen, int buflen) {
+    checkRange(packet, offset, buflen);
+
+    int[] regs = clearedRegisters();
+    int pc = 0;
+    while (true) {
+      int code = codes[pc];
+      switch (code) {
+        case BPF_RET | BPF_K:
+          return ks[pc];
+        case BPF_RET | BPF_A:
+          return regs[REG_A];
+        case BPF_RET | BPF_X:
+          return regs[REG_X];
+        case BPF_JMP | BPF_JA:
+          pc += 1 + ks[pc];
+          break;
+        default:
+          switch (step(code, ks[pc], regs, packet, offset, wirelen, buflen)) {
+            case STEP_NEXT:
+              pc++;
+              break;
+            case STEP_TRUE:
+              pc += 1 + jts[pc];
+              break;
+            case STEP_FALSE:
+              pc += 1 + jfs[pc];
+              break;
+            default:
+              return 0;
+          }
+      }
+    }
+  }
+
+  /**
+   * @param packet packet
+   * @param offset offset
+   * @param buflen buflen
+   * @throws IllegalArgumentException if the packet is out of the array.
+   */
+  static void checkRange(byte[] packet, int offset, int buflen) {
+    if (offset < 0 || buflen < 0 || offset + buflen > packet.length || offset + buflen < 0) {
+      StringBuilder sb = new StringBuilder(80);
+      sb.append("Out of the array. array length: ")
+          .append(packet.length)
+          .append(", offset: ")
+          .append(offset)
+          .append(", buflen: ")
+          .append(buflen);
+      throw new IllegalArgumentException(sb.toString());
+    }
+  }
+
+  /**
+   * Executes a validated instruction other than ret and ja.
+   *
+   * @param code code
+   * @param k k
+   * @param regs the registers, i.e. A at {@link #REG_A}, X at {@link #REG_X}, and the scratch
+   *     memory from {@link #REG_MEM}.
+   * @param packet a byte array including the packet, which is in the range checked by {@link
+   *     #checkRange(byte[], int, int)}.
+   * @param offset the offset of the packet in the array.
+   * @param wirelen the length of the original packet.
+   * @param buflen the length of the packet present in the array.
+   * @return {@link #STEP_NEXT} if the next instruction is to be executed, {@link #STEP_TRUE} or
+   *     {@link #STEP_FALSE} as the result of a conditional jump, or {@link #STEP_REJECT} if the
+   *     program must reject the packet, e.g. because of a load out of the packet.
+   */
+  static int step(int code, int k, int[] regs, byte[] packet, int offset, int wirelen, int buflen) {
+    int a = regs[REG_A];
+    int x = regs[REG_X];
+    switch (code) {
+      case BPF_LD | BPF_W | BPF_ABS:
+        if (outOfPacket(k, 4, buflen)) {
+          return STEP_REJECT;
+        }
+        regs[REG_A] = getInt(packet, offset + k);
+        return STEP_NEXT;
+      case BPF_LD | BPF_H | BPF_ABS:
+        if (outOfPacket(k, 2, buflen)) {
+          return STEP_REJECT;
+        }
+        regs[REG_A] = getShort(packet, offset + k);
+        return STEP_NEXT;
+      case BPF_LD | BPF_B | BPF_ABS:
+        if (outOfPacket(k, 1, buflen)) {
+          return STEP_REJECT;
+        }
+        regs[REG_A] = packet[offset + k] & 0xFF;
+        return STEP_NEXT;
+      case BPF_LD | BPF_W | BPF_IND:
+        if (outOfPacket(x, k, 4, buflen)) {
+          return STEP_REJECT;
+        }
+        regs[REG_A] = getInt(packet, offset + x + k);
+        return STEP_NEXT;
+      case BPF_LD | BPF_H | BPF_IND:
+        if (outOfPacket(x, k, 2, buflen)) {
+          return STEP_REJECT;
+        }
+        regs[REG_A] = getShort(packet, offset + x + k);
+        return STEP_NEXT;
+      case BPF_LD | BPF_B | BPF_IND:
+        if (outOfPacket(x, k, 1, buflen)) {
+          return STEP_REJECT;
+        }
+        regs[REG_A] = packet[offset + x + k] & 0xFF;
+        return STEP_NEXT;
+      case BPF_LDX | BPF_B | BPF_MSH:
+        if (outOfPacket(k, 1, buflen)) {
+          return STEP_REJECT;
+        }
+        regs[REG_X] = (packet[offset + k] & 0x0F) << 2;
+        return STEP_NEXT;
+      case BPF_LD | BPF_W | BPF_LEN:
+        regs[REG_A] = wirelen;
+        return STEP_NEXT;
+      case BPF_LDX | BPF_W | BPF_LEN:
+        regs[REG_X] = wirelen;
+        return STEP_NEXT;
+      case BPF_LD | BPF_IMM:
+        regs[REG_A] = k;
+        return STEP_NEXT;
+      case BPF_LDX | BPF_W | BPF_IMM:
+        regs[REG_X] = k;
+        return STEP_NEXT;
+      case BPF_LD | BPF_MEM:
+        regs[REG_A] = regs[REG_MEM + k];
+        return STEP_NEXT;
+      case BPF_LDX | BPF_W | BPF_MEM:
+        regs[REG_X] = regs[REG_MEM + k];
+        return STEP_NEXT;
+      case BPF_ST:
+        regs[REG_MEM + k] = a;
+        return STEP_NEXT;
+      case BPF_STX:
+        regs[REG_MEM + k] = x;
+        return STEP_NEXT;
+
+      case BPF_JMP | BPF_JGT | BPF_K:
+        return Integer.compareUnsigned(a, k) > 0 ? STEP_TRUE : STEP_FALSE;
+      case BPF_JMP | BPF_JGE | BPF_K:
+        return Integer.compareUnsigned(a, k) >= 0 ? STEP_TRUE : STEP_FALSE;
+      case BPF_JMP | BPF_JEQ | BPF_K:
+        return a == k ? STEP_TRUE : STEP_FALSE;
+      case BPF_JMP | BPF_JSET | BPF_K:
+        return (a & k) != 0 ? STEP_TRUE : STEP_FALSE;
+      case BPF_JMP | BPF_JGT | BPF_X:
+        return Integer.compareUnsigned(a, x) > 0 ? STEP_TRUE : STEP_FALSE;
+      case BPF_JMP | BPF_JGE | BPF_X:
+        return Integer.compareUnsigned(a, x) >= 0 ? STEP_TRUE : STEP_FALSE;
+      case BPF_JMP | BPF_JEQ | BPF_X:
+        return a == x ? STEP_TRUE : STEP_FALSE;
+      case BPF_JMP | BPF_JSET | BPF_X:
+        return (a & x) != 0 ? STEP_TRUE : STEP_FALSE;
+
+      case BPF_ALU | BPF_ADD | BPF_X:
+        regs[REG_A] = a + x;
+        return STEP_NEXT;
+      case BPF_ALU | BPF_SUB | BPF_X:
+        regs[REG_A] = a - x;
+        return STEP_NEXT;
+      case BPF_ALU | BPF_MUL | BPF_X:
+        regs[REG_A] = a * x;
+        return STEP_NEXT;
+      case BPF_ALU | BPF_DIV | BPF_X:
+        if (x == 0) {
+          return STEP_REJECT;
+        }
+        regs[REG_A] = Integer.divideUnsigned(a, x);
+        return STEP_NEXT;
+      case BPF_ALU | BPF_MOD | BPF_X:
+        if (x == 0) {
+          return STEP_REJECT;
+        }
+        regs[REG_A] = Integer.remainderUnsigned(a, x);
+        return STEP_NEXT;
+      case BPF_ALU | BPF_AND | BPF_X:
+        regs[REG_A] = a & x;
+        return STEP_NEXT;
+      case BPF_ALU | BPF_OR | BPF_X:
+        regs[REG_A] = a | x;
+        return STEP_NEXT;
+      case BPF_ALU | BPF_XOR | BPF_X:
+        regs[REG_A] = a ^ x;
+        return STEP_NEXT;
+      case BPF_ALU | BPF_LSH | BPF_X:
+        regs[REG_A] = Integer.compareUnsigned(x, 32) < 0 ? a << x : 0;
+        return STEP_NEXT;
+      case BPF_ALU | BPF_RSH | BPF_X:
+        regs[REG_A] = Integer.compareUnsigned(x, 32) < 0 ? a >>> x : 0;
+        return STEP_NEXT;
+      case BPF_ALU | BPF_ADD | BPF_K:
+        regs[REG_A] = a + k;
+        return STEP_NEXT;
+      case BPF_ALU | BPF_SUB | BPF_K:
+        regs[REG_A] = a - k;
+        return STEP_NEXT;
+      case BPF_ALU | BPF_MUL | BPF_K:
+        regs[REG_A] = a * k;
+        return STEP_NEXT;
+      case BPF_ALU | BPF_DIV | BPF_K:
+        regs[REG_A] = Integer.divideUnsigned(a, k);
+        return STEP_NEXT;
+      case BPF_ALU | BPF_MOD | BPF_K:
+        regs[REG_A] = Integer.remainderUnsigned(a, k);
+        return STEP_NEXT;
+      case BPF_ALU | BPF_AND | BPF_K:
+        regs[REG_A] = a & k;
+        return STEP_NEXT;
+      case BPF_ALU | BPF_OR | BPF_K:
+        regs[REG_A] = a | k;
+        return STEP_NEXT;
+      case BPF_ALU | BPF_XOR | BPF_K:
+        regs[REG_A] = a ^ k;
+        return STEP_NEXT;
+      case BPF_ALU | BPF_LSH | BPF_K:
+        regs[REG_A] = a << k;
+        return STEP_NEXT;
+      case BPF_ALU | BPF_RSH | BPF_K:
+        regs[REG_A] = a >>> k;
+        return STEP_NEXT;
+      case BPF_ALU | BPF_NEG:
+        regs[REG_A] = -a;
+        return STEP_NEXT;
+
+      case BPF_MISC | BPF_TAX:
+        regs[REG_X] = a;
+        return STEP_NEXT;
+      case BPF_MISC | BPF_TXA:
+        regs[REG_A] = x;
+        return STEP_NEXT;
+
+      default:
+        throw new AssertionError("Never get here. code: " + code);
+    }
+  }
+
+  private static boolean outOfPacket(int k, int size, int buflen) {
+    return Integer.compareUnsigned(k, buflen) > 0 || buflen - k < size;
+  }
+
+  private static boolean outOfPacket(int x, int k, int size, int buflen) {
+    return Integer.compareUnsigned(k, buflen) > 0
+        || Integer.compareUnsigned(x, buflen - k) > 0
+        || buflen - k - x < size;
+  }
+
+  private static int getInt(byte[] packet, int offset) {
+    return (packet[offset] << 24)
+        | ((packet[offset + 1] & 0xFF) << 16)
+        | ((packet[offset + 2] & 0xFF) << 8)
+        | (packet[offset + 3] & 0xFF);
+  }
+
+  private static int getShort(byte[] packet, int offset) {
+    return ((packet[offset] & 0xFF) << 8) | (packet[offset + 1] & 0xFF);
+  }
+}
@@ -7,10 +7,19 @@
 
 package org.pcap4j.core;
 
+import com.sun.jna.Pointer;
 import org.pcap4j.core.NativeMappings.bpf_program;
 import org.pcap4j.packet.Packet;
 
 /**
+ * A compiled BPF program.
+ *
+ * <p>The filter is applied by a Java implementation of <code>bpf_filter()</code> on a copy of the
+ * instructions read when the filter is applied for the first time, so that the applyFilter methods
+ * neither call native code nor take a lock after that and can be called from many threads at the
+ * same time. {@link #free()} can also be called at any time; filters being applied complete with
+ * the copy and the later ones return false.
+ *
  * @author Kaito Yamada
  * @since pcap4j 0.9.16
  */
@@ -20,14 +29,42 @@ public final class BpfProgram {
   private final String expression;
   private volatile boolean freed = false;
   private final Object lock = new Object();
+  private volatile BpfInterpreter interpreter;
+
+  private static final ThreadLocal<byte[]> buffers = new ThreadLocal<byte[]>();
 
   BpfProgram(bpf_program program, String expression) {
     this.program = program;
     this.expression = expression;
   }
 
-  bpf_program getProgram() {
-    return program;
+  /**
+   * Creates a program which isn't backed by native memory.
+   *
+   * @param interpreter interpreter
+   * @param expression expression
+   */
+  BpfProgram(BpfInterpreter interpreter, String expression) {
+    this.program = null;
+    this.expression = expression;
+    this.interpreter = interpreter;
+  }
+
+  /**
+   * Sets this program to a pcap handle. This method is synchronized with {@link #free()} so that
+   * the native program isn't freed while libpcap copies it.
+   *
+   * @param handle a pcap_t pointer.
+   * @return the return value of pcap_setfilter.
+   * @throws IllegalStateException if this program is freed.
+   */
+  int setFilterTo(Pointer handle) {
+    synchronized (lock) {
+      if (freed || program == null) {
+        throw new IllegalStateException("The program is freed: " + expression);
+      }
+      return NativeMappings.pcap_setfilter(handle, program);
+    }
   }
 
   /** @return expression */
@@ -41,9 +78,28 @@ public final class BpfProgram {
    *
    * @param packet the packet to apply the filter on
    * @return true if this program is not freed and the packet passes the filter; false otherwise.
+   * @throws IllegalArgumentException if the program has an instruction the Java implementation of
+   *     <code>bpf_filter()</code> doesn't support.
    */
   public boolean applyFilter(Packet packet) {
-    return applyFilter(packet.getRawData());
+    int length = packet.length();
+    byte[] buffer = getBuffer(length);
+    packet.writeTo(buffer, 0);
+    return applyFilter(buffer, length, length);
+  }
+
+  /**
+   * @param length length
+   * @return a byte array of the current thread, which is at least the given length and reused to
+   *     write packets to be filtered.
+   */
+  static byte[] getBuffer(int length) {
+    byte[] buffer = buffers.get();
+    if (buffer == null || buffer.length < length) {
+      buffer = new byte[length];
+      buffers.set(buffer);
+    }
+    return buffer;
   }
 
   /**
@@ -52,6 +108,8 @@ public final class BpfProgram {
    *
    * @param packet the packet to apply the filter on
    * @return true if this program is not freed and the packet passes the filter; false otherwise.
+   * @throws IllegalArgumentException if the program has an instruction the Java implementation of
+   *     <code>bpf_filter()</code> doesn't support.
    */
   public boolean applyFilter(byte[] packet) {
     return applyFilter(packet, packet.length, packet.length);
@@ -65,19 +123,44 @@ public final class BpfProgram {
    * @param orgPacketLen the length of the original packet
    * @param packetLen the length of the packet present
    * @return true if this program is not freed and the packet passes the filter; false otherwise.
+   * @throws IllegalArgumentException if the program has an instruction the Java implementation of
+   *     <code>bpf_filter()</code> doesn't support.
    */
   public boolean applyFilter(byte[] packet, int orgPacketLen, int packetLen) {
-    synchronized (lock) {
-      if (freed) {
-        return false;
-      }
+    BpfInterpreter interp = getInterpreter();
+    if (interp == null) {
+      return false;
+    }
+    return interp.run(packet, 0, orgPacketLen, packetLen) != 0;
+  }
 
-      if (program.bf_insns == null) {
-        program.read();
+  /**
+   * Returns the interpreter of this program. The instructions are read and decoded at the first
+   * call.
+   *
+   * @return the interpreter of this program, or null if this program is freed.
+   * @throws IllegalArgumentException if the program has an instruction the interpreter doesn't
+   *     support.
+   */
+  BpfInterpreter getInterpreter() {
+    if (freed) {
+      return null;
+    }
+    BpfInterpreter result = interpreter;
+    if (result == null) {
+      synchronized (lock) {
+        if (freed) {
+          return null;
+        }
+        result = interpreter;
+        if (result == null) {
+          program.read();
+          result = BpfInterpreter.newInstance(program.bf_insns.getPointer(), program.bf_len);
+          interpreter = result;
+        }
       }
-
-      return NativeMappings.bpf_filter(program.bf_insns, packet, orgPacketLen, packetLen) != 0;
     }
+    return result;
   }
 
   /** @return true if the bpf_program represented by this object is freed; false otherwise. */
@@ -94,7 +177,9 @@ public final class BpfProgram {
       if (freed) {
         return;
       }
-      NativeMappings.pcap_freecode(program);
+      if (program != null) {
+        NativeMappings.pcap_freecode(program);
+      }
       freed = true;
     }
   }
@@ -0,0 +1,293 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.core;
+
+import java.net.Inet4Address;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.pcap4j.core.BpfProgram.BpfCompileMode;
+import org.pcap4j.packet.namednumber.DataLinkType;
+
+/**
+ * A cache of compiled BPF programs shared with reference counts. A program is compiled by {@link
+ * Pcaps#compileFilter(int, DataLinkType, String, BpfCompileMode, Inet4Address)} at the first {@link
+ * #acquire acquire} of its expression, data link type, snapshot length, mode, and netmask, and
+ * later acquires return the same program until it is evicted. Programs of different keys are
+ * compiled concurrently.
+ *
+ * <p>Each acquired program must be released by {@link #release(BpfProgram)} and must not be freed
+ * by the caller. A program without users stays in the cache as an idle program; the least recently
+ * released idle programs are freed when there are more of them than the limit given to the
+ * constructor. For example, a filter can be applied to many handles as follows:
+ *
+ * <pre>{@code
+ * BpfProgram prog =
+ *     cache.acquire(handle.getSnapshot(), handle.getDlt(), expression, mode, netmask);
+ * try {
+ *   handle.setFilter(prog);
+ * } finally {
+ *   cache.release(prog);
+ * }
+ * }</pre>
+ *
+ * <p>Note that a program compiled this way doesn't use the link-layer extensions which libpcap may
+ * use for a live handle, e.g. for the vlan keyword on Linux. This class is thread-safe.
+ *
+ * @since pcap4j 1.8.3
+ */
+public final class BpfProgramCache {
+
+  private final int maxIdle;
+  private final ProgramCompiler compiler;
+  private final Object lock = new Object();
+  private final Map<Key, Entry> entries = new HashMap<Key, Entry>();
+  private final Map<BpfProgram, Entry> entriesByProgram = new IdentityHashMap<BpfProgram, Entry>();
+  private final LinkedHashMap<Key, Entry> idleEntries = new LinkedHashMap<Key, Entry>();
+
+  /** @param maxIdle the maximum number of idle programs to keep. */
+  public BpfProgramCache(int maxIdle) {
+    this(
+        maxIdle,
+        new ProgramCompiler() {
+          @Override
+          public BpfProgram compile(
+              int snaplen,
+              DataLinkType dlt,
+              String bpfExpression,
+              BpfCompileMode mode,
+              Inet4Address netmask)
+              throws PcapNativeException {
+            return Pcaps.compileFilter(snaplen, dlt, bpfExpression, mode, netmask);
+          }
+        });
+  }
+
+  BpfProgramCache(int maxIdle, ProgramCompiler compiler) {
+    if (maxIdle < 0) {
+      throw new IllegalArgumentException("maxIdle must not be negative. maxIdle: " + maxIdle);
+    }
+    this.maxIdle = maxIdle;
+    this.compiler = compiler;
+  }
+
+  /**
+   * @param snaplen snaplen
+   * @param dlt dlt
+   * @param bpfExpression bpfExpression
+   * @param mode mode
+   * @param netmask netmask
+   * @return a program shared with other users, which must be released by {@link
+   *     #release(BpfProgram)}.
+   * @throws PcapNativeException if an error occurs in the pcap native library.
+   */
+  public BpfProgram acquire(
+      int snaplen,
+      DataLinkType dlt,
+      String bpfExpression,
+      BpfCompileMode mode,
+      Inet4Address netmask)
+      throws PcapNativeException {
+    if (dlt == null || bpfExpression == null || mode == null || netmask == null) {
+      StringBuilder sb = new StringBuilder();
+      sb.append("dlt: ")
+          .append(dlt)
+          .append(" bpfExpression: ")
+          .append(bpfExpression)
+          .append(" mode: ")
+          .append(mode)
+          .append(" netmask: ")
+          .append(netmask);
+      throw new NullPointerException(sb.toString());
+    }
+
+    Key key = new Key(snaplen, dlt, bpfExpression, mode, netmask);
+    Entry entry;
+    synchronized (lock) {
+      entry = entries.get(key);
+      if (entry == null) {
+        entry = new Entry(key);
+        entries.put(key, entry);
+      }
+      entry.refCount++;
+      idleEntries.remove(key);
+    }
+
+    // Only the acquires of the same key wait for the compilation.
+    synchronized (entry) {
+      if (entry.program != null) {
+        return entry.program;
+      }
+
+      BpfProgram program = null;
+      try {
+        program = compiler.compile(snaplen, dlt, bpfExpression, mode, netmask);
+      } finally {
+        synchronized (lock) {
+          if (program != null) {
+            entry.program = program;
+            entriesByProgram.put(program, entry);
+          } else {
+            entry.refCount--;
+            if (entry.refCount == 0) {
+              entries.remove(key);
+            }
+          }
+        }
+      }
+      return program;
+    }
+  }
+
+  /**
+   * @param program a program returned by {@link #acquire acquire}.
+   * @throws IllegalArgumentException if the program is not acquired from this cache or is already
+   *     released by all the users.
+   */
+  public void release(BpfProgram program) {
+    BpfProgram evicted = null;
+    synchronized (lock) {
+      Entry entry = entriesByProgram.get(program);
+      if (entry == null || entry.refCount == 0) {
+        throw new IllegalArgumentException("Not acquired from this cache: " + program);
+      }
+      entry.refCount--;
+      if (entry.refCount != 0) {
+        return;
+      }
+
+      idleEntries.put(entry.key, entry);
+      if (idleEntries.size() > maxIdle) {
+        Iterator<Entry> iter = idleEntries.values().iterator();
+        Entry eldest = iter.next();
+        iter.remove();
+        entries.remove(eldest.key);
+        entriesByProgram.remove(eldest.program);
+        evicted = eldest.program;
+      }
+    }
+    if (evicted != null) {
+      evicted.free();
+    }
+  }
+
+  /** Frees all the idle programs. */
+  public void clear() {
+    BpfProgram[] programs;
+    synchronized (lock) {
+      programs = new BpfProgram[idleEntries.size()];
+      int i = 0;
+      for (Entry entry : idleEntries.values()) {
+        entries.remove(entry.key);
+        entriesByProgram.remove(entry.program);
+        programs[i++] = entry.program;
+      }
+      idleEntries.clear();
+    }
+    for (BpfProgram program : programs) {
+      program.free();
+    }
+  }
+
+  /** @return the number of the programs in this cache, including ones being compiled. */
+  public int size() {
+    synchronized (lock) {
+      return entries.size();
+    }
+  }
+
+  /** @return the number of the programs without users. */
+  public int getIdleCount() {
+    synchronized (lock) {
+      return idleEntries.size();
+    }
+  }
+
+  /** Compiles programs for a cache. */
+  interface ProgramCompiler {
+
+    /**
+     * @param snaplen snaplen
+     * @param dlt dlt
+     * @param bpfExpression bpfExpression
+     * @param mode mode
+     * @param netmask netmask
+     * @return a new program.
+     * @throws PcapNativeException if an error occurs in the pcap native library.
+     */
+    BpfProgram compile(
+        int snaplen,
+        DataLinkType dlt,
+        String bpfExpression,
+        BpfCompileMode mode,
+        Inet4Address netmask)
+        throws PcapNativeException;
+  }
+
+  private static final class Entry {
+
+    private final Key key;
+    private BpfProgram program; // set holding both the entry and lock
+    private int refCount; // guarded by lock
+
+    private Entry(Key key) {
+      this.key = key;
+    }
+  }
+
+  private static final class Key {
+
+    private final int snaplen;
+    private final DataLinkType dlt;
+    private final String bpfExpression;
+    private final BpfCompileMode mode;
+    private final Inet4Address netmask;
+
+    private Key(
+        int snaplen,
+        DataLinkType dlt,
+        String bpfExpression,
+        BpfCompileMode mode,
+        Inet4Address netmask) {
+      this.snaplen = snaplen;
+      this.dlt = dlt;
+      this.bpfExpression = bpfExpression;
+      this.mode = mode;
+      this.netmask = netmask;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return snaplen == other.snaplen
+          && dlt.equals(other.dlt)
+          && bpfExpression.equals(other.bpfExpression)
+          && mode == other.mode
+          && netmask.equals(other.netmask);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = 17;
+      result = 31 * result + snaplen;
+      result = 31 * result + dlt.hashCode();
+      result = 31 * result + bpfExpression.hashCode();
+      result = 31 * result + mode.hashCode();
+      result = 31 * result + netmask.hashCode();
+      return result;
+    }
+  }
+}
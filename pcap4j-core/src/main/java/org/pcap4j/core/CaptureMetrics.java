@@ -0,0 +1,247 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.core;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import org.pcap4j.util.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The metrics of the capture path of a {@link PcapHandle}, enabled by {@link
+ * PcapHandle#enableMetrics()}. The latency of each {@link Stage} a packet passes through is
+ * recorded in a {@link LatencyHistogram}, whose count is the number of the packets passed through
+ * the stage. The metrics are also registered to the platform MBean server as a {@link
+ * CaptureMetricsMXBean} while they are enabled.
+ *
+ * <p>Comparing the stages tells where packets are held up: {@link PcapHandle#getStats()} counts the
+ * drops in the kernel, a growing queue depth or {@link Stage#QUEUE} latency means the executor
+ * falls behind, and {@link Stage#DECODE} and {@link Stage#LISTENER} show the cost of the packet
+ * factories and the listener.
+ *
+ * @since pcap4j 1.8.3
+ */
+public final class CaptureMetrics implements CaptureMetricsMXBean {
+
+  private static final Logger logger = LoggerFactory.getLogger(CaptureMetrics.class);
+  private static final AtomicInteger nextId = new AtomicInteger();
+
+  private final LatencyHistogram[] histograms = new LatencyHistogram[Stage.values().length];
+  private final AtomicLong bytesCopied = new AtomicLong();
+  private final AtomicLong enqueued = new AtomicLong();
+  private final AtomicLong dequeued = new AtomicLong();
+  private final AtomicLong rejectedCount = new AtomicLong();
+  private volatile ObjectName objectName;
+
+  CaptureMetrics() {
+    for (int i = 0; i < histograms.length; i++) {
+      histograms[i] = new LatencyHistogram();
+    }
+  }
+
+  void register() {
+    try {
+      ObjectName name =
+          new ObjectName("org.pcap4j:type=CaptureMetrics,id=" + nextId.getAndIncrement());
+      ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+      objectName = name;
+    } catch (JMException e) {
+      logger.warn("Failed to register the capture metrics.", e);
+    }
+  }
+
+  void unregister() {
+    ObjectName name = objectName;
+    if (name == null) {
+      return;
+    }
+    objectName = null;
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+    } catch (JMException e) {
+      logger.warn("Failed to unregister the capture metrics.", e);
+    }
+  }
+
+  /** @return the name these metrics are registered with, or null if they aren't registered. */
+  public ObjectName getObjectName() {
+    return objectName;
+  }
+
+  void record(Stage stage, long nanos) {
+    histograms[stage.ordinal()].record(nanos);
+  }
+
+  void recordCopy(long nanos, int length) {
+    histograms[Stage.COPY.ordinal()].record(nanos);
+    bytesCopied.addAndGet(length);
+  }
+
+  void enqueue() {
+    enqueued.incrementAndGet();
+  }
+
+  void dequeue(long nanos) {
+    dequeued.incrementAndGet();
+    histograms[Stage.QUEUE.ordinal()].record(nanos);
+  }
+
+  void reject() {
+    dequeued.incrementAndGet();
+    rejectedCount.incrementAndGet();
+  }
+
+  /**
+   * @param stage stage
+   * @return a snapshot of the latencies of the stage in nanoseconds.
+   */
+  public LatencyHistogram.Snapshot getLatency(Stage stage) {
+    return histograms[stage.ordinal()].getSnapshot();
+  }
+
+  /**
+   * @param stage stage
+   * @return the number of the packets passed through the stage.
+   */
+  public long getCount(Stage stage) {
+    return getLatency(stage).getCount();
+  }
+
+  @Override
+  public Map<String, Long> getCounts() {
+    Map<String, Long> map = new LinkedHashMap<String, Long>();
+    for (Stage stage : Stage.values()) {
+      map.put(stage.name(), getLatency(stage).getCount());
+    }
+    return map;
+  }
+
+  @Override
+  public Map<String, Double> getMeanNanos() {
+    Map<String, Double> map = new LinkedHashMap<String, Double>();
+    for (Stage stage : Stage.values()) {
+      map.put(stage.name(), getLatency(stage).getMean());
+    }
+    return map;
+  }
+
+  @Override
+  public Map<String, Long> getP50Nanos() {
+    Map<String, Long> map = new LinkedHashMap<String, Long>();
+    for (Stage stage : Stage.values()) {
+      map.put(stage.name(), getLatency(stage).getP50());
+    }
+    return map;
+  }
+
+  @Override
+  public Map<String, Long> getP99Nanos() {
+    Map<String, Long> map = new LinkedHashMap<String, Long>();
+    for (Stage stage : Stage.values()) {
+      map.put(stage.name(), getLatency(stage).getP99());
+    }
+    return map;
+  }
+
+  @Override
+  public Map<String, Long> getP999Nanos() {
+    Map<String, Long> map = new LinkedHashMap<String, Long>();
+    for (Stage stage : Stage.values()) {
+      map.put(stage.name(), getLatency(stage).getP999());
+    }
+    return map;
+  }
+
+  @Override
+  public Map<String, Long> getMaxNanos() {
+    Map<String, Long> map = new LinkedHashMap<String, Long>();
+    for (Stage stage : Stage.values()) {
+      map.put(stage.name(), getLatency(stage).getMax());
+    }
+    return map;
+  }
+
+  @Override
+  public long getBytesCopied() {
+    return bytesCopied.get();
+  }
+
+  @Override
+  public long getQueueDepth() {
+    return enqueued.get() - dequeued.get();
+  }
+
+  @Override
+  public long getRejectedCount() {
+    return rejectedCount.get();
+  }
+
+  /** Clears the metrics except the queue depth. */
+  @Override
+  public void reset() {
+    for (LatencyHistogram histogram : histograms) {
+      histogram.reset();
+    }
+    bytesCopied.set(0L);
+    rejectedCount.set(0L);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder(500);
+    for (Stage stage : Stage.values()) {
+      sb.append(stage).append(": ").append(getLatency(stage)).append(" ");
+    }
+    sb.append("bytes copied: ")
+        .append(getBytesCopied())
+        .append(" queue depth: ")
+        .append(getQueueDepth())
+        .append(" rejected: ")
+        .append(getRejectedCount());
+    return sb.toString();
+  }
+
+  /**
+   * The stages of the capture path.
+   *
+   * @since pcap4j 1.8.3
+   */
+  public static enum Stage {
+
+    /**
+     * Reading a packet by pcap_next or pcap_next_ex. Not recorded by loop() and dispatch(), in
+     * which the native library calls back.
+     */
+    NATIVE_READ,
+
+    /** Copying a packet from the pcap buffer to a byte array. */
+    COPY,
+
+    /**
+     * Giving a packet to the executor in loop() and dispatch(). If the executor runs the task in
+     * the calling thread, as the default one does, the task itself, i.e. {@link #DECODE} and {@link
+     * #LISTENER}, is excluded.
+     */
+    DISPATCH,
+
+    /** Waiting for the executor to run the task for a packet. */
+    QUEUE,
+
+    /** Building a packet object by the packet factories. */
+    DECODE,
+
+    /** Running the listener. */
+    LISTENER,
+  }
+}
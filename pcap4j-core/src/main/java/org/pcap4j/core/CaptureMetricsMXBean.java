@@ -0,0 +1,49 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.core;
+
+import java.util.Map;
+
+/**
+ * The management interface of {@link CaptureMetrics}. The maps are keyed by the names of {@link
+ * CaptureMetrics.Stage}, and the latencies are in nanoseconds.
+ *
+ * @since pcap4j 1.8.3
+ */
+public interface CaptureMetricsMXBean {
+
+  /** @return the number of the packets passed through each stage. */
+  public Map<String, Long> getCounts();
+
+  /** @return the mean latency of each stage. */
+  public Map<String, Double> getMeanNanos();
+
+  /** @return the median latency of each stage. */
+  public Map<String, Long> getP50Nanos();
+
+  /** @return the 99th percentile latency of each stage. */
+  public Map<String, Long> getP99Nanos();
+
+  /** @return the 99.9th percentile latency of each stage. */
+  public Map<String, Long> getP999Nanos();
+
+  /** @return the maximum latency of each stage. */
+  public Map<String, Long> getMaxNanos();
+
+  /** @return the number of the bytes copied from the pcap buffer. */
+  public long getBytesCopied();
+
+  /** @return the number of the packets given to the executor and not taken by it yet. */
+  public long getQueueDepth();
+
+  /** @return the number of the packets the executor failed to take. */
+  public long getRejectedCount();
+
+  /** Clears the metrics. */
+  public void reset();
+}
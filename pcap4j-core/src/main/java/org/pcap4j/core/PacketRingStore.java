@@ -0,0 +1,488 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.core;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.pcap4j.packet.namednumber.DataLinkType;
+import org.pcap4j.util.ByteArrays;
+
+/**
+ * Keeps the latest packets of a capture in memory to write them out later, e.g. the last minutes of
+ * traffic before an alert. Raw frames are copied with their timestamps and original lengths into a
+ * ring of fixed-size segments of direct buffers, which are allocated once in the constructor and
+ * hold no objects for the garbage collector to trace. When the newest segment is full, the oldest
+ * one is evicted as a whole and reused. Each segment indexes the timestamps of its packets to find
+ * a time window quickly.
+ *
+ * <pre>{@code
+ * PacketRingStore store = new PacketRingStore(handle.getDlt(), 65536, 64 << 20, 16);
+ * handle.loop(-1, store.newListener(handle));
+ *
+ * // on an alert, in another thread
+ * PcapDumper dumper = handle.dumpOpen("alert.pcap");
+ * store.dump(alertTime - 60000000000L, alertTime, filter, dumper);
+ * dumper.close();
+ * }</pre>
+ *
+ * <p>Timestamps are in nanoseconds since the epoch. Packets are stored and read under a read-write
+ * lock, so storing packets waits while the store is being read.
+ *
+ * @since pcap4j 1.8.3
+ */
+public final class PacketRingStore {
+
+  // timestamp, captured length and original length
+  private static final int RECORD_HEADER_SIZE = 16;
+  private static final int INITIAL_INDEX_CAPACITY = 256;
+  private static final long NANOS_PER_SECOND = 1000000000L;
+  private static final int PCAP_MAGIC_NANO = 0xa1b23c4d;
+
+  private final DataLinkType dlt;
+  private final int snaplen;
+  private final int segmentSize;
+  private final Segment[] segments;
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  // the segment packets are stored to
+  private int head;
+  private long evictedCount;
+
+  /**
+   * @param dlt the data link type of the packets.
+   * @param snaplen the maximum length of a packet to store. Longer packets are truncated.
+   * @param segmentSize the size of a segment in bytes. Each packet takes 16 bytes in addition to
+   *     its length.
+   * @param numSegments the number of the segments.
+   * @throws IllegalArgumentException if a segment can't hold a packet of snaplen bytes.
+   */
+  public PacketRingStore(DataLinkType dlt, int snaplen, int segmentSize, int numSegments) {
+    if (dlt == null) {
+      throw new NullPointerException("dlt must not be null.");
+    }
+    if (snaplen <= 0 || numSegments <= 0 || segmentSize - RECORD_HEADER_SIZE < snaplen) {
+      StringBuilder sb = new StringBuilder(100);
+      sb.append("snaplen: ")
+          .append(snaplen)
+          .append(" segmentSize: ")
+          .append(segmentSize)
+          .append(" numSegments: ")
+          .append(numSegments);
+      throw new IllegalArgumentException(sb.toString());
+    }
+
+    this.dlt = dlt;
+    this.snaplen = snaplen;
+    this.segmentSize = segmentSize;
+    this.segments = new Segment[numSegments];
+    for (int i = 0; i < numSegments; i++) {
+      segments[i] = new Segment(ByteBuffer.allocateDirect(segmentSize));
+    }
+  }
+
+  /** @return the data link type of the packets. */
+  public DataLinkType getDlt() {
+    return dlt;
+  }
+
+  /** @return the maximum length of a packet to store. */
+  public int getSnaplen() {
+    return snaplen;
+  }
+
+  /** @return the total size of the segments in bytes. */
+  public long getCapacity() {
+    return (long) segmentSize * segments.length;
+  }
+
+  /**
+   * Stores a packet, evicting the oldest segment if needed.
+   *
+   * @param packet packet
+   * @param offset the offset of the packet in the array.
+   * @param length the length of the packet in the array.
+   * @param originalLength the length of the packet on the wire.
+   * @param timestamp the timestamp of the packet in nanoseconds since the epoch.
+   */
+  public void add(byte[] packet, int offset, int length, int originalLength, long timestamp) {
+    if (packet == null) {
+      throw new NullPointerException("packet must not be null.");
+    }
+    ByteArrays.validateBounds(packet, offset, length);
+    if (originalLength < length) {
+      StringBuilder sb = new StringBuilder(50);
+      sb.append("originalLength: ").append(originalLength).append(" length: ").append(length);
+      throw new IllegalArgumentException(sb.toString());
+    }
+
+    int caplen = Math.min(length, snaplen);
+    lock.writeLock().lock();
+    try {
+      Segment segment = segments[head];
+      if (segment.buffer.remaining() < RECORD_HEADER_SIZE + caplen) {
+        head = head + 1 == segments.length ? 0 : head + 1;
+        segment = segments[head];
+        evict(segment);
+      }
+      segment.add(packet, offset, caplen, originalLength, timestamp);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Stores a packet, evicting the oldest segment if needed.
+   *
+   * @param packet packet
+   * @param originalLength the length of the packet on the wire.
+   * @param timestamp timestamp
+   */
+  public void add(byte[] packet, int originalLength, Timestamp timestamp) {
+    if (packet == null || timestamp == null) {
+      StringBuilder sb = new StringBuilder();
+      sb.append("packet: ").append(packet).append(" timestamp: ").append(timestamp);
+      throw new NullPointerException(sb.toString());
+    }
+    add(packet, 0, packet.length, originalLength, toNanos(timestamp));
+  }
+
+  /**
+   * @param handle the handle to capture packets with.
+   * @return a listener which stores the packets captured by the handle with their timestamps and
+   *     original lengths.
+   */
+  public RawPacketListener newListener(final PcapHandle handle) {
+    if (handle == null) {
+      throw new NullPointerException("handle must not be null.");
+    }
+    return new RawPacketListener() {
+      @Override
+      public void gotPacket(byte[] packet) {
+        Integer originalLength = handle.getOriginalLength();
+        add(packet, originalLength != null ? originalLength : packet.length, handle.getTimestamp());
+      }
+    };
+  }
+
+  /**
+   * Evicts the oldest segments all of whose packets are older than a timestamp. A segment which has
+   * a packet not older than the timestamp and the segments after it are kept.
+   *
+   * @param timestamp timestamp
+   * @return the number of the packets evicted.
+   */
+  public int evictOlderThan(long timestamp) {
+    lock.writeLock().lock();
+    try {
+      int evicted = 0;
+      for (int i = 1; i <= segments.length; i++) {
+        Segment segment = segments[(head + i) % segments.length];
+        if (segment.count == 0) {
+          continue;
+        }
+        if (segment.maxTimestamp >= timestamp) {
+          break;
+        }
+        evicted += evict(segment);
+      }
+      return evicted;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Evicts all the packets. */
+  public void clear() {
+    lock.writeLock().lock();
+    try {
+      for (Segment segment : segments) {
+        evict(segment);
+      }
+      head = 0;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private int evict(Segment segment) {
+    int count = segment.count;
+    evictedCount += count;
+    segment.clear();
+    return count;
+  }
+
+  /** @return the number of the packets stored. */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      int size = 0;
+      for (Segment segment : segments) {
+        size += segment.count;
+      }
+      return size;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** @return the number of the packets evicted so far. */
+  public long getEvictedCount() {
+    lock.readLock().lock();
+    try {
+      return evictedCount;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Gives the packets in a time window which pass a filter to a listener. The listener must not
+   * store packets to this store.
+   *
+   * @param from the start of the window, inclusive, in nanoseconds since the epoch.
+   * @param to the end of the window, exclusive, in nanoseconds since the epoch.
+   * @param filter a filter for the data link type of this store, or null to give all the packets.
+   * @param listener listener
+   * @return the number of the packets given.
+   */
+  public int forEach(long from, long to, BpfProgram filter, StoredPacketListener listener) {
+    if (listener == null) {
+      throw new NullPointerException("listener must not be null.");
+    }
+
+    lock.readLock().lock();
+    try {
+      Cursor cursor = new Cursor(from, to, filter);
+      int count = 0;
+      while (cursor.next()) {
+        listener.gotPacket(cursor.packet, cursor.length, cursor.originalLength, cursor.timestamp);
+        count++;
+      }
+      return count;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Dumps the packets in a time window which pass a filter.
+   *
+   * @param from the start of the window, inclusive, in nanoseconds since the epoch.
+   * @param to the end of the window, exclusive, in nanoseconds since the epoch.
+   * @param filter a filter for the data link type of this store, or null to dump all the packets.
+   * @param dumper a dumper opened for the data link type of this store.
+   * @return the number of the packets dumped.
+   * @throws NotOpenException if the dumper is not open.
+   */
+  public int dump(long from, long to, BpfProgram filter, PcapDumper dumper)
+      throws NotOpenException {
+    if (dumper == null) {
+      throw new NullPointerException("dumper must not be null.");
+    }
+
+    lock.readLock().lock();
+    try {
+      Cursor cursor = new Cursor(from, to, filter);
+      int count = 0;
+      while (cursor.next()) {
+        dumper.dumpRaw(
+            cursor.packet, cursor.length, cursor.originalLength, toTimestamp(cursor.timestamp));
+        count++;
+      }
+      return count;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Writes the packets in a time window which pass a filter to a stream as a pcap savefile with
+   * nanosecond timestamps, without libpcap. The stream is flushed but not closed.
+   *
+   * @param from the start of the window, inclusive, in nanoseconds since the epoch.
+   * @param to the end of the window, exclusive, in nanoseconds since the epoch.
+   * @param filter a filter for the data link type of this store, or null to write all the packets.
+   * @param out out
+   * @return the number of the packets written.
+   * @throws IOException if an I/O error occurs.
+   */
+  public int write(long from, long to, BpfProgram filter, OutputStream out) throws IOException {
+    if (out == null) {
+      throw new NullPointerException("out must not be null.");
+    }
+
+    DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(out));
+    dos.writeInt(PCAP_MAGIC_NANO);
+    dos.writeShort(2);
+    dos.writeShort(4);
+    dos.writeInt(0);
+    dos.writeInt(0);
+    dos.writeInt(snaplen);
+    dos.writeInt(dlt.value());
+
+    lock.readLock().lock();
+    try {
+      Cursor cursor = new Cursor(from, to, filter);
+      int count = 0;
+      while (cursor.next()) {
+        dos.writeInt((int) Math.floorDiv(cursor.timestamp, NANOS_PER_SECOND));
+        dos.writeInt((int) Math.floorMod(cursor.timestamp, NANOS_PER_SECOND));
+        dos.writeInt(cursor.length);
+        dos.writeInt(cursor.originalLength);
+        dos.write(cursor.packet, 0, cursor.length);
+        count++;
+      }
+      dos.flush();
+      return count;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @param timestamp timestamp
+   * @return the timestamp in nanoseconds since the epoch.
+   */
+  public static long toNanos(Timestamp timestamp) {
+    return Math.floorDiv(timestamp.getTime(), 1000L) * NANOS_PER_SECOND + timestamp.getNanos();
+  }
+
+  /**
+   * @param nanos a timestamp in nanoseconds since the epoch.
+   * @return a Timestamp object.
+   */
+  public static Timestamp toTimestamp(long nanos) {
+    Timestamp timestamp = new Timestamp(Math.floorDiv(nanos, NANOS_PER_SECOND) * 1000L);
+    timestamp.setNanos((int) Math.floorMod(nanos, NANOS_PER_SECOND));
+    return timestamp;
+  }
+
+  private static final class Segment {
+
+    private final ByteBuffer buffer;
+    private long[] timestamps = new long[INITIAL_INDEX_CAPACITY];
+    private int[] offsets = new int[INITIAL_INDEX_CAPACITY];
+    private int count;
+    private boolean sorted;
+    private long minTimestamp;
+    private long maxTimestamp;
+
+    private Segment(ByteBuffer buffer) {
+      this.buffer = buffer;
+      clear();
+    }
+
+    private void clear() {
+      buffer.clear();
+      count = 0;
+      sorted = true;
+      minTimestamp = Long.MAX_VALUE;
+      maxTimestamp = Long.MIN_VALUE;
+    }
+
+    private void add(byte[] packet, int offset, int length, int originalLength, long timestamp) {
+      if (count == timestamps.length) {
+        timestamps = Arrays.copyOf(timestamps, count * 2);
+        offsets = Arrays.copyOf(offsets, count * 2);
+      }
+      if (timestamp < maxTimestamp) {
+        sorted = false;
+      }
+      timestamps[count] = timestamp;
+      offsets[count] = buffer.position();
+      count++;
+      minTimestamp = Math.min(minTimestamp, timestamp);
+      maxTimestamp = Math.max(maxTimestamp, timestamp);
+
+      buffer.putLong(timestamp).putInt(length).putInt(originalLength).put(packet, offset, length);
+    }
+
+    /** @return the index of the first packet not older than the timestamp if sorted. */
+    private int lowerBound(long timestamp) {
+      int low = 0;
+      int high = count;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (timestamps[mid] < timestamp) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+  }
+
+  /** Reads the packets in a time window from the oldest segment. Used under the read lock. */
+  private final class Cursor {
+
+    private final long from;
+    private final long to;
+    private final BpfProgram filter;
+    private final byte[] packet = new byte[snaplen];
+    private int length;
+    private int originalLength;
+    private long timestamp;
+    private int numSegmentsRead;
+    private Segment segment;
+    private ByteBuffer view;
+    private int index;
+
+    private Cursor(long from, long to, BpfProgram filter) {
+      this.from = from;
+      this.to = to;
+      this.filter = filter;
+    }
+
+    private boolean next() {
+      while (true) {
+        if (segment == null) {
+          if (numSegmentsRead == segments.length) {
+            return false;
+          }
+          Segment s = segments[(head + 1 + numSegmentsRead++) % segments.length];
+          if (s.count == 0 || s.maxTimestamp < from || s.minTimestamp >= to) {
+            continue;
+          }
+          segment = s;
+          view = s.buffer.duplicate();
+          index = s.sorted ? s.lowerBound(from) : 0;
+        }
+
+        if (index == segment.count) {
+          segment = null;
+          continue;
+        }
+        int i = index++;
+        long ts = segment.timestamps[i];
+        if (ts < from || ts >= to) {
+          if (segment.sorted) {
+            // the rest are newer
+            segment = null;
+          }
+          continue;
+        }
+
+        view.position(segment.offsets[i] + 8);
+        length = view.getInt();
+        originalLength = view.getInt();
+        view.get(packet, 0, length);
+        if (filter != null && !filter.applyFilter(packet, originalLength, length)) {
+          continue;
+        }
+        timestamp = ts;
+        return true;
+      }
+    }
+  }
+}
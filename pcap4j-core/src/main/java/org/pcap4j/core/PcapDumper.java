@@ -88,6 +88,44 @@ public final class PcapDumper implements Closeable {
    * @throws NotOpenException if this PcapHandle is not open.
    */
   public void dumpRaw(byte[] packet, Timestamp timestamp) throws NotOpenException {
+    if (packet == null) {
+      StringBuilder sb = new StringBuilder();
+      sb.append("packet: ").append(packet).append(" timestamp: ").append(timestamp);
+      throw new NullPointerException(sb.toString());
+    }
+    dumpRaw(packet, packet.length, timestamp);
+  }
+
+  /**
+   * Dumps the first <code>length</code> bytes of a byte array, which allows a buffer to be reused
+   * for packets, e.g. frames of a {@link org.pcap4j.util.PacketTemplate PacketTemplate}.
+   *
+   * @param packet packet
+   * @param length the length of the packet in the array.
+   * @param timestamp timestamp
+   * @throws NotOpenException if this PcapHandle is not open.
+   * @throws IllegalArgumentException if the length is negative or longer than the array.
+   */
+  public void dumpRaw(byte[] packet, int length, Timestamp timestamp) throws NotOpenException {
+    dumpRaw(packet, length, length, timestamp);
+  }
+
+  /**
+   * Dumps the first <code>length</code> bytes of a byte array as a packet which was <code>
+   * originalLength</code> bytes long on the wire, which allows a truncated packet to be dumped as
+   * such.
+   *
+   * @param packet packet
+   * @param length the length of the packet in the array.
+   * @param originalLength the length of the packet on the wire.
+   * @param timestamp timestamp
+   * @throws NotOpenException if this PcapHandle is not open.
+   * @throws IllegalArgumentException if the length is negative or longer than the array, or the
+   *     original length is shorter than the length.
+   * @since pcap4j 1.8.3
+   */
+  public void dumpRaw(byte[] packet, int length, int originalLength, Timestamp timestamp)
+      throws NotOpenException {
     if (packet == null || timestamp == null) {
       StringBuilder sb = new StringBuilder();
       sb.append("packet: ").append(packet).append(" timestamp: ").append(timestamp);
@@ -98,8 +136,20 @@ public final class PcapDumper implements Closeable {
       throw new NotOpenException();
     }
 
+    if (length < 0 || length > packet.length) {
+      StringBuilder sb = new StringBuilder();
+      sb.append("length: ").append(length).append(" packet.length: ").append(packet.length);
+      throw new IllegalArgumentException(sb.toString());
+    }
+    if (originalLength < length) {
+      StringBuilder sb = new StringBuilder();
+      sb.append("originalLength: ").append(originalLength).append(" length: ").append(length);
+      throw new IllegalArgumentException(sb.toString());
+    }
+
     pcap_pkthdr header = new pcap_pkthdr();
-    header.len = header.caplen = packet.length;
+    header.caplen = length;
+    header.len = originalLength;
     header.ts = new timeval();
     header.ts.tv_sec = new NativeLong(timestamp.getTime() / 1000L);
     switch (timestampPrecision) {
@@ -126,7 +176,7 @@ public final class PcapDumper implements Closeable {
     }
 
     if (logger.isDebugEnabled()) {
-      logger.debug("Dumped a packet: " + ByteArrays.toHexString(packet, " "));
+      logger.debug("Dumped a packet: " + ByteArrays.toHexString(packet, " ", 0, length));
     }
   }
 
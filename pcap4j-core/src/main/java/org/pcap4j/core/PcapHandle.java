@@ -31,6 +31,7 @@ import org.pcap4j.core.NativeMappings.pcap_stat;
 import org.pcap4j.core.PcapNetworkInterface.PromiscuousMode;
 import org.pcap4j.packet.Packet;
 import org.pcap4j.packet.factory.PacketFactories;
+import org.pcap4j.packet.factory.PacketFactoryBinder;
 import org.pcap4j.packet.namednumber.DataLinkType;
 import org.pcap4j.util.ByteArrays;
 import org.slf4j.Logger;
@@ -49,13 +50,18 @@ public final class PcapHandle implements Closeable {
   private volatile DataLinkType dlt;
   private final TimestampPrecision timestampPrecision;
   private final Pointer handle;
+  private final PacketFactoryBinder packetFactoryBinder;
   private final ThreadLocal<Timestamp> timestamps = new ThreadLocal<Timestamp>();
   private final ThreadLocal<Integer> originalLengths = new ThreadLocal<Integer>();
   private final ReentrantReadWriteLock handleLock = new ReentrantReadWriteLock(true);
-  private static final Object compileLock = new Object();
+  // Guards the compile state and errbuf of the pcap_t, which pcap_compile doesn't lock on
+  // libpcap 1.8 or later, where BpfCompiler doesn't serialize compilations.
+  private final Object compileLock = new Object();
 
   private volatile boolean open = true;
   private volatile String filteringExpression = "";
+  // null while disabled
+  private volatile CaptureMetrics metrics;
 
   /**
    * The netmask used for {@link #setFilter(String, BpfProgram.BpfCompileMode, Inet4Address)} or
@@ -73,12 +79,21 @@ public final class PcapHandle implements Closeable {
   }
 
   PcapHandle(Pointer handle, TimestampPrecision timestampPrecision) {
+    this(handle, timestampPrecision, null);
+  }
+
+  PcapHandle(
+      Pointer handle,
+      TimestampPrecision timestampPrecision,
+      PacketFactoryBinder packetFactoryBinder) {
     this.handle = handle;
     this.dlt = getDltByNative();
     this.timestampPrecision = timestampPrecision;
+    this.packetFactoryBinder = packetFactoryBinder;
   }
 
   private PcapHandle(Builder builder) throws PcapNativeException {
+    this.packetFactoryBinder = builder.packetFactoryBinder;
     PcapErrbuf errbuf = new PcapErrbuf();
     this.handle = NativeMappings.pcap_create(builder.deviceName, errbuf);
     if (handle == null || errbuf.length() != 0) {
@@ -183,6 +198,14 @@ public final class PcapHandle implements Closeable {
     return DataLinkType.getInstance(NativeMappings.pcap_datalink(handle));
   }
 
+  /**
+   * @return the {@link PacketFactoryBinder} used to decode packets captured by this PcapHandle. If
+   *     null, the one {@link PacketFactories#getBinder()} returns is used.
+   */
+  public PacketFactoryBinder getPacketFactoryBinder() {
+    return packetFactoryBinder;
+  }
+
   /** @return the Data Link Type of this PcapHandle */
   public DataLinkType getDlt() {
     return dlt;
@@ -419,18 +442,17 @@ public final class PcapHandle implements Closeable {
       }
 
       prog = new bpf_program();
-      int rc;
       synchronized (compileLock) {
-        rc =
-            NativeMappings.pcap_compile(
+        int rc =
+            BpfCompiler.compile(
                 handle,
                 prog,
                 bpfExpression,
                 mode.getValue(),
                 ByteArrays.getInt(ByteArrays.toByteArray(netmask), 0));
-      }
-      if (rc < 0) {
-        throw new PcapNativeException(getError(), rc);
+        if (rc < 0) {
+          throw new PcapNativeException(getError(), rc);
+        }
       }
     } finally {
       handleLock.readLock().unlock();
@@ -474,20 +496,20 @@ public final class PcapHandle implements Closeable {
       bpf_program prog = new bpf_program();
       try {
         int mask = ByteArrays.getInt(ByteArrays.toByteArray(netmask), 0);
-        int rc;
         synchronized (compileLock) {
-          rc = NativeMappings.pcap_compile(handle, prog, bpfExpression, mode.getValue(), mask);
-        }
-        if (rc < 0) {
-          throw new PcapNativeException("Error occurred in pcap_compile: " + getError(), rc);
-        }
+          int rc;
+          rc = BpfCompiler.compile(handle, prog, bpfExpression, mode.getValue(), mask);
+          if (rc < 0) {
+            throw new PcapNativeException("Error occurred in pcap_compile: " + getError(), rc);
+          }
 
-        rc = NativeMappings.pcap_setfilter(handle, prog);
-        if (rc < 0) {
-          throw new PcapNativeException("Error occurred in pcap_setfilter: " + getError(), rc);
-        }
+          rc = NativeMappings.pcap_setfilter(handle, prog);
+          if (rc < 0) {
+            throw new PcapNativeException("Error occurred in pcap_setfilter: " + getError(), rc);
+          }
 
-        this.filteringExpression = bpfExpression;
+          this.filteringExpression = bpfExpression;
+        }
       } finally {
         NativeMappings.pcap_freecode(prog);
       }
@@ -513,6 +535,7 @@ public final class PcapHandle implements Closeable {
    * @throws PcapNativeException if an error occurs in the pcap native library.
    * @throws NotOpenException if this PcapHandle is not open.
    * @throws NullPointerException if any of arguments are null.
+   * @throws IllegalStateException if the program is freed.
    */
   public void setFilter(BpfProgram prog) throws PcapNativeException, NotOpenException {
     if (prog == null) {
@@ -530,9 +553,11 @@ public final class PcapHandle implements Closeable {
         throw new NotOpenException();
       }
 
-      int rc = NativeMappings.pcap_setfilter(handle, prog.getProgram());
-      if (rc < 0) {
-        throw new PcapNativeException("Failed to set filter: " + getError(), rc);
+      synchronized (compileLock) {
+        int rc = prog.setFilterTo(handle);
+        if (rc < 0) {
+          throw new PcapNativeException("Failed to set filter: " + getError(), rc);
+        }
       }
     } finally {
       handleLock.readLock().unlock();
@@ -617,8 +642,7 @@ public final class PcapHandle implements Closeable {
       return null;
     }
 
-    return PacketFactories.getFactory(Packet.class, DataLinkType.class)
-        .newInstance(ba, 0, ba.length, dlt);
+    return decode(ba);
   }
 
   /**
@@ -633,6 +657,8 @@ public final class PcapHandle implements Closeable {
     pcap_pkthdr header = new pcap_pkthdr();
     header.setAutoSynch(false);
     Pointer packet;
+    CaptureMetrics m = metrics;
+    long start = m != null ? System.nanoTime() : 0L;
     if (!handleLock.readLock().tryLock()) {
       throw new NotOpenException();
     }
@@ -649,7 +675,10 @@ public final class PcapHandle implements Closeable {
       Pointer headerP = header.getPointer();
       timestamps.set(buildTimestamp(headerP));
       originalLengths.set(pcap_pkthdr.getLen(headerP));
-      return packet.getByteArray(0, pcap_pkthdr.getCaplen(headerP));
+      if (m == null) {
+        return packet.getByteArray(0, pcap_pkthdr.getCaplen(headerP));
+      }
+      return copy(m, start, packet, headerP);
     } else {
       return null;
     }
@@ -666,8 +695,7 @@ public final class PcapHandle implements Closeable {
   public Packet getNextPacketEx()
       throws PcapNativeException, EOFException, TimeoutException, NotOpenException {
     byte[] ba = getNextRawPacketEx();
-    return PacketFactories.getFactory(Packet.class, DataLinkType.class)
-        .newInstance(ba, 0, ba.length, dlt);
+    return decode(ba);
   }
 
   /**
@@ -694,6 +722,8 @@ public final class PcapHandle implements Closeable {
 
       PointerByReference headerPP = new PointerByReference();
       PointerByReference dataPP = new PointerByReference();
+      CaptureMetrics m = metrics;
+      long start = m != null ? System.nanoTime() : 0L;
       int rc = NativeMappings.pcap_next_ex(handle, headerPP, dataPP);
       switch (rc) {
         case 0:
@@ -708,7 +738,10 @@ public final class PcapHandle implements Closeable {
 
           timestamps.set(buildTimestamp(headerP));
           originalLengths.set(pcap_pkthdr.getLen(headerP));
-          return dataP.getByteArray(0, pcap_pkthdr.getCaplen(headerP));
+          if (m == null) {
+            return dataP.getByteArray(0, pcap_pkthdr.getCaplen(headerP));
+          }
+          return copy(m, start, dataP, headerP);
         case -1:
           throw new PcapNativeException("Error occurred in pcap_next_ex(): " + getError(), rc);
         case -2:
@@ -1168,6 +1201,35 @@ public final class PcapHandle implements Closeable {
     }
   }
 
+  /**
+   * Reads the statistics by pcap_stats into the given structure, which can be reused.
+   *
+   * @param ps a structure whose auto synch is off.
+   * @throws PcapNativeException if an error occurs in the pcap native library.
+   * @throws NotOpenException if this PcapHandle is not open.
+   */
+  void readStats(pcap_stat ps) throws PcapNativeException, NotOpenException {
+    if (!open) {
+      throw new NotOpenException();
+    }
+
+    if (!handleLock.readLock().tryLock()) {
+      throw new NotOpenException();
+    }
+    try {
+      if (!open) {
+        throw new NotOpenException();
+      }
+
+      int rc = NativeMappings.pcap_stats(handle, ps);
+      if (rc < 0) {
+        throw new PcapNativeException(getError(), rc);
+      }
+    } finally {
+      handleLock.readLock().unlock();
+    }
+  }
+
   //  /**
   //   *
   //   * @return a {@link org.pcap4j.core.PcapStatEx PcapStatEx} object.
@@ -1248,6 +1310,36 @@ public final class PcapHandle implements Closeable {
     }
   }
 
+  /**
+   * Enables the metrics of the capture path of this PcapHandle and registers them to the platform
+   * MBean server. While the metrics are disabled, the capture path only checks they are.
+   *
+   * @return the metrics, which are the existing ones if already enabled.
+   */
+  public synchronized CaptureMetrics enableMetrics() {
+    CaptureMetrics m = metrics;
+    if (m == null) {
+      m = new CaptureMetrics();
+      m.register();
+      metrics = m;
+    }
+    return m;
+  }
+
+  /** Disables the metrics of the capture path and unregisters them from the MBean server. */
+  public synchronized void disableMetrics() {
+    CaptureMetrics m = metrics;
+    if (m != null) {
+      metrics = null;
+      m.unregister();
+    }
+  }
+
+  /** @return the metrics of the capture path, or null if they are disabled. */
+  public CaptureMetrics getMetrics() {
+    return metrics;
+  }
+
   /** Closes this PcapHandle. */
   @Override
   public void close() {
@@ -1267,6 +1359,7 @@ public final class PcapHandle implements Closeable {
       handleLock.writeLock().unlock();
     }
 
+    disableMetrics();
     NativeMappings.pcap_close(handle);
     logger.debug("Closed.");
   }
@@ -1304,72 +1397,163 @@ public final class PcapHandle implements Closeable {
     }
   }
 
-  private final class GotPacketFuncExecutor implements NativeMappings.pcap_handler {
+  private abstract class AbstractGotPacketFuncExecutor implements NativeMappings.pcap_handler {
 
-    private final DataLinkType dlt;
-    private final PacketListener listener;
     private final Executor executor;
 
-    public GotPacketFuncExecutor(PacketListener listener, DataLinkType dlt, Executor executor) {
-      this.dlt = dlt;
-      this.listener = listener;
+    AbstractGotPacketFuncExecutor(Executor executor) {
       this.executor = executor;
     }
 
+    /**
+     * Gives a packet to the listener in the thread the executor runs the task in.
+     *
+     * @param ba the packet.
+     * @param m the metrics to record DECODE and LISTENER to, or null if disabled.
+     */
+    abstract void gotPacket(byte[] ba, CaptureMetrics m);
+
     @Override
-    public void got_packet(Pointer args, Pointer header, final Pointer packet) {
-      final Timestamp ts = buildTimestamp(header);
-      final int len = pcap_pkthdr.getLen(header);
-      final byte[] ba = packet.getByteArray(0, pcap_pkthdr.getCaplen(header));
+    public void got_packet(Pointer args, Pointer header, Pointer packet) {
+      CaptureMetrics m = metrics;
+      long start = m != null ? System.nanoTime() : 0L;
+      Task task =
+          new Task(
+              buildTimestamp(header),
+              pcap_pkthdr.getLen(header),
+              packet.getByteArray(0, pcap_pkthdr.getCaplen(header)),
+              m);
+      if (m != null) {
+        task.submitted = System.nanoTime();
+        m.recordCopy(task.submitted - start, task.ba.length);
+        m.enqueue();
+      }
 
       try {
-        executor.execute(
-            new Runnable() {
-              @Override
-              public void run() {
-                timestamps.set(ts);
-                originalLengths.set(len);
-                listener.gotPacket(
-                    PacketFactories.getFactory(Packet.class, DataLinkType.class)
-                        .newInstance(ba, 0, ba.length, dlt));
-              }
-            });
+        executor.execute(task);
+        if (m != null) {
+          // Exclude the task if the executor has run it in this thread.
+          m.record(
+              CaptureMetrics.Stage.DISPATCH, System.nanoTime() - task.submitted - task.inlineNanos);
+        }
       } catch (Throwable e) {
+        if (m != null && !task.inline) {
+          m.reject();
+        }
         logger.error("The executor has thrown an exception.", e);
       }
     }
+
+    private final class Task implements Runnable {
+
+      private final Timestamp ts;
+      private final int len;
+      private final byte[] ba;
+      private final CaptureMetrics m;
+      private final Thread caller = Thread.currentThread();
+      private long submitted;
+      // Written only if the task runs in the caller thread.
+      private boolean inline;
+      private long inlineNanos;
+
+      private Task(Timestamp ts, int len, byte[] ba, CaptureMetrics m) {
+        this.ts = ts;
+        this.len = len;
+        this.ba = ba;
+        this.m = m;
+      }
+
+      @Override
+      public void run() {
+        long start = 0L;
+        if (m != null) {
+          start = System.nanoTime();
+          m.dequeue(start - submitted);
+          if (Thread.currentThread() == caller) {
+            inline = true;
+          }
+        }
+        timestamps.set(ts);
+        originalLengths.set(len);
+        gotPacket(ba, m);
+        if (inline) {
+          inlineNanos = System.nanoTime() - start;
+        }
+      }
+    }
   }
 
-  private final class GotRawPacketFuncExecutor implements NativeMappings.pcap_handler {
+  private final class GotPacketFuncExecutor extends AbstractGotPacketFuncExecutor {
+
+    private final DataLinkType dlt;
+    private final PacketListener listener;
+
+    public GotPacketFuncExecutor(PacketListener listener, DataLinkType dlt, Executor executor) {
+      super(executor);
+      this.dlt = dlt;
+      this.listener = listener;
+    }
+
+    @Override
+    void gotPacket(byte[] ba, CaptureMetrics m) {
+      if (m == null) {
+        listener.gotPacket(newPacket(ba, dlt));
+        return;
+      }
+
+      long start = System.nanoTime();
+      Packet p = newPacket(ba, dlt);
+      long decoded = System.nanoTime();
+      m.record(CaptureMetrics.Stage.DECODE, decoded - start);
+      listener.gotPacket(p);
+      m.record(CaptureMetrics.Stage.LISTENER, System.nanoTime() - decoded);
+    }
+  }
+
+  private final class GotRawPacketFuncExecutor extends AbstractGotPacketFuncExecutor {
 
     private final RawPacketListener listener;
-    private final Executor executor;
 
     public GotRawPacketFuncExecutor(RawPacketListener listener, Executor executor) {
+      super(executor);
       this.listener = listener;
-      this.executor = executor;
     }
 
     @Override
-    public void got_packet(Pointer args, Pointer header, final Pointer packet) {
-      final Timestamp ts = buildTimestamp(header);
-      final int len = pcap_pkthdr.getLen(header);
-      final byte[] ba = packet.getByteArray(0, pcap_pkthdr.getCaplen(header));
-
-      try {
-        executor.execute(
-            new Runnable() {
-              @Override
-              public void run() {
-                timestamps.set(ts);
-                originalLengths.set(len);
-                listener.gotPacket(ba);
-              }
-            });
-      } catch (Throwable e) {
-        logger.error("The executor has thrown an exception.", e);
+    void gotPacket(byte[] ba, CaptureMetrics m) {
+      if (m == null) {
+        listener.gotPacket(ba);
+        return;
       }
+
+      long start = System.nanoTime();
+      listener.gotPacket(ba);
+      m.record(CaptureMetrics.Stage.LISTENER, System.nanoTime() - start);
+    }
+  }
+
+  private Packet newPacket(byte[] rawData, DataLinkType dlt) {
+    return PacketFactories.newInstance(
+        packetFactoryBinder, Packet.class, DataLinkType.class, rawData, 0, rawData.length, dlt);
+  }
+
+  private Packet decode(byte[] rawData) {
+    CaptureMetrics m = metrics;
+    if (m == null) {
+      return newPacket(rawData, dlt);
     }
+    long start = System.nanoTime();
+    Packet packet = newPacket(rawData, dlt);
+    m.record(CaptureMetrics.Stage.DECODE, System.nanoTime() - start);
+    return packet;
+  }
+
+  private byte[] copy(CaptureMetrics m, long start, Pointer data, Pointer header) {
+    long read = System.nanoTime();
+    m.record(CaptureMetrics.Stage.NATIVE_READ, read - start);
+    byte[] ba = data.getByteArray(0, pcap_pkthdr.getCaplen(header));
+    m.recordCopy(System.nanoTime() - read, ba.length);
+    return ba;
   }
 
   private Timestamp buildTimestamp(Pointer header) {
@@ -1411,6 +1595,7 @@ public final class PcapHandle implements Closeable {
     private PcapDirection direction = null;
     private boolean immediateMode;
     private boolean isImmediateModeSet = false;
+    private PacketFactoryBinder packetFactoryBinder = null;
 
     /** @param deviceName A value {@link PcapNetworkInterface#getName()} returns. */
     public Builder(String deviceName) {
@@ -1521,6 +1706,19 @@ public final class PcapHandle implements Closeable {
       return this;
     }
 
+    /**
+     * @param packetFactoryBinder the {@link PacketFactoryBinder} to decode packets captured by the
+     *     PcapHandle, e.g. one {@link
+     *     PacketFactories#getBinder(org.pcap4j.packet.factory.DecodingProfile)} returns. If this
+     *     method isn't called or null is given, the one {@link PacketFactories#getBinder()} returns
+     *     is used.
+     * @return this Builder object for method chaining.
+     */
+    public Builder packetFactoryBinder(PacketFactoryBinder packetFactoryBinder) {
+      this.packetFactoryBinder = packetFactoryBinder;
+      return this;
+    }
+
     /**
      * @return a new PcapHandle object representing a live capture handle.
      * @throws PcapNativeException if an error occurs in the pcap native library.
@@ -1530,6 +1728,56 @@ public final class PcapHandle implements Closeable {
     }
   }
 
+  /**
+   * A builder of a PcapHandle to read packets from a savefile. {@link Pcaps#openOffline(String)}
+   * and {@link Pcaps#openOffline(String, TimestampPrecision)} are shortcuts of this.
+   *
+   * @since pcap4j 1.8.3
+   */
+  public static final class OfflineBuilder {
+
+    private final String filePath;
+    private TimestampPrecision timestampPrecision = null;
+    private PacketFactoryBinder packetFactoryBinder = null;
+
+    /** @param filePath "-" means stdin */
+    public OfflineBuilder(String filePath) {
+      if (filePath == null) {
+        throw new NullPointerException("filePath must not be null.");
+      }
+      this.filePath = filePath;
+    }
+
+    /**
+     * @param timestampPrecision timestampPrecision. If this method isn't called or null is given,
+     *     the file is opened by pcap_open_offline, which gives {@link TimestampPrecision#MICRO}.
+     * @return this OfflineBuilder object for method chaining.
+     */
+    public OfflineBuilder timestampPrecision(TimestampPrecision timestampPrecision) {
+      this.timestampPrecision = timestampPrecision;
+      return this;
+    }
+
+    /**
+     * @param packetFactoryBinder the {@link PacketFactoryBinder} to decode packets read from the
+     *     file. If this method isn't called or null is given, the one {@link
+     *     PacketFactories#getBinder()} returns is used.
+     * @return this OfflineBuilder object for method chaining.
+     */
+    public OfflineBuilder packetFactoryBinder(PacketFactoryBinder packetFactoryBinder) {
+      this.packetFactoryBinder = packetFactoryBinder;
+      return this;
+    }
+
+    /**
+     * @return a new PcapHandle object.
+     * @throws PcapNativeException if an error occurs in the pcap native library.
+     */
+    public PcapHandle build() throws PcapNativeException {
+      return Pcaps.openOffline(filePath, timestampPrecision, packetFactoryBinder);
+    }
+  }
+
   /**
    * @author Kaito Yamada
    * @version pcap4j 0.9.16
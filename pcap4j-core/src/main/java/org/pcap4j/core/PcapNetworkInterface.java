@@ -222,6 +222,7 @@ public final class PcapNetworkInterface {
    *     OSs. 1 through 9 means infinite on Solaris.
    * @return a new PcapHandle object.
    * @throws PcapNativeException if an error occurs in the pcap native library.
+   * @see PcapHandle.Builder#packetFactoryBinder(org.pcap4j.packet.factory.PacketFactoryBinder)
    */
   public PcapHandle openLive(int snaplen, PromiscuousMode mode, int timeoutMillis)
       throws PcapNativeException {
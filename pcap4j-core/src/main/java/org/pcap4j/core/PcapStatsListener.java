@@ -0,0 +1,24 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.core;
+
+/**
+ * Receives the samples taken by a {@link PcapStatsSampler}, for example to publish them to a
+ * metrics system.
+ *
+ * @since pcap4j 1.8.3
+ */
+public interface PcapStatsListener {
+
+  /**
+   * Called by the thread taking the sample.
+   *
+   * @param sample sample
+   */
+  public void gotStats(PcapStatsSample sample);
+}
@@ -0,0 +1,179 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.core;
+
+/**
+ * The statistics of a {@link PcapHandle} read by a {@link PcapStatsSampler}, with the differences
+ * from the previous sample. The counters of pcap_stats are 32-bit and wrap around, so the totals
+ * here are accumulated from the differences and don't wrap around.
+ *
+ * @since pcap4j 1.8.3
+ */
+public final class PcapStatsSample {
+
+  private final long timestamp;
+  private final long nanoTime;
+  private final long intervalNanos;
+  private final int rawReceived;
+  private final int rawDropped;
+  private final int rawDroppedByIf;
+  private final long numPacketsReceived;
+  private final long numPacketsDropped;
+  private final long numPacketsDroppedByIf;
+  private final long receivedDelta;
+  private final long droppedDelta;
+  private final long droppedByIfDelta;
+
+  private PcapStatsSample(
+      long timestamp,
+      long nanoTime,
+      long intervalNanos,
+      int rawReceived,
+      int rawDropped,
+      int rawDroppedByIf,
+      long numPacketsReceived,
+      long numPacketsDropped,
+      long numPacketsDroppedByIf,
+      long receivedDelta,
+      long droppedDelta,
+      long droppedByIfDelta) {
+    this.timestamp = timestamp;
+    this.nanoTime = nanoTime;
+    this.intervalNanos = intervalNanos;
+    this.rawReceived = rawReceived;
+    this.rawDropped = rawDropped;
+    this.rawDroppedByIf = rawDroppedByIf;
+    this.numPacketsReceived = numPacketsReceived;
+    this.numPacketsDropped = numPacketsDropped;
+    this.numPacketsDroppedByIf = numPacketsDroppedByIf;
+    this.receivedDelta = receivedDelta;
+    this.droppedDelta = droppedDelta;
+    this.droppedByIfDelta = droppedByIfDelta;
+  }
+
+  /**
+   * @param timestamp the current time in milliseconds.
+   * @param nanoTime the value of {@link System#nanoTime()}.
+   * @return a sample of all 0, which precedes the first sample.
+   */
+  static PcapStatsSample initial(long timestamp, long nanoTime) {
+    return new PcapStatsSample(timestamp, nanoTime, 0L, 0, 0, 0, 0L, 0L, 0L, 0L, 0L, 0L);
+  }
+
+  /**
+   * @param received ps_recv
+   * @param dropped ps_drop
+   * @param droppedByIf ps_ifdrop
+   * @param timestamp the current time in milliseconds.
+   * @param nanoTime the value of {@link System#nanoTime()}.
+   * @return a new sample following this one.
+   */
+  PcapStatsSample next(int received, int dropped, int droppedByIf, long timestamp, long nanoTime) {
+    long receivedDelta = (received - rawReceived) & 0xFFFFFFFFL;
+    long droppedDelta = (dropped - rawDropped) & 0xFFFFFFFFL;
+    long droppedByIfDelta = (droppedByIf - rawDroppedByIf) & 0xFFFFFFFFL;
+    return new PcapStatsSample(
+        timestamp,
+        nanoTime,
+        nanoTime - this.nanoTime,
+        received,
+        dropped,
+        droppedByIf,
+        numPacketsReceived + receivedDelta,
+        numPacketsDropped + droppedDelta,
+        numPacketsDroppedByIf + droppedByIfDelta,
+        receivedDelta,
+        droppedDelta,
+        droppedByIfDelta);
+  }
+
+  /** @return the time this sample was taken at in milliseconds. */
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  /** @return the time from the previous sample in nanoseconds. */
+  public long getIntervalNanos() {
+    return intervalNanos;
+  }
+
+  /** @return the total of ps_recv. */
+  public long getNumPacketsReceived() {
+    return numPacketsReceived;
+  }
+
+  /** @return the total of ps_drop. */
+  public long getNumPacketsDropped() {
+    return numPacketsDropped;
+  }
+
+  /** @return the total of ps_ifdrop. */
+  public long getNumPacketsDroppedByIf() {
+    return numPacketsDroppedByIf;
+  }
+
+  /** @return the increase of ps_recv from the previous sample. */
+  public long getReceivedDelta() {
+    return receivedDelta;
+  }
+
+  /** @return the increase of ps_drop from the previous sample. */
+  public long getDroppedDelta() {
+    return droppedDelta;
+  }
+
+  /** @return the increase of ps_ifdrop from the previous sample. */
+  public long getDroppedByIfDelta() {
+    return droppedByIfDelta;
+  }
+
+  /** @return the increase of ps_recv per second, or 0 if the interval is 0. */
+  public double getReceivedRate() {
+    return rate(receivedDelta);
+  }
+
+  /** @return the increase of ps_drop per second, or 0 if the interval is 0. */
+  public double getDroppedRate() {
+    return rate(droppedDelta);
+  }
+
+  /** @return the increase of ps_ifdrop per second, or 0 if the interval is 0. */
+  public double getDroppedByIfRate() {
+    return rate(droppedByIfDelta);
+  }
+
+  private double rate(long delta) {
+    if (intervalNanos <= 0) {
+      return 0d;
+    }
+    return delta * 1000000000d / intervalNanos;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder(150);
+    sb.append("[timestamp: ")
+        .append(timestamp)
+        .append(" interval: ")
+        .append(intervalNanos)
+        .append("ns received: ")
+        .append(numPacketsReceived)
+        .append(" (+")
+        .append(receivedDelta)
+        .append(") dropped: ")
+        .append(numPacketsDropped)
+        .append(" (+")
+        .append(droppedDelta)
+        .append(") dropped by interface: ")
+        .append(numPacketsDroppedByIf)
+        .append(" (+")
+        .append(droppedByIfDelta)
+        .append(")]");
+    return sb.toString();
+  }
+}
@@ -0,0 +1,133 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.core;
+
+import com.sun.jna.Pointer;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.pcap4j.core.NativeMappings.pcap_stat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Takes samples of the statistics of a {@link PcapHandle} by pcap_stats and gives them to a {@link
+ * PcapStatsListener}. A sample has the differences from the previous one, such as the packets
+ * dropped by the kernel in the interval. The structure pcap_stats writes to is allocated once and
+ * reused.
+ *
+ * <pre>{@code
+ * PcapStatsSampler sampler = new PcapStatsSampler(handle, listener);
+ * sampler.start(scheduler, 1, TimeUnit.SECONDS);
+ * }</pre>
+ *
+ * <p>The first sample counts from the activation of the handle, and its interval is from the
+ * creation of the sampler. Sampling stops when the handle is closed.
+ *
+ * @since pcap4j 1.8.3
+ */
+public final class PcapStatsSampler {
+
+  private static final Logger logger = LoggerFactory.getLogger(PcapStatsSampler.class);
+
+  private final PcapHandle handle;
+  private final PcapStatsListener listener;
+  private pcap_stat stat;
+  private PcapStatsSample last;
+  private ScheduledFuture<?> future;
+
+  /**
+   * @param handle handle
+   * @param listener listener
+   */
+  public PcapStatsSampler(PcapHandle handle, PcapStatsListener listener) {
+    if (handle == null || listener == null) {
+      StringBuilder sb = new StringBuilder();
+      sb.append("handle: ").append(handle).append(" listener: ").append(listener);
+      throw new NullPointerException(sb.toString());
+    }
+    this.handle = handle;
+    this.listener = listener;
+    this.last = PcapStatsSample.initial(System.currentTimeMillis(), System.nanoTime());
+  }
+
+  /**
+   * Takes a sample and gives it to the listener.
+   *
+   * @return the sample.
+   * @throws PcapNativeException if an error occurs in the pcap native library.
+   * @throws NotOpenException if the handle is not open.
+   */
+  public synchronized PcapStatsSample sample() throws PcapNativeException, NotOpenException {
+    if (stat == null) {
+      stat = new pcap_stat();
+      stat.setAutoSynch(false);
+    }
+    handle.readStats(stat);
+    Pointer p = stat.getPointer();
+    last =
+        last.next(
+            pcap_stat.getPsRecv(p),
+            pcap_stat.getPsDrop(p),
+            pcap_stat.getPsIfdrop(p),
+            System.currentTimeMillis(),
+            System.nanoTime());
+    listener.gotStats(last);
+    return last;
+  }
+
+  /** @return the last sample. */
+  public synchronized PcapStatsSample getLastSample() {
+    return last;
+  }
+
+  /**
+   * Starts taking samples periodically. An exception thrown while taking a sample is logged and
+   * doesn't stop the later samples.
+   *
+   * @param executor the executor to take samples by.
+   * @param period the period between samples.
+   * @param unit the unit of the period.
+   * @throws IllegalStateException if this sampler is already started.
+   */
+  public synchronized void start(ScheduledExecutorService executor, long period, TimeUnit unit) {
+    if (future != null) {
+      throw new IllegalStateException("Already started.");
+    }
+    future =
+        executor.scheduleAtFixedRate(
+            new Runnable() {
+              @Override
+              public void run() {
+                try {
+                  sample();
+                } catch (NotOpenException e) {
+                  logger.info("The handle is closed. Stop sampling.");
+                  stop();
+                } catch (PcapNativeException e) {
+                  logger.error("Failed to take a sample.", e);
+                } catch (RuntimeException e) {
+                  // Thrown by the listener, for example. If it propagated, the executor would
+                  // silently cancel all the later samples.
+                  logger.error("Failed to take a sample.", e);
+                }
+              }
+            },
+            period,
+            period,
+            unit);
+  }
+
+  /** Stops taking samples periodically. */
+  public synchronized void stop() {
+    if (future != null) {
+      future.cancel(false);
+      future = null;
+    }
+  }
+}
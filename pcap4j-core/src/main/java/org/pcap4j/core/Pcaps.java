@@ -21,6 +21,8 @@ import org.pcap4j.core.NativeMappings.PcapLibrary;
 import org.pcap4j.core.NativeMappings.bpf_program;
 import org.pcap4j.core.NativeMappings.pcap_if;
 import org.pcap4j.core.PcapHandle.TimestampPrecision;
+import org.pcap4j.packet.factory.PacketFactories;
+import org.pcap4j.packet.factory.PacketFactoryBinder;
 import org.pcap4j.packet.namednumber.DataLinkType;
 import org.pcap4j.util.ByteArrays;
 import org.pcap4j.util.Inet4NetworkAddress;
@@ -178,6 +180,7 @@ public final class Pcaps {
    * @param filePath "-" means stdin
    * @return a new PcapHandle object.
    * @throws PcapNativeException if an error occurs in the pcap native library.
+   * @see PcapHandle.OfflineBuilder#packetFactoryBinder(PacketFactoryBinder)
    */
   public static PcapHandle openOffline(String filePath) throws PcapNativeException {
     if (filePath == null) {
@@ -186,14 +189,7 @@ public final class Pcaps {
       throw new NullPointerException(sb.toString());
     }
 
-    PcapErrbuf errbuf = new PcapErrbuf();
-    Pointer handle = NativeMappings.pcap_open_offline(filePath, errbuf);
-
-    if (handle == null || errbuf.length() != 0) {
-      throw new PcapNativeException(errbuf.toString());
-    }
-
-    return new PcapHandle(handle, TimestampPrecision.MICRO);
+    return openOffline(filePath, null, null);
   }
 
   /**
@@ -201,6 +197,7 @@ public final class Pcaps {
    * @param precision precision
    * @return a new PcapHandle object.
    * @throws PcapNativeException if an error occurs in the pcap native library.
+   * @see PcapHandle.OfflineBuilder#packetFactoryBinder(PacketFactoryBinder)
    */
   public static PcapHandle openOffline(String filePath, TimestampPrecision precision)
       throws PcapNativeException {
@@ -214,23 +211,43 @@ public final class Pcaps {
       throw new NullPointerException(sb.toString());
     }
 
+    return openOffline(filePath, precision, null);
+  }
+
+  /**
+   * @param filePath "-" means stdin. Must not be null.
+   * @param precision precision. If null, the file is opened by pcap_open_offline with {@link
+   *     TimestampPrecision#MICRO}.
+   * @param packetFactoryBinder the {@link PacketFactoryBinder} to decode packets read from the
+   *     file. If null, the one {@link PacketFactories#getBinder()} returns is used.
+   * @return a new PcapHandle object.
+   * @throws PcapNativeException if an error occurs in the pcap native library.
+   */
+  static PcapHandle openOffline(
+      String filePath, TimestampPrecision precision, PacketFactoryBinder packetFactoryBinder)
+      throws PcapNativeException {
     PcapErrbuf errbuf = new PcapErrbuf();
     Pointer handle;
-    try {
-      handle =
-          PcapLibrary.INSTANCE.pcap_open_offline_with_tstamp_precision(
-              filePath, precision.getValue(), errbuf);
-    } catch (UnsatisfiedLinkError e) {
-      throw new PcapNativeException(
-          "pcap_open_offline_with_tstamp_precision is not supported by the pcap library"
-              + " installed in this environment.");
+    if (precision == null) {
+      handle = NativeMappings.pcap_open_offline(filePath, errbuf);
+      precision = TimestampPrecision.MICRO;
+    } else {
+      try {
+        handle =
+            PcapLibrary.INSTANCE.pcap_open_offline_with_tstamp_precision(
+                filePath, precision.getValue(), errbuf);
+      } catch (UnsatisfiedLinkError e) {
+        throw new PcapNativeException(
+            "pcap_open_offline_with_tstamp_precision is not supported by the pcap library"
+                + " installed in this environment.");
+      }
     }
 
     if (handle == null || errbuf.length() != 0) {
       throw new PcapNativeException(errbuf.toString());
     }
 
-    return new PcapHandle(handle, precision);
+    return new PcapHandle(handle, precision, packetFactoryBinder);
   }
 
   /**
@@ -330,7 +347,7 @@ public final class Pcaps {
 
     bpf_program prog = new bpf_program();
     int rc =
-        NativeMappings.pcap_compile_nopcap(
+        BpfCompiler.compileNopcap(
             snaplen,
             dlt.value(),
             prog,
@@ -0,0 +1,27 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.core;
+
+/**
+ * Receives the packets read from a {@link PacketRingStore}.
+ *
+ * @since pcap4j 1.8.3
+ */
+public interface StoredPacketListener {
+
+  /**
+   * Called for each packet in the order they were stored. The array is reused for the next packet,
+   * so copy the bytes needed after this method returns.
+   *
+   * @param packet an array whose first <code>length</code> bytes are the packet.
+   * @param length the captured length of the packet.
+   * @param originalLength the length of the packet on the wire.
+   * @param timestamp the timestamp of the packet in nanoseconds since the epoch.
+   */
+  public void gotPacket(byte[] packet, int length, int originalLength, long timestamp);
+}
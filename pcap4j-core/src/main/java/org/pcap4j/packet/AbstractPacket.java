@@ -7,6 +7,8 @@
 
 package org.pcap4j.packet;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
@@ -166,6 +168,40 @@ public abstract class AbstractPacket implements Packet {
     return copy;
   }
 
+  /**
+   * Writes this packet's raw data to a buffer. This method checks the remaining of the buffer and
+   * calls {@link #writeRawData writeRawData(buffer)}, which writes the layers directly into the
+   * buffer without building {@link #getRawData getRawData()}'s value.
+   */
+  @Override
+  public int writeTo(ByteBuffer buffer) {
+    int length = length();
+    if (buffer.remaining() < length) {
+      throw new BufferOverflowException();
+    }
+    writeRawData(buffer);
+    return length;
+  }
+
+  /**
+   * This method writes the value {@link #getRawData getRawData()} would return to a buffer, which
+   * has enough space for it, by writing the header's raw data and the payload's raw data. If you
+   * write this subclass which represents a packet with extra parts (e.g. a trailer), you need to
+   * override this method as well as {@link #buildRawData buildRawData()}.
+   *
+   * @param buffer buffer
+   */
+  protected void writeRawData(ByteBuffer buffer) {
+    Header header = getHeader();
+    Packet payload = getPayload();
+    if (header != null) {
+      header.writeTo(buffer);
+    }
+    if (payload != null) {
+      payload.writeTo(buffer);
+    }
+  }
+
   @Override
   public Iterator<Packet> iterator() {
     return new PacketIterator(this);
@@ -468,6 +504,15 @@ public abstract class AbstractPacket implements Packet {
       return ByteArrays.concatenate(getRawFields());
     }
 
+    /**
+     * Writes this header's raw data to a buffer without copying the cached value {@link #getRawData
+     * getRawData()} returns a copy of.
+     */
+    @Override
+    public void writeTo(ByteBuffer buffer) {
+      buffer.put(rawDataCache.getValue());
+    }
+
     /**
      * Returns this header's raw data. This method calls {@link #buildRawData buildRawData()} and
      * caches the return value when it is called for the first time, and then, this method returns
@@ -483,6 +528,14 @@ public abstract class AbstractPacket implements Packet {
       return copy;
     }
 
+    /**
+     * @return the cached value {@link #getRawData getRawData()} returns a copy of. Must not be
+     *     modified.
+     */
+    final byte[] getCachedRawData() {
+      return rawDataCache.getValue();
+    }
+
     /**
      * This method builds the value {@link #toHexString toHexString()} will return using the return
      * value of {@link #getRawData getRawData()}. Each octet in this return value is separated by a
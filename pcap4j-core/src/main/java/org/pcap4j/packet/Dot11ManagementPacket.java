@@ -9,10 +9,12 @@ package org.pcap4j.packet;
 
 import static org.pcap4j.util.ByteArrays.*;
 
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.List;
 import org.pcap4j.util.ByteArrays;
+import org.pcap4j.util.Checksums;
 import org.pcap4j.util.MacAddress;
 
 /**
@@ -50,7 +52,8 @@ public abstract class Dot11ManagementPacket extends AbstractPacket {
    */
   protected Dot11ManagementPacket(Builder builder, Dot11ManagementHeader header) {
     if (builder.correctChecksumAtBuild) {
-      this.fcs = ByteArrays.calcCrc32Checksum(header.getRawData());
+      byte[] headerData = header.getCachedRawData();
+      this.fcs = Checksums.calcCrc32(headerData, 0, headerData.length);
     } else {
       this.fcs = builder.fcs;
     }
@@ -83,6 +86,14 @@ public abstract class Dot11ManagementPacket extends AbstractPacket {
     return rawData;
   }
 
+  @Override
+  protected void writeRawData(ByteBuffer buffer) {
+    super.writeRawData(buffer);
+    if (fcs != null) {
+      buffer.put(ByteArrays.toByteArray(fcs, ByteOrder.LITTLE_ENDIAN));
+    }
+  }
+
   @Override
   protected String buildString() {
     StringBuilder sb = new StringBuilder();
@@ -108,7 +119,8 @@ public abstract class Dot11ManagementPacket extends AbstractPacket {
     if (fcs == null) {
       return false;
     }
-    return ByteArrays.calcCrc32Checksum(getHeader().getRawData()) == fcs.intValue();
+    byte[] headerData = getHeader().getCachedRawData();
+    return Checksums.calcCrc32(headerData, 0, headerData.length) == fcs.intValue();
   }
 
   /**
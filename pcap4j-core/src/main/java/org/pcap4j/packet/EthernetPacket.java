@@ -9,6 +9,7 @@ package org.pcap4j.packet;
 
 import static org.pcap4j.util.ByteArrays.*;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -174,6 +175,12 @@ public final class EthernetPacket extends AbstractPacket {
     return rawData;
   }
 
+  @Override
+  protected void writeRawData(ByteBuffer buffer) {
+    super.writeRawData(buffer);
+    buffer.put(pad);
+  }
+
   @Override
   protected String buildString() {
     StringBuilder sb = new StringBuilder();
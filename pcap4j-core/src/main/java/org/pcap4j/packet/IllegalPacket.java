@@ -7,6 +7,8 @@
 
 package org.pcap4j.packet;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import org.pcap4j.util.ByteArrays;
 
@@ -67,6 +69,15 @@ public final class IllegalPacket extends AbstractPacket {
     return new Builder(this);
   }
 
+  @Override
+  public int writeTo(ByteBuffer buffer) {
+    if (buffer.remaining() < rawData.length) {
+      throw new BufferOverflowException();
+    }
+    buffer.put(rawData);
+    return rawData.length;
+  }
+
   @Override
   protected String buildString() {
     StringBuilder sb = new StringBuilder();
@@ -17,6 +17,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import org.pcap4j.packet.factory.PacketFactories;
+import org.pcap4j.packet.factory.PacketFactory;
 import org.pcap4j.packet.namednumber.IpNumber;
 import org.pcap4j.packet.namednumber.IpV4OptionType;
 import org.pcap4j.packet.namednumber.IpVersion;
@@ -184,8 +185,8 @@ public final class IpV4Packet extends AbstractPacket implements IpPacket {
       this.headerChecksum = packet.header.headerChecksum;
       this.srcAddr = packet.header.srcAddr;
       this.dstAddr = packet.header.dstAddr;
-      this.options = packet.header.options;
-      this.padding = packet.header.padding;
+      this.options = packet.header.options();
+      this.padding = packet.header.padding();
       this.payloadBuilder = packet.payload != null ? packet.payload.getBuilder() : null;
     }
 
@@ -438,8 +439,13 @@ public final class IpV4Packet extends AbstractPacket implements IpPacket {
     private final short headerChecksum;
     private final Inet4Address srcAddr;
     private final Inet4Address dstAddr;
-    private final List<IpV4Option> options;
-    private final byte[] padding;
+    private volatile List<IpV4Option> options;
+    private volatile byte[] padding;
+    // The options including padding, kept undecoded if options are decoded lazily.
+    private final byte[] undecodedOptions;
+    // The factory to decode undecodedOptions, captured so that the options are decoded with the
+    // binder in effect when this header was built.
+    private final transient PacketFactory<IpV4Option, IpV4OptionType> optionFactory;
 
     private IpV4Header(byte[] rawData, int offset, int length) throws IllegalRawDataException {
       if (length < MIN_IPV4_HEADER_SIZE) {
@@ -501,36 +507,19 @@ public final class IpV4Packet extends AbstractPacket implements IpPacket {
         throw new IllegalRawDataException(sb.toString());
       }
 
-      this.options = new ArrayList<IpV4Option>();
-      int currentOffsetInHeader = OPTIONS_OFFSET;
-      try {
-        while (currentOffsetInHeader < headerLength) {
-          IpV4OptionType type = IpV4OptionType.getInstance(rawData[currentOffsetInHeader + offset]);
-          IpV4Option newOne;
-          newOne =
-              PacketFactories.getFactory(IpV4Option.class, IpV4OptionType.class)
-                  .newInstance(
-                      rawData,
-                      currentOffsetInHeader + offset,
-                      headerLength - currentOffsetInHeader,
-                      type);
-          options.add(newOne);
-          currentOffsetInHeader += newOne.length();
-
-          if (newOne.getType().equals(IpV4OptionType.END_OF_OPTION_LIST)) {
-            break;
-          }
-        }
-      } catch (Exception e) {
-        logger.error("Exception occurred during analyzing IPv4 options: ", e);
-      }
-
-      int paddingLength = headerLength - currentOffsetInHeader;
-      if (paddingLength != 0) {
-        this.padding =
-            ByteArrays.getSubArray(rawData, currentOffsetInHeader + offset, paddingLength);
+      int optionsLength = headerLength - OPTIONS_OFFSET;
+      if (optionsLength != 0 && PacketFactories.getEffectiveDecodingProfile().isLazyOptions()) {
+        this.undecodedOptions =
+            ByteArrays.getSubArray(rawData, OPTIONS_OFFSET + offset, optionsLength);
+        this.optionFactory = PacketFactories.getFactory(IpV4Option.class, IpV4OptionType.class);
       } else {
-        this.padding = new byte[0];
+        this.undecodedOptions = null;
+        this.optionFactory = null;
+        decodeOptions(
+            PacketFactories.getFactory(IpV4Option.class, IpV4OptionType.class),
+            rawData,
+            OPTIONS_OFFSET + offset,
+            optionsLength);
       }
     }
 
@@ -539,6 +528,8 @@ public final class IpV4Packet extends AbstractPacket implements IpPacket {
         throw new IllegalArgumentException("Invalid fragmentOffset: " + builder.fragmentOffset);
       }
 
+      this.undecodedOptions = null;
+      this.optionFactory = null;
       this.version = builder.version;
       this.tos = builder.tos;
       this.identification = builder.identification;
@@ -693,13 +684,67 @@ public final class IpV4Packet extends AbstractPacket implements IpPacket {
       return dstAddr;
     }
 
+    private void decodeOptions(
+        PacketFactory<IpV4Option, IpV4OptionType> factory, byte[] rawData, int offset, int length) {
+      List<IpV4Option> decoded = new ArrayList<IpV4Option>();
+      int currentOffset = 0;
+      try {
+        while (currentOffset < length) {
+          IpV4OptionType type = IpV4OptionType.getInstance(rawData[currentOffset + offset]);
+          IpV4Option newOne;
+          newOne =
+              factory.newInstance(rawData, currentOffset + offset, length - currentOffset, type);
+          decoded.add(newOne);
+          currentOffset += newOne.length();
+
+          if (newOne.getType().equals(IpV4OptionType.END_OF_OPTION_LIST)) {
+            break;
+          }
+        }
+      } catch (Exception e) {
+        logger.error("Exception occurred during analyzing IPv4 options: ", e);
+      }
+
+      int paddingLength = length - currentOffset;
+      if (paddingLength != 0) {
+        this.padding = ByteArrays.getSubArray(rawData, currentOffset + offset, paddingLength);
+      } else {
+        this.padding = new byte[0];
+      }
+      this.options = decoded;
+    }
+
+    private List<IpV4Option> options() {
+      List<IpV4Option> result = options;
+      if (result == null) {
+        synchronized (undecodedOptions) {
+          result = options;
+          if (result == null) {
+            PacketFactory<IpV4Option, IpV4OptionType> factory = optionFactory;
+            if (factory == null) { // deserialized
+              factory = PacketFactories.getFactory(IpV4Option.class, IpV4OptionType.class);
+            }
+            decodeOptions(factory, undecodedOptions, 0, undecodedOptions.length);
+            result = options;
+          }
+        }
+      }
+      return result;
+    }
+
+    private byte[] padding() {
+      options();
+      return padding;
+    }
+
     /** @return options */
     public List<IpV4Option> getOptions() {
-      return new ArrayList<IpV4Option>(options);
+      return new ArrayList<IpV4Option>(options());
     }
 
     /** @return padding */
     public byte[] getPadding() {
+      byte[] padding = padding();
       byte[] copy = new byte[padding.length];
       System.arraycopy(padding, 0, copy, 0, padding.length);
       return copy;
@@ -750,10 +795,14 @@ public final class IpV4Packet extends AbstractPacket implements IpPacket {
       rawFields.add(ByteArrays.toByteArray(zeroInsteadOfChecksum ? (short) 0 : headerChecksum));
       rawFields.add(ByteArrays.toByteArray(srcAddr));
       rawFields.add(ByteArrays.toByteArray(dstAddr));
-      for (IpV4Option o : options) {
-        rawFields.add(o.getRawData());
+      if (undecodedOptions != null) {
+        rawFields.add(undecodedOptions);
+      } else {
+        for (IpV4Option o : options) {
+          rawFields.add(o.getRawData());
+        }
+        rawFields.add(padding);
       }
-      rawFields.add(padding);
       return rawFields;
     }
 
@@ -771,6 +820,9 @@ public final class IpV4Packet extends AbstractPacket implements IpPacket {
 
     @Override
     protected int calcLength() {
+      if (undecodedOptions != null) {
+        return MIN_IPV4_HEADER_SIZE + undecodedOptions.length;
+      }
       return measureLengthWithoutPadding() + padding.length;
     }
 
@@ -806,9 +858,10 @@ public final class IpV4Packet extends AbstractPacket implements IpPacket {
           .append(ls);
       sb.append("  Source address: ").append(srcAddr).append(ls);
       sb.append("  Destination address: ").append(dstAddr).append(ls);
-      for (IpV4Option opt : options) {
+      for (IpV4Option opt : options()) {
         sb.append("  Option: ").append(opt).append(ls);
       }
+      byte[] padding = padding();
       if (padding.length != 0) {
         sb.append("  Padding: 0x").append(ByteArrays.toHexString(padding, " ")).append(ls);
       }
@@ -840,8 +893,8 @@ public final class IpV4Packet extends AbstractPacket implements IpPacket {
           && tos.equals(other.tos)
           && ihl == other.ihl
           && version.equals(other.version)
-          && options.equals(other.options)
-          && Arrays.equals(padding, other.padding);
+          && options().equals(other.options())
+          && Arrays.equals(padding(), other.padding());
     }
 
     @Override
@@ -861,8 +914,8 @@ public final class IpV4Packet extends AbstractPacket implements IpPacket {
       result = 31 * result + headerChecksum;
       result = 31 * result + srcAddr.hashCode();
       result = 31 * result + dstAddr.hashCode();
-      result = 31 * result + Arrays.hashCode(padding);
-      result = 31 * result + options.hashCode();
+      result = 31 * result + Arrays.hashCode(padding());
+      result = 31 * result + options().hashCode();
       return result;
     }
   }
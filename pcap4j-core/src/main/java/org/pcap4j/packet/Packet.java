@@ -8,6 +8,8 @@
 package org.pcap4j.packet;
 
 import java.io.Serializable;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 
 /**
  * The interface representing a packet which consists of a header and a payload. If you use {@link
@@ -52,6 +54,39 @@ public interface Packet extends Iterable<Packet>, Serializable {
    */
   public byte[] getRawData();
 
+  /**
+   * Writes this packet's raw data to a buffer at its position and advances the position by the
+   * packet length.
+   *
+   * @param buffer buffer
+   * @return the number of bytes written, i.e. the packet length.
+   * @throws BufferOverflowException if the remaining of the buffer is smaller than the packet
+   *     length. In this case nothing is written.
+   * @throws java.nio.ReadOnlyBufferException if the buffer is read-only.
+   */
+  public default int writeTo(ByteBuffer buffer) {
+    int length = length();
+    if (buffer.remaining() < length) {
+      throw new BufferOverflowException();
+    }
+    buffer.put(getRawData());
+    return length;
+  }
+
+  /**
+   * Writes this packet's raw data to an array.
+   *
+   * @param array array
+   * @param offset the offset in the array to write at.
+   * @return the number of bytes written, i.e. the packet length.
+   * @throws IndexOutOfBoundsException if the offset is out of the array.
+   * @throws BufferOverflowException if the array doesn't have enough space after the offset. In
+   *     this case nothing is written.
+   */
+  public default int writeTo(byte[] array, int offset) {
+    return writeTo(ByteBuffer.wrap(array, offset, array.length - offset));
+  }
+
   /**
    * Traverses this packet and its payload to find an object of the specified packet class and
    * returns the object. If there are more than one objects of the specified class in this object,
@@ -138,6 +173,36 @@ public interface Packet extends Iterable<Packet>, Serializable {
      * @return a new Packet object
      */
     public Packet build();
+
+    /**
+     * Builds a packet and writes its raw data to a buffer at its position. Lengths and checksums
+     * are corrected as {@link #build()} does.
+     *
+     * @param buffer buffer
+     * @return the number of bytes written.
+     * @throws BufferOverflowException if the remaining of the buffer is smaller than the packet
+     *     length. In this case nothing is written.
+     * @see Packet#writeTo(ByteBuffer)
+     */
+    public default int writeTo(ByteBuffer buffer) {
+      return build().writeTo(buffer);
+    }
+
+    /**
+     * Builds a packet and writes its raw data to an array. Lengths and checksums are corrected as
+     * {@link #build()} does.
+     *
+     * @param array array
+     * @param offset the offset in the array to write at.
+     * @return the number of bytes written.
+     * @throws IndexOutOfBoundsException if the offset is out of the array.
+     * @throws BufferOverflowException if the array doesn't have enough space after the offset. In
+     *     this case nothing is written.
+     * @see Packet#writeTo(byte[], int)
+     */
+    public default int writeTo(byte[] array, int offset) {
+      return build().writeTo(array, offset);
+    }
   }
 
   /**
@@ -162,5 +227,17 @@ public interface Packet extends Iterable<Packet>, Serializable {
      *     actually sent through real network
      */
     public byte[] getRawData();
+
+    /**
+     * Writes the raw data of this packet's header to a buffer at its position and advances the
+     * position by the header length.
+     *
+     * @param buffer buffer
+     * @throws BufferOverflowException if the remaining of the buffer is smaller than the header
+     *     length.
+     */
+    public default void writeTo(ByteBuffer buffer) {
+      buffer.put(getRawData());
+    }
   }
 }
@@ -18,6 +18,7 @@ import org.pcap4j.packet.factory.PacketFactories;
 import org.pcap4j.packet.namednumber.SctpChunkType;
 import org.pcap4j.packet.namednumber.SctpPort;
 import org.pcap4j.util.ByteArrays;
+import org.pcap4j.util.Checksums;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -92,7 +93,7 @@ public final class SctpPacket extends AbstractPacket implements TransportPacket
 
   /** @return true if the checksum in this header is valid; false otherwise. */
   public boolean hasValidChecksum() {
-    return header.calcChecksum() == header.checksum;
+    return header.calcChecksum(header.getCachedRawData()) == header.checksum;
   }
 
   /**
@@ -286,32 +287,25 @@ public final class SctpPacket extends AbstractPacket implements TransportPacket
       }
 
       if (builder.correctChecksumAtBuild) {
-        this.checksum = calcChecksum();
+        // If call getRawData() here, rawData will be cached with
+        // an invalid checksum in some cases.
+        // To avoid it, use buildRawData() instead.
+        this.checksum = calcChecksum(buildRawData());
       } else {
         this.checksum = builder.checksum;
       }
     }
 
-    private int calcChecksum() {
-      byte[] data = new byte[length()];
-
-      // If call getRawData() here, rawData will be cached with
-      // an invalid checksum in some cases.
-      // To avoid it, use buildRawData() instead.
-      System.arraycopy(buildRawData(), 0, data, 0, data.length);
-
-      for (int i = 0; i < CHECKSUM_SIZE; i++) {
-        data[CHECKSUM_OFFSET + i] = (byte) 0;
-      }
-
+    private int calcChecksum(byte[] data) {
+      // The checksum field is regarded as zero without copying the data.
       if (PacketPropertiesLoader.getInstance().sctpCalcChecksumByAdler32()) {
-        return ByteArrays.calcAdler32Checksum(data);
+        return Checksums.calcAdler32(data, 0, data.length, CHECKSUM_OFFSET, CHECKSUM_SIZE);
       } else {
-        int crc = ByteArrays.calcCrc32cChecksum(data);
-        return (crc << 24)
-            | (crc & 0x0000FF00) << 8
-            | (crc & 0x00FF0000) >> 8
-            | (crc & 0xFF000000) >>> 24;
+        int value = Checksums.calcCrc32c(data, 0, data.length, CHECKSUM_OFFSET, CHECKSUM_SIZE);
+        return (value << 24)
+            | (value & 0x0000FF00) << 8
+            | (value & 0x00FF0000) >> 8
+            | (value & 0xFF000000) >>> 24;
       }
     }
 
@@ -9,6 +9,7 @@ package org.pcap4j.packet;
 
 import static org.pcap4j.util.ByteArrays.*;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -213,6 +214,13 @@ public final class Ssh2BinaryPacket extends AbstractPacket {
     return rawData;
   }
 
+  @Override
+  protected void writeRawData(ByteBuffer buffer) {
+    super.writeRawData(buffer);
+    buffer.put(randomPadding);
+    buffer.put(mac);
+  }
+
   @Override
   protected String buildString() {
     StringBuilder sb = new StringBuilder();
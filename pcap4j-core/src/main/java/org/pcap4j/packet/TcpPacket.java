@@ -23,6 +23,7 @@ import org.pcap4j.packet.namednumber.IpNumber;
 import org.pcap4j.packet.namednumber.TcpOptionKind;
 import org.pcap4j.packet.namednumber.TcpPort;
 import org.pcap4j.util.ByteArrays;
+import org.pcap4j.util.Checksums;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -213,8 +214,8 @@ public final class TcpPacket extends AbstractPacket implements TransportPacket {
       this.window = packet.header.window;
       this.checksum = packet.header.checksum;
       this.urgentPointer = packet.header.urgentPointer;
-      this.options = packet.header.options;
-      this.padding = packet.header.padding;
+      this.options = packet.header.options();
+      this.padding = packet.header.padding();
       this.payloadBuilder = packet.payload != null ? packet.payload.getBuilder() : null;
     }
 
@@ -524,9 +525,6 @@ public final class TcpPacket extends AbstractPacket implements TransportPacket {
 
     private static final int MIN_TCP_HEADER_SIZE = URGENT_POINTER_OFFSET + URGENT_POINTER_SIZE;
 
-    private static final int IPV4_PSEUDO_HEADER_SIZE = 12;
-    private static final int IPV6_PSEUDO_HEADER_SIZE = 40;
-
     private final TcpPort srcPort;
     private final TcpPort dstPort;
     private final int sequenceNumber;
@@ -542,8 +540,13 @@ public final class TcpPacket extends AbstractPacket implements TransportPacket {
     private final short window;
     private final short checksum;
     private final short urgentPointer;
-    private final List<TcpOption> options;
-    private final byte[] padding;
+    private volatile List<TcpOption> options;
+    private volatile byte[] padding;
+    // The options including padding, kept undecoded if options are decoded lazily.
+    private final byte[] undecodedOptions;
+    // The factory to decode undecodedOptions, captured so that the options are decoded with the
+    // binder in effect when this header was built.
+    private final transient PacketFactory<TcpOption, TcpOptionKind> optionFactory;
 
     private TcpHeader(byte[] rawData, int offset, int length) throws IllegalRawDataException {
       if (length < MIN_TCP_HEADER_SIZE) {
@@ -602,37 +605,19 @@ public final class TcpPacket extends AbstractPacket implements TransportPacket {
         throw new IllegalRawDataException(sb.toString());
       }
 
-      this.options = new ArrayList<TcpOption>();
-      int currentOffsetInHeader = OPTIONS_OFFSET;
-      try {
-        while (currentOffsetInHeader < headerLength) {
-          TcpOptionKind kind = TcpOptionKind.getInstance(rawData[currentOffsetInHeader + offset]);
-          TcpOption newOne;
-          newOne =
-              PacketFactories.getFactory(TcpOption.class, TcpOptionKind.class)
-                  .newInstance(
-                      rawData,
-                      currentOffsetInHeader + offset,
-                      headerLength - currentOffsetInHeader,
-                      kind);
-
-          options.add(newOne);
-          currentOffsetInHeader += newOne.length();
-
-          if (newOne.getKind().equals(TcpOptionKind.END_OF_OPTION_LIST)) {
-            break;
-          }
-        }
-      } catch (Exception e) {
-        logger.error("Exception occurred during analyzing TCP options: ", e);
-      }
-
-      int paddingLength = headerLength - currentOffsetInHeader;
-      if (paddingLength != 0) { // paddingLength is positive.
-        this.padding =
-            ByteArrays.getSubArray(rawData, currentOffsetInHeader + offset, paddingLength);
+      int optionsLength = headerLength - OPTIONS_OFFSET;
+      if (optionsLength != 0 && PacketFactories.getEffectiveDecodingProfile().isLazyOptions()) {
+        this.undecodedOptions =
+            ByteArrays.getSubArray(rawData, OPTIONS_OFFSET + offset, optionsLength);
+        this.optionFactory = PacketFactories.getFactory(TcpOption.class, TcpOptionKind.class);
       } else {
-        this.padding = new byte[0];
+        this.undecodedOptions = null;
+        this.optionFactory = null;
+        decodeOptions(
+            PacketFactories.getFactory(TcpOption.class, TcpOptionKind.class),
+            rawData,
+            OPTIONS_OFFSET + offset,
+            optionsLength);
       }
     }
 
@@ -641,6 +626,8 @@ public final class TcpPacket extends AbstractPacket implements TransportPacket {
         throw new IllegalArgumentException("Invalid reserved: " + builder.reserved);
       }
 
+      this.undecodedOptions = null;
+      this.optionFactory = null;
       this.srcPort = builder.srcPort;
       this.dstPort = builder.dstPort;
       this.sequenceNumber = builder.sequenceNumber;
@@ -702,46 +689,16 @@ public final class TcpPacket extends AbstractPacket implements TransportPacket {
 
     private short calcChecksum(
         InetAddress srcAddr, InetAddress dstAddr, byte[] header, byte[] payload) {
-      byte[] data;
-      int destPos;
       int totalLength = payload.length + length();
-      boolean lowerLayerIsIpV4 = srcAddr instanceof Inet4Address;
-
-      int pseudoHeaderSize = lowerLayerIsIpV4 ? IPV4_PSEUDO_HEADER_SIZE : IPV6_PSEUDO_HEADER_SIZE;
-
-      if ((totalLength % 2) != 0) {
-        data = new byte[totalLength + 1 + pseudoHeaderSize];
-        destPos = totalLength + 1;
-      } else {
-        data = new byte[totalLength + pseudoHeaderSize];
-        destPos = totalLength;
-      }
-
-      System.arraycopy(header, 0, data, 0, header.length);
-      System.arraycopy(payload, 0, data, header.length, payload.length);
 
       // pseudo header
-      System.arraycopy(srcAddr.getAddress(), 0, data, destPos, srcAddr.getAddress().length);
-      destPos += srcAddr.getAddress().length;
+      long sum = Checksums.sum(srcAddr) + Checksums.sum(dstAddr);
+      sum += IpNumber.TCP.value() & 0xFF;
+      sum += totalLength & 0xFFFF;
 
-      System.arraycopy(dstAddr.getAddress(), 0, data, destPos, dstAddr.getAddress().length);
-      destPos += dstAddr.getAddress().length;
-
-      if (lowerLayerIsIpV4) {
-        // data[destPos] = (byte)0;
-        destPos++;
-      } else {
-        destPos += 3;
-      }
-
-      data[destPos] = IpNumber.TCP.value();
-      destPos++;
-
-      System.arraycopy(
-          ByteArrays.toByteArray((short) totalLength), 0, data, destPos, SHORT_SIZE_IN_BYTES);
-      destPos += SHORT_SIZE_IN_BYTES;
-
-      return ByteArrays.calcChecksum(data);
+      sum += Checksums.sum(header, 0, header.length);
+      sum += Checksums.sum(payload, 0, payload.length, header.length);
+      return Checksums.calcChecksum(sum);
     }
 
     @Override
@@ -844,13 +801,68 @@ public final class TcpPacket extends AbstractPacket implements TransportPacket {
       return urgentPointer & 0xFFFF;
     }
 
+    private void decodeOptions(
+        PacketFactory<TcpOption, TcpOptionKind> factory, byte[] rawData, int offset, int length) {
+      List<TcpOption> decoded = new ArrayList<TcpOption>();
+      int currentOffset = 0;
+      try {
+        while (currentOffset < length) {
+          TcpOptionKind kind = TcpOptionKind.getInstance(rawData[currentOffset + offset]);
+          TcpOption newOne;
+          newOne =
+              factory.newInstance(rawData, currentOffset + offset, length - currentOffset, kind);
+
+          decoded.add(newOne);
+          currentOffset += newOne.length();
+
+          if (newOne.getKind().equals(TcpOptionKind.END_OF_OPTION_LIST)) {
+            break;
+          }
+        }
+      } catch (Exception e) {
+        logger.error("Exception occurred during analyzing TCP options: ", e);
+      }
+
+      int paddingLength = length - currentOffset;
+      if (paddingLength != 0) { // paddingLength is positive.
+        this.padding = ByteArrays.getSubArray(rawData, currentOffset + offset, paddingLength);
+      } else {
+        this.padding = new byte[0];
+      }
+      this.options = decoded;
+    }
+
+    private List<TcpOption> options() {
+      List<TcpOption> result = options;
+      if (result == null) {
+        synchronized (undecodedOptions) {
+          result = options;
+          if (result == null) {
+            PacketFactory<TcpOption, TcpOptionKind> factory = optionFactory;
+            if (factory == null) { // deserialized
+              factory = PacketFactories.getFactory(TcpOption.class, TcpOptionKind.class);
+            }
+            decodeOptions(factory, undecodedOptions, 0, undecodedOptions.length);
+            result = options;
+          }
+        }
+      }
+      return result;
+    }
+
+    private byte[] padding() {
+      options();
+      return padding;
+    }
+
     /** @return options */
     public List<TcpOption> getOptions() {
-      return new ArrayList<TcpOption>(options);
+      return new ArrayList<TcpOption>(options());
     }
 
     /** @return padding */
     public byte[] getPadding() {
+      byte[] padding = padding();
       byte[] copy = new byte[padding.length];
       System.arraycopy(padding, 0, copy, 0, padding.length);
       return copy;
@@ -891,10 +903,14 @@ public final class TcpPacket extends AbstractPacket implements TransportPacket {
       rawFields.add(ByteArrays.toByteArray(window));
       rawFields.add(ByteArrays.toByteArray(zeroInsteadOfChecksum ? (short) 0 : checksum));
       rawFields.add(ByteArrays.toByteArray(urgentPointer));
-      for (TcpOption o : options) {
-        rawFields.add(o.getRawData());
+      if (undecodedOptions != null) {
+        rawFields.add(undecodedOptions);
+      } else {
+        for (TcpOption o : options) {
+          rawFields.add(o.getRawData());
+        }
+        rawFields.add(padding);
       }
-      rawFields.add(padding);
       return rawFields;
     }
 
@@ -912,6 +928,9 @@ public final class TcpPacket extends AbstractPacket implements TransportPacket {
 
     @Override
     protected int calcLength() {
+      if (undecodedOptions != null) {
+        return MIN_TCP_HEADER_SIZE + undecodedOptions.length;
+      }
       return measureLengthWithoutPadding() + padding.length;
     }
 
@@ -941,9 +960,10 @@ public final class TcpPacket extends AbstractPacket implements TransportPacket {
       sb.append("  Window: ").append(getWindowAsInt()).append(ls);
       sb.append("  Checksum: 0x").append(ByteArrays.toHexString(checksum, "")).append(ls);
       sb.append("  Urgent Pointer: ").append(getUrgentPointerAsInt()).append(ls);
-      for (TcpOption opt : options) {
+      for (TcpOption opt : options()) {
         sb.append("  Option: ").append(opt).append(ls);
       }
+      byte[] padding = padding();
       if (padding.length != 0) {
         sb.append("  Padding: 0x").append(ByteArrays.toHexString(padding, " ")).append(ls);
       }
@@ -976,8 +996,8 @@ public final class TcpPacket extends AbstractPacket implements TransportPacket {
           && window == other.window
           && urgentPointer == other.urgentPointer
           && reserved == other.reserved
-          && options.equals(other.options)
-          && Arrays.equals(padding, other.padding);
+          && options().equals(other.options())
+          && Arrays.equals(padding(), other.padding());
     }
 
     @Override
@@ -998,8 +1018,8 @@ public final class TcpPacket extends AbstractPacket implements TransportPacket {
       result = 31 * result + window;
       result = 31 * result + checksum;
       result = 31 * result + urgentPointer;
-      result = 31 * result + options.hashCode();
-      result = 31 * result + Arrays.hashCode(padding);
+      result = 31 * result + options().hashCode();
+      result = 31 * result + Arrays.hashCode(padding());
       return result;
     }
   }
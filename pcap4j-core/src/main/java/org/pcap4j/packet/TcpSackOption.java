@@ -154,6 +154,14 @@ public final class TcpSackOption implements TcpOption {
     return 0xFF & length;
   }
 
+  /**
+   * @return sacks
+   * @since pcap4j 1.8.3
+   */
+  public List<Sack> getSacks() {
+    return new ArrayList<Sack>(sacks);
+  }
+
   @Override
   public int length() {
     return sacks.size() * INT_SIZE_IN_BYTES * 2 + 2;
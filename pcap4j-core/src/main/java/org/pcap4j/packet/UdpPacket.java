@@ -19,6 +19,7 @@ import org.pcap4j.packet.factory.PacketFactory;
 import org.pcap4j.packet.namednumber.IpNumber;
 import org.pcap4j.packet.namednumber.UdpPort;
 import org.pcap4j.util.ByteArrays;
+import org.pcap4j.util.Checksums;
 
 /**
  * @author Kaito Yamada
@@ -347,9 +348,6 @@ public final class UdpPacket extends AbstractPacket implements TransportPacket {
     private static final int CHECKSUM_SIZE = SHORT_SIZE_IN_BYTES;
     private static final int UCP_HEADER_SIZE = CHECKSUM_OFFSET + CHECKSUM_SIZE;
 
-    private static final int IPV4_PSEUDO_HEADER_SIZE = 12;
-    private static final int IPV6_PSEUDO_HEADER_SIZE = 40;
-
     private final UdpPort srcPort;
     private final UdpPort dstPort;
     private final short length;
@@ -402,46 +400,16 @@ public final class UdpPacket extends AbstractPacket implements TransportPacket {
 
     private short calcChecksum(
         InetAddress srcAddr, InetAddress dstAddr, byte[] header, byte[] payload) {
-      byte[] data;
-      int destPos;
       int totalLength = payload.length + length();
-      boolean lowerLayerIsIpV4 = srcAddr instanceof Inet4Address;
-
-      int pseudoHeaderSize = lowerLayerIsIpV4 ? IPV4_PSEUDO_HEADER_SIZE : IPV6_PSEUDO_HEADER_SIZE;
-
-      if ((totalLength % 2) != 0) {
-        data = new byte[totalLength + 1 + pseudoHeaderSize];
-        destPos = totalLength + 1;
-      } else {
-        data = new byte[totalLength + pseudoHeaderSize];
-        destPos = totalLength;
-      }
-
-      System.arraycopy(header, 0, data, 0, header.length);
-      System.arraycopy(payload, 0, data, header.length, payload.length);
 
       // pseudo header
-      System.arraycopy(srcAddr.getAddress(), 0, data, destPos, srcAddr.getAddress().length);
-      destPos += srcAddr.getAddress().length;
-
-      System.arraycopy(dstAddr.getAddress(), 0, data, destPos, dstAddr.getAddress().length);
-      destPos += dstAddr.getAddress().length;
-
-      if (lowerLayerIsIpV4) {
-        // data[destPos] = (byte)0;
-        destPos++;
-      } else {
-        destPos += 3;
-      }
-
-      data[destPos] = IpNumber.UDP.value();
-      destPos++;
-
-      System.arraycopy(
-          ByteArrays.toByteArray((short) totalLength), 0, data, destPos, SHORT_SIZE_IN_BYTES);
-      destPos += SHORT_SIZE_IN_BYTES;
+      long sum = Checksums.sum(srcAddr) + Checksums.sum(dstAddr);
+      sum += IpNumber.UDP.value() & 0xFF;
+      sum += totalLength & 0xFFFF;
 
-      return ByteArrays.calcChecksum(data);
+      sum += Checksums.sum(header, 0, header.length);
+      sum += Checksums.sum(payload, 0, payload.length, header.length);
+      return Checksums.calcChecksum(sum);
     }
 
     @Override
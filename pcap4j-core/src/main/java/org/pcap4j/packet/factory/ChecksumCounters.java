@@ -0,0 +1,166 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.packet.factory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import org.pcap4j.packet.IcmpV4CommonPacket;
+import org.pcap4j.packet.IcmpV6CommonPacket;
+import org.pcap4j.packet.IpV4Packet;
+import org.pcap4j.packet.Packet;
+import org.pcap4j.packet.TcpPacket;
+import org.pcap4j.packet.UdpPacket;
+
+/**
+ * Counters of checksums verified while packets are dissected with a {@link DecodingProfile} built
+ * with {@link DecodingProfile.Builder#checksumCounters(ChecksumCounters)}. Checksums are verified
+ * on the raw data when an IPv4 or IPv6 packet is decoded, before the packet objects are built.
+ *
+ * <p>Each checksum is counted as one of the following:
+ *
+ * <ul>
+ *   <li>valid: the checksum is correct.
+ *   <li>bad: the checksum is wrong.
+ *   <li>offloaded: the checksum is wrong but seems to have been left to the NIC, i.e. the packet
+ *       was captured on the sending host before checksum offload or segmentation offload. That is,
+ *       the IPv4 header checksum is zero, the total length of the IPv4 packet (or the payload
+ *       length of the IPv6 packet) is zero, or the TCP or UDP checksum contains only the sum of the
+ *       pseudo header.
+ *   <li>unverified: the checksum can't be verified, e.g. because the packet is truncated by the
+ *       snapshot length, is a non-atomic fragment, or is a UDP packet without a checksum.
+ * </ul>
+ *
+ * <p>The supported protocols are {@link IpV4Packet}, {@link TcpPacket}, {@link UdpPacket}, {@link
+ * IcmpV4CommonPacket} and {@link IcmpV6CommonPacket}. This class is thread-safe and the counters
+ * are cheap to update from many threads.
+ *
+ * @since pcap4j 1.8.3
+ */
+public final class ChecksumCounters {
+
+  static final int IPV4 = 0;
+  static final int TCP = 1;
+  static final int UDP = 2;
+  static final int ICMPV4 = 3;
+  static final int ICMPV6 = 4;
+
+  static final int VALID = 0;
+  static final int BAD = 1;
+  static final int OFFLOADED = 2;
+  static final int UNVERIFIED = 3;
+
+  private static final List<Class<? extends Packet>> PROTOCOLS;
+
+  static {
+    List<Class<? extends Packet>> protocols = new ArrayList<Class<? extends Packet>>();
+    protocols.add(IpV4Packet.class);
+    protocols.add(TcpPacket.class);
+    protocols.add(UdpPacket.class);
+    protocols.add(IcmpV4CommonPacket.class);
+    protocols.add(IcmpV6CommonPacket.class);
+    PROTOCOLS = Collections.unmodifiableList(protocols);
+  }
+
+  private static final String[] KINDS = {"valid", "bad", "offloaded", "unverified"};
+
+  private final LongAdder[][] counters = new LongAdder[PROTOCOLS.size()][KINDS.length];
+
+  /** */
+  public ChecksumCounters() {
+    for (LongAdder[] protocolCounters : counters) {
+      for (int i = 0; i < protocolCounters.length; i++) {
+        protocolCounters[i] = new LongAdder();
+      }
+    }
+  }
+
+  /** @return the protocols whose checksums are counted. */
+  public static List<Class<? extends Packet>> getProtocols() {
+    return PROTOCOLS;
+  }
+
+  /**
+   * @param protocol one of {@link #getProtocols()}
+   * @return the number of valid checksums.
+   * @throws IllegalArgumentException if the protocol is not supported.
+   */
+  public long getValid(Class<? extends Packet> protocol) {
+    return get(protocol, VALID);
+  }
+
+  /**
+   * @param protocol one of {@link #getProtocols()}
+   * @return the number of bad checksums.
+   * @throws IllegalArgumentException if the protocol is not supported.
+   */
+  public long getBad(Class<? extends Packet> protocol) {
+    return get(protocol, BAD);
+  }
+
+  /**
+   * @param protocol one of {@link #getProtocols()}
+   * @return the number of wrong checksums which seem to have been left to the NIC.
+   * @throws IllegalArgumentException if the protocol is not supported.
+   */
+  public long getOffloaded(Class<? extends Packet> protocol) {
+    return get(protocol, OFFLOADED);
+  }
+
+  /**
+   * @param protocol one of {@link #getProtocols()}
+   * @return the number of checksums which couldn't be verified.
+   * @throws IllegalArgumentException if the protocol is not supported.
+   */
+  public long getUnverified(Class<? extends Packet> protocol) {
+    return get(protocol, UNVERIFIED);
+  }
+
+  /** Resets all the counters to zero. */
+  public void reset() {
+    for (LongAdder[] protocolCounters : counters) {
+      for (LongAdder counter : protocolCounters) {
+        counter.reset();
+      }
+    }
+  }
+
+  void increment(int protocol, int kind) {
+    counters[protocol][kind].increment();
+  }
+
+  private long get(Class<? extends Packet> protocol, int kind) {
+    int index = PROTOCOLS.indexOf(protocol);
+    if (index < 0) {
+      throw new IllegalArgumentException("Unsupported protocol: " + protocol);
+    }
+    return counters[index][kind].sum();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder(300);
+    sb.append("[");
+    for (int i = 0; i < PROTOCOLS.size(); i++) {
+      if (i != 0) {
+        sb.append(", ");
+      }
+      sb.append(PROTOCOLS.get(i).getSimpleName()).append(": {");
+      for (int j = 0; j < KINDS.length; j++) {
+        if (j != 0) {
+          sb.append(", ");
+        }
+        sb.append(KINDS[j]).append(": ").append(counters[i][j].sum());
+      }
+      sb.append("}");
+    }
+    sb.append("]");
+    return sb.toString();
+  }
+}
@@ -0,0 +1,273 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.packet.factory;
+
+import static org.pcap4j.packet.factory.ChecksumCounters.BAD;
+import static org.pcap4j.packet.factory.ChecksumCounters.ICMPV4;
+import static org.pcap4j.packet.factory.ChecksumCounters.ICMPV6;
+import static org.pcap4j.packet.factory.ChecksumCounters.IPV4;
+import static org.pcap4j.packet.factory.ChecksumCounters.OFFLOADED;
+import static org.pcap4j.packet.factory.ChecksumCounters.TCP;
+import static org.pcap4j.packet.factory.ChecksumCounters.UDP;
+import static org.pcap4j.packet.factory.ChecksumCounters.UNVERIFIED;
+import static org.pcap4j.packet.factory.ChecksumCounters.VALID;
+
+import org.pcap4j.packet.IpV4Packet;
+import org.pcap4j.packet.IpV6Packet;
+import org.pcap4j.packet.namednumber.IpNumber;
+import org.pcap4j.util.ByteArrays;
+import org.pcap4j.util.Checksums;
+
+/**
+ * Verifies the checksums of IPv4 and IPv6 packets and their TCP, UDP and ICMP payloads on raw data
+ * and counts the results in a {@link ChecksumCounters}. Malformed data is ignored here and left to
+ * the packet factories to report.
+ *
+ * @since pcap4j 1.8.3
+ */
+final class ChecksumVerifier {
+
+  private static final int IPV4_MIN_HEADER_SIZE = 20;
+  private static final int IPV4_TOTAL_LENGTH_OFFSET = 2;
+  private static final int IPV4_FLAGS_AND_FRAGMENT_OFFSET_OFFSET = 6;
+  private static final int IPV4_PROTOCOL_OFFSET = 9;
+  private static final int IPV4_HEADER_CHECKSUM_OFFSET = 10;
+  private static final int IPV4_ADDRS_OFFSET = 12;
+  private static final int IPV4_ADDRS_SIZE = 8;
+
+  private static final int IPV6_HEADER_SIZE = 40;
+  private static final int IPV6_PAYLOAD_LENGTH_OFFSET = 4;
+  private static final int IPV6_NEXT_HEADER_OFFSET = 6;
+  private static final int IPV6_ADDRS_OFFSET = 8;
+  private static final int IPV6_ADDRS_SIZE = 32;
+
+  private static final int TCP_CHECKSUM_OFFSET = 16;
+  private static final int UDP_CHECKSUM_OFFSET = 6;
+  private static final int ICMP_CHECKSUM_OFFSET = 2;
+
+  private static final int PROTOCOL_TCP = IpNumber.TCP.value() & 0xFF;
+  private static final int PROTOCOL_UDP = IpNumber.UDP.value() & 0xFF;
+  private static final int PROTOCOL_ICMPV4 = IpNumber.ICMPV4.value() & 0xFF;
+  private static final int PROTOCOL_ICMPV6 = IpNumber.ICMPV6.value() & 0xFF;
+  private static final int PROTOCOL_HOPOPT = IpNumber.IPV6_HOPOPT.value() & 0xFF;
+  private static final int PROTOCOL_ROUTE = IpNumber.IPV6_ROUTE.value() & 0xFF;
+  private static final int PROTOCOL_FRAG = IpNumber.IPV6_FRAG.value() & 0xFF;
+  private static final int PROTOCOL_DST_OPTS = IpNumber.IPV6_DST_OPTS.value() & 0xFF;
+  private static final int PROTOCOL_AH = IpNumber.AH.value() & 0xFF;
+
+  private final ChecksumCounters counters;
+
+  ChecksumVerifier(ChecksumCounters counters) {
+    this.counters = counters;
+  }
+
+  /**
+   * Verifies the checksums in the raw data if the target class is an IP packet class.
+   *
+   * @param targetClass the class of the packet the raw data is decoded into.
+   * @param rawData rawData
+   * @param offset offset
+   * @param length length
+   */
+  void verify(Class<?> targetClass, byte[] rawData, int offset, int length) {
+    if (targetClass == IpV4Packet.class) {
+      verifyIpV4(rawData, offset, length);
+    } else if (targetClass == IpV6Packet.class) {
+      verifyIpV6(rawData, offset, length);
+    }
+  }
+
+  private void verifyIpV4(byte[] rawData, int offset, int length) {
+    if (offset < 0 || length < IPV4_MIN_HEADER_SIZE || offset + length > rawData.length) {
+      return;
+    }
+    int headerLength = (rawData[offset] & 0x0F) * 4;
+    if (headerLength < IPV4_MIN_HEADER_SIZE || headerLength > length) {
+      return;
+    }
+
+    // A total length of zero is seen in packets captured before TCP segmentation offload.
+    int totalLength = ByteArrays.getShort(rawData, offset + IPV4_TOTAL_LENGTH_OFFSET) & 0xFFFF;
+    boolean segmentationOffloaded = totalLength == 0;
+    if (Checksums.calcChecksum(rawData, offset, headerLength) == 0) {
+      counters.increment(IPV4, VALID);
+    } else if (segmentationOffloaded
+        || ByteArrays.getShort(rawData, offset + IPV4_HEADER_CHECKSUM_OFFSET) == 0) {
+      counters.increment(IPV4, OFFLOADED);
+    } else {
+      counters.increment(IPV4, BAD);
+    }
+
+    int protocolNumber = rawData[offset + IPV4_PROTOCOL_OFFSET] & 0xFF;
+    int protocol;
+    if (protocolNumber == PROTOCOL_TCP) {
+      protocol = TCP;
+    } else if (protocolNumber == PROTOCOL_UDP) {
+      protocol = UDP;
+    } else if (protocolNumber == PROTOCOL_ICMPV4) {
+      protocol = ICMPV4;
+    } else {
+      return;
+    }
+
+    int payloadLength;
+    if (segmentationOffloaded) {
+      payloadLength = length - headerLength;
+    } else if (totalLength > length || totalLength < headerLength) {
+      counters.increment(protocol, UNVERIFIED);
+      return;
+    } else {
+      payloadLength = totalLength - headerLength;
+    }
+    if ((ByteArrays.getShort(rawData, offset + IPV4_FLAGS_AND_FRAGMENT_OFFSET_OFFSET) & 0x3FFF)
+        != 0) {
+      // A fragment
+      counters.increment(protocol, UNVERIFIED);
+      return;
+    }
+
+    long pseudoHeaderSum = 0;
+    if (protocol != ICMPV4) {
+      pseudoHeaderSum =
+          Checksums.sum(rawData, offset + IPV4_ADDRS_OFFSET, IPV4_ADDRS_SIZE)
+              + protocolNumber
+              + payloadLength;
+    }
+    verifyTransport(
+        protocol,
+        rawData,
+        offset + headerLength,
+        payloadLength,
+        pseudoHeaderSum,
+        segmentationOffloaded);
+  }
+
+  private void verifyIpV6(byte[] rawData, int offset, int length) {
+    if (offset < 0 || length < IPV6_HEADER_SIZE || offset + length > rawData.length) {
+      return;
+    }
+
+    // A payload length of zero is seen in packets captured before segmentation offload, as well as
+    // in jumbograms.
+    int payloadLength = ByteArrays.getShort(rawData, offset + IPV6_PAYLOAD_LENGTH_OFFSET) & 0xFFFF;
+    boolean segmentationOffloaded = payloadLength == 0;
+    int end = offset + length;
+    int nextHeader = rawData[offset + IPV6_NEXT_HEADER_OFFSET] & 0xFF;
+    int pos = offset + IPV6_HEADER_SIZE;
+    boolean verifiable = true;
+    while (true) {
+      if (nextHeader == PROTOCOL_HOPOPT
+          || nextHeader == PROTOCOL_DST_OPTS
+          || nextHeader == PROTOCOL_ROUTE) {
+        if (pos + 8 > end) {
+          return;
+        }
+        if (nextHeader == PROTOCOL_ROUTE && rawData[pos + 3] != 0) {
+          // The destination address in the pseudo header is the final destination.
+          verifiable = false;
+        }
+        nextHeader = rawData[pos] & 0xFF;
+        pos += ((rawData[pos + 1] & 0xFF) + 1) * 8;
+      } else if (nextHeader == PROTOCOL_FRAG) {
+        if (pos + 8 > end) {
+          return;
+        }
+        if ((ByteArrays.getShort(rawData, pos + 2) & 0xFFF9) != 0) {
+          // A fragment other than an atomic fragment
+          verifiable = false;
+        }
+        nextHeader = rawData[pos] & 0xFF;
+        pos += 8;
+      } else if (nextHeader == PROTOCOL_AH) {
+        if (pos + 8 > end) {
+          return;
+        }
+        nextHeader = rawData[pos] & 0xFF;
+        pos += ((rawData[pos + 1] & 0xFF) + 2) * 4;
+      } else {
+        break;
+      }
+    }
+
+    int protocol;
+    if (nextHeader == PROTOCOL_TCP) {
+      protocol = TCP;
+    } else if (nextHeader == PROTOCOL_UDP) {
+      protocol = UDP;
+    } else if (nextHeader == PROTOCOL_ICMPV6) {
+      protocol = ICMPV6;
+    } else {
+      return;
+    }
+    if (pos > end) {
+      return;
+    }
+
+    int upperLayerLength;
+    if (segmentationOffloaded) {
+      upperLayerLength = end - pos;
+    } else if (IPV6_HEADER_SIZE + payloadLength > length
+        || offset + IPV6_HEADER_SIZE + payloadLength < pos) {
+      counters.increment(protocol, UNVERIFIED);
+      return;
+    } else {
+      upperLayerLength = offset + IPV6_HEADER_SIZE + payloadLength - pos;
+    }
+    if (!verifiable) {
+      counters.increment(protocol, UNVERIFIED);
+      return;
+    }
+
+    long pseudoHeaderSum =
+        Checksums.sum(rawData, offset + IPV6_ADDRS_OFFSET, IPV6_ADDRS_SIZE)
+            + nextHeader
+            + upperLayerLength;
+    verifyTransport(
+        protocol, rawData, pos, upperLayerLength, pseudoHeaderSum, segmentationOffloaded);
+  }
+
+  private void verifyTransport(
+      int protocol,
+      byte[] rawData,
+      int offset,
+      int length,
+      long pseudoHeaderSum,
+      boolean segmentationOffloaded) {
+    int checksumOffset;
+    if (protocol == TCP) {
+      checksumOffset = TCP_CHECKSUM_OFFSET;
+    } else if (protocol == UDP) {
+      checksumOffset = UDP_CHECKSUM_OFFSET;
+    } else {
+      checksumOffset = ICMP_CHECKSUM_OFFSET;
+    }
+    if (length < checksumOffset + 2) {
+      counters.increment(protocol, UNVERIFIED);
+      return;
+    }
+
+    short checksum = ByteArrays.getShort(rawData, offset + checksumOffset);
+    if (protocol == UDP && checksum == 0) {
+      // No checksum
+      counters.increment(protocol, UNVERIFIED);
+      return;
+    }
+
+    long sum = pseudoHeaderSum + Checksums.sum(rawData, offset, length);
+    if (Checksums.calcChecksum(sum) == 0) {
+      counters.increment(protocol, VALID);
+    } else if (segmentationOffloaded
+        || (protocol != ICMPV4 && checksum == Checksums.fold(pseudoHeaderSum))) {
+      // With checksum offload, the sending host puts the sum of the pseudo header in the
+      // checksum field and leaves the rest to the NIC.
+      counters.increment(protocol, OFFLOADED);
+    } else {
+      counters.increment(protocol, BAD);
+    }
+  }
+}
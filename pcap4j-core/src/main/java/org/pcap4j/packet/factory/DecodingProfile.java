@@ -0,0 +1,234 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.packet.factory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import org.pcap4j.packet.IllegalPacket;
+import org.pcap4j.packet.Packet;
+import org.pcap4j.packet.UnknownPacket;
+
+/**
+ * A decoding profile limits how far packets are dissected. A profile can limit dissection to a set
+ * of protocols, i.e. {@link Packet} classes, and to a maximum number of layers. A payload which is
+ * not in the protocol set or which is deeper than the maximum number of layers is left as an {@link
+ * UnknownPacket}.
+ *
+ * <p>A profile can also defer decoding of TCP and IPv4 options. With {@link
+ * Builder#lazyOptions(boolean) lazyOptions(true)}, option bytes are kept undecoded in the header
+ * and are decoded on the first call to a method which needs them, such as {@code getOptions()},
+ * {@code equals()} or {@code toString()}. {@code length()} and {@code getRawData()} of such headers
+ * don't decode options.
+ *
+ * <p>A profile can also verify checksums of IPv4, IPv6, TCP, UDP and ICMP packets on the raw data
+ * as they are dissected and count the results in a {@link ChecksumCounters} given by {@link
+ * Builder#checksumCounters(ChecksumCounters)}.
+ *
+ * <p>For example, the following profile decodes only Ethernet, VLAN, IPv4, IPv6, TCP and UDP
+ * headers and leaves everything else, such as DNS messages in UDP packets, undecoded.
+ *
+ * <pre>{@code
+ * DecodingProfile profile =
+ *     new DecodingProfile.Builder()
+ *         .addProtocol(EthernetPacket.class)
+ *         .addProtocol(Dot1qVlanTagPacket.class)
+ *         .addProtocol(IpV4Packet.class)
+ *         .addProtocol(IpV6Packet.class)
+ *         .addProtocol(TcpPacket.class)
+ *         .addProtocol(UdpPacket.class)
+ *         .build();
+ * }</pre>
+ *
+ * @since pcap4j 1.8.3
+ */
+public final class DecodingProfile {
+
+  /** A profile which doesn't limit dissection at all. */
+  public static final DecodingProfile FULL = new DecodingProfile(new Builder());
+
+  private final Set<Class<? extends Packet>> protocols;
+  private final int maxDepth;
+  private final boolean lazyOptions;
+  private final ChecksumCounters checksumCounters;
+
+  private DecodingProfile(Builder builder) {
+    if (builder.maxDepth < 1) {
+      throw new IllegalArgumentException("maxDepth must be positive but is " + builder.maxDepth);
+    }
+    this.protocols =
+        builder.protocols.isEmpty()
+            ? Collections.<Class<? extends Packet>>emptySet()
+            : Collections.unmodifiableSet(new HashSet<Class<? extends Packet>>(builder.protocols));
+    this.maxDepth = builder.maxDepth;
+    this.lazyOptions = builder.lazyOptions;
+    this.checksumCounters = builder.checksumCounters;
+  }
+
+  /**
+   * @return the protocols to decode. An empty set means all protocols are decoded. {@link
+   *     UnknownPacket} and {@link IllegalPacket} are always allowed.
+   */
+  public Set<Class<? extends Packet>> getProtocols() {
+    return protocols;
+  }
+
+  /**
+   * @return the maximum number of layers to decode, including the data link layer. {@link
+   *     Integer#MAX_VALUE} means there is no limit.
+   */
+  public int getMaxDepth() {
+    return maxDepth;
+  }
+
+  /** @return true if options are decoded lazily; false otherwise. */
+  public boolean isLazyOptions() {
+    return lazyOptions;
+  }
+
+  /** @return the counters checksums are verified into. May be null. */
+  public ChecksumCounters getChecksumCounters() {
+    return checksumCounters;
+  }
+
+  /**
+   * @param packetClass packetClass
+   * @return true if the packetClass is to be decoded with this profile; false otherwise.
+   */
+  public boolean isDecoded(Class<? extends Packet> packetClass) {
+    return protocols.isEmpty()
+        || protocols.contains(packetClass)
+        || UnknownPacket.class.equals(packetClass)
+        || IllegalPacket.class.equals(packetClass);
+  }
+
+  /** @return true if this profile doesn't limit dissection at all; false otherwise. */
+  public boolean isFull() {
+    return protocols.isEmpty()
+        && maxDepth == Integer.MAX_VALUE
+        && !lazyOptions
+        && checksumCounters == null;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder(100);
+    sb.append("[protocols: ")
+        .append(protocols.isEmpty() ? "all" : protocols)
+        .append(", maxDepth: ")
+        .append(maxDepth == Integer.MAX_VALUE ? "unlimited" : String.valueOf(maxDepth))
+        .append(", lazyOptions: ")
+        .append(lazyOptions)
+        .append(", checksumVerification: ")
+        .append(checksumCounters != null)
+        .append("]");
+    return sb.toString();
+  }
+
+  @Override
+  public int hashCode() {
+    int result = 17;
+    result = 31 * result + protocols.hashCode();
+    result = 31 * result + maxDepth;
+    result = 31 * result + (lazyOptions ? 1231 : 1237);
+    result = 31 * result + (checksumCounters != null ? checksumCounters.hashCode() : 0);
+    return result;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!this.getClass().isInstance(obj)) {
+      return false;
+    }
+    DecodingProfile other = (DecodingProfile) obj;
+    return maxDepth == other.maxDepth
+        && lazyOptions == other.lazyOptions
+        && checksumCounters == other.checksumCounters
+        && protocols.equals(other.protocols);
+  }
+
+  /**
+   * @since pcap4j 1.8.3
+   */
+  public static final class Builder {
+
+    private final Set<Class<? extends Packet>> protocols = new HashSet<Class<? extends Packet>>();
+    private int maxDepth = Integer.MAX_VALUE;
+    private boolean lazyOptions = false;
+    private ChecksumCounters checksumCounters = null;
+
+    /** */
+    public Builder() {}
+
+    /**
+     * @param protocol the {@link Packet} class of a protocol to decode. If no protocol is added,
+     *     all protocols are decoded.
+     * @return this Builder object for method chaining.
+     */
+    public Builder addProtocol(Class<? extends Packet> protocol) {
+      if (protocol == null) {
+        throw new NullPointerException("protocol must not be null.");
+      }
+      protocols.add(protocol);
+      return this;
+    }
+
+    /**
+     * @param protocols the {@link Packet} classes of protocols to decode.
+     * @return this Builder object for method chaining.
+     */
+    public Builder protocols(Collection<Class<? extends Packet>> protocols) {
+      this.protocols.clear();
+      for (Class<? extends Packet> protocol : protocols) {
+        addProtocol(protocol);
+      }
+      return this;
+    }
+
+    /**
+     * @param maxDepth the maximum number of layers to decode, including the data link layer. For
+     *     example, 3 decodes Ethernet, IPv4 and TCP headers but not TCP payloads. If this method
+     *     isn't called, the number of layers is not limited.
+     * @return this Builder object for method chaining.
+     */
+    public Builder maxDepth(int maxDepth) {
+      this.maxDepth = maxDepth;
+      return this;
+    }
+
+    /**
+     * @param lazyOptions if true, TCP and IPv4 options are kept undecoded until they are needed. If
+     *     this method isn't called, options are decoded along with their headers.
+     * @return this Builder object for method chaining.
+     */
+    public Builder lazyOptions(boolean lazyOptions) {
+      this.lazyOptions = lazyOptions;
+      return this;
+    }
+
+    /**
+     * @param checksumCounters if not null, checksums of IPv4, IPv6, TCP, UDP and ICMP packets are
+     *     verified on the raw data as they are dissected and counted in it. If this method isn't
+     *     called, checksums are not verified.
+     * @return this Builder object for method chaining.
+     */
+    public Builder checksumCounters(ChecksumCounters checksumCounters) {
+      this.checksumCounters = checksumCounters;
+      return this;
+    }
+
+    /** @return a new DecodingProfile object. */
+    public DecodingProfile build() {
+      return new DecodingProfile(this);
+    }
+  }
+}
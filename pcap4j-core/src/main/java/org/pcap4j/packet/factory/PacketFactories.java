@@ -22,8 +22,19 @@ import org.slf4j.LoggerFactory;
  */
 public final class PacketFactories {
 
+  /**
+   * The key of the system property to specify the class name of the {@link
+   * PacketFactoryBinderProvider} implementation to use when more than one is available.
+   */
+  public static final String BINDER_PROVIDER_CLASS_KEY =
+      PacketFactories.class.getName() + ".binderProviderClass";
+
   private static final Logger logger = LoggerFactory.getLogger(PacketFactories.class);
   private static final PacketFactoryBinder FACTORY_BINDER;
+  private static volatile ProfiledPacketFactoryBinder profiledBinder = null;
+  private static final ThreadLocal<PacketFactoryBinder> scopedBinder =
+      new ThreadLocal<PacketFactoryBinder>();
+  private static volatile boolean scopedBinderUsed = false;
 
   static {
     PacketFactoryBinder factoryBinder = null;
@@ -31,8 +42,30 @@ public final class PacketFactories {
       ServiceLoader<PacketFactoryBinderProvider> loader =
           ServiceLoader.load(PacketFactoryBinderProvider.class);
       Iterator<PacketFactoryBinderProvider> iter = loader.iterator();
-      if (iter.hasNext()) {
-        PacketFactoryBinderProvider packetFactoryBinderProvider = iter.next();
+      String preferredClassName = System.getProperty(BINDER_PROVIDER_CLASS_KEY);
+      PacketFactoryBinderProvider packetFactoryBinderProvider = null;
+      while (iter.hasNext()) {
+        PacketFactoryBinderProvider provider = iter.next();
+        if (packetFactoryBinderProvider == null) {
+          packetFactoryBinderProvider = provider;
+        }
+        if (preferredClassName == null) {
+          break;
+        }
+        if (provider.getClass().getName().equals(preferredClassName)) {
+          packetFactoryBinderProvider = provider;
+          break;
+        }
+      }
+      if (preferredClassName != null
+          && packetFactoryBinderProvider != null
+          && !packetFactoryBinderProvider.getClass().getName().equals(preferredClassName)) {
+        logger.warn(
+            "{} is not found. Use {} instead.",
+            preferredClassName,
+            packetFactoryBinderProvider.getClass().getName());
+      }
+      if (packetFactoryBinderProvider != null) {
         ProtectionDomain pd = packetFactoryBinderProvider.getClass().getProtectionDomain();
         URL codeSrcLocation = null;
         if (pd != null) {
@@ -51,7 +84,8 @@ public final class PacketFactories {
     } catch (ServiceConfigurationError e) {
       logger.warn(e.getClass().getName() + ": " + e.getMessage());
     }
-    FACTORY_BINDER = factoryBinder;
+    FACTORY_BINDER =
+        factoryBinder != null ? factoryBinder : SimplePacketFactoryBinder.getInstance();
   }
 
   private PacketFactories() {
@@ -73,10 +107,132 @@ public final class PacketFactories {
       throw new NullPointerException(sb.toString());
     }
 
-    if (FACTORY_BINDER != null) {
-      return FACTORY_BINDER.getPacketFactory(targetClass, numberClass);
+    if (scopedBinderUsed) {
+      PacketFactoryBinder binder = scopedBinder.get();
+      if (binder != null) {
+        return binder.getPacketFactory(targetClass, numberClass);
+      }
+    }
+    return getBinder().getPacketFactory(targetClass, numberClass);
+  }
+
+  /**
+   * Creates an object with a {@link PacketFactoryBinder} other than the one {@link
+   * #getFactory(Class, Class)} uses. The binder is used not only for the object itself but for all
+   * the objects the object creates in the current thread during the call, such as payload packets,
+   * headers and options.
+   *
+   * @param <T> target
+   * @param <N> number
+   * @param binder binder. If null, the binder {@link #getBinder()} returns is used.
+   * @param targetClass targetClass
+   * @param numberClass numberClass
+   * @param rawData rawData
+   * @param offset offset
+   * @param length length
+   * @param number number
+   * @return a new object.
+   */
+  public static <T, N extends NamedNumber<?, ?>> T newInstance(
+      PacketFactoryBinder binder,
+      Class<T> targetClass,
+      Class<N> numberClass,
+      byte[] rawData,
+      int offset,
+      int length,
+      N number) {
+    if (binder == null) {
+      return getFactory(targetClass, numberClass).newInstance(rawData, offset, length, number);
+    }
+
+    if (!scopedBinderUsed) {
+      scopedBinderUsed = true;
+    }
+    PacketFactoryBinder outer = scopedBinder.get();
+    scopedBinder.set(binder);
+    try {
+      return getFactory(targetClass, numberClass).newInstance(rawData, offset, length, number);
+    } finally {
+      if (outer != null) {
+        scopedBinder.set(outer);
+      } else {
+        scopedBinder.remove();
+      }
+    }
+  }
+
+  /**
+   * @return the {@link DecodingProfile} applied to packets decoded in the current thread, i.e. the
+   *     profile of the binder given to {@link #newInstance(PacketFactoryBinder, Class, Class,
+   *     byte[], int, int, NamedNumber)} if the current thread is in the call, or the one {@link
+   *     #getDecodingProfile()} returns otherwise.
+   */
+  public static DecodingProfile getEffectiveDecodingProfile() {
+    if (scopedBinderUsed) {
+      PacketFactoryBinder binder = scopedBinder.get();
+      if (binder != null) {
+        if (binder instanceof ProfiledPacketFactoryBinder) {
+          return ((ProfiledPacketFactoryBinder) binder).getProfile();
+        } else {
+          return DecodingProfile.FULL;
+        }
+      }
+    }
+    return getDecodingProfile();
+  }
+
+  /**
+   * @return the {@link PacketFactoryBinder} used by default, i.e. the one found via {@link
+   *     PacketFactoryBinderProvider} with the {@link DecodingProfile} set by {@link
+   *     #setDecodingProfile(DecodingProfile)}.
+   */
+  public static PacketFactoryBinder getBinder() {
+    ProfiledPacketFactoryBinder binder = profiledBinder;
+    if (binder != null) {
+      return binder;
+    } else {
+      return FACTORY_BINDER;
+    }
+  }
+
+  /**
+   * @param profile profile
+   * @return a {@link PacketFactoryBinder} which applies the profile to the binder found via {@link
+   *     PacketFactoryBinderProvider}. It can be given to a {@link org.pcap4j.core.PcapHandle
+   *     PcapHandle} to decode packets from the handle with the profile, independently from {@link
+   *     #setDecodingProfile(DecodingProfile)}.
+   */
+  public static PacketFactoryBinder getBinder(DecodingProfile profile) {
+    if (profile == null) {
+      throw new NullPointerException("profile must not be null.");
+    }
+    if (profile.isFull()) {
+      return FACTORY_BINDER;
+    } else {
+      return new ProfiledPacketFactoryBinder(FACTORY_BINDER, profile);
+    }
+  }
+
+  /**
+   * Sets the {@link DecodingProfile} applied to all the packets decoded afterwards.
+   *
+   * @param profile profile. null or {@link DecodingProfile#FULL} restores full dissection.
+   */
+  public static void setDecodingProfile(DecodingProfile profile) {
+    if (profile == null || profile.isFull()) {
+      profiledBinder = null;
+    } else {
+      profiledBinder = new ProfiledPacketFactoryBinder(FACTORY_BINDER, profile);
+    }
+  }
+
+  /** @return the {@link DecodingProfile} currently applied. */
+  public static DecodingProfile getDecodingProfile() {
+    ProfiledPacketFactoryBinder binder = profiledBinder;
+    if (binder != null) {
+      return binder.getProfile();
     } else {
-      return SimplePacketFactoryBinder.getInstance().getPacketFactory(targetClass, numberClass);
+      return DecodingProfile.FULL;
     }
   }
 }
@@ -0,0 +1,141 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.packet.factory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.pcap4j.packet.Packet;
+import org.pcap4j.packet.UnknownPacket;
+import org.pcap4j.packet.namednumber.NamedNumber;
+
+/**
+ * A {@link PacketFactoryBinder} which applies a {@link DecodingProfile} to the {@link Packet}
+ * factories of another binder.
+ *
+ * @since pcap4j 1.8.3
+ */
+final class ProfiledPacketFactoryBinder implements PacketFactoryBinder {
+
+  private final PacketFactoryBinder binder;
+  private final DecodingProfile profile;
+  private final ThreadLocal<int[]> depth;
+  private final ChecksumVerifier verifier;
+  private final Map<Class<?>, PacketFactory<?, ?>> factories =
+      new ConcurrentHashMap<Class<?>, PacketFactory<?, ?>>();
+
+  ProfiledPacketFactoryBinder(PacketFactoryBinder binder, DecodingProfile profile) {
+    this.binder = binder;
+    this.profile = profile;
+    this.depth =
+        profile.getMaxDepth() == Integer.MAX_VALUE
+            ? null
+            : new ThreadLocal<int[]>() {
+              @Override
+              protected int[] initialValue() {
+                return new int[1];
+              }
+            };
+    this.verifier =
+        profile.getChecksumCounters() == null
+            ? null
+            : new ChecksumVerifier(profile.getChecksumCounters());
+  }
+
+  /** @return profile */
+  DecodingProfile getProfile() {
+    return profile;
+  }
+
+  @Override
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public <T, N extends NamedNumber<?, ?>> PacketFactory<T, N> getPacketFactory(
+      Class<T> targetClass, Class<N> numberClass) {
+    if (!Packet.class.equals(targetClass)) {
+      return binder.getPacketFactory(targetClass, numberClass);
+    }
+
+    PacketFactory<?, ?> factory = factories.get(numberClass);
+    if (factory == null) {
+      factory =
+          new ProfiledPacketFactory(
+              (PacketFactory<Packet, N>) binder.getPacketFactory(targetClass, numberClass));
+      factories.put(numberClass, factory);
+    }
+    return (PacketFactory<T, N>) factory;
+  }
+
+  private final class ProfiledPacketFactory<N extends NamedNumber<?, ?>>
+      implements PacketFactory<Packet, N> {
+
+    private final PacketFactory<Packet, N> factory;
+
+    private ProfiledPacketFactory(PacketFactory<Packet, N> factory) {
+      this.factory = factory;
+    }
+
+    @Override
+    public Packet newInstance(byte[] rawData, int offset, int length, N number) {
+      Class<? extends Packet> targetClass = factory.getTargetClass(number);
+      if (!profile.isDecoded(targetClass)) {
+        return UnknownPacket.newPacket(rawData, offset, length);
+      }
+      if (depth == null) {
+        if (verifier != null) {
+          verifier.verify(targetClass, rawData, offset, length);
+        }
+        return factory.newInstance(rawData, offset, length, number);
+      }
+
+      int[] currentDepth = depth.get();
+      if (currentDepth[0] >= profile.getMaxDepth()) {
+        return UnknownPacket.newPacket(rawData, offset, length);
+      }
+      if (verifier != null) {
+        verifier.verify(targetClass, rawData, offset, length);
+      }
+      currentDepth[0]++;
+      try {
+        return factory.newInstance(rawData, offset, length, number);
+      } finally {
+        currentDepth[0]--;
+      }
+    }
+
+    @Override
+    public Packet newInstance(byte[] rawData, int offset, int length) {
+      if (!profile.isDecoded(factory.getTargetClass())) {
+        return UnknownPacket.newPacket(rawData, offset, length);
+      }
+      if (depth == null) {
+        return factory.newInstance(rawData, offset, length);
+      }
+
+      int[] currentDepth = depth.get();
+      if (currentDepth[0] >= profile.getMaxDepth()) {
+        return UnknownPacket.newPacket(rawData, offset, length);
+      }
+      currentDepth[0]++;
+      try {
+        return factory.newInstance(rawData, offset, length);
+      } finally {
+        currentDepth[0]--;
+      }
+    }
+
+    @Override
+    public Class<? extends Packet> getTargetClass(N number) {
+      Class<? extends Packet> targetClass = factory.getTargetClass(number);
+      return profile.isDecoded(targetClass) ? targetClass : factory.getTargetClass();
+    }
+
+    @Override
+    public Class<? extends Packet> getTargetClass() {
+      return factory.getTargetClass();
+    }
+  }
+}
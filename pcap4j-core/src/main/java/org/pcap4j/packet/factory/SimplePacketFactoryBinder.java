@@ -14,7 +14,7 @@ import org.pcap4j.packet.namednumber.NamedNumber;
  * @author Kaito Yamada
  * @since pcap4j 0.9.16
  */
-final class SimplePacketFactoryBinder {
+final class SimplePacketFactoryBinder implements PacketFactoryBinder {
 
   private static final SimplePacketFactoryBinder INSTANCE = new SimplePacketFactoryBinder();
 
@@ -24,6 +24,7 @@ final class SimplePacketFactoryBinder {
     return INSTANCE;
   }
 
+  @Override
   @SuppressWarnings("unchecked")
   public <T, N extends NamedNumber<?, ?>> PacketFactory<T, N> getPacketFactory(
       Class<T> targetClass, Class<N> numberClass) {
@@ -68,6 +68,7 @@ public final class EtherType extends NamedNumber<Short, EtherType> {
   public static final EtherType IEEE802_11I = new EtherType((short) 0x88C7, "802.11i");
   
   private static final Map<Short, EtherType> registry = new HashMap<Short, EtherType>();
+  private static final EtherType[] cache = new EtherType[1 << 16];
 
   static {
     registry.put(IPV4.value(), IPV4);
@@ -82,6 +83,10 @@ public final class EtherType extends NamedNumber<Short, EtherType> {
     registry.put(PPPOE_SESSION_STAGE.value(), PPPOE_SESSION_STAGE);
     registry.put(IEEE802_1X.value(), IEEE802_1X);
     registry.put(IEEE802_11I.value(), IEEE802_11I);
+
+    for (EtherType entry : registry.values()) {
+      cache[entry.value() & 0xFFFF] = entry;
+    }
   }
 
   /**
@@ -97,13 +102,31 @@ public final class EtherType extends NamedNumber<Short, EtherType> {
    * @return a EtherType object.
    */
   public static EtherType getInstance(Short value) {
-    if (registry.containsKey(value)) {
-      return registry.get(value);
-    } else if ((value & 0xFFFF) <= IEEE802_3_MAX_LENGTH) {
-      return new EtherType(value, "Length");
-    } else {
-      return new EtherType(value, "unknown");
+    if (value == null) {
+      throw new NullPointerException("value must not be null.");
+    }
+    return getInstance(value.shortValue());
+  }
+
+  /**
+   * Looks up the object for the given value without boxing it. An object for an unregistered value
+   * is created on the first lookup and reused afterwards.
+   *
+   * @param value value
+   * @return a EtherType object.
+   */
+  public static EtherType getInstance(short value) {
+    int index = value & 0xFFFF;
+    EtherType instance = cache[index];
+    if (instance == null) {
+      if (index <= IEEE802_3_MAX_LENGTH) {
+        instance = new EtherType(value, "Length");
+      } else {
+        instance = new EtherType(value, "unknown");
+      }
+      cache[index] = instance;
     }
+    return instance;
   }
 
   /**
@@ -111,6 +134,7 @@ public final class EtherType extends NamedNumber<Short, EtherType> {
    * @return a EtherType object.
    */
   public static EtherType register(EtherType type) {
+    cache[type.value() & 0xFFFF] = type;
     return registry.put(type.value(), type);
   }
 
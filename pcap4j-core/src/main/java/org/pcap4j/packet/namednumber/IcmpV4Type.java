@@ -119,6 +119,7 @@ public final class IcmpV4Type extends NamedNumber<Byte, IcmpV4Type> {
   public static final IcmpV4Type PHOTURIS = new IcmpV4Type((byte) 40, "Photuris");
 
   private static final Map<Byte, IcmpV4Type> registry = new HashMap<Byte, IcmpV4Type>();
+  private static final IcmpV4Type[] cache = new IcmpV4Type[1 << 8];
 
   static {
     registry.put(ECHO_REPLY.value(), ECHO_REPLY);
@@ -148,6 +149,10 @@ public final class IcmpV4Type extends NamedNumber<Byte, IcmpV4Type> {
     registry.put(DOMAIN_NAME_REPLY.value(), DOMAIN_NAME_REPLY);
     registry.put(SKIP.value(), SKIP);
     registry.put(PHOTURIS.value(), PHOTURIS);
+
+    for (IcmpV4Type entry : registry.values()) {
+      cache[entry.value() & 0xFF] = entry;
+    }
   }
 
   /**
@@ -163,11 +168,27 @@ public final class IcmpV4Type extends NamedNumber<Byte, IcmpV4Type> {
    * @return a IcmpV4Type object.
    */
   public static IcmpV4Type getInstance(Byte value) {
-    if (registry.containsKey(value)) {
-      return registry.get(value);
-    } else {
-      return new IcmpV4Type(value, "unknown");
+    if (value == null) {
+      throw new NullPointerException("value must not be null.");
+    }
+    return getInstance(value.byteValue());
+  }
+
+  /**
+   * Looks up the object for the given value without boxing it. An object for an unregistered value
+   * is created on the first lookup and reused afterwards.
+   *
+   * @param value value
+   * @return a IcmpV4Type object.
+   */
+  public static IcmpV4Type getInstance(byte value) {
+    int index = value & 0xFF;
+    IcmpV4Type instance = cache[index];
+    if (instance == null) {
+      instance = new IcmpV4Type(value, "unknown");
+      cache[index] = instance;
     }
+    return instance;
   }
 
   /**
@@ -175,6 +196,7 @@ public final class IcmpV4Type extends NamedNumber<Byte, IcmpV4Type> {
    * @return a IcmpV4Type object.
    */
   public static IcmpV4Type register(IcmpV4Type type) {
+    cache[type.value() & 0xFF] = type;
     return registry.put(type.value(), type);
   }
 
@@ -153,6 +153,7 @@ public final class IcmpV6Type extends NamedNumber<Byte, IcmpV6Type> {
       new IcmpV6Type((byte) 158, "Duplicate Address Confirmation");
 
   private static final Map<Byte, IcmpV6Type> registry = new HashMap<Byte, IcmpV6Type>();
+  private static final IcmpV6Type[] cache = new IcmpV6Type[1 << 8];
 
   static {
     registry.put(DESTINATION_UNREACHABLE.value(), DESTINATION_UNREACHABLE);
@@ -192,6 +193,10 @@ public final class IcmpV6Type extends NamedNumber<Byte, IcmpV6Type> {
     registry.put(ILNP_V6_LOCATOR_UPDATE.value(), ILNP_V6_LOCATOR_UPDATE);
     registry.put(DUPLICATE_ADDRESS_REQUEST.value(), DUPLICATE_ADDRESS_REQUEST);
     registry.put(DUPLICATE_ADDRESS_CONFIRMATION.value(), DUPLICATE_ADDRESS_CONFIRMATION);
+
+    for (IcmpV6Type entry : registry.values()) {
+      cache[entry.value() & 0xFF] = entry;
+    }
   }
 
   /**
@@ -207,11 +212,27 @@ public final class IcmpV6Type extends NamedNumber<Byte, IcmpV6Type> {
    * @return a IcmpV6Type object.
    */
   public static IcmpV6Type getInstance(Byte value) {
-    if (registry.containsKey(value)) {
-      return registry.get(value);
-    } else {
-      return new IcmpV6Type(value, "unknown");
+    if (value == null) {
+      throw new NullPointerException("value must not be null.");
+    }
+    return getInstance(value.byteValue());
+  }
+
+  /**
+   * Looks up the object for the given value without boxing it. An object for an unregistered value
+   * is created on the first lookup and reused afterwards.
+   *
+   * @param value value
+   * @return a IcmpV6Type object.
+   */
+  public static IcmpV6Type getInstance(byte value) {
+    int index = value & 0xFF;
+    IcmpV6Type instance = cache[index];
+    if (instance == null) {
+      instance = new IcmpV6Type(value, "unknown");
+      cache[index] = instance;
     }
+    return instance;
   }
 
   /**
@@ -219,6 +240,7 @@ public final class IcmpV6Type extends NamedNumber<Byte, IcmpV6Type> {
    * @return a IcmpV6Type object.
    */
   public static IcmpV6Type register(IcmpV6Type type) {
+    cache[type.value() & 0xFF] = type;
     return registry.put(type.value(), type);
   }
 
@@ -443,6 +443,7 @@ public final class IpNumber extends NamedNumber<Byte, IpNumber> {
   public static final IpNumber ROHC = new IpNumber((byte) 142, "ROHC");
 
   private static final Map<Byte, IpNumber> registry = new HashMap<Byte, IpNumber>();
+  private static final IpNumber[] cache = new IpNumber[1 << 8];
 
   static {
     registry.put(IPV6_HOPOPT.value(), IPV6_HOPOPT);
@@ -584,6 +585,10 @@ public final class IpNumber extends NamedNumber<Byte, IpNumber> {
     registry.put(SHIM6.value(), SHIM6);
     registry.put(WESP.value(), WESP);
     registry.put(ROHC.value(), ROHC);
+
+    for (IpNumber entry : registry.values()) {
+      cache[entry.value() & 0xFF] = entry;
+    }
   }
 
   /**
@@ -599,11 +604,27 @@ public final class IpNumber extends NamedNumber<Byte, IpNumber> {
    * @return a IpNumber object.
    */
   public static IpNumber getInstance(Byte value) {
-    if (registry.containsKey(value)) {
-      return registry.get(value);
-    } else {
-      return new IpNumber(value, "unknown");
+    if (value == null) {
+      throw new NullPointerException("value must not be null.");
+    }
+    return getInstance(value.byteValue());
+  }
+
+  /**
+   * Looks up the object for the given value without boxing it. An object for an unregistered value
+   * is created on the first lookup and reused afterwards.
+   *
+   * @param value value
+   * @return a IpNumber object.
+   */
+  public static IpNumber getInstance(byte value) {
+    int index = value & 0xFF;
+    IpNumber instance = cache[index];
+    if (instance == null) {
+      instance = new IpNumber(value, "unknown");
+      cache[index] = instance;
     }
+    return instance;
   }
 
   /**
@@ -611,6 +632,7 @@ public final class IpNumber extends NamedNumber<Byte, IpNumber> {
    * @return a IpNumber object.
    */
   public static IpNumber register(IpNumber number) {
+    cache[number.value() & 0xFF] = number;
     return registry.put(number.value(), number);
   }
 
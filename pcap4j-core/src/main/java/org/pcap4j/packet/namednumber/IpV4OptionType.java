@@ -108,6 +108,7 @@ public final class IpV4OptionType extends NamedNumber<Byte, IpV4OptionType> {
   public static final IpV4OptionType QUICK_START = new IpV4OptionType((byte) 25, "Quick-Start");
 
   private static final Map<Byte, IpV4OptionType> registry = new HashMap<Byte, IpV4OptionType>();
+  private static final IpV4OptionType[] cache = new IpV4OptionType[1 << 8];
 
   static {
     registry.put(END_OF_OPTION_LIST.value(), END_OF_OPTION_LIST);
@@ -135,6 +136,10 @@ public final class IpV4OptionType extends NamedNumber<Byte, IpV4OptionType> {
     registry.put(DYNAMIC_PACKET_STATE.value(), DYNAMIC_PACKET_STATE);
     registry.put(UPSTREAM_MULTICAST_PACKET.value(), UPSTREAM_MULTICAST_PACKET);
     registry.put(QUICK_START.value(), QUICK_START);
+
+    for (IpV4OptionType entry : registry.values()) {
+      cache[entry.value() & 0xFF] = entry;
+    }
   }
 
   private final boolean copied;
@@ -192,11 +197,27 @@ public final class IpV4OptionType extends NamedNumber<Byte, IpV4OptionType> {
    * @return a IpV4OptionType object.
    */
   public static IpV4OptionType getInstance(Byte value) {
-    if (registry.containsKey(value)) {
-      return registry.get(value);
-    } else {
-      return new IpV4OptionType(value, "unknown");
+    if (value == null) {
+      throw new NullPointerException("value must not be null.");
+    }
+    return getInstance(value.byteValue());
+  }
+
+  /**
+   * Looks up the object for the given value without boxing it. An object for an unregistered value
+   * is created on the first lookup and reused afterwards.
+   *
+   * @param value value
+   * @return a IpV4OptionType object.
+   */
+  public static IpV4OptionType getInstance(byte value) {
+    int index = value & 0xFF;
+    IpV4OptionType instance = cache[index];
+    if (instance == null) {
+      instance = new IpV4OptionType(value, "unknown");
+      cache[index] = instance;
     }
+    return instance;
   }
 
   /**
@@ -204,6 +225,7 @@ public final class IpV4OptionType extends NamedNumber<Byte, IpV4OptionType> {
    * @return a IpV4OptionType object.
    */
   public static IpV4OptionType register(IpV4OptionType type) {
+    cache[type.value() & 0xFF] = type;
     return registry.put(type.value(), type);
   }
 
@@ -76,6 +76,7 @@ public final class IpV6OptionType extends NamedNumber<Byte, IpV6OptionType> {
   public static final IpV6OptionType IP_DFF = new IpV6OptionType((byte) 0xEE, "IP_DFF");
 
   private static final Map<Byte, IpV6OptionType> registry = new HashMap<Byte, IpV6OptionType>();
+  private static final IpV6OptionType[] cache = new IpV6OptionType[1 << 8];
 
   static {
     registry.put(PAD1.value(), PAD1);
@@ -93,6 +94,10 @@ public final class IpV6OptionType extends NamedNumber<Byte, IpV6OptionType> {
     registry.put(LINE_IDENTIFICATION.value(), LINE_IDENTIFICATION);
     registry.put(MPL.value(), MPL);
     registry.put(IP_DFF.value(), IP_DFF);
+
+    for (IpV6OptionType entry : registry.values()) {
+      cache[entry.value() & 0xFF] = entry;
+    }
   }
 
   private final IpV6OptionTypeAction action;
@@ -127,11 +132,27 @@ public final class IpV6OptionType extends NamedNumber<Byte, IpV6OptionType> {
    * @return a IpV6OptionType object.
    */
   public static IpV6OptionType getInstance(Byte value) {
-    if (registry.containsKey(value)) {
-      return registry.get(value);
-    } else {
-      return new IpV6OptionType(value, "unknown");
+    if (value == null) {
+      throw new NullPointerException("value must not be null.");
+    }
+    return getInstance(value.byteValue());
+  }
+
+  /**
+   * Looks up the object for the given value without boxing it. An object for an unregistered value
+   * is created on the first lookup and reused afterwards.
+   *
+   * @param value value
+   * @return a IpV6OptionType object.
+   */
+  public static IpV6OptionType getInstance(byte value) {
+    int index = value & 0xFF;
+    IpV6OptionType instance = cache[index];
+    if (instance == null) {
+      instance = new IpV6OptionType(value, "unknown");
+      cache[index] = instance;
     }
+    return instance;
   }
 
   /**
@@ -139,6 +160,7 @@ public final class IpV6OptionType extends NamedNumber<Byte, IpV6OptionType> {
    * @return a IpV6OptionType object.
    */
   public static IpV6OptionType register(IpV6OptionType type) {
+    cache[type.value() & 0xFF] = type;
     return registry.put(type.value(), type);
   }
 
@@ -40,6 +40,7 @@ public final class IpVersion extends NamedNumber<Byte, IpVersion> {
   public static final IpVersion TUBA = new IpVersion((byte) 9, "TUBA");
 
   private static final Map<Byte, IpVersion> registry = new HashMap<Byte, IpVersion>();
+  private static final IpVersion[] cache = new IpVersion[1 << 8];
 
   static {
     registry.put(IPV4.value(), IPV4);
@@ -48,6 +49,10 @@ public final class IpVersion extends NamedNumber<Byte, IpVersion> {
     registry.put(TP_IX.value(), TP_IX);
     registry.put(PIP.value(), PIP);
     registry.put(TUBA.value(), TUBA);
+
+    for (IpVersion entry : registry.values()) {
+      cache[entry.value() & 0xFF] = entry;
+    }
   }
 
   /**
@@ -67,11 +72,27 @@ public final class IpVersion extends NamedNumber<Byte, IpVersion> {
    * @return a IpVersion object.
    */
   public static IpVersion getInstance(Byte value) {
-    if (registry.containsKey(value)) {
-      return registry.get(value);
-    } else {
-      return new IpVersion(value, "unknown");
+    if (value == null) {
+      throw new NullPointerException("value must not be null.");
+    }
+    return getInstance(value.byteValue());
+  }
+
+  /**
+   * Looks up the object for the given value without boxing it. An object for an unregistered value
+   * is created on the first lookup and reused afterwards.
+   *
+   * @param value value
+   * @return a IpVersion object.
+   */
+  public static IpVersion getInstance(byte value) {
+    int index = value & 0xFF;
+    IpVersion instance = cache[index];
+    if (instance == null) {
+      instance = new IpVersion(value, "unknown");
+      cache[index] = instance;
     }
+    return instance;
   }
 
   /**
@@ -79,6 +100,7 @@ public final class IpVersion extends NamedNumber<Byte, IpVersion> {
    * @return a IpVersion object.
    */
   public static IpVersion register(IpVersion version) {
+    cache[version.value() & 0xFF] = version;
     return registry.put(version.value(), version);
   }
 
@@ -46,6 +46,7 @@ public final class SctpPort extends Port {
   public static final SctpPort HTTPS = new SctpPort((short) 443, "HTTPS");
 
   private static final Map<Short, SctpPort> registry = new HashMap<Short, SctpPort>();
+  private static final SctpPort[] cache = new SctpPort[1 << 16];
 
   static {
     registry.put(DISCARD.value(), DISCARD);
@@ -55,6 +56,10 @@ public final class SctpPort extends Port {
     registry.put(HTTP.value(), HTTP);
     registry.put(BGP.value(), BGP);
     registry.put(HTTPS.value(), HTTPS);
+
+    for (SctpPort entry : registry.values()) {
+      cache[entry.value() & 0xFFFF] = entry;
+    }
   }
 
   /**
@@ -70,11 +75,27 @@ public final class SctpPort extends Port {
    * @return a SctpPort object.
    */
   public static SctpPort getInstance(Short value) {
-    if (registry.containsKey(value)) {
-      return registry.get(value);
-    } else {
-      return new SctpPort(value, "unknown");
+    if (value == null) {
+      throw new NullPointerException("value must not be null.");
+    }
+    return getInstance(value.shortValue());
+  }
+
+  /**
+   * Looks up the object for the given value without boxing it. An object for an unregistered value
+   * is created on the first lookup and reused afterwards.
+   *
+   * @param value value
+   * @return a SctpPort object.
+   */
+  public static SctpPort getInstance(short value) {
+    int index = value & 0xFFFF;
+    SctpPort instance = cache[index];
+    if (instance == null) {
+      instance = new SctpPort(value, "unknown");
+      cache[index] = instance;
     }
+    return instance;
   }
 
   /**
@@ -82,6 +103,7 @@ public final class SctpPort extends Port {
    * @return a SctpPort object.
    */
   public static SctpPort register(SctpPort port) {
+    cache[port.value() & 0xFFFF] = port;
     return registry.put(port.value(), port);
   }
 }
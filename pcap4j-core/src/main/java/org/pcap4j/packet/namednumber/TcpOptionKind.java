@@ -132,6 +132,7 @@ public final class TcpOptionKind extends NamedNumber<Byte, TcpOptionKind> {
       new TcpOptionKind((byte) 34, "TCP Fast Open Cookie");
 
   private static final Map<Byte, TcpOptionKind> registry = new HashMap<Byte, TcpOptionKind>();
+  private static final TcpOptionKind[] cache = new TcpOptionKind[1 << 8];
 
   static {
     registry.put(END_OF_OPTION_LIST.value(), END_OF_OPTION_LIST);
@@ -165,6 +166,10 @@ public final class TcpOptionKind extends NamedNumber<Byte, TcpOptionKind> {
     registry.put(TCP_AO.value(), TCP_AO);
     registry.put(MPTCP.value(), MPTCP);
     registry.put(TCP_FAST_OPEN_COOKIE.value(), TCP_FAST_OPEN_COOKIE);
+
+    for (TcpOptionKind entry : registry.values()) {
+      cache[entry.value() & 0xFF] = entry;
+    }
   }
 
   /**
@@ -180,11 +185,27 @@ public final class TcpOptionKind extends NamedNumber<Byte, TcpOptionKind> {
    * @return a TcpOptionKind object.
    */
   public static TcpOptionKind getInstance(Byte value) {
-    if (registry.containsKey(value)) {
-      return registry.get(value);
-    } else {
-      return new TcpOptionKind(value, "unknown");
+    if (value == null) {
+      throw new NullPointerException("value must not be null.");
+    }
+    return getInstance(value.byteValue());
+  }
+
+  /**
+   * Looks up the object for the given value without boxing it. An object for an unregistered value
+   * is created on the first lookup and reused afterwards.
+   *
+   * @param value value
+   * @return a TcpOptionKind object.
+   */
+  public static TcpOptionKind getInstance(byte value) {
+    int index = value & 0xFF;
+    TcpOptionKind instance = cache[index];
+    if (instance == null) {
+      instance = new TcpOptionKind(value, "unknown");
+      cache[index] = instance;
     }
+    return instance;
   }
 
   /**
@@ -192,6 +213,7 @@ public final class TcpOptionKind extends NamedNumber<Byte, TcpOptionKind> {
    * @return a TcpOptionKind object.
    */
   public static TcpOptionKind register(TcpOptionKind type) {
+    cache[type.value() & 0xFF] = type;
     return registry.put(type.value(), type);
   }
 
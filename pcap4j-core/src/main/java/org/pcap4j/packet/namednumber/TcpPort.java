@@ -2142,6 +2142,7 @@ public final class TcpPort extends Port {
   public static final TcpPort SURF = new TcpPort((short) 1010, "surf");
 
   private static final Map<Short, TcpPort> registry = new HashMap<Short, TcpPort>();
+  private static final TcpPort[] cache = new TcpPort[1 << 16];
 
   static {
     registry.put(TCPMUX.value(), TCPMUX);
@@ -2826,6 +2827,10 @@ public final class TcpPort extends Port {
     registry.put(PUPROUTER.value(), PUPROUTER);
     registry.put(CADLOCK2.value(), CADLOCK2);
     registry.put(SURF.value(), SURF);
+
+    for (TcpPort entry : registry.values()) {
+      cache[entry.value() & 0xFFFF] = entry;
+    }
   }
 
   /**
@@ -2841,11 +2846,27 @@ public final class TcpPort extends Port {
    * @return a TcpPort object.
    */
   public static TcpPort getInstance(Short value) {
-    if (registry.containsKey(value)) {
-      return registry.get(value);
-    } else {
-      return new TcpPort(value, "unknown");
+    if (value == null) {
+      throw new NullPointerException("value must not be null.");
+    }
+    return getInstance(value.shortValue());
+  }
+
+  /**
+   * Looks up the object for the given value without boxing it. An object for an unregistered value
+   * is created on the first lookup and reused afterwards.
+   *
+   * @param value value
+   * @return a TcpPort object.
+   */
+  public static TcpPort getInstance(short value) {
+    int index = value & 0xFFFF;
+    TcpPort instance = cache[index];
+    if (instance == null) {
+      instance = new TcpPort(value, "unknown");
+      cache[index] = instance;
     }
+    return instance;
   }
 
   /**
@@ -2853,6 +2874,7 @@ public final class TcpPort extends Port {
    * @return a TcpPort object.
    */
   public static TcpPort register(TcpPort port) {
+    cache[port.value() & 0xFFFF] = port;
     return registry.put(port.value(), port);
   }
 }
@@ -2149,6 +2149,7 @@ public final class UdpPort extends Port {
   public static final UdpPort GTP_PRIME = new UdpPort((short) 3386, "GTP'");
 
   private static final Map<Short, UdpPort> registry = new HashMap<Short, UdpPort>();
+  private static final UdpPort[] cache = new UdpPort[1 << 16];
 
   static {
     registry.put(TCPMUX.value(), TCPMUX);
@@ -2835,6 +2836,10 @@ public final class UdpPort extends Port {
     registry.put(GTP_C.value(), GTP_C);
     registry.put(GTP_U.value(), GTP_U);
     registry.put(GTP_PRIME.value(), GTP_PRIME);
+
+    for (UdpPort entry : registry.values()) {
+      cache[entry.value() & 0xFFFF] = entry;
+    }
   }
 
   /**
@@ -2850,11 +2855,27 @@ public final class UdpPort extends Port {
    * @return a UdpPort object.
    */
   public static UdpPort getInstance(Short value) {
-    if (registry.containsKey(value)) {
-      return registry.get(value);
-    } else {
-      return new UdpPort(value, "unknown");
+    if (value == null) {
+      throw new NullPointerException("value must not be null.");
+    }
+    return getInstance(value.shortValue());
+  }
+
+  /**
+   * Looks up the object for the given value without boxing it. An object for an unregistered value
+   * is created on the first lookup and reused afterwards.
+   *
+   * @param value value
+   * @return an UdpPort object.
+   */
+  public static UdpPort getInstance(short value) {
+    int index = value & 0xFFFF;
+    UdpPort instance = cache[index];
+    if (instance == null) {
+      instance = new UdpPort(value, "unknown");
+      cache[index] = instance;
     }
+    return instance;
   }
 
   /**
@@ -2862,6 +2883,7 @@ public final class UdpPort extends Port {
    * @return a UdpPort object.
    */
   public static UdpPort register(UdpPort port) {
+    cache[port.value() & 0xFFFF] = port;
     return registry.put(port.value(), port);
   }
 }
@@ -0,0 +1,365 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
+
+/**
+ * Utilities to calculate the Internet checksum (RFC 1071), CRC-32, CRC-32C and Adler-32 over ranges
+ * of byte arrays and over {@link ByteBuffer}s without copying them.
+ *
+ * <p>The checksum of data split into several ranges, such as a pseudo header, a header and a
+ * payload, can be calculated without concatenating them: add up the partial sums {@link
+ * #sum(byte[], int, int)} returns for the ranges and pass the total to {@link #calcChecksum(long)}.
+ * A range which starts at an odd position in the whole data must be summed up by {@link
+ * #sum(byte[], int, int, int)} instead.
+ *
+ * <p>A checksum can also be updated incrementally (RFC 1624) when only some fields of the data it
+ * covers are changed. See {@link #update(short, short, short)} and its variants.
+ *
+ * <p>CRC-32, CRC-32C and Adler-32 are calculated by {@link CRC32}, {@link CRC32C} and {@link
+ * Adler32}, which are intrinsified by the JVM on most platforms.
+ *
+ * <p>Partial sums are not folded into 16 bits. They are accumulated 64 bits at a time and can be
+ * added up as long as the total length of the ranges is less than 4 GiB.
+ *
+ * @since pcap4j 1.8.3
+ */
+public final class Checksums {
+
+  private static final VarHandle LONG_BE =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+  private static final VarHandle INT_BE =
+      MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+  private Checksums() {
+    throw new AssertionError();
+  }
+
+  /**
+   * @param data data
+   * @param offset offset
+   * @param length length. May be zero.
+   * @return the partial sum of the 16-bit words in the range. If the length is odd, the last byte
+   *     is padded with a zero byte.
+   * @throws NullPointerException if the {@code data} is null.
+   * @throws ArrayIndexOutOfBoundsException if {@code offset} or {@code length} is negative, or
+   *     ({@code offset} + {@code length}) is greater than {@code data.length}.
+   */
+  public static long sum(byte[] data, int offset, int length) {
+    validateRange(data, offset, length);
+
+    long sum = 0;
+    int i = offset;
+    int end = offset + length;
+    for (int wordEnd = end - 7; i < wordEnd; i += 8) {
+      long word = (long) LONG_BE.get(data, i);
+      sum += (word >>> 32) + (word & 0xFFFFFFFFL);
+    }
+    if (end - i >= 4) {
+      sum += (int) INT_BE.get(data, i) & 0xFFFFFFFFL;
+      i += 4;
+    }
+    if (end - i >= 2) {
+      sum += ((data[i] & 0xFF) << 8) | (data[i + 1] & 0xFF);
+      i += 2;
+    }
+    if (i < end) {
+      sum += (data[i] & 0xFF) << 8;
+    }
+    return sum;
+  }
+
+  /**
+   * @param data data
+   * @param offset offset
+   * @param length length. May be zero.
+   * @param position the position of the range in the whole data to calculate a checksum of.
+   * @return the partial sum of the range, whose bytes are swapped if the position is odd.
+   * @throws NullPointerException if the {@code data} is null.
+   * @throws ArrayIndexOutOfBoundsException if {@code offset} or {@code length} is negative, or
+   *     ({@code offset} + {@code length}) is greater than {@code data.length}.
+   */
+  public static long sum(byte[] data, int offset, int length, int position) {
+    long sum = sum(data, offset, length);
+    if ((position & 1) == 0) {
+      return sum;
+    }
+    int folded = fold(sum) & 0xFFFF;
+    return ((folded << 8) | (folded >>> 8)) & 0xFFFF;
+  }
+
+  /**
+   * @param address address
+   * @return the partial sum of the address, which is a part of a pseudo header.
+   */
+  public static long sum(InetAddress address) {
+    byte[] addr = address.getAddress();
+    return sum(addr, 0, addr.length);
+  }
+
+  /**
+   * @param partialSum partialSum
+   * @return the one's complement sum folded into 16 bits.
+   */
+  public static short fold(long partialSum) {
+    long sum = (partialSum & 0xFFFFFFFFL) + (partialSum >>> 32);
+    sum = (sum & 0xFFFFFFFFL) + (sum >>> 32);
+    sum = (sum & 0xFFFFL) + (sum >>> 16);
+    sum = (sum & 0xFFFFL) + (sum >>> 16);
+    sum = (sum & 0xFFFFL) + (sum >>> 16);
+    return (short) sum;
+  }
+
+  /**
+   * @param partialSum partialSum
+   * @return the checksum, i.e. the one's complement of the folded sum.
+   */
+  public static short calcChecksum(long partialSum) {
+    return (short) ~fold(partialSum);
+  }
+
+  /**
+   * @param data data
+   * @param offset offset
+   * @param length length. May be zero.
+   * @return the checksum of the range.
+   */
+  public static short calcChecksum(byte[] data, int offset, int length) {
+    return calcChecksum(sum(data, offset, length));
+  }
+
+  /**
+   * Updates a checksum incrementally when a 16-bit word of the data it covers is changed, by the
+   * equation 3 in RFC 1624: HC' = ~(~HC + ~m + m').
+   *
+   * @param checksum the checksum before the change.
+   * @param oldValue the word before the change.
+   * @param newValue the word after the change.
+   * @return the checksum after the change.
+   */
+  public static short update(short checksum, short oldValue, short newValue) {
+    long sum = (~checksum & 0xFFFF) + (~oldValue & 0xFFFF) + (newValue & 0xFFFF);
+    return calcChecksum(sum);
+  }
+
+  /**
+   * Updates a checksum incrementally when a 32-bit field of the data it covers, such as an IPv4
+   * address, is changed. The field must start at an even position.
+   *
+   * @param checksum the checksum before the change.
+   * @param oldValue the field before the change.
+   * @param newValue the field after the change.
+   * @return the checksum after the change.
+   */
+  public static short update(short checksum, int oldValue, int newValue) {
+    long sum =
+        (~checksum & 0xFFFF)
+            + (~oldValue >>> 16)
+            + (~oldValue & 0xFFFF)
+            + (newValue >>> 16)
+            + (newValue & 0xFFFF);
+    return calcChecksum(sum);
+  }
+
+  /**
+   * Updates a checksum incrementally from the partial sums of the old and new contents of the
+   * changed ranges.
+   *
+   * @param checksum the checksum before the change.
+   * @param oldPartialSum the partial sum of the changed ranges before the change.
+   * @param newPartialSum the partial sum of the changed ranges after the change.
+   * @return the checksum after the change.
+   */
+  public static short updateBySums(short checksum, long oldPartialSum, long newPartialSum) {
+    long sum =
+        (~checksum & 0xFFFF) + (~fold(oldPartialSum) & 0xFFFF) + (fold(newPartialSum) & 0xFFFF);
+    return calcChecksum(sum);
+  }
+
+  /**
+   * Updates a checksum incrementally when a range of the data it covers, such as an IPv6 address,
+   * is changed. The range must start at an even position in the data.
+   *
+   * @param checksum the checksum before the change.
+   * @param oldData the array containing the range before the change.
+   * @param oldOffset the offset of the range in oldData.
+   * @param newData the array containing the range after the change.
+   * @param newOffset the offset of the range in newData.
+   * @param length the length of the range.
+   * @return the checksum after the change.
+   */
+  public static short update(
+      short checksum, byte[] oldData, int oldOffset, byte[] newData, int newOffset, int length) {
+    return updateBySums(checksum, sum(oldData, oldOffset, length), sum(newData, newOffset, length));
+  }
+
+  /**
+   * @param data data
+   * @param offset offset
+   * @param length length. May be zero.
+   * @return the CRC-32 checksum of the range.
+   * @throws NullPointerException if the {@code data} is null.
+   * @throws ArrayIndexOutOfBoundsException if {@code offset} or {@code length} is negative, or
+   *     ({@code offset} + {@code length}) is greater than {@code data.length}.
+   */
+  public static int calcCrc32(byte[] data, int offset, int length) {
+    return calc(new CRC32(), data, offset, length);
+  }
+
+  /**
+   * @param data the remaining bytes of data are calculated. Its position is not changed.
+   * @return the CRC-32 checksum of the remaining bytes.
+   */
+  public static int calcCrc32(ByteBuffer data) {
+    return calc(new CRC32(), data);
+  }
+
+  /**
+   * @param data data
+   * @param offset offset
+   * @param length length. May be zero.
+   * @return the CRC-32C checksum of the range.
+   * @throws NullPointerException if the {@code data} is null.
+   * @throws ArrayIndexOutOfBoundsException if {@code offset} or {@code length} is negative, or
+   *     ({@code offset} + {@code length}) is greater than {@code data.length}.
+   */
+  public static int calcCrc32c(byte[] data, int offset, int length) {
+    return calc(new CRC32C(), data, offset, length);
+  }
+
+  /**
+   * @param data the remaining bytes of data are calculated. Its position is not changed.
+   * @return the CRC-32C checksum of the remaining bytes.
+   */
+  public static int calcCrc32c(ByteBuffer data) {
+    return calc(new CRC32C(), data);
+  }
+
+  /**
+   * Calculates the CRC-32C checksum of a range regarding a part of it, typically the checksum
+   * field, as zero without copying the data.
+   *
+   * @param data data
+   * @param offset offset
+   * @param length length. May be zero.
+   * @param zeroOffset the offset in data of the part regarded as zero.
+   * @param zeroLength the length of the part regarded as zero.
+   * @return the CRC-32C checksum of the range.
+   * @throws NullPointerException if the {@code data} is null.
+   * @throws ArrayIndexOutOfBoundsException if the range or the part is out of data, or the part is
+   *     out of the range.
+   */
+  public static int calcCrc32c(
+      byte[] data, int offset, int length, int zeroOffset, int zeroLength) {
+    return calc(new CRC32C(), data, offset, length, zeroOffset, zeroLength);
+  }
+
+  /**
+   * @param data data
+   * @param offset offset
+   * @param length length. May be zero.
+   * @return the Adler-32 checksum of the range.
+   * @throws NullPointerException if the {@code data} is null.
+   * @throws ArrayIndexOutOfBoundsException if {@code offset} or {@code length} is negative, or
+   *     ({@code offset} + {@code length}) is greater than {@code data.length}.
+   */
+  public static int calcAdler32(byte[] data, int offset, int length) {
+    return calc(new Adler32(), data, offset, length);
+  }
+
+  /**
+   * @param data the remaining bytes of data are calculated. Its position is not changed.
+   * @return the Adler-32 checksum of the remaining bytes.
+   */
+  public static int calcAdler32(ByteBuffer data) {
+    return calc(new Adler32(), data);
+  }
+
+  /**
+   * Calculates the Adler-32 checksum of a range regarding a part of it, typically the checksum
+   * field, as zero without copying the data.
+   *
+   * @param data data
+   * @param offset offset
+   * @param length length. May be zero.
+   * @param zeroOffset the offset in data of the part regarded as zero.
+   * @param zeroLength the length of the part regarded as zero.
+   * @return the Adler-32 checksum of the range.
+   * @throws NullPointerException if the {@code data} is null.
+   * @throws ArrayIndexOutOfBoundsException if the range or the part is out of data, or the part is
+   *     out of the range.
+   */
+  public static int calcAdler32(
+      byte[] data, int offset, int length, int zeroOffset, int zeroLength) {
+    return calc(new Adler32(), data, offset, length, zeroOffset, zeroLength);
+  }
+
+  private static int calc(Checksum checksum, byte[] data, int offset, int length) {
+    validateRange(data, offset, length);
+    checksum.update(data, offset, length);
+    return (int) checksum.getValue();
+  }
+
+  private static int calc(
+      Checksum checksum, byte[] data, int offset, int length, int zeroOffset, int zeroLength) {
+    validateRange(data, offset, length);
+    validateRange(data, zeroOffset, zeroLength);
+    if (zeroOffset < offset || zeroOffset + zeroLength > offset + length) {
+      StringBuilder sb = new StringBuilder(80);
+      sb.append("offset: ")
+          .append(offset)
+          .append(", length: ")
+          .append(length)
+          .append(", zeroOffset: ")
+          .append(zeroOffset)
+          .append(", zeroLength: ")
+          .append(zeroLength);
+      throw new ArrayIndexOutOfBoundsException(sb.toString());
+    }
+
+    checksum.update(data, offset, zeroOffset - offset);
+    for (int i = 0; i < zeroLength; i++) {
+      checksum.update(0);
+    }
+    int zeroEnd = zeroOffset + zeroLength;
+    checksum.update(data, zeroEnd, offset + length - zeroEnd);
+    return (int) checksum.getValue();
+  }
+
+  private static int calc(Checksum checksum, ByteBuffer data) {
+    int position = data.position();
+    checksum.update(data);
+    data.position(position);
+    return (int) checksum.getValue();
+  }
+
+  static void validateRange(byte[] data, int offset, int length) {
+    if (data == null) {
+      throw new NullPointerException("data must not be null.");
+    }
+    if (offset < 0 || length < 0 || offset + length > data.length || offset + length < 0) {
+      StringBuilder sb = new StringBuilder(60);
+      sb.append("data.length: ")
+          .append(data.length)
+          .append(", offset: ")
+          .append(offset)
+          .append(", length: ")
+          .append(length);
+      throw new ArrayIndexOutOfBoundsException(sb.toString());
+    }
+  }
+}
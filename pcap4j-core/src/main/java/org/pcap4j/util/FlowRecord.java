@@ -0,0 +1,181 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.util;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * The record of a unidirectional flow exported by a {@link FlowTable}. A flow is identified by the
+ * IP version, the addresses, the protocol, the ports, and the VLAN ID. The ports of an ICMP or
+ * ICMPv6 flow are 0 and the type and code (<code>type &lt;&lt; 8 | code</code>), and they are 0 for
+ * a protocol without ports and for non-first fragments.
+ *
+ * @since pcap4j 1.8.3
+ */
+public final class FlowRecord {
+
+  int ipVersion;
+  final byte[] srcAddr = new byte[16];
+  final byte[] dstAddr = new byte[16];
+  int protocol;
+  int srcPort;
+  int dstPort;
+  int vlanId;
+  long packets;
+  long bytes;
+  long firstSeen;
+  long lastSeen;
+  int tcpFlags;
+  EndReason endReason;
+
+  FlowRecord() {}
+
+  /** @return 4 or 6. */
+  public int getIpVersion() {
+    return ipVersion;
+  }
+
+  /** @return the length of the addresses in bytes. */
+  public int getAddressLength() {
+    return ipVersion == 4 ? 4 : 16;
+  }
+
+  /** @return a new InetAddress object representing the source address. */
+  public InetAddress getSrcAddr() {
+    return toInetAddress(srcAddr);
+  }
+
+  /** @return a new InetAddress object representing the destination address. */
+  public InetAddress getDstAddr() {
+    return toInetAddress(dstAddr);
+  }
+
+  private InetAddress toInetAddress(byte[] addr) {
+    try {
+      return InetAddress.getByAddress(ByteArrays.getSubArray(addr, 0, getAddressLength()));
+    } catch (UnknownHostException e) {
+      throw new AssertionError("Never get here.");
+    }
+  }
+
+  /** @return the IP protocol number. */
+  public int getProtocol() {
+    return protocol;
+  }
+
+  /** @return srcPort */
+  public int getSrcPort() {
+    return srcPort;
+  }
+
+  /** @return dstPort */
+  public int getDstPort() {
+    return dstPort;
+  }
+
+  /** @return the VLAN ID of the outermost tag, or 0 if the packets are not tagged. */
+  public int getVlanId() {
+    return vlanId;
+  }
+
+  /** @return the number of the packets. */
+  public long getPackets() {
+    return packets;
+  }
+
+  /** @return the number of the bytes at the IP layer. */
+  public long getBytes() {
+    return bytes;
+  }
+
+  /** @return the time the first packet was seen at in milliseconds. */
+  public long getFirstSeen() {
+    return firstSeen;
+  }
+
+  /** @return the time the last packet was seen at in milliseconds. */
+  public long getLastSeen() {
+    return lastSeen;
+  }
+
+  /** @return the union of the TCP flags of the packets. */
+  public int getTcpFlags() {
+    return tcpFlags;
+  }
+
+  /** @return endReason */
+  public EndReason getEndReason() {
+    return endReason;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder(150);
+    sb.append("[")
+        .append(getSrcAddr().getHostAddress())
+        .append(":")
+        .append(srcPort)
+        .append(" -> ")
+        .append(getDstAddr().getHostAddress())
+        .append(":")
+        .append(dstPort)
+        .append(" protocol: ")
+        .append(protocol)
+        .append(" VLAN: ")
+        .append(vlanId)
+        .append(" packets: ")
+        .append(packets)
+        .append(" bytes: ")
+        .append(bytes)
+        .append(" first: ")
+        .append(firstSeen)
+        .append(" last: ")
+        .append(lastSeen)
+        .append(" TCP flags: 0x")
+        .append(ByteArrays.toHexString((byte) tcpFlags, ""))
+        .append(" end: ")
+        .append(endReason)
+        .append("]");
+    return sb.toString();
+  }
+
+  /**
+   * The reason a flow ended. The values are the ones of flowEndReason of IPFIX.
+   *
+   * @since pcap4j 1.8.3
+   */
+  public static enum EndReason {
+
+    /** The flow was idle for the idle timeout. */
+    IDLE_TIMEOUT(1),
+
+    /** The flow lasted for the active timeout. */
+    ACTIVE_TIMEOUT(2),
+
+    /** A FIN or an RST was seen. */
+    END_OF_FLOW(3),
+
+    /** The flow was ended by {@link FlowTable#flush()}. */
+    FORCED_END(4),
+
+    /** The flow was ended to make room for a new one. */
+    LACK_OF_RESOURCES(5);
+
+    private final int value;
+
+    private EndReason(int value) {
+      this.value = value;
+    }
+
+    /** @return value */
+    public int value() {
+      return value;
+    }
+  }
+}
@@ -0,0 +1,24 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.util;
+
+/**
+ * Receives the records of the flows exported by a {@link FlowTable}.
+ *
+ * @since pcap4j 1.8.3
+ */
+public interface FlowRecordListener {
+
+  /**
+   * Called when a flow ends. The record object is reused and valid only during the call, so copy
+   * the values needed later.
+   *
+   * @param record record
+   */
+  public void gotFlowRecord(FlowRecord record);
+}
@@ -0,0 +1,535 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.util;
+
+import org.pcap4j.packet.namednumber.DataLinkType;
+
+/**
+ * Accounts captured frames to unidirectional flows and exports the records of ended flows to a
+ * {@link FlowRecordListener}. See {@link FlowRecord} for how a flow is identified.
+ *
+ * <p>The keys are read from the raw data of a frame without building packet objects. Ethernet with
+ * any number of VLAN tags (802.1Q, 802.1ad), Linux cooked-mode capture, BSD loopback, and raw IP
+ * are supported as data links, and IPv6 extension headers are skipped to reach the ports. The flows
+ * are held in primitive arrays allocated by the constructor and looked up by open addressing, so
+ * the table allocates no objects per frame.
+ *
+ * <p>A flow ends when it's idle for the idle timeout, when it lasts for the active timeout, when a
+ * TCP segment with FIN or RST is seen, and when a new flow is added to the full table, in which
+ * case the least recently active flow is ended. A packet of a flow ended by the active timeout
+ * starts a new flow.
+ *
+ * <pre>{@code
+ * FlowTable table = new FlowTable(listener, 1000000, 15000L, 1800000L);
+ * while (true) {
+ *   byte[] frame = handle.getNextRawPacketEx();
+ *   table.update(handle.getDlt(), frame, handle.getTimestamp().getTime());
+ * }
+ * }</pre>
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @since pcap4j 1.8.3
+ */
+public final class FlowTable {
+
+  private static final int KEY_LONGS = 5;
+  // keys is indexed by id * KEY_LONGS, which must not overflow.
+  private static final int MAX_FLOWS = Integer.MAX_VALUE / KEY_LONGS;
+  private static final int ETHER_HEADER_LENGTH = 14;
+  private static final int SLL_HEADER_LENGTH = 16;
+  private static final int LOOPBACK_HEADER_LENGTH = 4;
+  private static final int IPV4_MIN_HEADER_LENGTH = 20;
+  private static final int IPV6_HEADER_LENGTH = 40;
+  private static final int ETHER_TYPE_IPV4 = 0x0800;
+  private static final int ETHER_TYPE_IPV6 = 0x86DD;
+  private static final int ETHER_TYPE_DOT1Q = 0x8100;
+  private static final int ETHER_TYPE_DOT1AD = 0x88A8;
+  private static final int ETHER_TYPE_QINQ = 0x9100;
+  private static final int LINKTYPE_RAW = 101;
+  private static final int DLT_LOOP = 108;
+  private static final int DLT_IPV4 = 228;
+  private static final int DLT_IPV6 = 229;
+  private static final int TCP_FIN_RST = 0x05;
+
+  private final FlowRecordListener listener;
+  private final int maxFlows;
+  private final long idleTimeout;
+  private final long activeTimeout;
+
+  // slot -> flow ID + 1, or 0 if empty
+  private final int[] index;
+  private final int mask;
+
+  // indexed by flow ID
+  private final long[] keys;
+  private final int[] hashes;
+  private final long[] packets;
+  private final long[] bytes;
+  private final long[] firstSeen;
+  private final long[] lastSeen;
+  private final byte[] tcpFlags;
+
+  // Circular lists whose sentinel is maxFlows. The idle list is in the order of the last packets,
+  // and the active list is in the order of the first packets.
+  private final int[] idlePrev;
+  private final int[] idleNext;
+  private final int[] activePrev;
+  private final int[] activeNext;
+
+  // chained by idleNext
+  private int freeHead = -1;
+  private int allocated;
+  private int size;
+
+  private final long[] key = new long[KEY_LONGS];
+  private int keyTcpFlags;
+  private final FlowRecord record = new FlowRecord();
+  private long evictionCount;
+
+  /**
+   * @param listener listener
+   * @param maxFlows the maximum number of flows to track, up to 429496729 (Integer.MAX_VALUE / 5).
+   * @param idleTimeout the time in milliseconds after which an idle flow is ended.
+   * @param activeTimeout the time in milliseconds after which a flow is ended even if it's active.
+   */
+  public FlowTable(
+      FlowRecordListener listener, int maxFlows, long idleTimeout, long activeTimeout) {
+    if (listener == null) {
+      throw new NullPointerException("listener must not be null.");
+    }
+    if (maxFlows <= 0 || maxFlows > MAX_FLOWS || idleTimeout <= 0 || activeTimeout <= 0) {
+      StringBuilder sb = new StringBuilder();
+      sb.append("maxFlows must be between 1 and ")
+          .append(MAX_FLOWS)
+          .append(", and the timeouts must be positive.")
+          .append(" maxFlows: ")
+          .append(maxFlows)
+          .append(" idleTimeout: ")
+          .append(idleTimeout)
+          .append(" activeTimeout: ")
+          .append(activeTimeout);
+      throw new IllegalArgumentException(sb.toString());
+    }
+    this.listener = listener;
+    this.maxFlows = maxFlows;
+    this.idleTimeout = idleTimeout;
+    this.activeTimeout = activeTimeout;
+
+    // keeps the load factor 0.5 or less.
+    int capacity = Integer.highestOneBit(maxFlows * 2 - 1) << 1;
+    this.index = new int[capacity];
+    this.mask = capacity - 1;
+
+    this.keys = new long[maxFlows * KEY_LONGS];
+    this.hashes = new int[maxFlows];
+    this.packets = new long[maxFlows];
+    this.bytes = new long[maxFlows];
+    this.firstSeen = new long[maxFlows];
+    this.lastSeen = new long[maxFlows];
+    this.tcpFlags = new byte[maxFlows];
+    this.idlePrev = new int[maxFlows + 1];
+    this.idleNext = new int[maxFlows + 1];
+    this.activePrev = new int[maxFlows + 1];
+    this.activeNext = new int[maxFlows + 1];
+    idlePrev[maxFlows] = maxFlows;
+    idleNext[maxFlows] = maxFlows;
+    activePrev[maxFlows] = maxFlows;
+    activeNext[maxFlows] = maxFlows;
+  }
+
+  /**
+   * @param dlt the data link type of the frame.
+   * @param frame frame
+   * @param timestamp the time the frame is received at in milliseconds.
+   * @return true if the frame is accounted to a flow; false if it doesn't carry an IP packet.
+   */
+  public boolean update(DataLinkType dlt, byte[] frame, long timestamp) {
+    return update(dlt, frame, 0, frame.length, timestamp);
+  }
+
+  /**
+   * This method validates the arguments by {@link ByteArrays#validateBounds(byte[], int, int)},
+   * which may throw exceptions undocumented here.
+   *
+   * @param dlt the data link type of the frame.
+   * @param frame an array holding the frame.
+   * @param offset the position of the frame in the array.
+   * @param length the length of the frame.
+   * @param timestamp the time the frame is received at in milliseconds.
+   * @return true if the frame is accounted to a flow; false if it doesn't carry an IP packet.
+   */
+  public boolean update(DataLinkType dlt, byte[] frame, int offset, int length, long timestamp) {
+    ByteArrays.validateBounds(frame, offset, length);
+    int octets = parse(dlt.value(), frame, offset, length);
+    if (octets < 0) {
+      return false;
+    }
+
+    expire(timestamp);
+
+    int hash = hash(key);
+    int id = find(hash);
+    if (id < 0) {
+      if (size == maxFlows) {
+        evictionCount++;
+        end(idleNext[maxFlows], FlowRecord.EndReason.LACK_OF_RESOURCES);
+      }
+      id = insert(hash, timestamp);
+    } else {
+      unlink(idlePrev, idleNext, id);
+      linkLast(idlePrev, idleNext, id);
+    }
+
+    packets[id]++;
+    bytes[id] += octets;
+    lastSeen[id] = timestamp;
+    tcpFlags[id] |= (byte) keyTcpFlags;
+    if ((keyTcpFlags & TCP_FIN_RST) != 0) {
+      end(id, FlowRecord.EndReason.END_OF_FLOW);
+    }
+    return true;
+  }
+
+  /**
+   * Ends the flows whose idle timeout or active timeout has elapsed. This is done also when a frame
+   * is given, so this method needs to be called only while frames don't arrive.
+   *
+   * @param timestamp the current time in milliseconds.
+   * @return the number of the flows ended.
+   */
+  public int expire(long timestamp) {
+    int count = 0;
+    while (true) {
+      int id = idleNext[maxFlows];
+      if (id == maxFlows || timestamp - lastSeen[id] < idleTimeout) {
+        break;
+      }
+      end(id, FlowRecord.EndReason.IDLE_TIMEOUT);
+      count++;
+    }
+    while (true) {
+      int id = activeNext[maxFlows];
+      if (id == maxFlows || timestamp - firstSeen[id] < activeTimeout) {
+        break;
+      }
+      end(id, FlowRecord.EndReason.ACTIVE_TIMEOUT);
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * Ends all the flows.
+   *
+   * @return the number of the flows ended.
+   */
+  public int flush() {
+    int count = 0;
+    while (size != 0) {
+      end(idleNext[maxFlows], FlowRecord.EndReason.FORCED_END);
+      count++;
+    }
+    return count;
+  }
+
+  /** @return the number of the flows being tracked. */
+  public int size() {
+    return size;
+  }
+
+  /** @return the number of the flows ended to make room for new ones. */
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  /**
+   * Reads the key of the frame into {@link #key} and the TCP flags into {@link #keyTcpFlags}.
+   *
+   * @return the length of the IP packet, or -1 if the frame doesn't carry an IP packet.
+   */
+  private int parse(int dlt, byte[] data, int offset, int length) {
+    int end = offset + length;
+    int pos = offset;
+    int vlanId = 0;
+    if (dlt == DataLinkType.EN10MB.value()) {
+      if (length < ETHER_HEADER_LENGTH) {
+        return -1;
+      }
+      int type = ByteArrays.getShort(data, pos + 12) & 0xFFFF;
+      pos += ETHER_HEADER_LENGTH;
+      boolean tagged = false;
+      while (type == ETHER_TYPE_DOT1Q || type == ETHER_TYPE_DOT1AD || type == ETHER_TYPE_QINQ) {
+        if (end - pos < 4) {
+          return -1;
+        }
+        if (!tagged) {
+          vlanId = ByteArrays.getShort(data, pos) & 0x0FFF;
+          tagged = true;
+        }
+        type = ByteArrays.getShort(data, pos + 2) & 0xFFFF;
+        pos += 4;
+      }
+      if (type != ETHER_TYPE_IPV4 && type != ETHER_TYPE_IPV6) {
+        return -1;
+      }
+    } else if (dlt == DataLinkType.LINUX_SLL.value()) {
+      if (length < SLL_HEADER_LENGTH) {
+        return -1;
+      }
+      int type = ByteArrays.getShort(data, pos + 14) & 0xFFFF;
+      if (type != ETHER_TYPE_IPV4 && type != ETHER_TYPE_IPV6) {
+        return -1;
+      }
+      pos += SLL_HEADER_LENGTH;
+    } else if (dlt == DataLinkType.NULL.value() || dlt == DLT_LOOP) {
+      // The address family is in the byte order of the captured host, so the version is relied on.
+      pos += LOOPBACK_HEADER_LENGTH;
+    } else if (dlt != DataLinkType.RAW.value()
+        && dlt != LINKTYPE_RAW
+        && dlt != DLT_IPV4
+        && dlt != DLT_IPV6) {
+      return -1;
+    }
+    if (pos >= end) {
+      return -1;
+    }
+
+    int version = (data[pos] >> 4) & 0x0F;
+    int octets;
+    int protocol;
+    int l4;
+    if (version == 4) {
+      if (end - pos < IPV4_MIN_HEADER_LENGTH) {
+        return -1;
+      }
+      int headerLength = (data[pos] & 0x0F) * 4;
+      if (headerLength < IPV4_MIN_HEADER_LENGTH || end - pos < headerLength) {
+        return -1;
+      }
+      int totalLength = ByteArrays.getShort(data, pos + 2) & 0xFFFF;
+      // The total length is 0 in a packet captured before TCP segmentation offload.
+      octets = totalLength >= headerLength ? totalLength : end - pos;
+      protocol = data[pos + 9] & 0xFF;
+      key[0] = 0L;
+      key[1] = ByteArrays.getInt(data, pos + 12) & 0xFFFFFFFFL;
+      key[2] = 0L;
+      key[3] = ByteArrays.getInt(data, pos + 16) & 0xFFFFFFFFL;
+      boolean first = (ByteArrays.getShort(data, pos + 6) & 0x1FFF) == 0;
+      l4 = first ? pos + headerLength : end;
+    } else if (version == 6) {
+      if (end - pos < IPV6_HEADER_LENGTH) {
+        return -1;
+      }
+      int payloadLength = ByteArrays.getShort(data, pos + 4) & 0xFFFF;
+      // The payload length is 0 in a jumbogram.
+      octets = payloadLength != 0 ? IPV6_HEADER_LENGTH + payloadLength : end - pos;
+      key[0] = ByteArrays.getLong(data, pos + 8);
+      key[1] = ByteArrays.getLong(data, pos + 16);
+      key[2] = ByteArrays.getLong(data, pos + 24);
+      key[3] = ByteArrays.getLong(data, pos + 32);
+      protocol = data[pos + 6] & 0xFF;
+      l4 = pos + IPV6_HEADER_LENGTH;
+      loop:
+      while (true) {
+        switch (protocol) {
+          case 0: // Hop-by-Hop Options
+          case 43: // Routing
+          case 60: // Destination Options
+          case 51: // Authentication Header
+            if (end - l4 < 2) {
+              l4 = end;
+              break loop;
+            }
+            int nextHeader = data[l4] & 0xFF;
+            int extLength = data[l4 + 1] & 0xFF;
+            l4 += protocol == 51 ? (extLength + 2) * 4 : (extLength + 1) * 8;
+            protocol = nextHeader;
+            break;
+          case 44: // Fragment
+            if (end - l4 < 8) {
+              l4 = end;
+              break loop;
+            }
+            protocol = data[l4] & 0xFF;
+            if ((ByteArrays.getShort(data, l4 + 2) & 0xFFF8) != 0) {
+              l4 = end;
+              break loop;
+            }
+            l4 += 8;
+            break;
+          default:
+            break loop;
+        }
+      }
+    } else {
+      return -1;
+    }
+
+    int srcPort = 0;
+    int dstPort = 0;
+    keyTcpFlags = 0;
+    if (protocol == 6 && end - l4 >= 14) { // TCP
+      keyTcpFlags = data[l4 + 13] & 0xFF;
+    }
+    switch (protocol) {
+      case 6: // TCP
+      case 17: // UDP
+      case 132: // SCTP
+      case 136: // UDP-Lite
+        if (end - l4 >= 4) {
+          srcPort = ByteArrays.getShort(data, l4) & 0xFFFF;
+          dstPort = ByteArrays.getShort(data, l4 + 2) & 0xFFFF;
+        }
+        break;
+      case 1: // ICMP
+      case 58: // ICMPv6
+        if (end - l4 >= 2) {
+          dstPort = (data[l4] & 0xFF) << 8 | (data[l4 + 1] & 0xFF);
+        }
+        break;
+      default:
+        break;
+    }
+    key[4] =
+        (long) srcPort << 48
+            | (long) dstPort << 32
+            | (long) protocol << 24
+            | (long) version << 16
+            | vlanId;
+    return octets;
+  }
+
+  private static int hash(long[] key) {
+    long h = 0;
+    for (long k : key) {
+      h ^= k;
+      h *= 0x9E3779B97F4A7C15L;
+      h ^= h >>> 32;
+    }
+    return (int) h;
+  }
+
+  /** @return the ID of the flow of {@link #key}, or -1 if it's not tracked. */
+  private int find(int hash) {
+    for (int slot = hash & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+      int id = index[slot] - 1;
+      if (hashes[id] == hash && keyEquals(id)) {
+        return id;
+      }
+    }
+    return -1;
+  }
+
+  private boolean keyEquals(int id) {
+    int base = id * KEY_LONGS;
+    for (int i = 0; i < KEY_LONGS; i++) {
+      if (keys[base + i] != key[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int insert(int hash, long timestamp) {
+    int id;
+    if (freeHead >= 0) {
+      id = freeHead;
+      freeHead = idleNext[id];
+    } else {
+      id = allocated++;
+    }
+
+    int slot = hash & mask;
+    while (index[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    index[slot] = id + 1;
+    System.arraycopy(key, 0, keys, id * KEY_LONGS, KEY_LONGS);
+    hashes[id] = hash;
+    packets[id] = 0L;
+    bytes[id] = 0L;
+    firstSeen[id] = timestamp;
+    tcpFlags[id] = 0;
+    linkLast(idlePrev, idleNext, id);
+    linkLast(activePrev, activeNext, id);
+    size++;
+    return id;
+  }
+
+  /** Removes the flow and gives its record to the listener. */
+  private void end(int id, FlowRecord.EndReason reason) {
+    int base = id * KEY_LONGS;
+    long ports = keys[base + 4];
+    record.ipVersion = (int) (ports >>> 16) & 0x0F;
+    putLong(record.srcAddr, 0, keys[base]);
+    putLong(record.srcAddr, 8, keys[base + 1]);
+    putLong(record.dstAddr, 0, keys[base + 2]);
+    putLong(record.dstAddr, 8, keys[base + 3]);
+    if (record.ipVersion == 4) {
+      System.arraycopy(record.srcAddr, 12, record.srcAddr, 0, 4);
+      System.arraycopy(record.dstAddr, 12, record.dstAddr, 0, 4);
+    }
+    record.srcPort = (int) (ports >>> 48);
+    record.dstPort = (int) (ports >>> 32) & 0xFFFF;
+    record.protocol = (int) (ports >>> 24) & 0xFF;
+    record.vlanId = (int) ports & 0x0FFF;
+    record.packets = packets[id];
+    record.bytes = bytes[id];
+    record.firstSeen = firstSeen[id];
+    record.lastSeen = lastSeen[id];
+    record.tcpFlags = tcpFlags[id] & 0xFF;
+    record.endReason = reason;
+
+    remove(id);
+    listener.gotFlowRecord(record);
+  }
+
+  private void remove(int id) {
+    int hole = hashes[id] & mask;
+    while (index[hole] != id + 1) {
+      hole = (hole + 1) & mask;
+    }
+    // Shifts back the following entries which can be found from the hole so that no tombstone is
+    // needed.
+    for (int slot = (hole + 1) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+      int home = hashes[index[slot] - 1] & mask;
+      if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+        index[hole] = index[slot];
+        hole = slot;
+      }
+    }
+    index[hole] = 0;
+
+    unlink(idlePrev, idleNext, id);
+    unlink(activePrev, activeNext, id);
+    idleNext[id] = freeHead;
+    freeHead = id;
+    size--;
+  }
+
+  private void linkLast(int[] prev, int[] next, int id) {
+    int last = prev[maxFlows];
+    next[last] = id;
+    prev[id] = last;
+    next[id] = maxFlows;
+    prev[maxFlows] = id;
+  }
+
+  private static void unlink(int[] prev, int[] next, int id) {
+    next[prev[id]] = next[id];
+    prev[next[id]] = prev[id];
+  }
+
+  private static void putLong(byte[] array, int offset, long value) {
+    for (int i = 7; i >= 0; i--) {
+      array[offset + i] = (byte) value;
+      value >>>= 8;
+    }
+  }
+}
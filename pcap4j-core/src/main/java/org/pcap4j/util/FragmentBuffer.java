@@ -0,0 +1,173 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.util;
+
+import java.util.Arrays;
+
+/**
+ * A buffer a fragmented datagram is reassembled in. The received ranges of the fragmentable part
+ * are kept sorted and merged, so a hole or an overlap is found without looking at the data. This
+ * class is not thread-safe.
+ *
+ * @since pcap4j 1.8.3
+ */
+final class FragmentBuffer {
+
+  /** The fragment is added. */
+  static final int ADDED = 0;
+
+  /** The fragment is a copy of a part already received and is ignored. */
+  static final int DUPLICATE = 1;
+
+  /** The fragment overlaps a part already received with different data. */
+  static final int OVERLAPPED = 2;
+
+  /** The fragment is inconsistent with the fragments already received. */
+  static final int INVALID = 3;
+
+  private static final byte[] EMPTY = new byte[0];
+
+  private final long firstTimestamp;
+  private byte[] data = EMPTY;
+  private int[] ranges = new int[8]; // [start, end) pairs sorted by start
+  private int rangeCount;
+  private int totalLength = -1;
+  private byte[] header;
+  private boolean discarded;
+
+  FragmentBuffer(long firstTimestamp) {
+    this.firstTimestamp = firstTimestamp;
+  }
+
+  /**
+   * @param src the array holding the fragment.
+   * @param srcOffset the position of the fragment data in src.
+   * @param fragmentOffset the position of the fragment data in the fragmentable part.
+   * @param length the length of the fragment data.
+   * @param last true if the fragment is the last one.
+   * @param maxLength the maximum length of the fragmentable part.
+   * @return {@link #ADDED}, {@link #DUPLICATE}, {@link #OVERLAPPED}, or {@link #INVALID}.
+   */
+  int add(byte[] src, int srcOffset, int fragmentOffset, int length, boolean last, int maxLength) {
+    int end = fragmentOffset + length;
+    if (end > maxLength || (length == 0 && !last)) {
+      return INVALID;
+    }
+    if (totalLength >= 0) {
+      if (last ? end != totalLength : end > totalLength) {
+        return INVALID;
+      }
+    } else if (last && rangeCount != 0 && ranges[rangeCount * 2 - 1] > end) {
+      return INVALID;
+    }
+
+    int i = 0;
+    while (i < rangeCount && ranges[i * 2 + 1] <= fragmentOffset) {
+      i++;
+    }
+    if (length != 0 && i < rangeCount && ranges[i * 2] < end) {
+      if (ranges[i * 2] <= fragmentOffset
+          && end <= ranges[i * 2 + 1]
+          && Arrays.equals(data, fragmentOffset, end, src, srcOffset, srcOffset + length)) {
+        return DUPLICATE;
+      }
+      return OVERLAPPED;
+    }
+
+    if (last) {
+      totalLength = end;
+      // The size is known now; fit the data to it once, so it never grows again.
+      if (data.length != end && data != EMPTY) {
+        data = Arrays.copyOf(data, end);
+      }
+    }
+    if (length == 0) {
+      return ADDED;
+    }
+
+    if (data.length < end) {
+      int newCapacity =
+          totalLength >= 0 ? totalLength : Math.min(maxLength, Math.max(end, data.length * 2));
+      data = Arrays.copyOf(data, newCapacity);
+    }
+    System.arraycopy(src, srcOffset, data, fragmentOffset, length);
+
+    boolean joinsPrev = i > 0 && ranges[i * 2 - 1] == fragmentOffset;
+    boolean joinsNext = i < rangeCount && ranges[i * 2] == end;
+    if (joinsPrev && joinsNext) {
+      ranges[i * 2 - 1] = ranges[i * 2 + 1];
+      System.arraycopy(ranges, i * 2 + 2, ranges, i * 2, (rangeCount - i - 1) * 2);
+      rangeCount--;
+    } else if (joinsPrev) {
+      ranges[i * 2 - 1] = end;
+    } else if (joinsNext) {
+      ranges[i * 2] = fragmentOffset;
+    } else {
+      if (ranges.length == rangeCount * 2) {
+        ranges = Arrays.copyOf(ranges, ranges.length * 2);
+      }
+      System.arraycopy(ranges, i * 2, ranges, i * 2 + 2, (rangeCount - i) * 2);
+      ranges[i * 2] = fragmentOffset;
+      ranges[i * 2 + 1] = end;
+      rangeCount++;
+    }
+    return ADDED;
+  }
+
+  /** @return true if all the fragments have been received; false otherwise. */
+  boolean isComplete() {
+    return header != null
+        && totalLength > 0
+        && rangeCount == 1
+        && ranges[0] == 0
+        && ranges[1] == totalLength;
+  }
+
+  /** Releases the data and rejects the fragments received later. */
+  void discard() {
+    data = EMPTY;
+    header = null;
+    rangeCount = 0;
+    discarded = true;
+  }
+
+  /** @return true if this buffer is discarded; false otherwise. */
+  boolean isDiscarded() {
+    return discarded;
+  }
+
+  /** @return the number of bytes this buffer holds. */
+  int capacity() {
+    return data.length + (header != null ? header.length : 0);
+  }
+
+  /** @return the time the first fragment was received at. */
+  long getFirstTimestamp() {
+    return firstTimestamp;
+  }
+
+  /** @return the data of the fragmentable part. Only the first totalLength bytes are valid. */
+  byte[] getData() {
+    return data;
+  }
+
+  /** @return the length of the fragmentable part, or -1 if the last fragment is not received. */
+  int getTotalLength() {
+    return totalLength;
+  }
+
+  /** @return the header built from the first fragment, or null if it is not received. */
+  byte[] getHeader() {
+    return header;
+  }
+
+  /** @param header the header built from the first fragment. */
+  void setHeader(byte[] header) {
+    this.header = header;
+  }
+}
@@ -0,0 +1,190 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@link FragmentBuffer}s of the datagrams being reassembled. A buffer is dropped when the
+ * timeout elapses from its first fragment, and the oldest buffers are dropped while the buffers
+ * hold more bytes than the budget. A buffer discarded due to an overlap stays until its timeout to
+ * drop the rest of the fragments. This class is not thread-safe.
+ *
+ * @param <K> the type of the datagram keys.
+ * @since pcap4j 1.8.3
+ */
+final class FragmentTable<K> {
+
+  private final long timeout;
+  private final long maxBytes;
+  // in the order of the first fragments, which is the order of the timeouts.
+  private final LinkedHashMap<K, FragmentBuffer> buffers = new LinkedHashMap<K, FragmentBuffer>();
+  private long bufferedBytes;
+  private long reassembledCount;
+  private long timeoutCount;
+  private long evictionCount;
+  private long overlapCount;
+  private long invalidCount;
+
+  FragmentTable(long timeout, long maxBytes) {
+    if (timeout <= 0 || maxBytes <= 0) {
+      StringBuilder sb = new StringBuilder();
+      sb.append("timeout and maxBytes must be positive. timeout: ")
+          .append(timeout)
+          .append(" maxBytes: ")
+          .append(maxBytes);
+      throw new IllegalArgumentException(sb.toString());
+    }
+    this.timeout = timeout;
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * @param key the key of the datagram.
+   * @param timestamp the time the fragment is received at in milliseconds.
+   * @param header the header built from the fragment if it's the first one; null otherwise.
+   * @param src the array holding the fragment.
+   * @param srcOffset the position of the fragment data in src.
+   * @param fragmentOffset the position of the fragment data in the fragmentable part.
+   * @param length the length of the fragment data.
+   * @param last true if the fragment is the last one.
+   * @param maxLength the maximum length of the fragmentable part.
+   * @return the completed buffer, which is removed from this table, or null if the datagram is not
+   *     complete yet or is dropped.
+   */
+  FragmentBuffer add(
+      K key,
+      long timestamp,
+      byte[] header,
+      byte[] src,
+      int srcOffset,
+      int fragmentOffset,
+      int length,
+      boolean last,
+      int maxLength) {
+    expire(timestamp);
+
+    FragmentBuffer buffer = buffers.get(key);
+    if (buffer == null) {
+      buffer = new FragmentBuffer(timestamp);
+      buffers.put(key, buffer);
+    } else if (buffer.isDiscarded()) {
+      return null;
+    }
+
+    int capacity = buffer.capacity();
+    switch (buffer.add(src, srcOffset, fragmentOffset, length, last, maxLength)) {
+      case FragmentBuffer.ADDED:
+        if (header != null && buffer.getHeader() == null) {
+          buffer.setHeader(header);
+        }
+        break;
+      case FragmentBuffer.DUPLICATE:
+        return null;
+      case FragmentBuffer.OVERLAPPED:
+        overlapCount++;
+        buffer.discard();
+        bufferedBytes -= capacity;
+        return null;
+      case FragmentBuffer.INVALID:
+        invalidCount++;
+        if (buffer.capacity() == 0) {
+          buffers.remove(key);
+        }
+        return null;
+      default:
+        throw new AssertionError("Never get here.");
+    }
+    bufferedBytes += buffer.capacity() - capacity;
+
+    if (buffer.isComplete()) {
+      buffers.remove(key);
+      bufferedBytes -= buffer.capacity();
+      reassembledCount++;
+      return buffer;
+    }
+
+    Iterator<FragmentBuffer> iter = buffers.values().iterator();
+    while (bufferedBytes > maxBytes) {
+      FragmentBuffer eldest = iter.next();
+      iter.remove();
+      bufferedBytes -= eldest.capacity();
+      if (!eldest.isDiscarded()) {
+        evictionCount++;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Drops the buffers whose timeout has elapsed.
+   *
+   * @param timestamp the current time in milliseconds.
+   * @return the number of the incomplete datagrams dropped.
+   */
+  int expire(long timestamp) {
+    int count = 0;
+    Iterator<Map.Entry<K, FragmentBuffer>> iter = buffers.entrySet().iterator();
+    while (iter.hasNext()) {
+      FragmentBuffer buffer = iter.next().getValue();
+      if (timestamp - buffer.getFirstTimestamp() < timeout) {
+        break;
+      }
+      iter.remove();
+      bufferedBytes -= buffer.capacity();
+      if (!buffer.isDiscarded()) {
+        count++;
+      }
+    }
+    timeoutCount += count;
+    return count;
+  }
+
+  /** Drops all the buffers. */
+  void clear() {
+    buffers.clear();
+    bufferedBytes = 0;
+  }
+
+  /** @return the number of the datagrams being reassembled or discarded. */
+  int size() {
+    return buffers.size();
+  }
+
+  /** @return the number of bytes the buffers hold. */
+  long getBufferedBytes() {
+    return bufferedBytes;
+  }
+
+  /** @return the number of the datagrams reassembled. */
+  long getReassembledCount() {
+    return reassembledCount;
+  }
+
+  /** @return the number of the incomplete datagrams dropped due to the timeout. */
+  long getTimeoutCount() {
+    return timeoutCount;
+  }
+
+  /** @return the number of the incomplete datagrams dropped due to the byte budget. */
+  long getEvictionCount() {
+    return evictionCount;
+  }
+
+  /** @return the number of the datagrams discarded due to overlapping fragments. */
+  long getOverlapCount() {
+    return overlapCount;
+  }
+
+  /** @return the number of the fragments dropped because they are inconsistent. */
+  long getInvalidCount() {
+    return invalidCount;
+  }
+}
@@ -0,0 +1,242 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.util;
+
+import java.util.Arrays;
+import org.pcap4j.packet.IllegalRawDataException;
+import org.pcap4j.packet.IpV4Packet;
+import org.pcap4j.packet.IpV4Packet.IpV4Header;
+
+/**
+ * Reassembles IPv4 datagrams from fragments as they arrive. Unlike {@link
+ * IpV4Helper#defragment(java.util.List)}, fragments are written into a buffer per datagram
+ * identified by the source address, destination address, identification, and protocol, and a
+ * datagram is returned as soon as all of its fragments are received.
+ *
+ * <p>An incomplete datagram is dropped when the timeout given to the constructor elapses from its
+ * first fragment, and the oldest incomplete datagrams are dropped while the buffers hold more bytes
+ * than the budget given to the constructor. A fragment overlapping a part already received with
+ * different data discards its datagram, and the rest of its fragments are ignored until the
+ * timeout. The header of the reassembled datagram is taken from the first fragment.
+ *
+ * <pre>{@code
+ * IpV4Reassembler reassembler = new IpV4Reassembler(30000L, 4 * 1024 * 1024);
+ * while (true) {
+ *   Packet packet = handle.getNextPacketEx();
+ *   IpV4Packet ip = packet.get(IpV4Packet.class);
+ *   if (ip != null) {
+ *     IpV4Packet datagram = reassembler.reassemble(ip, handle.getTimestamp().getTime());
+ *     if (datagram != null) {
+ *       // ...
+ *     }
+ *   }
+ * }
+ * }</pre>
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @since pcap4j 1.8.3
+ */
+public final class IpV4Reassembler {
+
+  private static final int MIN_HEADER_LENGTH = 20;
+  private static final int MAX_TOTAL_LENGTH = 0xFFFF;
+
+  private final FragmentTable<Key> table;
+
+  /**
+   * @param timeout the time in milliseconds to wait for the rest of the fragments of a datagram.
+   * @param maxBytes the maximum number of bytes to buffer fragments in.
+   */
+  public IpV4Reassembler(long timeout, long maxBytes) {
+    this.table = new FragmentTable<Key>(timeout, maxBytes);
+  }
+
+  /**
+   * @param packet an IPv4 packet.
+   * @param timestamp the time the packet is received at in milliseconds.
+   * @return the packet if it's not a fragment, the reassembled datagram if the packet is its last
+   *     missing fragment, or null otherwise.
+   */
+  public IpV4Packet reassemble(IpV4Packet packet, long timestamp) {
+    IpV4Header header = packet.getHeader();
+    if (!header.getMoreFragmentFlag() && header.getFragmentOffset() == 0) {
+      return packet;
+    }
+
+    byte[] rawData = packet.getRawData();
+    byte[] datagram = reassemble(rawData, 0, rawData.length, timestamp);
+    if (datagram == null) {
+      return null;
+    }
+    try {
+      return IpV4Packet.newPacket(datagram, 0, datagram.length);
+    } catch (IllegalRawDataException e) {
+      throw new AssertionError("Never get here.");
+    }
+  }
+
+  /**
+   * @param rawData the array holding an IPv4 packet.
+   * @param offset the position of the packet in rawData.
+   * @param length the length of the packet, which may include a trailer.
+   * @param timestamp the time the packet is received at in milliseconds.
+   * @return a new array holding the packet if it's not a fragment or the reassembled datagram if
+   *     the packet is its last missing fragment. null if the datagram is not complete yet, or if
+   *     the packet is dropped because it's not a valid IPv4 packet or its datagram is discarded.
+   */
+  public byte[] reassemble(byte[] rawData, int offset, int length, long timestamp) {
+    ByteArrays.validateBounds(rawData, offset, length);
+    if (length < MIN_HEADER_LENGTH || (rawData[offset] & 0xF0) != 0x40) {
+      return null;
+    }
+    int headerLength = (rawData[offset] & 0x0F) * 4;
+    int totalLength = ByteArrays.getShort(rawData, offset + 2) & 0xFFFF;
+    if (headerLength < MIN_HEADER_LENGTH || totalLength < headerLength || totalLength > length) {
+      return null;
+    }
+
+    int flagsAndFragmentOffset = ByteArrays.getShort(rawData, offset + 6) & 0xFFFF;
+    boolean more = (flagsAndFragmentOffset & 0x2000) != 0;
+    int fragmentOffset = (flagsAndFragmentOffset & 0x1FFF) * 8;
+    if (!more && fragmentOffset == 0) {
+      return Arrays.copyOfRange(rawData, offset, offset + totalLength);
+    }
+
+    int dataLength = totalLength - headerLength;
+    if (more && (dataLength & 7) != 0) {
+      return null;
+    }
+
+    Key key =
+        new Key(
+            ByteArrays.getLong(rawData, offset + 12),
+            (ByteArrays.getShort(rawData, offset + 4) & 0xFFFF) << 8
+                | (rawData[offset + 9] & 0xFF));
+    byte[] header =
+        fragmentOffset == 0 ? Arrays.copyOfRange(rawData, offset, offset + headerLength) : null;
+    FragmentBuffer buffer =
+        table.add(
+            key,
+            timestamp,
+            header,
+            rawData,
+            offset + headerLength,
+            fragmentOffset,
+            dataLength,
+            !more,
+            MAX_TOTAL_LENGTH - headerLength);
+    if (buffer == null) {
+      return null;
+    }
+
+    header = buffer.getHeader();
+    int payloadLength = buffer.getTotalLength();
+    if (header.length + payloadLength > MAX_TOTAL_LENGTH) {
+      // Options in the first fragment are longer than the ones in the last.
+      return null;
+    }
+    byte[] datagram = Arrays.copyOf(header, header.length + payloadLength);
+    System.arraycopy(buffer.getData(), 0, datagram, header.length, payloadLength);
+
+    datagram[2] = (byte) (datagram.length >> 8);
+    datagram[3] = (byte) datagram.length;
+    // keeps the reserved bit and DF, and clears MF and the fragment offset.
+    datagram[6] &= (byte) 0xC0;
+    datagram[7] = 0;
+    datagram[10] = 0;
+    datagram[11] = 0;
+    short checksum = Checksums.calcChecksum(datagram, 0, header.length);
+    datagram[10] = (byte) (checksum >> 8);
+    datagram[11] = (byte) checksum;
+    return datagram;
+  }
+
+  /**
+   * Drops the incomplete datagrams whose timeout has elapsed. This is done also when a fragment is
+   * given, so this method needs to be called only while fragments don't arrive.
+   *
+   * @param timestamp the current time in milliseconds.
+   * @return the number of the datagrams dropped.
+   */
+  public int expire(long timestamp) {
+    return table.expire(timestamp);
+  }
+
+  /** Drops all the incomplete datagrams. */
+  public void clear() {
+    table.clear();
+  }
+
+  /** @return the number of the datagrams being reassembled or discarded. */
+  public int size() {
+    return table.size();
+  }
+
+  /** @return the number of bytes the buffers hold. */
+  public long getBufferedBytes() {
+    return table.getBufferedBytes();
+  }
+
+  /** @return the number of the datagrams reassembled. */
+  public long getReassembledCount() {
+    return table.getReassembledCount();
+  }
+
+  /** @return the number of the incomplete datagrams dropped due to the timeout. */
+  public long getTimeoutCount() {
+    return table.getTimeoutCount();
+  }
+
+  /** @return the number of the incomplete datagrams dropped due to the byte budget. */
+  public long getEvictionCount() {
+    return table.getEvictionCount();
+  }
+
+  /** @return the number of the datagrams discarded due to overlapping fragments. */
+  public long getOverlapCount() {
+    return table.getOverlapCount();
+  }
+
+  /** @return the number of the fragments dropped because they are inconsistent. */
+  public long getInvalidCount() {
+    return table.getInvalidCount();
+  }
+
+  private static final class Key {
+
+    private final long addresses;
+    private final int identificationAndProtocol;
+
+    private Key(long addresses, int identificationAndProtocol) {
+      this.addresses = addresses;
+      this.identificationAndProtocol = identificationAndProtocol;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return addresses == other.addresses
+          && identificationAndProtocol == other.identificationAndProtocol;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = 17;
+      result = 31 * result + (int) (addresses ^ (addresses >>> 32));
+      result = 31 * result + identificationAndProtocol;
+      return result;
+    }
+  }
+}
@@ -0,0 +1,229 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.util;
+
+import java.net.Inet4Address;
+import org.pcap4j.packet.namednumber.IpNumber;
+
+/**
+ * Rewrites fields of an IPv4 packet and its TCP or UDP header in place in a raw frame. Only the
+ * bytes of the rewritten field and the affected checksums are touched: the IPv4 header checksum and
+ * the TCP or UDP checksum are updated incrementally (RFC 1624) instead of being recalculated over
+ * the whole packet.
+ *
+ * <p>The {@code offset} argument of each method is the offset of the IPv4 header in the array, e.g.
+ * 14 for an IPv4 packet in an Ethernet frame without VLAN tags.
+ *
+ * <p>A TCP or UDP checksum is updated only if its header is in a first fragment (or an unfragmented
+ * packet) and the checksum field is within the array. A UDP checksum which is zero, i.e. not
+ * calculated, is left zero.
+ *
+ * @since pcap4j 1.8.3
+ */
+public final class IpV4Rewriter {
+
+  private static final int MIN_IPV4_HEADER_SIZE = 20;
+  private static final int FLAGS_AND_FRAGMENT_OFFSET_OFFSET = 6;
+  private static final int TTL_OFFSET = 8;
+  private static final int PROTOCOL_OFFSET = 9;
+  private static final int HEADER_CHECKSUM_OFFSET = 10;
+  private static final int SRC_ADDR_OFFSET = 12;
+  private static final int DST_ADDR_OFFSET = 16;
+  private static final int SRC_PORT_OFFSET = 0;
+  private static final int DST_PORT_OFFSET = 2;
+  private static final int TCP_CHECKSUM_OFFSET = 16;
+  private static final int UDP_CHECKSUM_OFFSET = 6;
+
+  private IpV4Rewriter() {
+    throw new AssertionError();
+  }
+
+  /**
+   * @param packet the array containing the IPv4 packet.
+   * @param offset the offset of the IPv4 header.
+   * @param srcAddr srcAddr
+   * @throws IllegalArgumentException if the array doesn't contain an IPv4 header at the offset.
+   */
+  public static void setSrcAddr(byte[] packet, int offset, Inet4Address srcAddr) {
+    setAddr(packet, offset, SRC_ADDR_OFFSET, srcAddr);
+  }
+
+  /**
+   * @param packet the array containing the IPv4 packet.
+   * @param offset the offset of the IPv4 header.
+   * @param dstAddr dstAddr
+   * @throws IllegalArgumentException if the array doesn't contain an IPv4 header at the offset.
+   */
+  public static void setDstAddr(byte[] packet, int offset, Inet4Address dstAddr) {
+    setAddr(packet, offset, DST_ADDR_OFFSET, dstAddr);
+  }
+
+  /**
+   * @param packet the array containing the IPv4 packet.
+   * @param offset the offset of the IPv4 header.
+   * @param ttl ttl
+   * @throws IllegalArgumentException if the array doesn't contain an IPv4 header at the offset.
+   */
+  public static void setTtl(byte[] packet, int offset, byte ttl) {
+    validateIpV4Header(packet, offset);
+
+    // The TTL and the protocol make up a 16-bit word.
+    int ttlOffset = offset + TTL_OFFSET;
+    short oldWord = ByteArrays.getShort(packet, ttlOffset);
+    packet[ttlOffset] = ttl;
+    short newWord = ByteArrays.getShort(packet, ttlOffset);
+    updateHeaderChecksum(packet, offset, oldWord, newWord);
+  }
+
+  /**
+   * @param packet the array containing the IPv4 packet.
+   * @param offset the offset of the IPv4 header.
+   * @param srcPort srcPort
+   * @throws IllegalArgumentException if the array doesn't contain an IPv4 header at the offset
+   *     followed by a TCP or UDP header.
+   */
+  public static void setSrcPort(byte[] packet, int offset, short srcPort) {
+    setPort(packet, offset, SRC_PORT_OFFSET, srcPort);
+  }
+
+  /**
+   * @param packet the array containing the IPv4 packet.
+   * @param offset the offset of the IPv4 header.
+   * @param dstPort dstPort
+   * @throws IllegalArgumentException if the array doesn't contain an IPv4 header at the offset
+   *     followed by a TCP or UDP header.
+   */
+  public static void setDstPort(byte[] packet, int offset, short dstPort) {
+    setPort(packet, offset, DST_PORT_OFFSET, dstPort);
+  }
+
+  private static void setAddr(byte[] packet, int offset, int addrOffset, Inet4Address addr) {
+    validateIpV4Header(packet, offset);
+
+    int oldAddr = ByteArrays.getInt(packet, offset + addrOffset);
+    int newAddr = ByteArrays.getInt(addr.getAddress(), 0);
+    putInt(packet, offset + addrOffset, newAddr);
+
+    short oldChecksum = ByteArrays.getShort(packet, offset + HEADER_CHECKSUM_OFFSET);
+    putShort(
+        packet, offset + HEADER_CHECKSUM_OFFSET, Checksums.update(oldChecksum, oldAddr, newAddr));
+
+    // The addresses are in the pseudo header of TCP and UDP.
+    int checksumOffset = getTransportChecksumOffset(packet, offset);
+    if (checksumOffset < 0) {
+      return;
+    }
+    oldChecksum = ByteArrays.getShort(packet, checksumOffset);
+    if (isUdp(packet, offset) && oldChecksum == 0) {
+      return;
+    }
+    putTransportChecksum(
+        packet, offset, checksumOffset, Checksums.update(oldChecksum, oldAddr, newAddr));
+  }
+
+  private static void setPort(byte[] packet, int offset, int portOffset, short port) {
+    validateIpV4Header(packet, offset);
+    int checksumOffset = getTransportChecksumOffset(packet, offset);
+    if (checksumOffset < 0) {
+      StringBuilder sb = new StringBuilder(100);
+      sb.append("The packet doesn't contain a whole TCP or UDP header. offset: ")
+          .append(offset)
+          .append(", packet: ")
+          .append(ByteArrays.toHexString(packet, " "));
+      throw new IllegalArgumentException(sb.toString());
+    }
+
+    int transportOffset = offset + getIhl(packet, offset) * 4;
+    short oldPort = ByteArrays.getShort(packet, transportOffset + portOffset);
+    putShort(packet, transportOffset + portOffset, port);
+
+    short oldChecksum = ByteArrays.getShort(packet, checksumOffset);
+    if (isUdp(packet, offset) && oldChecksum == 0) {
+      return;
+    }
+    putTransportChecksum(
+        packet, offset, checksumOffset, Checksums.update(oldChecksum, oldPort, port));
+  }
+
+  private static void validateIpV4Header(byte[] packet, int offset) {
+    if (packet == null) {
+      throw new NullPointerException("packet must not be null.");
+    }
+    if (offset < 0
+        || packet.length - offset < MIN_IPV4_HEADER_SIZE
+        || (packet[offset] & 0xF0) != 0x40
+        || getIhl(packet, offset) * 4 < MIN_IPV4_HEADER_SIZE
+        || getIhl(packet, offset) * 4 > packet.length - offset) {
+      StringBuilder sb = new StringBuilder(100);
+      sb.append("The packet doesn't contain an IPv4 header. offset: ")
+          .append(offset)
+          .append(", packet: ")
+          .append(ByteArrays.toHexString(packet, " "));
+      throw new IllegalArgumentException(sb.toString());
+    }
+  }
+
+  private static int getIhl(byte[] packet, int offset) {
+    return packet[offset] & 0x0F;
+  }
+
+  private static boolean isUdp(byte[] packet, int offset) {
+    return packet[offset + PROTOCOL_OFFSET] == IpNumber.UDP.value();
+  }
+
+  /** @return the offset of the TCP or UDP checksum field, or -1 if it is not in the packet. */
+  private static int getTransportChecksumOffset(byte[] packet, int offset) {
+    int checksumOffset;
+    byte protocol = packet[offset + PROTOCOL_OFFSET];
+    if (protocol == IpNumber.TCP.value()) {
+      checksumOffset = TCP_CHECKSUM_OFFSET;
+    } else if (protocol == IpNumber.UDP.value()) {
+      checksumOffset = UDP_CHECKSUM_OFFSET;
+    } else {
+      return -1;
+    }
+
+    if ((ByteArrays.getShort(packet, offset + FLAGS_AND_FRAGMENT_OFFSET_OFFSET) & 0x1FFF) != 0) {
+      return -1;
+    }
+
+    checksumOffset += offset + getIhl(packet, offset) * 4;
+    if (checksumOffset + 2 > packet.length) {
+      return -1;
+    }
+    return checksumOffset;
+  }
+
+  private static void updateHeaderChecksum(
+      byte[] packet, int offset, short oldWord, short newWord) {
+    int checksumOffset = offset + HEADER_CHECKSUM_OFFSET;
+    short oldChecksum = ByteArrays.getShort(packet, checksumOffset);
+    putShort(packet, checksumOffset, Checksums.update(oldChecksum, oldWord, newWord));
+  }
+
+  private static void putTransportChecksum(
+      byte[] packet, int offset, int checksumOffset, short checksum) {
+    if (checksum == 0 && isUdp(packet, offset)) {
+      // RFC 768: a calculated checksum of zero is transmitted as all ones.
+      checksum = (short) 0xFFFF;
+    }
+    putShort(packet, checksumOffset, checksum);
+  }
+
+  private static void putShort(byte[] array, int offset, short value) {
+    array[offset] = (byte) (value >> 8);
+    array[offset + 1] = (byte) value;
+  }
+
+  private static void putInt(byte[] array, int offset, int value) {
+    array[offset] = (byte) (value >> 24);
+    array[offset + 1] = (byte) (value >> 16);
+    array[offset + 2] = (byte) (value >> 8);
+    array[offset + 3] = (byte) value;
+  }
+}
@@ -0,0 +1,282 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.util;
+
+import java.util.Arrays;
+import org.pcap4j.packet.IllegalRawDataException;
+import org.pcap4j.packet.IpV6ExtFragmentPacket;
+import org.pcap4j.packet.IpV6Packet;
+import org.pcap4j.packet.namednumber.IpNumber;
+
+/**
+ * Reassembles IPv6 packets from fragments as they arrive, in the same way as {@link
+ * IpV4Reassembler}. Fragments are written into a buffer per packet identified by the source
+ * address, destination address, and identification, and a packet is returned as soon as all of its
+ * fragments are received. The reassembled packet consists of the unfragmentable part of the first
+ * fragment followed by the fragmentable part, without the Fragment header.
+ *
+ * <p>An incomplete packet is dropped when the timeout given to the constructor elapses from its
+ * first fragment, and the oldest incomplete packets are dropped while the buffers hold more bytes
+ * than the budget given to the constructor. As RFC 5722 requires, a packet with overlapping
+ * fragments is discarded together with the rest of its fragments, which are ignored until the
+ * timeout. Exact duplicates of fragments are ignored as RFC 8200 allows. An atomic fragment, which
+ * has neither a fragment offset nor the M flag, is returned at once without the Fragment header as
+ * RFC 6946 recommends.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @since pcap4j 1.8.3
+ */
+public final class IpV6Reassembler {
+
+  private static final int HEADER_LENGTH = 40;
+  private static final int FRAGMENT_HEADER_LENGTH = 8;
+  private static final int MAX_PAYLOAD_LENGTH = 0xFFFF;
+
+  private final FragmentTable<Key> table;
+
+  /**
+   * @param timeout the time in milliseconds to wait for the rest of the fragments of a packet.
+   * @param maxBytes the maximum number of bytes to buffer fragments in.
+   */
+  public IpV6Reassembler(long timeout, long maxBytes) {
+    this.table = new FragmentTable<Key>(timeout, maxBytes);
+  }
+
+  /**
+   * @param packet an IPv6 packet.
+   * @param timestamp the time the packet is received at in milliseconds.
+   * @return the packet if it's not a fragment, the reassembled packet if the packet is an atomic
+   *     fragment or the last missing fragment, or null otherwise.
+   */
+  public IpV6Packet reassemble(IpV6Packet packet, long timestamp) {
+    if (!packet.contains(IpV6ExtFragmentPacket.class)) {
+      return packet;
+    }
+
+    byte[] rawData = packet.getRawData();
+    byte[] reassembled = reassemble(rawData, 0, rawData.length, timestamp);
+    if (reassembled == null) {
+      return null;
+    }
+    try {
+      return IpV6Packet.newPacket(reassembled, 0, reassembled.length);
+    } catch (IllegalRawDataException e) {
+      throw new AssertionError("Never get here.");
+    }
+  }
+
+  /**
+   * @param rawData the array holding an IPv6 packet.
+   * @param offset the position of the packet in rawData.
+   * @param length the length of the packet, which may include a trailer.
+   * @param timestamp the time the packet is received at in milliseconds.
+   * @return a new array holding the packet if it's not a fragment or the reassembled packet if the
+   *     packet is an atomic fragment or the last missing fragment. null if the packet is not
+   *     complete yet, or if the fragment is dropped because it's not a valid IPv6 packet or its
+   *     packet is discarded.
+   */
+  public byte[] reassemble(byte[] rawData, int offset, int length, long timestamp) {
+    ByteArrays.validateBounds(rawData, offset, length);
+    if (length < HEADER_LENGTH || (rawData[offset] & 0xF0) != 0x60) {
+      return null;
+    }
+    int end = offset + HEADER_LENGTH + (ByteArrays.getShort(rawData, offset + 4) & 0xFFFF);
+    if (end > offset + length) {
+      return null;
+    }
+
+    // Finds the Fragment header after the extension headers in the unfragmentable part.
+    int nextHeaderPos = offset + 6;
+    int pos = offset + HEADER_LENGTH;
+    while (true) {
+      byte nextHeader = rawData[nextHeaderPos];
+      if (nextHeader == IpNumber.IPV6_FRAG.value()) {
+        break;
+      }
+      if (nextHeader != IpNumber.IPV6_HOPOPT.value()
+          && nextHeader != IpNumber.IPV6_ROUTE.value()
+          && nextHeader != IpNumber.IPV6_DST_OPTS.value()) {
+        return Arrays.copyOfRange(rawData, offset, end);
+      }
+      if (pos + 2 > end) {
+        return null;
+      }
+      nextHeaderPos = pos;
+      pos += ((rawData[pos + 1] & 0xFF) + 1) * 8;
+    }
+    if (pos + FRAGMENT_HEADER_LENGTH > end) {
+      return null;
+    }
+
+    int offsetAndFlags = ByteArrays.getShort(rawData, pos + 2) & 0xFFFF;
+    int fragmentOffset = offsetAndFlags & 0xFFF8;
+    boolean more = (offsetAndFlags & 0x0001) != 0;
+    int dataPos = pos + FRAGMENT_HEADER_LENGTH;
+    int dataLength = end - dataPos;
+    int unfragmentableLength = pos - offset;
+
+    if (fragmentOffset == 0 && !more) {
+      byte[] reassembled = newHeader(rawData, offset, unfragmentableLength, nextHeaderPos, pos);
+      reassembled = Arrays.copyOf(reassembled, unfragmentableLength + dataLength);
+      System.arraycopy(rawData, dataPos, reassembled, unfragmentableLength, dataLength);
+      setPayloadLength(reassembled);
+      return reassembled;
+    }
+    if (more && (dataLength & 7) != 0) {
+      return null;
+    }
+
+    Key key =
+        new Key(
+            ByteArrays.getLong(rawData, offset + 8),
+            ByteArrays.getLong(rawData, offset + 16),
+            ByteArrays.getLong(rawData, offset + 24),
+            ByteArrays.getLong(rawData, offset + 32),
+            ByteArrays.getInt(rawData, pos + 4));
+    byte[] header =
+        fragmentOffset == 0
+            ? newHeader(rawData, offset, unfragmentableLength, nextHeaderPos, pos)
+            : null;
+    FragmentBuffer buffer =
+        table.add(
+            key,
+            timestamp,
+            header,
+            rawData,
+            dataPos,
+            fragmentOffset,
+            dataLength,
+            !more,
+            MAX_PAYLOAD_LENGTH - (unfragmentableLength - HEADER_LENGTH));
+    if (buffer == null) {
+      return null;
+    }
+
+    header = buffer.getHeader();
+    int fragmentableLength = buffer.getTotalLength();
+    if (header.length - HEADER_LENGTH + fragmentableLength > MAX_PAYLOAD_LENGTH) {
+      // The unfragmentable part of the first fragment is longer than the one of the last.
+      return null;
+    }
+    byte[] reassembled = Arrays.copyOf(header, header.length + fragmentableLength);
+    System.arraycopy(buffer.getData(), 0, reassembled, header.length, fragmentableLength);
+    setPayloadLength(reassembled);
+    return reassembled;
+  }
+
+  /** Copies the unfragmentable part pointing to the header after the Fragment header. */
+  private static byte[] newHeader(
+      byte[] rawData, int offset, int unfragmentableLength, int nextHeaderPos, int fragmentPos) {
+    byte[] header = Arrays.copyOfRange(rawData, offset, offset + unfragmentableLength);
+    header[nextHeaderPos - offset] = rawData[fragmentPos];
+    return header;
+  }
+
+  private static void setPayloadLength(byte[] reassembled) {
+    int payloadLength = reassembled.length - HEADER_LENGTH;
+    reassembled[4] = (byte) (payloadLength >> 8);
+    reassembled[5] = (byte) payloadLength;
+  }
+
+  /**
+   * Drops the incomplete packets whose timeout has elapsed. This is done also when a fragment is
+   * given, so this method needs to be called only while fragments don't arrive.
+   *
+   * @param timestamp the current time in milliseconds.
+   * @return the number of the packets dropped.
+   */
+  public int expire(long timestamp) {
+    return table.expire(timestamp);
+  }
+
+  /** Drops all the incomplete packets. */
+  public void clear() {
+    table.clear();
+  }
+
+  /** @return the number of the packets being reassembled or discarded. */
+  public int size() {
+    return table.size();
+  }
+
+  /** @return the number of bytes the buffers hold. */
+  public long getBufferedBytes() {
+    return table.getBufferedBytes();
+  }
+
+  /** @return the number of the packets reassembled, excluding atomic fragments. */
+  public long getReassembledCount() {
+    return table.getReassembledCount();
+  }
+
+  /** @return the number of the incomplete packets dropped due to the timeout. */
+  public long getTimeoutCount() {
+    return table.getTimeoutCount();
+  }
+
+  /** @return the number of the incomplete packets dropped due to the byte budget. */
+  public long getEvictionCount() {
+    return table.getEvictionCount();
+  }
+
+  /** @return the number of the packets discarded due to overlapping fragments. */
+  public long getOverlapCount() {
+    return table.getOverlapCount();
+  }
+
+  /** @return the number of the fragments dropped because they are inconsistent. */
+  public long getInvalidCount() {
+    return table.getInvalidCount();
+  }
+
+  private static final class Key {
+
+    private final long srcAddrHigh;
+    private final long srcAddrLow;
+    private final long dstAddrHigh;
+    private final long dstAddrLow;
+    private final int identification;
+
+    private Key(
+        long srcAddrHigh, long srcAddrLow, long dstAddrHigh, long dstAddrLow, int identification) {
+      this.srcAddrHigh = srcAddrHigh;
+      this.srcAddrLow = srcAddrLow;
+      this.dstAddrHigh = dstAddrHigh;
+      this.dstAddrLow = dstAddrLow;
+      this.identification = identification;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return identification == other.identification
+          && srcAddrLow == other.srcAddrLow
+          && dstAddrLow == other.dstAddrLow
+          && srcAddrHigh == other.srcAddrHigh
+          && dstAddrHigh == other.dstAddrHigh;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = 17;
+      result = 31 * result + (int) (srcAddrHigh ^ (srcAddrHigh >>> 32));
+      result = 31 * result + (int) (srcAddrLow ^ (srcAddrLow >>> 32));
+      result = 31 * result + (int) (dstAddrHigh ^ (dstAddrHigh >>> 32));
+      result = 31 * result + (int) (dstAddrLow ^ (dstAddrLow >>> 32));
+      result = 31 * result + identification;
+      return result;
+    }
+  }
+}
@@ -0,0 +1,294 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Encodes {@link FlowRecord}s into IPFIX messages (RFC 7011) and writes them to a channel. A
+ * connected {@link java.nio.channels.DatagramChannel} sends each message as a UDP datagram to a
+ * collector, and a {@link java.nio.channels.FileChannel} makes an IPFIX file (RFC 5655).
+ *
+ * <p>Records are appended to a message in a buffer allocated by the constructor, and the message is
+ * written when the next record doesn't fit or when {@link #flush()} is called. The templates, one
+ * for IPv4 flows and one for IPv6 flows, are put in the first message and again in the first
+ * message after each template refresh interval, which is needed by a collector over UDP.
+ *
+ * <pre>{@code
+ * DatagramChannel channel = DatagramChannel.open();
+ * channel.connect(new InetSocketAddress(collector, 4739));
+ * IpfixExporter exporter = new IpfixExporter(channel, 1L, 1400, 60000L);
+ * FlowTable table = new FlowTable(exporter, 1000000, 15000L, 1800000L);
+ * }</pre>
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @since pcap4j 1.8.3
+ */
+public final class IpfixExporter implements FlowRecordListener, Closeable {
+
+  /** The minimum length of messages, which can hold the templates and an IPv6 record. */
+  public static final int MIN_MESSAGE_LENGTH = 256;
+
+  /** The maximum length of messages. */
+  public static final int MAX_MESSAGE_LENGTH = 65535;
+
+  private static final int VERSION = 10;
+  private static final int MESSAGE_HEADER_LENGTH = 16;
+  private static final int SET_HEADER_LENGTH = 4;
+  private static final int TEMPLATE_SET_ID = 2;
+  private static final int IPV4_TEMPLATE_ID = 256;
+  private static final int IPV6_TEMPLATE_ID = 257;
+
+  // pairs of an information element ID and a field length
+  private static final int[] IPV4_TEMPLATE = {
+    8, 4, // sourceIPv4Address
+    12, 4, // destinationIPv4Address
+    4, 1, // protocolIdentifier
+    7, 2, // sourceTransportPort
+    11, 2, // destinationTransportPort
+    32, 2, // icmpTypeCodeIPv4
+    58, 2, // vlanId
+    2, 8, // packetDeltaCount
+    1, 8, // octetDeltaCount
+    152, 8, // flowStartMilliseconds
+    153, 8, // flowEndMilliseconds
+    6, 2, // tcpControlBits
+    136, 1, // flowEndReason
+  };
+  private static final int[] IPV6_TEMPLATE = {
+    27, 16, // sourceIPv6Address
+    28, 16, // destinationIPv6Address
+    4, 1, // protocolIdentifier
+    7, 2, // sourceTransportPort
+    11, 2, // destinationTransportPort
+    139, 2, // icmpTypeCodeIPv6
+    58, 2, // vlanId
+    2, 8, // packetDeltaCount
+    1, 8, // octetDeltaCount
+    152, 8, // flowStartMilliseconds
+    153, 8, // flowEndMilliseconds
+    6, 2, // tcpControlBits
+    136, 1, // flowEndReason
+  };
+  private static final int IPV4_RECORD_LENGTH = recordLength(IPV4_TEMPLATE);
+  private static final int IPV6_RECORD_LENGTH = recordLength(IPV6_TEMPLATE);
+
+  private final WritableByteChannel channel;
+  private final int observationDomainId;
+  private final long templateRefreshInterval;
+  private final ByteBuffer buffer;
+
+  private long lastTemplateTime;
+  private boolean templateSent;
+  // the position of the header of the data set being written, or -1
+  private int setStart = -1;
+  private int setId;
+  private int messageRecords;
+  private int sequenceNumber;
+  private long messageCount;
+  private long recordCount;
+
+  /**
+   * @param channel the channel to write the messages to.
+   * @param observationDomainId the observation domain ID in the message headers.
+   * @param maxMessageLength the maximum length of the messages in bytes, which should be less than
+   *     the path MTU for UDP. Between {@link #MIN_MESSAGE_LENGTH} and {@link #MAX_MESSAGE_LENGTH}.
+   * @param templateRefreshInterval the interval in milliseconds to put the templates again at, or 0
+   *     to put them only in the first message.
+   */
+  public IpfixExporter(
+      WritableByteChannel channel,
+      long observationDomainId,
+      int maxMessageLength,
+      long templateRefreshInterval) {
+    if (channel == null) {
+      throw new NullPointerException("channel must not be null.");
+    }
+    if (observationDomainId < 0
+        || observationDomainId > 0xFFFFFFFFL
+        || maxMessageLength < MIN_MESSAGE_LENGTH
+        || maxMessageLength > MAX_MESSAGE_LENGTH
+        || templateRefreshInterval < 0) {
+      StringBuilder sb = new StringBuilder();
+      sb.append("Invalid argument. observationDomainId: ")
+          .append(observationDomainId)
+          .append(" maxMessageLength: ")
+          .append(maxMessageLength)
+          .append(" templateRefreshInterval: ")
+          .append(templateRefreshInterval);
+      throw new IllegalArgumentException(sb.toString());
+    }
+    this.channel = channel;
+    this.observationDomainId = (int) observationDomainId;
+    this.templateRefreshInterval = templateRefreshInterval;
+    this.buffer = ByteBuffer.allocate(maxMessageLength);
+  }
+
+  private static int recordLength(int[] template) {
+    int length = 0;
+    for (int i = 1; i < template.length; i += 2) {
+      length += template[i];
+    }
+    return length;
+  }
+
+  /**
+   * Calls {@link #export(FlowRecord)}.
+   *
+   * @throws UncheckedIOException if an I/O error occurs.
+   */
+  @Override
+  public void gotFlowRecord(FlowRecord record) {
+    try {
+      export(record);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Appends a record to the message being built. The message is written before that if the record
+   * doesn't fit in it.
+   *
+   * @param record record
+   * @throws IOException if an I/O error occurs.
+   */
+  public void export(FlowRecord record) throws IOException {
+    boolean ipV4 = record.getIpVersion() == 4;
+    int templateId = ipV4 ? IPV4_TEMPLATE_ID : IPV6_TEMPLATE_ID;
+    int recordLength = ipV4 ? IPV4_RECORD_LENGTH : IPV6_RECORD_LENGTH;
+
+    if (buffer.position() == 0) {
+      startMessage();
+    }
+    int needed = setId == templateId ? recordLength : SET_HEADER_LENGTH + recordLength;
+    if (buffer.remaining() < needed) {
+      flush();
+      startMessage();
+    }
+    if (setId != templateId) {
+      endSet();
+      setStart = buffer.position();
+      setId = templateId;
+      buffer.putShort((short) templateId);
+      buffer.putShort((short) 0);
+    }
+
+    int addrLength = record.getAddressLength();
+    int icmp = ipV4 ? 1 : 58;
+    boolean isIcmp = record.protocol == icmp;
+    buffer.put(record.srcAddr, 0, addrLength);
+    buffer.put(record.dstAddr, 0, addrLength);
+    buffer.put((byte) record.protocol);
+    buffer.putShort((short) (isIcmp ? 0 : record.srcPort));
+    buffer.putShort((short) (isIcmp ? 0 : record.dstPort));
+    buffer.putShort((short) (isIcmp ? record.dstPort : 0));
+    buffer.putShort((short) record.vlanId);
+    buffer.putLong(record.packets);
+    buffer.putLong(record.bytes);
+    buffer.putLong(record.firstSeen);
+    buffer.putLong(record.lastSeen);
+    buffer.putShort((short) record.tcpFlags);
+    buffer.put((byte) record.endReason.value());
+    messageRecords++;
+  }
+
+  /**
+   * Writes the message being built if any.
+   *
+   * @throws IOException if an I/O error occurs.
+   */
+  public void flush() throws IOException {
+    if (buffer.position() == 0) {
+      return;
+    }
+    endSet();
+    setId = 0;
+
+    buffer.putShort(0, (short) VERSION);
+    buffer.putShort(2, (short) buffer.position());
+    buffer.putInt(4, (int) (System.currentTimeMillis() / 1000L));
+    buffer.putInt(8, sequenceNumber);
+    buffer.putInt(12, observationDomainId);
+    buffer.flip();
+    int records = messageRecords;
+    try {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    } finally {
+      buffer.clear();
+      // The sequence number counts the data records before the message modulo 2^32, including the
+      // ones failed to be written so that the collector can detect the loss.
+      sequenceNumber += records;
+      messageRecords = 0;
+    }
+    recordCount += records;
+    messageCount++;
+  }
+
+  /**
+   * Writes the message being built if any and closes the channel.
+   *
+   * @throws IOException if an I/O error occurs.
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      flush();
+    } finally {
+      channel.close();
+    }
+  }
+
+  /** @return the number of the messages written. */
+  public long getMessageCount() {
+    return messageCount;
+  }
+
+  /** @return the number of the data records written. */
+  public long getRecordCount() {
+    return recordCount;
+  }
+
+  private void startMessage() {
+    buffer.position(MESSAGE_HEADER_LENGTH);
+    long now = System.currentTimeMillis();
+    if (!templateSent
+        || (templateRefreshInterval > 0 && now - lastTemplateTime >= templateRefreshInterval)) {
+      templateSent = true;
+      lastTemplateTime = now;
+      int start = buffer.position();
+      buffer.putShort((short) TEMPLATE_SET_ID);
+      buffer.putShort((short) 0);
+      putTemplate(IPV4_TEMPLATE_ID, IPV4_TEMPLATE);
+      putTemplate(IPV6_TEMPLATE_ID, IPV6_TEMPLATE);
+      buffer.putShort(start + 2, (short) (buffer.position() - start));
+    }
+  }
+
+  private void putTemplate(int templateId, int[] template) {
+    buffer.putShort((short) templateId);
+    buffer.putShort((short) (template.length / 2));
+    for (int field : template) {
+      buffer.putShort((short) field);
+    }
+  }
+
+  private void endSet() {
+    if (setStart >= 0) {
+      buffer.putShort(setStart + 2, (short) (buffer.position() - setStart));
+      setStart = -1;
+    }
+  }
+}
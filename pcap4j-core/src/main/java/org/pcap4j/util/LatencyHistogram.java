@@ -0,0 +1,192 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of non-negative values such as latencies in nanoseconds, with buckets growing
+ * log-linearly like HdrHistogram. Values below 32 are counted exactly, and larger ones with a
+ * relative error of 1/16 or less. Recording is lock-free and allocates nothing, so threads can
+ * record values concurrently.
+ *
+ * @since pcap4j 1.8.3
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int NUM_BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(NUM_BUCKETS);
+  private final AtomicLong total = new AtomicLong();
+  private final AtomicLong max = new AtomicLong();
+
+  /** */
+  public LatencyHistogram() {}
+
+  /** @param value a value, which is regarded as 0 if negative. */
+  public void record(long value) {
+    if (value < 0) {
+      value = 0;
+    }
+    counts.incrementAndGet(indexOf(value));
+    total.addAndGet(value);
+    long current = max.get();
+    while (value > current && !max.compareAndSet(current, value)) {
+      current = max.get();
+    }
+  }
+
+  /** Clears the recorded values. Values recorded concurrently may be lost. */
+  public void reset() {
+    for (int i = 0; i < NUM_BUCKETS; i++) {
+      counts.set(i, 0L);
+    }
+    total.set(0L);
+    max.set(0L);
+  }
+
+  /**
+   * @return a snapshot of the values recorded. Values recorded concurrently may or may not be
+   *     included.
+   */
+  public Snapshot getSnapshot() {
+    long[] copy = new long[NUM_BUCKETS];
+    long count = 0;
+    for (int i = 0; i < NUM_BUCKETS; i++) {
+      copy[i] = counts.get(i);
+      count += copy[i];
+    }
+    return new Snapshot(
+        count,
+        count == 0 ? 0d : (double) total.get() / count,
+        valueAt(copy, count, 0.5),
+        valueAt(copy, count, 0.9),
+        valueAt(copy, count, 0.99),
+        valueAt(copy, count, 0.999),
+        max.get());
+  }
+
+  static int indexOf(long value) {
+    if (value < SUB_BUCKETS * 2) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+  }
+
+  /** @return the largest value counted in the bucket. */
+  static long highestValueAt(int index) {
+    if (index < SUB_BUCKETS * 2) {
+      return index;
+    }
+    int shift = index / SUB_BUCKETS - 1;
+    long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+
+  private static long valueAt(long[] counts, long count, double quantile) {
+    if (count == 0) {
+      return 0L;
+    }
+    long rank = Math.max(1L, (long) Math.ceil(quantile * count));
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return highestValueAt(i);
+      }
+    }
+    throw new AssertionError("Never get here.");
+  }
+
+  /**
+   * The statistics of the values recorded in a {@link LatencyHistogram}.
+   *
+   * @since pcap4j 1.8.3
+   */
+  public static final class Snapshot {
+
+    private final long count;
+    private final double mean;
+    private final long p50;
+    private final long p90;
+    private final long p99;
+    private final long p999;
+    private final long max;
+
+    private Snapshot(long count, double mean, long p50, long p90, long p99, long p999, long max) {
+      this.count = count;
+      this.mean = mean;
+      this.p50 = p50;
+      this.p90 = p90;
+      this.p99 = p99;
+      this.p999 = p999;
+      this.max = max;
+    }
+
+    /** @return the number of the values. */
+    public long getCount() {
+      return count;
+    }
+
+    /** @return the mean of the values. */
+    public double getMean() {
+      return mean;
+    }
+
+    /** @return the median. */
+    public long getP50() {
+      return p50;
+    }
+
+    /** @return the 90th percentile. */
+    public long getP90() {
+      return p90;
+    }
+
+    /** @return the 99th percentile. */
+    public long getP99() {
+      return p99;
+    }
+
+    /** @return the 99.9th percentile. */
+    public long getP999() {
+      return p999;
+    }
+
+    /** @return the maximum value. */
+    public long getMax() {
+      return max;
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder(100);
+      sb.append("[count: ")
+          .append(count)
+          .append(" mean: ")
+          .append(mean)
+          .append(" p50: ")
+          .append(p50)
+          .append(" p90: ")
+          .append(p90)
+          .append(" p99: ")
+          .append(p99)
+          .append(" p99.9: ")
+          .append(p999)
+          .append(" max: ")
+          .append(max)
+          .append("]");
+      return sb.toString();
+    }
+  }
+}
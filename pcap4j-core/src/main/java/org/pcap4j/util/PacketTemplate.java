@@ -0,0 +1,409 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.pcap4j.packet.IcmpV4CommonPacket;
+import org.pcap4j.packet.IcmpV6CommonPacket;
+import org.pcap4j.packet.IpV4Packet;
+import org.pcap4j.packet.IpV6Packet;
+import org.pcap4j.packet.Packet;
+import org.pcap4j.packet.TcpPacket;
+import org.pcap4j.packet.UdpPacket;
+
+/**
+ * A packet template, which serializes a packet once and emits variants of it by mutating fields in
+ * place. When a field is mutated, the IPv4 header checksum and the TCP, UDP or ICMP checksum
+ * covering it (including the pseudo header) are updated incrementally (RFC 1624), so a variant
+ * costs only the bytes changed, instead of building a new packet tree and recalculating every
+ * length and checksum.
+ *
+ * <p>Fields are located in the template packet: the IP packet directly carrying the first TCP, UDP
+ * or ICMP packet (or the first IP packet if there is none) and that transport packet. Any other
+ * range can be mutated via {@link #getField(int, int)}. The length of a variant is always {@link
+ * #length()}; fields which change lengths are not supported.
+ *
+ * <p>Variants are written to frames, which are byte arrays reused by the caller. Each frame starts
+ * as a copy of the template by {@link #newFrame()} or {@link #copyTo(byte[])} and can be sent with
+ * {@link org.pcap4j.core.PcapHandle#sendPacket(byte[], int) PcapHandle.sendPacket(frame, len)} or
+ * dumped with {@link org.pcap4j.core.PcapDumper#dumpRaw(byte[], int, java.sql.Timestamp)
+ * PcapDumper.dumpRaw(frame, len, timestamp)}. For example:
+ *
+ * <pre>{@code
+ * PacketTemplate template = new PacketTemplate(ethernetBuilder.build());
+ * PacketTemplate.Field srcPort = template.getSrcPort();
+ * byte[] frame = template.newFrame();
+ * for (int port = 10000; port < 20000; port++) {
+ *   srcPort.setShort(frame, (short) port);
+ *   handle.sendPacket(frame, template.length());
+ * }
+ * }</pre>
+ *
+ * <p>A template is immutable and thread-safe. Fields and frames are not, because a field keeps a
+ * scratch array to update checksums without allocation. Each thread should get its own fields; the
+ * getters return a new one at each call.
+ *
+ * @since pcap4j 1.8.3
+ */
+public final class PacketTemplate {
+
+  private static final int TCP_CHECKSUM_OFFSET = 16;
+  private static final int UDP_CHECKSUM_OFFSET = 6;
+  private static final int ICMP_CHECKSUM_OFFSET = 2;
+
+  private final byte[] template;
+  private final int ipOffset;
+  private final int ipVersion;
+  private final int transportOffset;
+  private final Class<? extends Packet> transportClass;
+  private final int payloadOffset;
+  private final int payloadLength;
+  private final List<ChecksumRegion> regions = new ArrayList<ChecksumRegion>();
+
+  /** @param packet the packet to use as a template. Its lengths and checksums should be correct. */
+  public PacketTemplate(Packet packet) {
+    if (packet == null) {
+      throw new NullPointerException("packet must not be null.");
+    }
+    this.template = packet.getRawData();
+
+    int offset = 0;
+    int ipOffset = -1;
+    int ipVersion = 0;
+    int ipHeaderLength = 0;
+    int transportOffset = -1;
+    Class<? extends Packet> transportClass = null;
+    Packet innermost = packet;
+    int innermostOffset = 0;
+    for (Packet p : packet) {
+      innermost = p;
+      innermostOffset = offset;
+      if (transportOffset >= 0) {
+        break;
+      }
+      if (p instanceof IpV4Packet || p instanceof IpV6Packet) {
+        ipOffset = offset;
+        ipVersion = p instanceof IpV4Packet ? 4 : 6;
+        ipHeaderLength = p.getHeader().length();
+      } else if (ipOffset >= 0
+          && (p instanceof TcpPacket
+              || p instanceof UdpPacket
+              || p instanceof IcmpV4CommonPacket
+              || p instanceof IcmpV6CommonPacket)) {
+        transportOffset = offset;
+        transportClass = p.getClass();
+      }
+      if (p.getHeader() != null) {
+        offset += p.getHeader().length();
+      }
+    }
+    this.ipOffset = ipOffset;
+    this.ipVersion = ipVersion;
+    this.transportOffset = transportOffset;
+    this.transportClass = transportClass;
+
+    if (transportOffset >= 0 && innermost.getHeader() == null) {
+      this.payloadOffset = innermostOffset;
+      this.payloadLength = innermost.length();
+    } else if (transportOffset >= 0) {
+      this.payloadOffset = offset;
+      this.payloadLength = 0;
+    } else {
+      this.payloadOffset = -1;
+      this.payloadLength = 0;
+    }
+
+    if (ipVersion == 4) {
+      regions.add(
+          new ChecksumRegion(ipOffset, ipOffset + ipHeaderLength, ipOffset + 10, false, -1, -1));
+    }
+    if (transportOffset >= 0) {
+      Packet transport = packet.get(transportClass);
+      int checksumOffset;
+      boolean udp = false;
+      boolean pseudoHeader = true;
+      if (transportClass == TcpPacket.class) {
+        checksumOffset = TCP_CHECKSUM_OFFSET;
+      } else if (transportClass == UdpPacket.class) {
+        checksumOffset = UDP_CHECKSUM_OFFSET;
+        udp = true;
+      } else {
+        checksumOffset = ICMP_CHECKSUM_OFFSET;
+        pseudoHeader = transportClass == IcmpV6CommonPacket.class;
+      }
+      int addrsOffset = ipVersion == 4 ? ipOffset + 12 : ipOffset + 8;
+      int addrsLength = ipVersion == 4 ? 8 : 32;
+      regions.add(
+          new ChecksumRegion(
+              transportOffset,
+              transportOffset + transport.length(),
+              transportOffset + checksumOffset,
+              udp,
+              pseudoHeader ? addrsOffset : -1,
+              pseudoHeader ? addrsOffset + addrsLength : -1));
+    }
+  }
+
+  /** @return the length of the frames. */
+  public int length() {
+    return template.length;
+  }
+
+  /** @return a new frame, which is a copy of the template. */
+  public byte[] newFrame() {
+    byte[] frame = new byte[template.length];
+    System.arraycopy(template, 0, frame, 0, template.length);
+    return frame;
+  }
+
+  /**
+   * Restores a frame to the template.
+   *
+   * @param frame a byte array whose length is at least {@link #length()}.
+   */
+  public void copyTo(byte[] frame) {
+    System.arraycopy(template, 0, frame, 0, template.length);
+  }
+
+  /** @return the source address of the IP packet, or null if the template has no IP packet. */
+  public Field getSrcAddr() {
+    if (ipOffset < 0) {
+      return null;
+    }
+    return ipVersion == 4 ? getField(ipOffset + 12, 4) : getField(ipOffset + 8, 16);
+  }
+
+  /** @return the destination address of the IP packet, or null if the template has no IP packet. */
+  public Field getDstAddr() {
+    if (ipOffset < 0) {
+      return null;
+    }
+    return ipVersion == 4 ? getField(ipOffset + 16, 4) : getField(ipOffset + 24, 16);
+  }
+
+  /** @return the identification field of the IPv4 packet, or null if the template has none. */
+  public Field getIdentification() {
+    return ipVersion == 4 ? getField(ipOffset + 4, 2) : null;
+  }
+
+  /**
+   * @return the source port of the TCP or UDP packet, or null if the template has no TCP or UDP
+   *     packet.
+   */
+  public Field getSrcPort() {
+    return isTcpOrUdp() ? getField(transportOffset, 2) : null;
+  }
+
+  /**
+   * @return the destination port of the TCP or UDP packet, or null if the template has no TCP or
+   *     UDP packet.
+   */
+  public Field getDstPort() {
+    return isTcpOrUdp() ? getField(transportOffset + 2, 2) : null;
+  }
+
+  /** @return the sequence number of the TCP packet, or null if the template has none. */
+  public Field getSequenceNumber() {
+    return transportClass == TcpPacket.class ? getField(transportOffset + 4, 4) : null;
+  }
+
+  /** @return the acknowledgment number of the TCP packet, or null if the template has none. */
+  public Field getAcknowledgmentNumber() {
+    return transportClass == TcpPacket.class ? getField(transportOffset + 8, 4) : null;
+  }
+
+  /**
+   * @return the payload of the TCP, UDP or ICMP packet, or null if the template has no such packet
+   *     or the payload is empty.
+   */
+  public Field getPayload() {
+    return payloadLength == 0 ? null : getField(payloadOffset, payloadLength);
+  }
+
+  /**
+   * @param offset the offset of the field in frames.
+   * @param length the length of the field.
+   * @return a field at an arbitrary range.
+   * @throws IllegalArgumentException if the range is out of the frame or overlaps a checksum field.
+   */
+  public Field getField(int offset, int length) {
+    if (offset < 0 || length <= 0 || offset + length > template.length) {
+      StringBuilder sb = new StringBuilder(80);
+      sb.append("Out of the frame. offset: ")
+          .append(offset)
+          .append(", length: ")
+          .append(length)
+          .append(", frame length: ")
+          .append(template.length);
+      throw new IllegalArgumentException(sb.toString());
+    }
+
+    List<int[]> updates = new ArrayList<int[]>();
+    for (ChecksumRegion region : regions) {
+      if (offset < region.checksumOffset + 2 && region.checksumOffset < offset + length) {
+        throw new IllegalArgumentException(
+            "The field overlaps a checksum field at " + region.checksumOffset);
+      }
+      region.addUpdates(offset, length, updates);
+    }
+    return new Field(offset, length, updates.toArray(new int[updates.size()][]));
+  }
+
+  private boolean isTcpOrUdp() {
+    return transportClass == TcpPacket.class || transportClass == UdpPacket.class;
+  }
+
+  private static final class ChecksumRegion {
+
+    private final int start;
+    private final int end;
+    private final int checksumOffset;
+    private final boolean udp;
+    private final int pseudoStart;
+    private final int pseudoEnd;
+
+    private ChecksumRegion(
+        int start, int end, int checksumOffset, boolean udp, int pseudoStart, int pseudoEnd) {
+      this.start = start;
+      this.end = end;
+      this.checksumOffset = checksumOffset;
+      this.udp = udp;
+      this.pseudoStart = pseudoStart;
+      this.pseudoEnd = pseudoEnd;
+    }
+
+    /**
+     * Adds updates of this checksum for the parts of the field it covers. An update is {start, end,
+     * position, checksumOffset, udp ? 1 : 0}.
+     */
+    private void addUpdates(int offset, int length, List<int[]> updates) {
+      addUpdate(offset, length, start, end, updates);
+      if (pseudoStart >= 0) {
+        // The addresses are even-aligned in the pseudo header.
+        addUpdate(offset, length, pseudoStart, pseudoEnd, updates);
+      }
+    }
+
+    private void addUpdate(
+        int offset, int length, int regionStart, int regionEnd, List<int[]> updates) {
+      int from = Math.max(offset, regionStart);
+      int to = Math.min(offset + length, regionEnd);
+      if (from < to) {
+        updates.add(new int[] {from, to, from - regionStart, checksumOffset, udp ? 1 : 0});
+      }
+    }
+  }
+
+  /**
+   * A mutable field of a {@link PacketTemplate}. Not thread-safe.
+   *
+   * @since pcap4j 1.8.3
+   */
+  public static final class Field {
+
+    private final int offset;
+    private final int length;
+    private final int[][] updates;
+    // The partial sums of the ranges of the updates before a mutation.
+    private final long[] oldSums;
+
+    private Field(int offset, int length, int[][] updates) {
+      this.offset = offset;
+      this.length = length;
+      this.updates = updates;
+      this.oldSums = new long[updates.length];
+    }
+
+    /** @return the offset of this field in frames. */
+    public int getOffset() {
+      return offset;
+    }
+
+    /** @return the length of this field. */
+    public int getLength() {
+      return length;
+    }
+
+    /**
+     * @param frame frame
+     * @param value value
+     * @throws IllegalArgumentException if the length of this field is not 2.
+     */
+    public void setShort(byte[] frame, short value) {
+      if (length != 2) {
+        throw new IllegalArgumentException("The length of this field is " + length);
+      }
+      saveSums(frame);
+      frame[offset] = (byte) (value >> 8);
+      frame[offset + 1] = (byte) value;
+      fixChecksums(frame);
+    }
+
+    /**
+     * @param frame frame
+     * @param value value
+     * @throws IllegalArgumentException if the length of this field is not 4.
+     */
+    public void setInt(byte[] frame, int value) {
+      if (length != 4) {
+        throw new IllegalArgumentException("The length of this field is " + length);
+      }
+      saveSums(frame);
+      frame[offset] = (byte) (value >> 24);
+      frame[offset + 1] = (byte) (value >> 16);
+      frame[offset + 2] = (byte) (value >> 8);
+      frame[offset + 3] = (byte) value;
+      fixChecksums(frame);
+    }
+
+    /**
+     * @param frame frame
+     * @param value an array whose length is the length of this field.
+     * @throws IllegalArgumentException if the length of the value is not the length of this field.
+     */
+    public void set(byte[] frame, byte[] value) {
+      if (value.length != length) {
+        StringBuilder sb = new StringBuilder(60);
+        sb.append("value.length: ").append(value.length).append(", field length: ").append(length);
+        throw new IllegalArgumentException(sb.toString());
+      }
+      saveSums(frame);
+      System.arraycopy(value, 0, frame, offset, length);
+      fixChecksums(frame);
+    }
+
+    private void saveSums(byte[] frame) {
+      for (int i = 0; i < updates.length; i++) {
+        int[] update = updates[i];
+        oldSums[i] = Checksums.sum(frame, update[0], update[1] - update[0], update[2]);
+      }
+    }
+
+    private void fixChecksums(byte[] frame) {
+      for (int i = 0; i < updates.length; i++) {
+        int[] update = updates[i];
+        int checksumOffset = update[3];
+        boolean udp = update[4] != 0;
+        short checksum = ByteArrays.getShort(frame, checksumOffset);
+        if (udp && checksum == 0) {
+          // No checksum
+          continue;
+        }
+
+        long newSum = Checksums.sum(frame, update[0], update[1] - update[0], update[2]);
+        checksum = Checksums.updateBySums(checksum, oldSums[i], newSum);
+        if (udp && checksum == 0) {
+          checksum = (short) 0xFFFF;
+        }
+        frame[checksumOffset] = (byte) (checksum >> 8);
+        frame[checksumOffset + 1] = (byte) checksum;
+      }
+    }
+  }
+}
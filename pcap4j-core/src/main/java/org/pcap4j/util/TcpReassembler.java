@@ -0,0 +1,282 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.util;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import org.pcap4j.packet.IpPacket;
+import org.pcap4j.packet.Packet;
+import org.pcap4j.packet.TcpPacket;
+import org.pcap4j.packet.TcpPacket.TcpHeader;
+import org.pcap4j.packet.namednumber.TcpPort;
+
+/**
+ * Reassembles the byte streams of TCP connections from captured segments. A connection is
+ * identified by the addresses and ports of its endpoints, and the data of each direction, a {@link
+ * TcpStream}, is given to a {@link TcpStreamListener} in order. See {@link TcpStream} for how
+ * out-of-order segments, retransmissions, and missing data are handled.
+ *
+ * <p>The data buffered ahead of a stream is limited to the number of bytes given to the
+ * constructor, and missing data is skipped to keep it. A connection ends when both directions reach
+ * a FIN or when an RST is seen. A connection idle for the timeout given to the constructor is
+ * ended, and so is the least recently active connection when a connection is added over the limit.
+ *
+ * <pre>{@code
+ * TcpReassembler reassembler =
+ *     new TcpReassembler(listener, 120000L, 10000, 1024 * 1024);
+ * while (true) {
+ *   Packet packet = handle.getNextPacketEx();
+ *   reassembler.add(packet, handle.getTimestamp().getTime());
+ * }
+ * }</pre>
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @since pcap4j 1.8.3
+ */
+public final class TcpReassembler {
+
+  private static final byte[] EMPTY_PAYLOAD = new byte[0];
+
+  private final TcpStreamListener listener;
+  private final long timeout;
+  private final int maxConnections;
+  private final int maxBufferedBytes;
+  // in the order of the last segments
+  private final LinkedHashMap<Key, Connection> connections =
+      new LinkedHashMap<Key, Connection>(16, 0.75f, true);
+  private long retransmissionCount;
+  private long outOfWindowCount;
+  private long inconsistentOverlapCount;
+
+  /**
+   * @param listener listener
+   * @param timeout the time in milliseconds after which an idle connection is ended.
+   * @param maxConnections the maximum number of connections to track.
+   * @param maxBufferedBytes the maximum number of bytes to buffer ahead of a stream.
+   */
+  public TcpReassembler(
+      TcpStreamListener listener, long timeout, int maxConnections, int maxBufferedBytes) {
+    if (listener == null) {
+      throw new NullPointerException("listener must not be null.");
+    }
+    if (timeout <= 0 || maxConnections <= 0 || maxBufferedBytes <= 0) {
+      StringBuilder sb = new StringBuilder();
+      sb.append("timeout, maxConnections, and maxBufferedBytes must be positive. timeout: ")
+          .append(timeout)
+          .append(" maxConnections: ")
+          .append(maxConnections)
+          .append(" maxBufferedBytes: ")
+          .append(maxBufferedBytes);
+      throw new IllegalArgumentException(sb.toString());
+    }
+    this.listener = listener;
+    this.timeout = timeout;
+    this.maxConnections = maxConnections;
+    this.maxBufferedBytes = maxBufferedBytes;
+  }
+
+  /**
+   * @param packet a packet which may contain an IP packet carrying a TCP segment.
+   * @param timestamp the time the packet is received at in milliseconds.
+   * @return true if the packet contains a TCP segment; false otherwise.
+   */
+  public boolean add(Packet packet, long timestamp) {
+    IpPacket ip = null;
+    TcpPacket tcp = null;
+    for (Packet p : packet) {
+      if (p instanceof IpPacket) {
+        ip = (IpPacket) p;
+      } else if (p instanceof TcpPacket) {
+        tcp = (TcpPacket) p;
+        break;
+      }
+    }
+    if (ip == null || tcp == null) {
+      return false;
+    }
+
+    expire(timestamp);
+
+    TcpHeader header = tcp.getHeader();
+    InetAddress srcAddr = ip.getHeader().getSrcAddr();
+    InetAddress dstAddr = ip.getHeader().getDstAddr();
+    TcpPort srcPort = header.getSrcPort();
+    TcpPort dstPort = header.getDstPort();
+    Key key = new Key(srcAddr, srcPort, dstAddr, dstPort);
+
+    Connection conn = connections.get(key);
+    if (conn == null) {
+      if (header.getRst()) {
+        return true;
+      }
+      if (connections.size() >= maxConnections) {
+        Iterator<Connection> iter = connections.values().iterator();
+        Connection eldest = iter.next();
+        iter.remove();
+        eldest.finish();
+      }
+      conn = new Connection(TcpStream.newPair(this, srcAddr, srcPort, dstAddr, dstPort));
+      connections.put(key, conn);
+    }
+    conn.lastTimestamp = timestamp;
+
+    if (header.getRst()) {
+      connections.remove(key);
+      conn.finish();
+      return true;
+    }
+
+    TcpStream stream =
+        conn.streams[0].matches(srcAddr, srcPort) ? conn.streams[0] : conn.streams[1];
+    Packet payload = tcp.getPayload();
+    stream.gotSegment(header, payload != null ? payload.getRawData() : EMPTY_PAYLOAD);
+    if (conn.streams[0].isEnded() && conn.streams[1].isEnded()) {
+      connections.remove(key);
+    }
+    return true;
+  }
+
+  /**
+   * Ends the connections whose timeout has elapsed. This is done also when a segment is given, so
+   * this method needs to be called only while segments don't arrive.
+   *
+   * @param timestamp the current time in milliseconds.
+   * @return the number of the connections ended.
+   */
+  public int expire(long timestamp) {
+    List<Connection> expired = null;
+    Iterator<Connection> iter = connections.values().iterator();
+    while (iter.hasNext()) {
+      Connection conn = iter.next();
+      if (timestamp - conn.lastTimestamp < timeout) {
+        break;
+      }
+      iter.remove();
+      if (expired == null) {
+        expired = new ArrayList<Connection>();
+      }
+      expired.add(conn);
+    }
+    if (expired == null) {
+      return 0;
+    }
+    for (Connection conn : expired) {
+      conn.finish();
+    }
+    return expired.size();
+  }
+
+  /** Ends all the connections. */
+  public void clear() {
+    List<Connection> all = new ArrayList<Connection>(connections.values());
+    connections.clear();
+    for (Connection conn : all) {
+      conn.finish();
+    }
+  }
+
+  /** @return the number of the connections being tracked. */
+  public int size() {
+    return connections.size();
+  }
+
+  /** @return the number of the segments dropped because all of their data was already given. */
+  public long getRetransmissionCount() {
+    return retransmissionCount;
+  }
+
+  /** @return the number of the segments dropped because they were beyond the window. */
+  public long getOutOfWindowCount() {
+    return outOfWindowCount;
+  }
+
+  /** @return the number of the segments overlapping buffered data with different data. */
+  public long getInconsistentOverlapCount() {
+    return inconsistentOverlapCount;
+  }
+
+  TcpStreamListener getListener() {
+    return listener;
+  }
+
+  int getMaxBufferedBytes() {
+    return maxBufferedBytes;
+  }
+
+  void countRetransmission() {
+    retransmissionCount++;
+  }
+
+  void countOutOfWindow() {
+    outOfWindowCount++;
+  }
+
+  void countInconsistentOverlap() {
+    inconsistentOverlapCount++;
+  }
+
+  private static final class Connection {
+
+    private final TcpStream[] streams;
+    private long lastTimestamp;
+
+    private Connection(TcpStream[] streams) {
+      this.streams = streams;
+    }
+
+    private void finish() {
+      streams[0].finish();
+      streams[1].finish();
+    }
+  }
+
+  /** Identifies a connection regardless of the direction. */
+  private static final class Key {
+
+    private final InetAddress addr1;
+    private final TcpPort port1;
+    private final InetAddress addr2;
+    private final TcpPort port2;
+
+    private Key(InetAddress addr1, TcpPort port1, InetAddress addr2, TcpPort port2) {
+      this.addr1 = addr1;
+      this.port1 = port1;
+      this.addr2 = addr2;
+      this.port2 = port2;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return (port1.equals(other.port1)
+              && port2.equals(other.port2)
+              && addr1.equals(other.addr1)
+              && addr2.equals(other.addr2))
+          || (port1.equals(other.port2)
+              && port2.equals(other.port1)
+              && addr1.equals(other.addr2)
+              && addr2.equals(other.addr1));
+    }
+
+    @Override
+    public int hashCode() {
+      return (31 * addr1.hashCode() + port1.hashCode())
+          ^ (31 * addr2.hashCode() + port2.hashCode());
+    }
+  }
+}
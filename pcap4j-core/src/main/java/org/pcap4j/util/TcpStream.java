@@ -0,0 +1,394 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.util;
+
+import java.net.InetAddress;
+import java.util.Map;
+import java.util.TreeMap;
+import org.pcap4j.packet.TcpPacket.TcpHeader;
+import org.pcap4j.packet.TcpPacket.TcpOption;
+import org.pcap4j.packet.TcpSackOption;
+import org.pcap4j.packet.TcpSackOption.Sack;
+import org.pcap4j.packet.TcpWindowScaleOption;
+import org.pcap4j.packet.namednumber.TcpPort;
+
+/**
+ * One direction of a TCP connection tracked by a {@link TcpReassembler}.
+ *
+ * <p>Segments ahead of the stream are buffered until the missing data arrives. Data arriving twice
+ * is taken from the segment received first. Missing data is regarded as lost in the capture and
+ * skipped when the receiver acknowledges it by the acknowledgment number or a SACK block, or when
+ * the buffered data exceeds the limit of the reassembler. Segments beyond the window the receiver
+ * advertised, scaled by the window scale option if both sides sent it, are dropped.
+ *
+ * @since pcap4j 1.8.3
+ */
+public final class TcpStream {
+
+  private final TcpReassembler reassembler;
+  private final InetAddress srcAddr;
+  private final TcpPort srcPort;
+  private final InetAddress dstAddr;
+  private final TcpPort dstPort;
+  private TcpStream reverse;
+
+  private boolean started;
+  private int nextSeq;
+  private long offset;
+  private boolean synSeen;
+  private int windowShift = -1;
+  private boolean finSeen;
+  private int finSeq;
+  private boolean ended;
+
+  // reported by the receiver
+  private boolean ackKnown;
+  private int ack;
+  private long window = -1;
+  private int[] sacks = new int[8];
+  private int sackCount;
+
+  // keyed by the position in the stream
+  private final TreeMap<Long, Segment> segments = new TreeMap<Long, Segment>();
+  private int bufferedBytes;
+
+  private TcpStream(
+      TcpReassembler reassembler,
+      InetAddress srcAddr,
+      TcpPort srcPort,
+      InetAddress dstAddr,
+      TcpPort dstPort) {
+    this.reassembler = reassembler;
+    this.srcAddr = srcAddr;
+    this.srcPort = srcPort;
+    this.dstAddr = dstAddr;
+    this.dstPort = dstPort;
+  }
+
+  static TcpStream[] newPair(
+      TcpReassembler reassembler,
+      InetAddress srcAddr,
+      TcpPort srcPort,
+      InetAddress dstAddr,
+      TcpPort dstPort) {
+    TcpStream stream = new TcpStream(reassembler, srcAddr, srcPort, dstAddr, dstPort);
+    TcpStream reverse = new TcpStream(reassembler, dstAddr, dstPort, srcAddr, srcPort);
+    stream.reverse = reverse;
+    reverse.reverse = stream;
+    return new TcpStream[] {stream, reverse};
+  }
+
+  /** @return srcAddr */
+  public InetAddress getSrcAddr() {
+    return srcAddr;
+  }
+
+  /** @return srcPort */
+  public TcpPort getSrcPort() {
+    return srcPort;
+  }
+
+  /** @return dstAddr */
+  public InetAddress getDstAddr() {
+    return dstAddr;
+  }
+
+  /** @return dstPort */
+  public TcpPort getDstPort() {
+    return dstPort;
+  }
+
+  /** @return the stream of the other direction. */
+  public TcpStream getReverse() {
+    return reverse;
+  }
+
+  /** @return the number of bytes given to the listener or skipped. */
+  public long getOffset() {
+    return offset;
+  }
+
+  /** @return the number of bytes buffered ahead of the stream. */
+  public int getBufferedBytes() {
+    return bufferedBytes;
+  }
+
+  /** @return true if the end of this stream is reached; false otherwise. */
+  public boolean isEnded() {
+    return ended;
+  }
+
+  boolean matches(InetAddress addr, TcpPort port) {
+    return srcPort.equals(port) && srcAddr.equals(addr);
+  }
+
+  void gotSegment(TcpHeader header, byte[] payload) {
+    int seq = header.getSequenceNumber();
+    if (header.getSyn()) {
+      if (!synSeen) {
+        synSeen = true;
+        for (TcpOption option : header.getOptions()) {
+          if (option instanceof TcpWindowScaleOption) {
+            windowShift = Math.min(((TcpWindowScaleOption) option).getShiftCountAsInt(), 14);
+          }
+        }
+      }
+      seq++;
+      if (!started) {
+        started = true;
+        nextSeq = seq;
+      }
+    } else if (!started) {
+      started = true;
+      nextSeq = seq;
+    }
+
+    if (header.getAck()) {
+      int shift;
+      if (!synSeen || !reverse.synSeen) {
+        // The scale is unknown without the handshake.
+        shift = -1;
+      } else {
+        shift = windowShift >= 0 && reverse.windowShift >= 0 ? windowShift : 0;
+      }
+      reverse.gotAck(header, shift);
+    }
+    if (header.getFin() && !finSeen) {
+      finSeen = true;
+      finSeq = seq + payload.length;
+    }
+    if (payload.length != 0 && !ended) {
+      gotData(seq, payload);
+    }
+
+    advance();
+    reverse.advance();
+  }
+
+  private void gotAck(TcpHeader header, int shift) {
+    ackKnown = true;
+    ack = header.getAcknowledgmentNumber();
+    if (shift < 0) {
+      window = -1;
+    } else {
+      // The window in a SYN segment is never scaled.
+      window = (long) header.getWindowAsInt() << (header.getSyn() ? 0 : shift);
+    }
+    sackCount = 0;
+    for (TcpOption option : header.getOptions()) {
+      if (option instanceof TcpSackOption) {
+        for (Sack sack : ((TcpSackOption) option).getSacks()) {
+          if (sacks.length == sackCount * 2) {
+            break;
+          }
+          sacks[sackCount * 2] = sack.getLeftEdge();
+          sacks[sackCount * 2 + 1] = sack.getRightEdge();
+          sackCount++;
+        }
+      }
+    }
+  }
+
+  private void gotData(int seq, byte[] payload) {
+    if (ackKnown && window >= 0 && seq - ack >= 0 && seq - ack >= window) {
+      reassembler.countOutOfWindow();
+      return;
+    }
+
+    long start = offset + (seq - nextSeq);
+    long end = start + payload.length;
+    if (end <= offset) {
+      reassembler.countRetransmission();
+      return;
+    }
+
+    int maxBufferedBytes = reassembler.getMaxBufferedBytes();
+    while (!segments.isEmpty()
+        && bufferedBytes + end - Math.max(start, offset) > maxBufferedBytes) {
+      skipToFirstSegment();
+    }
+    if (end <= offset || ended) {
+      return;
+    }
+    if (start > offset && end - start > maxBufferedBytes) {
+      gap((int) (start - offset));
+    }
+
+    if (start <= offset && segments.isEmpty()) {
+      int skip = (int) (offset - start);
+      deliver(payload, skip, payload.length - skip);
+    } else {
+      insert(Math.max(start, offset), payload, (int) (Math.max(start, offset) - start));
+    }
+    drain();
+  }
+
+  /** Buffers the parts of the data not buffered yet. */
+  private void insert(long start, byte[] data, int dataOffset) {
+    long end = start + data.length - dataOffset;
+    long pos = start;
+    Map.Entry<Long, Segment> prev = segments.floorEntry(pos);
+    if (prev != null) {
+      long prevEnd = prev.getKey() + prev.getValue().length;
+      if (prevEnd > pos) {
+        compare(
+            prev.getKey(), prev.getValue(), pos, Math.min(prevEnd, end), start, data, dataOffset);
+        pos = Math.min(prevEnd, end);
+      }
+    }
+    while (pos < end) {
+      Map.Entry<Long, Segment> next = segments.ceilingEntry(pos);
+      long pieceEnd = next == null ? end : Math.min(end, next.getKey());
+      if (pieceEnd > pos) {
+        int length = (int) (pieceEnd - pos);
+        segments.put(pos, new Segment(data, dataOffset + (int) (pos - start), length));
+        bufferedBytes += length;
+        pos = pieceEnd;
+      }
+      if (next == null || next.getKey() >= end) {
+        break;
+      }
+      long nextEnd = next.getKey() + next.getValue().length;
+      compare(next.getKey(), next.getValue(), pos, Math.min(nextEnd, end), start, data, dataOffset);
+      pos = Math.min(nextEnd, end);
+    }
+  }
+
+  private void compare(
+      long segmentStart,
+      Segment segment,
+      long from,
+      long to,
+      long start,
+      byte[] data,
+      int dataOffset) {
+    for (long i = from; i < to; i++) {
+      if (segment.data[segment.offset + (int) (i - segmentStart)]
+          != data[dataOffset + (int) (i - start)]) {
+        reassembler.countInconsistentOverlap();
+        return;
+      }
+    }
+  }
+
+  /** Gives the buffered data following the stream to the listener. */
+  private void drain() {
+    while (!segments.isEmpty()) {
+      Map.Entry<Long, Segment> first = segments.firstEntry();
+      long start = first.getKey();
+      if (start > offset) {
+        break;
+      }
+      segments.pollFirstEntry();
+      Segment segment = first.getValue();
+      bufferedBytes -= segment.length;
+      int skip = (int) (offset - start);
+      if (skip < segment.length) {
+        deliver(segment.data, segment.offset + skip, segment.length - skip);
+      }
+    }
+    if (finSeen && !ended && nextSeq == finSeq) {
+      end();
+    }
+  }
+
+  /** Skips the missing data the receiver has acknowledged. */
+  private void advance() {
+    while (started && !ended) {
+      drain();
+      if (ended) {
+        return;
+      }
+
+      int known = 0;
+      if (ackKnown && ack - nextSeq > 0) {
+        known = ack - nextSeq;
+      }
+      for (int i = 0; i < sackCount; i++) {
+        int left = sacks[i * 2];
+        int right = sacks[i * 2 + 1];
+        if (left - nextSeq <= 0 && right - nextSeq > known) {
+          known = right - nextSeq;
+        }
+      }
+      if (!segments.isEmpty()) {
+        known = (int) Math.min(known, segments.firstKey() - offset);
+      }
+      if (finSeen) {
+        known = Math.min(known, finSeq - nextSeq);
+      }
+      if (known <= 0) {
+        return;
+      }
+      gap(known);
+    }
+  }
+
+  private void skipToFirstSegment() {
+    gap((int) (segments.firstKey() - offset));
+    drain();
+  }
+
+  /** Skips the buffered data and ends this stream if it's not ended yet. */
+  void finish() {
+    while (!segments.isEmpty() && !ended) {
+      skipToFirstSegment();
+    }
+    if (!ended) {
+      end();
+    }
+  }
+
+  private void deliver(byte[] data, int dataOffset, int length) {
+    offset += length;
+    nextSeq += length;
+    reassembler.getListener().gotData(this, data, dataOffset, length);
+  }
+
+  private void gap(int length) {
+    offset += length;
+    nextSeq += length;
+    reassembler.getListener().gotGap(this, length);
+  }
+
+  private void end() {
+    ended = true;
+    if (finSeen) {
+      nextSeq = finSeq + 1;
+    }
+    segments.clear();
+    bufferedBytes = 0;
+    reassembler.getListener().gotEnd(this);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder(100);
+    sb.append(srcAddr.getHostAddress())
+        .append(":")
+        .append(srcPort.valueAsInt())
+        .append(" -> ")
+        .append(dstAddr.getHostAddress())
+        .append(":")
+        .append(dstPort.valueAsInt());
+    return sb.toString();
+  }
+
+  private static final class Segment {
+
+    private final byte[] data;
+    private final int offset;
+    private final int length;
+
+    private Segment(byte[] data, int offset, int length) {
+      this.data = data;
+      this.offset = offset;
+      this.length = length;
+    }
+  }
+}
@@ -0,0 +1,43 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.util;
+
+/**
+ * Receives the data of {@link TcpStream}s reassembled by a {@link TcpReassembler}. The methods are
+ * called in the order of the stream for each stream.
+ *
+ * @since pcap4j 1.8.3
+ */
+public interface TcpStreamListener {
+
+  /**
+   * Called with data following the data already given. The array is valid only during the call.
+   *
+   * @param stream stream
+   * @param data an array holding the data.
+   * @param offset the position of the data in the array.
+   * @param length the length of the data.
+   */
+  public void gotData(TcpStream stream, byte[] data, int offset, int length);
+
+  /**
+   * Called when data missing in the capture is skipped.
+   *
+   * @param stream stream
+   * @param length the number of bytes skipped.
+   */
+  public void gotGap(TcpStream stream, int length);
+
+  /**
+   * Called once at the end of a stream, which is reached by a FIN, an RST, the timeout, the limit
+   * of the number of connections, or {@link TcpReassembler#clear()}.
+   *
+   * @param stream stream
+   */
+  public void gotEnd(TcpStream stream);
+}
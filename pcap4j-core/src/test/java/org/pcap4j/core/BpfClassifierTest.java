@@ -0,0 +1,101 @@
+package org.pcap4j.core;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class BpfClassifierTest {
+
+  /** The output of <code>ld #len; ret a</code>, which accepts any non-empty packet. */
+  private static final int[][] LEN = {
+    {0x80, 0, 0, 0}, {0x16, 0, 0, 0},
+  };
+
+  private static int[][] tcpDstPort(int port) {
+    int[][] insns = new int[BpfInterpreterTest.TCP_DST_PORT_80.length][];
+    for (int i = 0; i < insns.length; i++) {
+      insns[i] = BpfInterpreterTest.TCP_DST_PORT_80[i].clone();
+    }
+    insns[8][3] = port;
+    return insns;
+  }
+
+  private static List<BpfProgram> programs() {
+    List<BpfProgram> programs = new ArrayList<BpfProgram>();
+    for (int port = 1; port <= 100; port++) {
+      programs.add(
+          new BpfProgram(
+              BpfInterpreterTest.newInterpreter(tcpDstPort(port)), "ip and tcp dst port " + port));
+    }
+    programs.add(
+        new BpfProgram(BpfInterpreterTest.newInterpreter(BpfInterpreterTest.ICMP), "icmp"));
+    programs.add(new BpfProgram(BpfInterpreterTest.newInterpreter(LEN), "len"));
+    programs.add(
+        new BpfProgram(
+            BpfInterpreterTest.newInterpreter(BpfInterpreterTest.TCP_DST_PORT_80), "duplicate"));
+    return programs;
+  }
+
+  @Test
+  public void testClassify() throws Exception {
+    List<BpfProgram> programs = programs();
+    BpfClassifier classifier = new BpfClassifier(programs);
+    assertEquals(programs.size(), classifier.getExpressions().size());
+    assertEquals("icmp", classifier.getExpressions().get(100));
+
+    int totalLength = 0;
+    for (BpfProgram program : programs) {
+      totalLength += program.getInterpreter().length();
+    }
+    assertTrue(classifier.getNodeCount() < totalLength / 3);
+
+    List<byte[]> packets = new ArrayList<byte[]>();
+    packets.add(BpfInterpreterTest.icmp().getRawData());
+    packets.add(BpfInterpreterTest.tcp((short) 80).getRawData());
+    packets.add(BpfInterpreterTest.tcp((short) 7).getRawData());
+    packets.add(BpfInterpreterTest.tcp((short) 8080).getRawData());
+    packets.add(new byte[0]);
+    packets.add(new byte[20]);
+
+    BitSet result = new BitSet();
+    for (byte[] packet : packets) {
+      BitSet expected = new BitSet();
+      for (int i = 0; i < programs.size(); i++) {
+        if (programs.get(i).applyFilter(packet)) {
+          expected.set(i);
+        }
+      }
+      assertEquals(expected, classifier.classify(packet));
+
+      byte[] arr = new byte[packet.length + 10];
+      System.arraycopy(packet, 0, arr, 5, packet.length);
+      classifier.classify(arr, 5, packet.length, packet.length, result);
+      assertEquals(expected, result);
+    }
+
+    BitSet http = classifier.classify(BpfInterpreterTest.tcp((short) 80));
+    assertEquals(3, http.cardinality());
+    assertTrue(http.get(79));
+    assertTrue(http.get(101));
+    assertTrue(http.get(102));
+  }
+
+  @Test
+  public void testEmpty() {
+    BpfClassifier classifier = new BpfClassifier(new ArrayList<BpfProgram>());
+    assertTrue(classifier.classify(new byte[10]).isEmpty());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFreedProgram() {
+    BpfProgram program = new BpfProgram((BpfInterpreter) null, "freed");
+    program.free();
+    List<BpfProgram> programs = new ArrayList<BpfProgram>();
+    programs.add(program);
+    new BpfClassifier(programs);
+  }
+}
@@ -0,0 +1,24 @@
+package org.pcap4j.core;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class BpfCompilerTest {
+
+  @Test
+  public void testIsReentrant() {
+    assertTrue(BpfCompiler.isReentrant("libpcap version 1.10.1 (with TPACKET_V3)"));
+    assertTrue(BpfCompiler.isReentrant("libpcap version 1.8.1"));
+    assertTrue(
+        BpfCompiler.isReentrant("Npcap version 1.60, based on libpcap version 1.10.2-PRE-GIT"));
+    assertFalse(BpfCompiler.isReentrant("libpcap version 1.7.4"));
+    assertFalse(
+        BpfCompiler.isReentrant(
+            "WinPcap version 4.1.3 (packet.dll version 4.1.0.2980), based on libpcap version 1.0"
+                + " branch 1_0_rel0b (20091008)"));
+    assertFalse(BpfCompiler.isReentrant("unknown"));
+    assertFalse(BpfCompiler.isReentrant(null));
+  }
+}
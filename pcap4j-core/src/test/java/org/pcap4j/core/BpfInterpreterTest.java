@@ -0,0 +1,247 @@
+package org.pcap4j.core;
+
+import static org.junit.Assert.*;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import org.junit.Test;
+import org.pcap4j.packet.EthernetPacket;
+import org.pcap4j.packet.IcmpV4CommonPacket;
+import org.pcap4j.packet.IpV4Packet;
+import org.pcap4j.packet.IpV4Rfc1349Tos;
+import org.pcap4j.packet.Packet;
+import org.pcap4j.packet.TcpPacket;
+import org.pcap4j.packet.UnknownPacket;
+import org.pcap4j.packet.namednumber.EtherType;
+import org.pcap4j.packet.namednumber.IcmpV4Code;
+import org.pcap4j.packet.namednumber.IcmpV4Type;
+import org.pcap4j.packet.namednumber.IpNumber;
+import org.pcap4j.packet.namednumber.IpVersion;
+import org.pcap4j.packet.namednumber.TcpPort;
+import org.pcap4j.util.MacAddress;
+
+@SuppressWarnings("javadoc")
+public class BpfInterpreterTest {
+
+  /** The output of <code>tcpdump -dd icmp</code>. */
+  static final int[][] ICMP = {
+    {0x28, 0, 0, 0x0000000c},
+    {0x15, 0, 3, 0x00000800},
+    {0x30, 0, 0, 0x00000017},
+    {0x15, 0, 1, 0x00000001},
+    {0x6, 0, 0, 0x00040000},
+    {0x6, 0, 0, 0x00000000},
+  };
+
+  /** The output of <code>tcpdump -dd ip and tcp dst port 80</code>. */
+  static final int[][] TCP_DST_PORT_80 = {
+    {0x28, 0, 0, 0x0000000c},
+    {0x15, 0, 8, 0x00000800},
+    {0x30, 0, 0, 0x00000017},
+    {0x15, 0, 6, 0x00000006},
+    {0x28, 0, 0, 0x00000014},
+    {0x45, 4, 0, 0x00001fff},
+    {0xb1, 0, 0, 0x0000000e},
+    {0x48, 0, 0, 0x00000010},
+    {0x15, 0, 1, 0x00000050},
+    {0x6, 0, 0, 0x00040000},
+    {0x6, 0, 0, 0x00000000},
+  };
+
+  static BpfInterpreter newInterpreter(int[][] insns) {
+    short[] codes = new short[insns.length];
+    byte[] jts = new byte[insns.length];
+    byte[] jfs = new byte[insns.length];
+    int[] ks = new int[insns.length];
+    for (int i = 0; i < insns.length; i++) {
+      codes[i] = (short) insns[i][0];
+      jts[i] = (byte) insns[i][1];
+      jfs[i] = (byte) insns[i][2];
+      ks[i] = insns[i][3];
+    }
+    return new BpfInterpreter(codes, jts, jfs, ks);
+  }
+
+  static Packet tcp(short dstPort) throws Exception {
+    Inet4Address src = (Inet4Address) InetAddress.getByName("192.0.2.1");
+    Inet4Address dst = (Inet4Address) InetAddress.getByName("192.0.2.2");
+    TcpPacket.Builder tcpb =
+        new TcpPacket.Builder()
+            .srcPort(TcpPort.getInstance((short) 50000))
+            .dstPort(TcpPort.getInstance(dstPort))
+            .window((short) 1024)
+            .srcAddr(src)
+            .dstAddr(dst)
+            .payloadBuilder(new UnknownPacket.Builder().rawData(new byte[] {1, 2, 3}))
+            .correctChecksumAtBuild(true)
+            .correctLengthAtBuild(true);
+    return ethernet(ipV4(IpNumber.TCP, tcpb));
+  }
+
+  static Packet icmp() throws Exception {
+    IcmpV4CommonPacket.Builder icmpb =
+        new IcmpV4CommonPacket.Builder()
+            .type(IcmpV4Type.ECHO)
+            .code(IcmpV4Code.NO_CODE)
+            .payloadBuilder(new UnknownPacket.Builder().rawData(new byte[] {0, 1, 0, 1}))
+            .correctChecksumAtBuild(true);
+    return ethernet(ipV4(IpNumber.ICMPV4, icmpb));
+  }
+
+  private static IpV4Packet.Builder ipV4(IpNumber protocol, Packet.Builder payloadBuilder)
+      throws Exception {
+    return new IpV4Packet.Builder()
+        .version(IpVersion.IPV4)
+        .tos(IpV4Rfc1349Tos.newInstance((byte) 0))
+        .ttl((byte) 64)
+        .protocol(protocol)
+        .srcAddr((Inet4Address) InetAddress.getByName("192.0.2.1"))
+        .dstAddr((Inet4Address) InetAddress.getByName("192.0.2.2"))
+        .payloadBuilder(payloadBuilder)
+        .correctChecksumAtBuild(true)
+        .correctLengthAtBuild(true);
+  }
+
+  private static Packet ethernet(IpV4Packet.Builder payloadBuilder) {
+    return new EthernetPacket.Builder()
+        .srcAddr(MacAddress.getByName("00:00:5e:00:53:01"))
+        .dstAddr(MacAddress.getByName("00:00:5e:00:53:02"))
+        .type(EtherType.IPV4)
+        .payloadBuilder(payloadBuilder)
+        .paddingAtBuild(true)
+        .build();
+  }
+
+  private static int run(BpfInterpreter interpreter, byte[] packet) {
+    return interpreter.run(packet, 0, packet.length, packet.length);
+  }
+
+  @Test
+  public void testTcpdumpPrograms() throws Exception {
+    BpfInterpreter icmp = newInterpreter(ICMP);
+    BpfInterpreter http = newInterpreter(TCP_DST_PORT_80);
+    byte[] icmpPacket = icmp().getRawData();
+    byte[] httpPacket = tcp((short) 80).getRawData();
+    byte[] sshPacket = tcp((short) 22).getRawData();
+
+    assertEquals(0x40000, run(icmp, icmpPacket));
+    assertEquals(0, run(icmp, httpPacket));
+    assertEquals(0, run(http, icmpPacket));
+    assertEquals(0x40000, run(http, httpPacket));
+    assertEquals(0, run(http, sshPacket));
+
+    // At an offset in a larger array
+    byte[] arr = new byte[httpPacket.length + 30];
+    System.arraycopy(httpPacket, 0, arr, 10, httpPacket.length);
+    assertEquals(0x40000, http.run(arr, 10, httpPacket.length, httpPacket.length));
+
+    // Truncated before the port
+    assertEquals(0, http.run(arr, 10, httpPacket.length, 14 + 20 + 3));
+    assertEquals(0x40000, http.run(arr, 10, httpPacket.length, 14 + 20 + 4));
+  }
+
+  @Test
+  public void testAluAndMemory() {
+    int[][] insns = {
+      {0x00, 0, 0, 0xFFFFFFF0}, // ld #0xfffffff0
+      {0x02, 0, 0, 3}, // st M[3]
+      {0x01, 0, 0, 16}, // ldx #16
+      {0x3c, 0, 0, 0}, // div x
+      {0x15, 0, 12, 0x0FFFFFFF}, // jeq #0x0fffffff
+      {0x60, 0, 0, 3}, // ld M[3]
+      {0x74, 0, 0, 28}, // rsh #28
+      {0x94, 0, 0, 7}, // mod #7
+      {0x15, 0, 9, 1}, // jeq #1
+      {0x84, 0, 0, 0}, // neg
+      {0x25, 0, 7, 0x7FFFFFFF}, // jgt #0x7fffffff (unsigned)
+      {0x80, 0, 0, 0}, // ld #len
+      {0x07, 0, 0, 0}, // tax
+      {0x00, 0, 0, 1}, // ld #1
+      {0x6c, 0, 0, 0}, // lsh x
+      {0x15, 0, 2, 1 << 5}, // jeq #32
+      {0x87, 0, 0, 0}, // txa
+      {0x16, 0, 0, 0}, // ret a
+      {0x6, 0, 0, 0}, // ret #0
+    };
+    BpfInterpreter interpreter = newInterpreter(insns);
+    assertEquals(5, run(interpreter, new byte[5]));
+    assertEquals(0, run(interpreter, new byte[6]));
+  }
+
+  @Test
+  public void testRegistersAreCleared() {
+    int[][] store = {
+      {0x00, 0, 0, 7}, // ld #7
+      {0x02, 0, 0, 3}, // st M[3]
+      {0x07, 0, 0, 0}, // tax
+      {0x16, 0, 0, 0}, // ret a
+    };
+    int[][] load = {
+      {0x60, 0, 0, 3}, // ld M[3]
+      {0x0c, 0, 0, 0}, // add x
+      {0x16, 0, 0, 0}, // ret a
+    };
+    assertEquals(7, run(newInterpreter(store), new byte[0]));
+    assertEquals(0, run(newInterpreter(load), new byte[0]));
+  }
+
+  @Test
+  public void testLoads() {
+    int[][] insns = {
+      {0x20, 0, 0, 0}, // ld [0]
+      {0x15, 0, 6, 0x01020304}, // jeq #0x01020304
+      {0x01, 0, 0, 1}, // ldx #1
+      {0x48, 0, 0, 2}, // ldh [x + 2]
+      {0x15, 0, 3, 0x0405}, // jeq #0x0405
+      {0x50, 0, 0, 4}, // ldb [x + 4]
+      {0x15, 0, 1, 0xFF}, // jeq #0xff
+      {0x6, 0, 0, 1}, // ret #1
+      {0x6, 0, 0, 0}, // ret #0
+    };
+    BpfInterpreter interpreter = newInterpreter(insns);
+    assertEquals(1, run(interpreter, new byte[] {1, 2, 3, 4, 5, -1}));
+    assertEquals(0, run(interpreter, new byte[] {1, 2, 3, 4, 5}));
+    assertEquals(0, run(interpreter, new byte[] {1, 2, 3}));
+  }
+
+  @Test
+  public void testDivisionByZero() {
+    int[][] insns = {
+      {0x00, 0, 0, 10}, // ld #10
+      {0x3c, 0, 0, 0}, // div x
+      {0x6, 0, 0, 1}, // ret #1
+    };
+    assertEquals(0, run(newInterpreter(insns), new byte[0]));
+  }
+
+  @Test
+  public void testValidation() {
+    int[][][] invalids = {
+      {{0x00, 0, 0, 1}}, // No return
+      {{0x02, 0, 0, 16}, {0x6, 0, 0, 0}}, // st M[16]
+      {{0x34, 0, 0, 0}, {0x6, 0, 0, 0}}, // div #0
+      {{0x15, 1, 0, 0}, {0x6, 0, 0, 0}}, // Jump out of the program
+      {{0x05, 0, 0, 1}, {0x6, 0, 0, 0}}, // ja out of the program
+      {{0xFFFF, 0, 0, 0}, {0x6, 0, 0, 0}}, // Unknown code
+    };
+    for (int[][] insns : invalids) {
+      try {
+        newInterpreter(insns);
+        fail();
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+    }
+  }
+
+  @Test
+  public void testBpfProgram() throws Exception {
+    BpfProgram prog = new BpfProgram(newInterpreter(ICMP), "icmp");
+    assertTrue(prog.applyFilter(icmp()));
+    assertFalse(prog.applyFilter(tcp((short) 80)));
+    assertFalse(prog.applyFilter(tcp((short) 80).getRawData()));
+    prog.free();
+    assertTrue(prog.isFreed());
+    assertFalse(prog.applyFilter(icmp()));
+  }
+}
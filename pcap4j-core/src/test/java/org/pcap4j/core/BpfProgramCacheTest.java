@@ -0,0 +1,157 @@
+package org.pcap4j.core;
+
+import static org.junit.Assert.*;
+
+import java.net.Inet4Address;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import org.pcap4j.core.BpfProgram.BpfCompileMode;
+import org.pcap4j.core.BpfProgramCache.ProgramCompiler;
+import org.pcap4j.packet.namednumber.DataLinkType;
+
+@SuppressWarnings("javadoc")
+public class BpfProgramCacheTest {
+
+  private final List<BpfProgram> compiled = new ArrayList<BpfProgram>();
+
+  private final ProgramCompiler compiler =
+      new ProgramCompiler() {
+        @Override
+        public BpfProgram compile(
+            int snaplen,
+            DataLinkType dlt,
+            String bpfExpression,
+            BpfCompileMode mode,
+            Inet4Address netmask)
+            throws PcapNativeException {
+          if (bpfExpression.equals("invalid")) {
+            throw new PcapNativeException("syntax error");
+          }
+          BpfProgram program =
+              new BpfProgram(
+                  BpfInterpreterTest.newInterpreter(BpfInterpreterTest.ICMP), bpfExpression);
+          synchronized (compiled) {
+            compiled.add(program);
+          }
+          return program;
+        }
+      };
+
+  private static BpfProgram acquire(BpfProgramCache cache, String expression, int snaplen)
+      throws PcapNativeException {
+    return cache.acquire(
+        snaplen,
+        DataLinkType.EN10MB,
+        expression,
+        BpfCompileMode.OPTIMIZE,
+        PcapHandle.PCAP_NETMASK_UNKNOWN);
+  }
+
+  @Test
+  public void testSharing() throws Exception {
+    BpfProgramCache cache = new BpfProgramCache(1, compiler);
+    BpfProgram icmp1 = acquire(cache, "icmp", 65536);
+    BpfProgram icmp2 = acquire(cache, "icmp", 65536);
+    BpfProgram icmpShort = acquire(cache, "icmp", 128);
+    assertSame(icmp1, icmp2);
+    assertNotSame(icmp1, icmpShort);
+    assertEquals(2, compiled.size());
+    assertEquals(2, cache.size());
+    assertEquals(0, cache.getIdleCount());
+
+    cache.release(icmp1);
+    assertEquals(0, cache.getIdleCount());
+    cache.release(icmp2);
+    assertEquals(1, cache.getIdleCount());
+    assertFalse(icmp1.isFreed());
+
+    // Reused while idle
+    assertSame(icmp1, acquire(cache, "icmp", 65536));
+    assertEquals(0, cache.getIdleCount());
+    cache.release(icmp1);
+
+    // The least recently released idle program is evicted.
+    cache.release(icmpShort);
+    assertEquals(1, cache.getIdleCount());
+    assertTrue(icmp1.isFreed());
+    assertFalse(icmpShort.isFreed());
+    assertNotSame(icmp1, acquire(cache, "icmp", 65536));
+    assertEquals(3, compiled.size());
+
+    cache.clear();
+    assertTrue(icmpShort.isFreed());
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void testRelease() throws Exception {
+    BpfProgramCache cache = new BpfProgramCache(0, compiler);
+    BpfProgram program = acquire(cache, "icmp", 65536);
+    cache.release(program);
+    assertTrue(program.isFreed());
+    assertEquals(0, cache.size());
+    try {
+      cache.release(program);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testCompileError() throws Exception {
+    BpfProgramCache cache = new BpfProgramCache(1, compiler);
+    try {
+      acquire(cache, "invalid", 65536);
+      fail();
+    } catch (PcapNativeException e) {
+      // expected
+    }
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testConcurrentAcquire() throws Exception {
+    final BpfProgramCache cache = new BpfProgramCache(4, compiler);
+    final CountDownLatch start = new CountDownLatch(1);
+    final AtomicInteger acquired = new AtomicInteger();
+    final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+    Thread[] threads = new Thread[16];
+    for (int i = 0; i < threads.length; i++) {
+      final String expression = "port " + (i % 4);
+      threads[i] =
+          new Thread(
+              new Runnable() {
+                @Override
+                public void run() {
+                  try {
+                    start.await();
+                    for (int j = 0; j < 1000; j++) {
+                      BpfProgram program = acquire(cache, expression, 65536);
+                      if (program.isFreed() || !program.getExpression().equals(expression)) {
+                        throw new AssertionError(program.getExpression());
+                      }
+                      acquired.incrementAndGet();
+                      cache.release(program);
+                    }
+                  } catch (Throwable e) {
+                    error.set(e);
+                  }
+                }
+              });
+      threads[i].start();
+    }
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertNull(error.get());
+    assertEquals(16000, acquired.get());
+    assertEquals(4, compiled.size());
+    assertEquals(4, cache.getIdleCount());
+  }
+}
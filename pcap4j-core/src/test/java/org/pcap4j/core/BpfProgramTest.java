@@ -2,6 +2,9 @@ package org.pcap4j.core;
 
 import static org.junit.Assert.*;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.Test;
 import org.pcap4j.core.BpfProgram.BpfCompileMode;
 import org.pcap4j.packet.Packet;
@@ -26,4 +29,50 @@ public class BpfProgramTest {
     System.arraycopy(icmp, 0, icmpArr, 0, icmp.length);
     assertTrue(prog.applyFilter(icmpArr, icmp.length, icmp.length));
   }
+
+  @Test
+  public void testConcurrentApplyFilter() throws Exception {
+    final BpfProgram prog =
+        new BpfProgram(BpfInterpreterTest.newInterpreter(BpfInterpreterTest.TCP_DST_PORT_80), "");
+    final byte[] http = BpfInterpreterTest.tcp((short) 80).getRawData();
+    final Packet ssh = BpfInterpreterTest.tcp((short) 22);
+    final CountDownLatch start = new CountDownLatch(1);
+    final AtomicInteger passed = new AtomicInteger();
+    final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+
+    Thread[] threads = new Thread[8];
+    for (int i = 0; i < threads.length; i++) {
+      threads[i] =
+          new Thread(
+              new Runnable() {
+                @Override
+                public void run() {
+                  try {
+                    start.await();
+                    for (int j = 0; j < 10000; j++) {
+                      if (prog.applyFilter(http)) {
+                        passed.incrementAndGet();
+                      }
+                      if (prog.applyFilter(ssh)) {
+                        throw new AssertionError("ssh passed.");
+                      }
+                    }
+                  } catch (Throwable e) {
+                    error.set(e);
+                  }
+                }
+              });
+      threads[i].start();
+    }
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertNull(error.get());
+    assertEquals(threads.length * 10000, passed.get());
+
+    prog.free();
+    assertFalse(prog.applyFilter(http));
+    assertNull(prog.getInterpreter());
+  }
 }
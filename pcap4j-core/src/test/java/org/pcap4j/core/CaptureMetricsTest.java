@@ -0,0 +1,75 @@
+package org.pcap4j.core;
+
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import org.junit.Test;
+import org.pcap4j.core.CaptureMetrics.Stage;
+
+@SuppressWarnings("javadoc")
+public class CaptureMetricsTest {
+
+  @Test
+  public void testRecord() {
+    CaptureMetrics metrics = new CaptureMetrics();
+    metrics.record(Stage.DECODE, 100L);
+    metrics.record(Stage.DECODE, 300L);
+    metrics.recordCopy(10L, 60);
+    metrics.recordCopy(20L, 1514);
+    metrics.enqueue();
+    metrics.enqueue();
+    metrics.enqueue();
+    metrics.dequeue(5L);
+    metrics.reject();
+
+    assertEquals(2L, metrics.getCount(Stage.DECODE));
+    assertEquals(200d, metrics.getLatency(Stage.DECODE).getMean(), 0d);
+    assertEquals(300L, metrics.getLatency(Stage.DECODE).getMax());
+    assertEquals(2L, metrics.getCount(Stage.COPY));
+    assertEquals(1574L, metrics.getBytesCopied());
+    assertEquals(1L, metrics.getCount(Stage.QUEUE));
+    assertEquals(1L, metrics.getQueueDepth());
+    assertEquals(1L, metrics.getRejectedCount());
+    assertEquals(0L, metrics.getCount(Stage.LISTENER));
+
+    Map<String, Long> counts = metrics.getCounts();
+    assertEquals(Stage.values().length, counts.size());
+    assertEquals(Long.valueOf(2L), counts.get("DECODE"));
+
+    metrics.reset();
+    assertEquals(0L, metrics.getCount(Stage.DECODE));
+    assertEquals(0L, metrics.getBytesCopied());
+    assertEquals(1L, metrics.getQueueDepth());
+  }
+
+  @Test
+  public void testMXBean() throws Exception {
+    CaptureMetrics metrics = new CaptureMetrics();
+    metrics.record(Stage.LISTENER, 42L);
+    metrics.register();
+    ObjectName name = metrics.getObjectName();
+    assertNotNull(name);
+
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      assertTrue(server.isRegistered(name));
+      assertEquals(0L, server.getAttribute(name, "QueueDepth"));
+
+      TabularData counts = (TabularData) server.getAttribute(name, "Counts");
+      CompositeData row = counts.get(new Object[] {"LISTENER"});
+      assertEquals(1L, row.get("value"));
+
+      server.invoke(name, "reset", null, null);
+      assertEquals(0L, metrics.getCount(Stage.LISTENER));
+    } finally {
+      metrics.unregister();
+    }
+    assertNull(metrics.getObjectName());
+    assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+  }
+}
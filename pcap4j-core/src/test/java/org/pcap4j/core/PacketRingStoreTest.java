@@ -0,0 +1,169 @@
+package org.pcap4j.core;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.pcap4j.packet.namednumber.DataLinkType;
+
+@SuppressWarnings("javadoc")
+public class PacketRingStoreTest {
+
+  private static final int PACKET_LENGTH = 20;
+
+  // a segment holds 4 packets
+  private final PacketRingStore store =
+      new PacketRingStore(DataLinkType.EN10MB, 100, (16 + PACKET_LENGTH) * 4 + 10, 3);
+
+  private static byte[] packet(int first) {
+    byte[] packet = new byte[PACKET_LENGTH];
+    packet[0] = (byte) first;
+    packet[PACKET_LENGTH - 1] = (byte) 0xAA;
+    return packet;
+  }
+
+  private List<Long> timestamps(long from, long to, BpfProgram filter) {
+    final List<Long> timestamps = new ArrayList<Long>();
+    int count =
+        store.forEach(
+            from,
+            to,
+            filter,
+            new StoredPacketListener() {
+              @Override
+              public void gotPacket(byte[] packet, int length, int originalLength, long timestamp) {
+                assertEquals(PACKET_LENGTH, length);
+                assertEquals(PACKET_LENGTH, originalLength);
+                assertEquals((byte) 0xAA, packet[length - 1]);
+                timestamps.add(timestamp);
+              }
+            });
+    assertEquals(timestamps.size(), count);
+    return timestamps;
+  }
+
+  private static List<Long> range(long first, long last) {
+    List<Long> list = new ArrayList<Long>();
+    for (long ts = first; ts <= last; ts += 1000L) {
+      list.add(ts);
+    }
+    return list;
+  }
+
+  @Test
+  public void testWindowAndEviction() {
+    assertEquals((16 + PACKET_LENGTH) * 12 + 30, store.getCapacity());
+    for (int i = 0; i < 20; i++) {
+      store.add(packet(i), 0, PACKET_LENGTH, PACKET_LENGTH, i * 1000L);
+    }
+
+    assertEquals(12, store.size());
+    assertEquals(8L, store.getEvictedCount());
+    assertEquals(range(8000L, 19000L), timestamps(Long.MIN_VALUE, Long.MAX_VALUE, null));
+    assertEquals(range(10000L, 12000L), timestamps(10000L, 13000L, null));
+    assertEquals(range(8000L, 8000L), timestamps(0L, 8001L, null));
+    assertTrue(timestamps(20000L, 30000L, null).isEmpty());
+
+    assertEquals(0, store.evictOlderThan(11000L));
+    assertEquals(4, store.evictOlderThan(13000L));
+    assertEquals(8, store.size());
+    assertEquals(12L, store.getEvictedCount());
+    assertEquals(range(12000L, 19000L), timestamps(Long.MIN_VALUE, Long.MAX_VALUE, null));
+
+    store.clear();
+    assertEquals(0, store.size());
+    assertEquals(20L, store.getEvictedCount());
+    assertTrue(timestamps(Long.MIN_VALUE, Long.MAX_VALUE, null).isEmpty());
+  }
+
+  @Test
+  public void testUnsortedTimestamps() {
+    long[] timestamps = {5000L, 3000L, 4000L, 9000L, 1000L};
+    for (long ts : timestamps) {
+      store.add(packet(0), 0, PACKET_LENGTH, PACKET_LENGTH, ts);
+    }
+
+    List<Long> expected = new ArrayList<Long>();
+    expected.add(3000L);
+    expected.add(4000L);
+    expected.add(1000L);
+    assertEquals(expected, timestamps(1000L, 5000L, null));
+  }
+
+  @Test
+  public void testFilter() {
+    for (int i = 0; i < 10; i++) {
+      store.add(packet(i % 2 + 1), 0, PACKET_LENGTH, PACKET_LENGTH, i * 1000L);
+    }
+
+    // ldb [0]; jeq #1; ret #65535; ret #0
+    BpfProgram filter =
+        new BpfProgram(
+            BpfInterpreterTest.newInterpreter(
+                new int[][] {
+                  {0x30, 0, 0, 0x00000000},
+                  {0x15, 0, 1, 0x00000001},
+                  {0x6, 0, 0, 0x0000ffff},
+                  {0x6, 0, 0, 0x00000000},
+                }),
+            "ether[0] == 1");
+
+    List<Long> expected = new ArrayList<Long>();
+    for (long ts = 0L; ts < 10000L; ts += 2000L) {
+      expected.add(ts);
+    }
+    assertEquals(expected, timestamps(Long.MIN_VALUE, Long.MAX_VALUE, filter));
+  }
+
+  @Test
+  public void testWrite() throws Exception {
+    byte[] longPacket = new byte[150];
+    longPacket[99] = 0x55;
+    store.add(packet(1), 0, PACKET_LENGTH, 60, 1500000001L);
+    store.add(longPacket, 0, longPacket.length, longPacket.length, 2000000000L);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(2, store.write(Long.MIN_VALUE, Long.MAX_VALUE, null, out));
+
+    ByteBuffer file = ByteBuffer.wrap(out.toByteArray());
+    assertEquals(24 + 16 + PACKET_LENGTH + 16 + 100, file.remaining());
+    assertEquals(0xa1b23c4d, file.getInt());
+    assertEquals(2, file.getShort());
+    assertEquals(4, file.getShort());
+    file.position(16);
+    assertEquals(100, file.getInt());
+    assertEquals(DataLinkType.EN10MB.value().intValue(), file.getInt());
+
+    assertEquals(1, file.getInt());
+    assertEquals(500000001, file.getInt());
+    assertEquals(PACKET_LENGTH, file.getInt());
+    assertEquals(60, file.getInt());
+    assertEquals(1, file.get());
+    file.position(file.position() + PACKET_LENGTH - 1);
+
+    assertEquals(2, file.getInt());
+    assertEquals(0, file.getInt());
+    assertEquals(100, file.getInt());
+    assertEquals(150, file.getInt());
+    file.position(file.position() + 99);
+    assertEquals(0x55, file.get());
+  }
+
+  @Test
+  public void testTimestampConversion() {
+    Timestamp timestamp = new Timestamp(1234567890123L);
+    timestamp.setNanos(123456789);
+    long nanos = PacketRingStore.toNanos(timestamp);
+    assertEquals(1234567890123456789L, nanos);
+    assertEquals(timestamp, PacketRingStore.toTimestamp(nanos));
+
+    Timestamp negative = PacketRingStore.toTimestamp(-1L);
+    assertEquals(-1L, negative.getTime());
+    assertEquals(999999999, negative.getNanos());
+    assertEquals(-1L, PacketRingStore.toNanos(negative));
+  }
+}
@@ -0,0 +1,45 @@
+package org.pcap4j.core;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class PcapStatsSampleTest {
+
+  @Test
+  public void testDeltasAndRates() {
+    PcapStatsSample initial = PcapStatsSample.initial(1000L, 5000000000L);
+    assertEquals(0L, initial.getNumPacketsReceived());
+    assertEquals(0d, initial.getReceivedRate(), 0d);
+
+    PcapStatsSample first = initial.next(100, 10, 1, 2000L, 6000000000L);
+    assertEquals(2000L, first.getTimestamp());
+    assertEquals(1000000000L, first.getIntervalNanos());
+    assertEquals(100L, first.getReceivedDelta());
+    assertEquals(10L, first.getDroppedDelta());
+    assertEquals(1L, first.getDroppedByIfDelta());
+    assertEquals(100d, first.getReceivedRate(), 0d);
+
+    PcapStatsSample second = first.next(1100, 30, 1, 4000L, 8000000000L);
+    assertEquals(1100L, second.getNumPacketsReceived());
+    assertEquals(30L, second.getNumPacketsDropped());
+    assertEquals(1L, second.getNumPacketsDroppedByIf());
+    assertEquals(1000L, second.getReceivedDelta());
+    assertEquals(20L, second.getDroppedDelta());
+    assertEquals(0L, second.getDroppedByIfDelta());
+    assertEquals(500d, second.getReceivedRate(), 0d);
+    assertEquals(10d, second.getDroppedRate(), 0d);
+    assertEquals(0d, second.getDroppedByIfRate(), 0d);
+  }
+
+  @Test
+  public void testWrapAround() {
+    PcapStatsSample sample = PcapStatsSample.initial(0L, 0L).next(-16, 0, 0, 0L, 1L);
+    assertEquals(0xFFFFFFF0L, sample.getNumPacketsReceived());
+
+    sample = sample.next(16, 0, 0, 0L, 2L);
+    assertEquals(32L, sample.getReceivedDelta());
+    assertEquals(0x100000010L, sample.getNumPacketsReceived());
+  }
+}
@@ -0,0 +1,132 @@
+package org.pcap4j.packet.namednumber;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class NamedNumberCacheTest {
+
+  private static void assertKnown(NamedNumber<?, ?> expected, NamedNumber<?, ?> actual) {
+    assertSame(expected, actual);
+  }
+
+  private static void assertUnknown(
+      String name, NamedNumber<?, ?> first, NamedNumber<?, ?> second, NamedNumber<?, ?> boxed) {
+    assertEquals(name, first.name());
+    assertSame(first, second);
+    assertSame(first, boxed);
+  }
+
+  @Test
+  public void testEtherType() {
+    assertKnown(EtherType.IPV4, EtherType.getInstance((short) 0x0800));
+    assertKnown(EtherType.IPV4, EtherType.getInstance(Short.valueOf((short) 0x0800)));
+    assertUnknown(
+        "unknown",
+        EtherType.getInstance((short) 0x1234),
+        EtherType.getInstance((short) 0x1234),
+        EtherType.getInstance(Short.valueOf((short) 0x1234)));
+    assertUnknown(
+        "Length",
+        EtherType.getInstance((short) 100),
+        EtherType.getInstance((short) 100),
+        EtherType.getInstance(Short.valueOf((short) 100)));
+  }
+
+  @Test
+  public void testPorts() {
+    assertKnown(TcpPort.HTTP, TcpPort.getInstance((short) 80));
+    assertKnown(TcpPort.HTTP, TcpPort.getInstance(Short.valueOf((short) 80)));
+    assertUnknown(
+        "unknown",
+        TcpPort.getInstance((short) 60000),
+        TcpPort.getInstance((short) 60000),
+        TcpPort.getInstance(Short.valueOf((short) 60000)));
+
+    assertKnown(UdpPort.DOMAIN, UdpPort.getInstance((short) 53));
+    assertUnknown(
+        "unknown",
+        UdpPort.getInstance((short) 60000),
+        UdpPort.getInstance((short) 60000),
+        UdpPort.getInstance(Short.valueOf((short) 60000)));
+
+    assertKnown(SctpPort.DISCARD, SctpPort.getInstance((short) 9));
+    assertUnknown(
+        "unknown",
+        SctpPort.getInstance((short) 60000),
+        SctpPort.getInstance((short) 60000),
+        SctpPort.getInstance(Short.valueOf((short) 60000)));
+  }
+
+  @Test
+  public void testByteValues() {
+    assertKnown(IpNumber.TCP, IpNumber.getInstance((byte) 6));
+    assertKnown(IpNumber.TCP, IpNumber.getInstance(Byte.valueOf((byte) 6)));
+    assertUnknown(
+        "unknown",
+        IpNumber.getInstance((byte) 200),
+        IpNumber.getInstance((byte) 200),
+        IpNumber.getInstance(Byte.valueOf((byte) 200)));
+
+    assertKnown(IpVersion.IPV6, IpVersion.getInstance((byte) 6));
+    assertUnknown(
+        "unknown",
+        IpVersion.getInstance((byte) 12),
+        IpVersion.getInstance((byte) 12),
+        IpVersion.getInstance(Byte.valueOf((byte) 12)));
+
+    assertKnown(IcmpV4Type.ECHO_REPLY, IcmpV4Type.getInstance((byte) 0));
+    assertUnknown(
+        "unknown",
+        IcmpV4Type.getInstance((byte) 100),
+        IcmpV4Type.getInstance((byte) 100),
+        IcmpV4Type.getInstance(Byte.valueOf((byte) 100)));
+
+    assertKnown(IcmpV6Type.ECHO_REQUEST, IcmpV6Type.getInstance((byte) 128));
+    assertUnknown(
+        "unknown",
+        IcmpV6Type.getInstance((byte) 99),
+        IcmpV6Type.getInstance((byte) 99),
+        IcmpV6Type.getInstance(Byte.valueOf((byte) 99)));
+
+    assertKnown(IpV4OptionType.END_OF_OPTION_LIST, IpV4OptionType.getInstance((byte) 0));
+    assertUnknown(
+        "unknown",
+        IpV4OptionType.getInstance((byte) 0xF0),
+        IpV4OptionType.getInstance((byte) 0xF0),
+        IpV4OptionType.getInstance(Byte.valueOf((byte) 0xF0)));
+
+    assertKnown(IpV6OptionType.PAD1, IpV6OptionType.getInstance((byte) 0));
+    assertUnknown(
+        "unknown",
+        IpV6OptionType.getInstance((byte) 0xF0),
+        IpV6OptionType.getInstance((byte) 0xF0),
+        IpV6OptionType.getInstance(Byte.valueOf((byte) 0xF0)));
+
+    assertKnown(TcpOptionKind.END_OF_OPTION_LIST, TcpOptionKind.getInstance((byte) 0));
+    assertUnknown(
+        "unknown",
+        TcpOptionKind.getInstance((byte) 0xF0),
+        TcpOptionKind.getInstance((byte) 0xF0),
+        TcpOptionKind.getInstance(Byte.valueOf((byte) 0xF0)));
+  }
+
+  @Test
+  public void testRegister() {
+    TcpPort port = new TcpPort((short) 60001, "test");
+    TcpPort.register(port);
+    assertSame(port, TcpPort.getInstance((short) 60001));
+    assertSame(port, TcpPort.getInstance(Short.valueOf((short) 60001)));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void testNullShort() {
+    TcpPort.getInstance((Short) null);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void testNullByte() {
+    IpNumber.getInstance((Byte) null);
+  }
+}
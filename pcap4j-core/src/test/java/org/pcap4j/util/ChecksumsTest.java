@@ -0,0 +1,116 @@
+package org.pcap4j.util;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class ChecksumsTest {
+
+  private static short referenceChecksum(byte[] data, int offset, int length) {
+    long sum = 0;
+    for (int i = 0; i + 1 < length; i += 2) {
+      sum += ((data[offset + i] & 0xFF) << 8) | (data[offset + i + 1] & 0xFF);
+    }
+    if (length % 2 != 0) {
+      sum += (data[offset + length - 1] & 0xFF) << 8;
+    }
+    while ((sum >> 16) != 0) {
+      sum = (sum & 0xFFFF) + (sum >>> 16);
+    }
+    return (short) ~sum;
+  }
+
+  @Test
+  public void testCalcChecksum() {
+    Random random = new Random(12345L);
+    for (int length = 0; length < 100; length++) {
+      byte[] data = new byte[length + 7];
+      random.nextBytes(data);
+      for (int offset = 0; offset < 7; offset++) {
+        assertEquals(
+            referenceChecksum(data, offset, length), Checksums.calcChecksum(data, offset, length));
+      }
+    }
+
+    byte[] ones = new byte[1500];
+    Arrays.fill(ones, (byte) 0xFF);
+    assertEquals(referenceChecksum(ones, 0, ones.length), Checksums.calcChecksum(ones, 0, 1500));
+    assertEquals((short) 0xFFFF, Checksums.calcChecksum(new byte[20], 0, 20));
+  }
+
+  @Test
+  public void testComposedSums() {
+    Random random = new Random(54321L);
+    byte[] data = new byte[301];
+    random.nextBytes(data);
+    short expected = referenceChecksum(data, 0, data.length);
+
+    for (int split1 = 0; split1 < 40; split1++) {
+      for (int split2 = split1; split2 < data.length; split2 += 37) {
+        long sum =
+            Checksums.sum(data, 0, split1, 0)
+                + Checksums.sum(data, split1, split2 - split1, split1)
+                + Checksums.sum(data, split2, data.length - split2, split2);
+        assertEquals(expected, Checksums.calcChecksum(sum));
+      }
+    }
+  }
+
+  @Test
+  public void testByteArraysCalcChecksum() {
+    byte[] data = ByteArrays.parseByteArray("45000073000040004011b861c0a80001c0a800c7", "");
+    assertEquals((short) 0, ByteArrays.calcChecksum(data));
+    data[10] = 0;
+    data[11] = 0;
+    assertEquals((short) 0xb861, ByteArrays.calcChecksum(data));
+  }
+
+  @Test
+  public void testCrcs() {
+    byte[] check = "__123456789__".getBytes();
+    assertEquals(0xCBF43926, Checksums.calcCrc32(check, 2, 9));
+    assertEquals(0xE3069283, Checksums.calcCrc32c(check, 2, 9));
+    assertEquals(0x091E01DE, Checksums.calcAdler32(check, 2, 9));
+
+    byte[] nine = Arrays.copyOfRange(check, 2, 11);
+    assertEquals(0xCBF43926, ByteArrays.calcCrc32Checksum(nine));
+    assertEquals(0xE3069283, ByteArrays.calcCrc32cChecksum(nine));
+    assertEquals(0x091E01DE, ByteArrays.calcAdler32Checksum(nine));
+
+    ByteBuffer heap = ByteBuffer.wrap(check, 2, 9);
+    assertEquals(0xE3069283, Checksums.calcCrc32c(heap));
+    assertEquals(2, heap.position());
+    ByteBuffer direct = ByteBuffer.allocateDirect(check.length);
+    direct.put(check);
+    direct.position(2);
+    direct.limit(11);
+    assertEquals(0xCBF43926, Checksums.calcCrc32(direct));
+    assertEquals(0xE3069283, Checksums.calcCrc32c(direct));
+    assertEquals(0x091E01DE, Checksums.calcAdler32(direct));
+    assertEquals(2, direct.position());
+  }
+
+  @Test
+  public void testCrcsWithZeroedPart() {
+    byte[] data = "__12345XX9__".getBytes();
+    byte[] zeroed = "__12345\0\09__".getBytes();
+    assertEquals(Checksums.calcCrc32c(zeroed, 2, 8), Checksums.calcCrc32c(data, 2, 8, 7, 2));
+    assertEquals(Checksums.calcAdler32(zeroed, 2, 8), Checksums.calcAdler32(data, 2, 8, 7, 2));
+    assertEquals(Checksums.calcCrc32c(zeroed, 2, 5), Checksums.calcCrc32c(data, 2, 5, 7, 0));
+    assertEquals('X', data[7]);
+  }
+
+  @Test(expected = ArrayIndexOutOfBoundsException.class)
+  public void testZeroedPartOutOfRange() {
+    Checksums.calcCrc32c(new byte[10], 2, 4, 5, 2);
+  }
+
+  @Test(expected = ArrayIndexOutOfBoundsException.class)
+  public void testOutOfBounds() {
+    Checksums.sum(new byte[10], 6, 5);
+  }
+}
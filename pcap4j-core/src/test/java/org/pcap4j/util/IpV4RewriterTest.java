@@ -0,0 +1,160 @@
+package org.pcap4j.util;
+
+import static org.junit.Assert.*;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import org.junit.Test;
+import org.pcap4j.packet.IpV4Packet;
+import org.pcap4j.packet.IpV4Rfc1349Tos;
+import org.pcap4j.packet.Packet;
+import org.pcap4j.packet.TcpPacket;
+import org.pcap4j.packet.UdpPacket;
+import org.pcap4j.packet.UnknownPacket;
+import org.pcap4j.packet.namednumber.IpNumber;
+import org.pcap4j.packet.namednumber.IpVersion;
+import org.pcap4j.packet.namednumber.TcpPort;
+import org.pcap4j.packet.namednumber.UdpPort;
+
+@SuppressWarnings("javadoc")
+public class IpV4RewriterTest {
+
+  private static final int OFFSET = 14;
+
+  private static byte[] build(
+      String srcAddr,
+      String dstAddr,
+      byte ttl,
+      short srcPort,
+      short dstPort,
+      boolean udp,
+      boolean correctUdpChecksum)
+      throws Exception {
+    Inet4Address src = (Inet4Address) InetAddress.getByName(srcAddr);
+    Inet4Address dst = (Inet4Address) InetAddress.getByName(dstAddr);
+    byte[] payload = new byte[301];
+    for (int i = 0; i < payload.length; i++) {
+      payload[i] = (byte) (i * 7);
+    }
+
+    Packet.Builder l4b;
+    if (udp) {
+      l4b =
+          new UdpPacket.Builder()
+              .srcPort(UdpPort.getInstance(srcPort))
+              .dstPort(UdpPort.getInstance(dstPort))
+              .srcAddr(src)
+              .dstAddr(dst)
+              .payloadBuilder(new UnknownPacket.Builder().rawData(payload))
+              .correctChecksumAtBuild(correctUdpChecksum)
+              .correctLengthAtBuild(true);
+    } else {
+      l4b =
+          new TcpPacket.Builder()
+              .srcPort(TcpPort.getInstance(srcPort))
+              .dstPort(TcpPort.getInstance(dstPort))
+              .sequenceNumber(12345)
+              .acknowledgmentNumber(67890)
+              .ack(true)
+              .window((short) 1024)
+              .srcAddr(src)
+              .dstAddr(dst)
+              .payloadBuilder(new UnknownPacket.Builder().rawData(payload))
+              .correctChecksumAtBuild(true)
+              .correctLengthAtBuild(true);
+    }
+
+    IpV4Packet.Builder ipv4b = new IpV4Packet.Builder();
+    ipv4b
+        .version(IpVersion.IPV4)
+        .tos(IpV4Rfc1349Tos.newInstance((byte) 0))
+        .identification((short) 100)
+        .ttl(ttl)
+        .protocol(udp ? IpNumber.UDP : IpNumber.TCP)
+        .srcAddr(src)
+        .dstAddr(dst)
+        .payloadBuilder(l4b)
+        .correctChecksumAtBuild(true)
+        .correctLengthAtBuild(true);
+    byte[] ipv4 = ipv4b.build().getRawData();
+
+    // Prepend a dummy Ethernet header.
+    byte[] frame = new byte[OFFSET + ipv4.length];
+    System.arraycopy(ipv4, 0, frame, OFFSET, ipv4.length);
+    return frame;
+  }
+
+  private static void rewrite(byte[] frame) throws Exception {
+    IpV4Rewriter.setSrcAddr(frame, OFFSET, (Inet4Address) InetAddress.getByName("203.0.113.77"));
+    IpV4Rewriter.setDstAddr(frame, OFFSET, (Inet4Address) InetAddress.getByName("10.1.2.3"));
+    IpV4Rewriter.setTtl(frame, OFFSET, (byte) 63);
+    IpV4Rewriter.setSrcPort(frame, OFFSET, (short) 40000);
+    IpV4Rewriter.setDstPort(frame, OFFSET, (short) 8080);
+  }
+
+  @Test
+  public void testTcp() throws Exception {
+    byte[] frame =
+        build("192.0.2.1", "192.0.2.2", (byte) 64, (short) 1234, (short) 80, false, true);
+    rewrite(frame);
+    assertArrayEquals(
+        build("203.0.113.77", "10.1.2.3", (byte) 63, (short) 40000, (short) 8080, false, true),
+        frame);
+  }
+
+  @Test
+  public void testUdp() throws Exception {
+    byte[] frame = build("192.0.2.1", "192.0.2.2", (byte) 64, (short) 1234, (short) 53, true, true);
+    rewrite(frame);
+    assertArrayEquals(
+        build("203.0.113.77", "10.1.2.3", (byte) 63, (short) 40000, (short) 8080, true, true),
+        frame);
+  }
+
+  @Test
+  public void testUdpWithoutChecksum() throws Exception {
+    byte[] frame =
+        build("192.0.2.1", "192.0.2.2", (byte) 64, (short) 1234, (short) 53, true, false);
+    rewrite(frame);
+    assertArrayEquals(
+        build("203.0.113.77", "10.1.2.3", (byte) 63, (short) 40000, (short) 8080, true, false),
+        frame);
+    assertEquals(0, ByteArrays.getShort(frame, OFFSET + 20 + 6));
+  }
+
+  @Test
+  public void testUpdate() {
+    byte[] data = ByteArrays.parseByteArray("45000073000040004011b861c0a80001c0a800c7", "");
+    short checksum = ByteArrays.getShort(data, 10);
+    data[10] = 0;
+    data[11] = 0;
+
+    byte[] newData = data.clone();
+    newData[8] = 0x3F;
+    newData[15] = 0x02;
+    short expected = Checksums.calcChecksum(newData, 0, newData.length);
+
+    assertEquals(
+        expected,
+        Checksums.update(
+            Checksums.update(
+                checksum, ByteArrays.getShort(data, 8), ByteArrays.getShort(newData, 8)),
+            ByteArrays.getInt(data, 12),
+            ByteArrays.getInt(newData, 12)));
+    assertEquals(expected, Checksums.update(checksum, data, 8, newData, 8, 12));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNotIpV4() {
+    IpV4Rewriter.setTtl(new byte[34], OFFSET, (byte) 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoTransportHeader() throws Exception {
+    byte[] frame =
+        build("192.0.2.1", "192.0.2.2", (byte) 64, (short) 1234, (short) 80, false, true);
+    byte[] truncated = new byte[OFFSET + 30];
+    System.arraycopy(frame, 0, truncated, 0, truncated.length);
+    IpV4Rewriter.setDstPort(truncated, OFFSET, (short) 8080);
+  }
+}
@@ -0,0 +1,53 @@
+package org.pcap4j.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class LatencyHistogramTest {
+
+  @Test
+  public void testBuckets() {
+    for (long value = 0; value < 32; value++) {
+      assertEquals(value, LatencyHistogram.indexOf(value));
+      assertEquals(value, LatencyHistogram.highestValueAt((int) value));
+    }
+
+    long[] values = {32L, 33L, 1000L, 123456789L, 1L << 40, Long.MAX_VALUE};
+    for (long value : values) {
+      int index = LatencyHistogram.indexOf(value);
+      long highest = LatencyHistogram.highestValueAt(index);
+      assertTrue(highest >= value);
+      assertTrue(highest - value <= value / 16);
+      assertTrue(LatencyHistogram.highestValueAt(index - 1) < value);
+    }
+    assertEquals(959, LatencyHistogram.indexOf(Long.MAX_VALUE));
+  }
+
+  @Test
+  public void testSnapshot() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    LatencyHistogram.Snapshot snapshot = histogram.getSnapshot();
+    assertEquals(0L, snapshot.getCount());
+    assertEquals(0L, snapshot.getP99());
+
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i * 1000L);
+    }
+    histogram.record(-1L);
+    snapshot = histogram.getSnapshot();
+    assertEquals(1001L, snapshot.getCount());
+    assertEquals(1000000L, snapshot.getMax());
+    assertEquals(500000d, snapshot.getMean(), 1000d);
+    assertEquals(500000d, snapshot.getP50(), 500000d / 16);
+    assertEquals(900000d, snapshot.getP90(), 900000d / 16);
+    assertEquals(990000d, snapshot.getP99(), 990000d / 16);
+    assertEquals(999000d, snapshot.getP999(), 999000d / 16);
+
+    histogram.reset();
+    snapshot = histogram.getSnapshot();
+    assertEquals(0L, snapshot.getCount());
+    assertEquals(0L, snapshot.getMax());
+  }
+}
@@ -0,0 +1,195 @@
+package org.pcap4j.util;
+
+import static org.junit.Assert.*;
+
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import org.junit.Test;
+import org.pcap4j.packet.EthernetPacket;
+import org.pcap4j.packet.IpV4Packet;
+import org.pcap4j.packet.IpV4Rfc1349Tos;
+import org.pcap4j.packet.IpV6Packet;
+import org.pcap4j.packet.IpV6SimpleFlowLabel;
+import org.pcap4j.packet.IpV6SimpleTrafficClass;
+import org.pcap4j.packet.Packet;
+import org.pcap4j.packet.TcpPacket;
+import org.pcap4j.packet.UdpPacket;
+import org.pcap4j.packet.UnknownPacket;
+import org.pcap4j.packet.namednumber.EtherType;
+import org.pcap4j.packet.namednumber.IpNumber;
+import org.pcap4j.packet.namednumber.IpVersion;
+import org.pcap4j.packet.namednumber.TcpPort;
+import org.pcap4j.packet.namednumber.UdpPort;
+
+@SuppressWarnings("javadoc")
+public class PacketTemplateTest {
+
+  private static byte[] payload(int seed) {
+    byte[] payload = new byte[37];
+    for (int i = 0; i < payload.length; i++) {
+      payload[i] = (byte) (i * 7 + seed);
+    }
+    return payload;
+  }
+
+  private static Packet buildV4(
+      String srcAddr, short srcPort, int seq, short id, byte[] payload, boolean udp)
+      throws Exception {
+    Inet4Address src = (Inet4Address) InetAddress.getByName(srcAddr);
+    Inet4Address dst = (Inet4Address) InetAddress.getByName("192.0.2.2");
+    Packet.Builder l4b;
+    if (udp) {
+      l4b =
+          new UdpPacket.Builder()
+              .srcPort(UdpPort.getInstance(srcPort))
+              .dstPort(UdpPort.DOMAIN)
+              .srcAddr(src)
+              .dstAddr(dst)
+              .payloadBuilder(new UnknownPacket.Builder().rawData(payload))
+              .correctChecksumAtBuild(true)
+              .correctLengthAtBuild(true);
+    } else {
+      l4b =
+          new TcpPacket.Builder()
+              .srcPort(TcpPort.getInstance(srcPort))
+              .dstPort(TcpPort.HTTP)
+              .sequenceNumber(seq)
+              .acknowledgmentNumber(67890)
+              .ack(true)
+              .window((short) 1024)
+              .srcAddr(src)
+              .dstAddr(dst)
+              .payloadBuilder(new UnknownPacket.Builder().rawData(payload))
+              .correctChecksumAtBuild(true)
+              .correctLengthAtBuild(true);
+    }
+
+    IpV4Packet.Builder ipv4b =
+        new IpV4Packet.Builder()
+            .version(IpVersion.IPV4)
+            .tos(IpV4Rfc1349Tos.newInstance((byte) 0))
+            .identification(id)
+            .ttl((byte) 64)
+            .protocol(udp ? IpNumber.UDP : IpNumber.TCP)
+            .srcAddr(src)
+            .dstAddr(dst)
+            .payloadBuilder(l4b)
+            .correctChecksumAtBuild(true)
+            .correctLengthAtBuild(true);
+    return new EthernetPacket.Builder()
+        .srcAddr(MacAddress.getByName("00:00:5e:00:53:01"))
+        .dstAddr(MacAddress.getByName("00:00:5e:00:53:02"))
+        .type(EtherType.IPV4)
+        .payloadBuilder(ipv4b)
+        .paddingAtBuild(true)
+        .build();
+  }
+
+  private static Packet buildV6(String srcAddr, short srcPort) throws Exception {
+    Inet6Address src = (Inet6Address) InetAddress.getByName(srcAddr);
+    Inet6Address dst = (Inet6Address) InetAddress.getByName("2001:db8::2");
+    UdpPacket.Builder udpb =
+        new UdpPacket.Builder()
+            .srcPort(UdpPort.getInstance(srcPort))
+            .dstPort(UdpPort.DOMAIN)
+            .srcAddr(src)
+            .dstAddr(dst)
+            .payloadBuilder(new UnknownPacket.Builder().rawData(payload(0)))
+            .correctChecksumAtBuild(true)
+            .correctLengthAtBuild(true);
+    return new IpV6Packet.Builder()
+        .version(IpVersion.IPV6)
+        .trafficClass(IpV6SimpleTrafficClass.newInstance((byte) 0))
+        .flowLabel(IpV6SimpleFlowLabel.newInstance(0))
+        .nextHeader(IpNumber.UDP)
+        .hopLimit((byte) 64)
+        .srcAddr(src)
+        .dstAddr(dst)
+        .payloadBuilder(udpb)
+        .correctLengthAtBuild(true)
+        .build();
+  }
+
+  @Test
+  public void testTcp() throws Exception {
+    PacketTemplate template =
+        new PacketTemplate(
+            buildV4("192.0.2.1", (short) 1234, 12345, (short) 100, payload(0), false));
+    byte[] frame = template.newFrame();
+    assertEquals(template.length(), frame.length);
+
+    template.getSrcAddr().set(frame, InetAddress.getByName("203.0.113.77").getAddress());
+    template.getSrcPort().setShort(frame, (short) 40000);
+    template.getSequenceNumber().setInt(frame, 0xCAFEBABE);
+    template.getIdentification().setShort(frame, (short) 7);
+    template.getPayload().set(frame, payload(3));
+    assertArrayEquals(
+        buildV4("203.0.113.77", (short) 40000, 0xCAFEBABE, (short) 7, payload(3), false)
+            .getRawData(),
+        frame);
+
+    template.copyTo(frame);
+    template.getSrcPort().setShort(frame, (short) 1);
+    assertArrayEquals(
+        buildV4("192.0.2.1", (short) 1, 12345, (short) 100, payload(0), false).getRawData(), frame);
+  }
+
+  @Test
+  public void testUdp() throws Exception {
+    PacketTemplate template =
+        new PacketTemplate(buildV4("192.0.2.1", (short) 1234, 0, (short) 100, payload(0), true));
+    assertNull(template.getSequenceNumber());
+    byte[] frame = template.newFrame();
+    for (int port = 1; port < 65536; port += 257) {
+      template.getSrcPort().setShort(frame, (short) port);
+      byte[] expected =
+          buildV4("192.0.2.1", (short) port, 0, (short) 100, payload(0), true).getRawData();
+      assertArrayEquals(expected, frame);
+    }
+  }
+
+  @Test
+  public void testIpV6() throws Exception {
+    PacketTemplate template = new PacketTemplate(buildV6("2001:db8::1", (short) 1234));
+    assertNull(template.getIdentification());
+    assertEquals(8, template.getSrcAddr().getOffset());
+    byte[] frame = template.newFrame();
+    template.getSrcAddr().set(frame, InetAddress.getByName("2001:db8::abcd:1").getAddress());
+    template.getSrcPort().setShort(frame, (short) 5353);
+    assertArrayEquals(buildV6("2001:db8::abcd:1", (short) 5353).getRawData(), frame);
+  }
+
+  @Test
+  public void testOddField() throws Exception {
+    PacketTemplate template =
+        new PacketTemplate(
+            buildV4("192.0.2.1", (short) 1234, 12345, (short) 100, payload(0), false));
+    byte[] newPayload = payload(0);
+    newPayload[5] = 0x55;
+    newPayload[6] = (byte) 0xAA;
+    newPayload[7] = 0x12;
+    byte[] frame = template.newFrame();
+    int payloadOffset = template.getPayload().getOffset();
+    template.getField(payloadOffset + 5, 3).set(frame, new byte[] {0x55, (byte) 0xAA, 0x12});
+    assertArrayEquals(
+        buildV4("192.0.2.1", (short) 1234, 12345, (short) 100, newPayload, false).getRawData(),
+        frame);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testChecksumField() throws Exception {
+    PacketTemplate template =
+        new PacketTemplate(
+            buildV4("192.0.2.1", (short) 1234, 12345, (short) 100, payload(0), false));
+    template.getField(14 + 9, 2);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOutOfFrame() throws Exception {
+    PacketTemplate template =
+        new PacketTemplate(
+            buildV4("192.0.2.1", (short) 1234, 12345, (short) 100, payload(0), false));
+    template.getField(template.length() - 1, 2);
+  }
+}
@@ -0,0 +1,164 @@
+/*_##########################################################################
+  _##
+  _##  Copyright (C) 2026 Pcap4J.org
+  _##
+  _##########################################################################
+*/
+
+package org.pcap4j.packet.factory.propertiesbased;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.pcap4j.packet.IllegalRawDataException;
+import org.pcap4j.packet.namednumber.NamedNumber;
+
+/**
+ * Binds a public static factory method of a class, such as {@code newPacket(byte[], int, int)}, to
+ * an instantiater object generated by {@link LambdaMetafactory}, and caches the instantiaters by
+ * class and by {@link NamedNumber}. Each class is looked up reflectively only once, and
+ * instantiation afterwards is a plain interface call.
+ *
+ * @since pcap4j 1.8.3
+ * @param <I> instantiater
+ */
+final class Instantiaters<I> {
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+  private static final String SAM_NAME = "newInstance";
+
+  private final Class<I> instantiaterClass;
+  private final String methodName;
+  private final Class<?>[] parameterTypes;
+  private final MethodType samType;
+  private final Map<Class<?>, I> byClass = new ConcurrentHashMap<Class<?>, I>();
+  private final Map<NamedNumber<?, ?>, I> byNumber = new ConcurrentHashMap<NamedNumber<?, ?>, I>();
+  private volatile I defaultInstantiater;
+
+  private Instantiaters(Class<I> instantiaterClass, String methodName, Class<?>... parameterTypes) {
+    this.instantiaterClass = instantiaterClass;
+    this.methodName = methodName;
+    this.parameterTypes = parameterTypes;
+    this.samType = MethodType.methodType(Object.class, parameterTypes);
+  }
+
+  /**
+   * @param <T> target
+   * @param methodName the name of the static method with parameters (byte[], int, int).
+   * @return a new Instantiaters object.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  static <T> Instantiaters<RawDataInstantiater<T>> forRawData(String methodName) {
+    return new Instantiaters<RawDataInstantiater<T>>(
+        (Class) RawDataInstantiater.class, methodName, byte[].class, int.class, int.class);
+  }
+
+  /**
+   * @param <T> target
+   * @param methodName the name of the static method with a parameter (byte).
+   * @return a new Instantiaters object.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  static <T> Instantiaters<ByteInstantiater<T>> forByte(String methodName) {
+    return new Instantiaters<ByteInstantiater<T>>(
+        (Class) ByteInstantiater.class, methodName, byte.class);
+  }
+
+  /**
+   * @param <T> target
+   * @param methodName the name of the static method with a parameter (int).
+   * @return a new Instantiaters object.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  static <T> Instantiaters<IntInstantiater<T>> forInt(String methodName) {
+    return new Instantiaters<IntInstantiater<T>>(
+        (Class) IntInstantiater.class, methodName, int.class);
+  }
+
+  /**
+   * @param clazz clazz
+   * @return the instantiater which calls the static method of the clazz.
+   * @throws IllegalStateException if the static method of the clazz can't be bound.
+   */
+  I get(Class<?> clazz) {
+    I instantiater = byClass.get(clazz);
+    if (instantiater == null) {
+      instantiater = bind(clazz);
+      byClass.put(clazz, instantiater);
+    }
+    return instantiater;
+  }
+
+  /**
+   * @param number number
+   * @return the instantiater cached for the number by {@link #put(NamedNumber, Object)}, or null.
+   */
+  I get(NamedNumber<?, ?> number) {
+    return byNumber.get(number);
+  }
+
+  /**
+   * @param number number
+   * @param instantiater instantiater
+   */
+  void put(NamedNumber<?, ?> number, I instantiater) {
+    byNumber.put(number, instantiater);
+  }
+
+  /** @return the instantiater cached by {@link #putDefault(Object)}, or null. */
+  I getDefault() {
+    return defaultInstantiater;
+  }
+
+  /** @param instantiater instantiater */
+  void putDefault(I instantiater) {
+    defaultInstantiater = instantiater;
+  }
+
+  private I bind(Class<?> clazz) {
+    try {
+      Method method = clazz.getMethod(methodName, parameterTypes);
+      if (!Modifier.isStatic(method.getModifiers())) {
+        throw new NoSuchMethodException(method + " is not static.");
+      }
+      MethodHandle impl = LOOKUP.unreflect(method);
+      CallSite site =
+          LambdaMetafactory.metafactory(
+              LOOKUP,
+              SAM_NAME,
+              MethodType.methodType(instantiaterClass),
+              samType,
+              impl,
+              impl.type());
+      return instantiaterClass.cast(site.getTarget().invoke());
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** @param <T> target */
+  interface RawDataInstantiater<T> {
+
+    T newInstance(byte[] rawData, int offset, int length) throws IllegalRawDataException;
+  }
+
+  /** @param <T> target */
+  interface ByteInstantiater<T> {
+
+    T newInstance(byte value);
+  }
+
+  /** @param <T> target */
+  interface IntInstantiater<T> {
+
+    T newInstance(int value);
+  }
+}
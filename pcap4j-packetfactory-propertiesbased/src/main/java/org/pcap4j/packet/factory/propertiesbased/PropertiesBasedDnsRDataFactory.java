@@ -7,12 +7,11 @@
 
 package org.pcap4j.packet.factory.propertiesbased;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import org.pcap4j.packet.DnsResourceRecord.DnsRData;
 import org.pcap4j.packet.IllegalDnsRData;
 import org.pcap4j.packet.IllegalRawDataException;
 import org.pcap4j.packet.factory.PacketFactory;
+import org.pcap4j.packet.factory.propertiesbased.Instantiaters.RawDataInstantiater;
 import org.pcap4j.packet.namednumber.DnsResourceRecordType;
 
 /**
@@ -25,6 +24,9 @@ public final class PropertiesBasedDnsRDataFactory
   private static final PropertiesBasedDnsRDataFactory INSTANCE =
       new PropertiesBasedDnsRDataFactory();
 
+  private final Instantiaters<RawDataInstantiater<DnsRData>> instantiaters =
+      Instantiaters.forRawData("newInstance");
+
   private PropertiesBasedDnsRDataFactory() {}
 
   /** @return the singleton instance of PropertiesBasedDnsRDataFactory. */
@@ -34,12 +36,22 @@ public final class PropertiesBasedDnsRDataFactory
 
   @Override
   public DnsRData newInstance(byte[] rawData, int offset, int length, DnsResourceRecordType num) {
-    return newInstance(rawData, offset, length, getTargetClass(num));
+    RawDataInstantiater<DnsRData> instantiater = instantiaters.get(num);
+    if (instantiater == null) {
+      instantiater = instantiaters.get(getTargetClass(num));
+      instantiaters.put(num, instantiater);
+    }
+    return instantiate(rawData, offset, length, instantiater);
   }
 
   @Override
   public DnsRData newInstance(byte[] rawData, int offset, int length) {
-    return newInstance(rawData, offset, length, getTargetClass());
+    RawDataInstantiater<DnsRData> instantiater = instantiaters.getDefault();
+    if (instantiater == null) {
+      instantiater = instantiaters.get(getTargetClass());
+      instantiaters.putDefault(instantiater);
+    }
+    return instantiate(rawData, offset, length, instantiater);
   }
 
   /**
@@ -61,21 +73,20 @@ public final class PropertiesBasedDnsRDataFactory
       throw new NullPointerException(sb.toString());
     }
 
+    return instantiate(rawData, offset, length, instantiaters.get(dataClass));
+  }
+
+  private DnsRData instantiate(
+      byte[] rawData, int offset, int length, RawDataInstantiater<DnsRData> instantiater) {
+    if (rawData == null) {
+      throw new NullPointerException("rawData is null.");
+    }
+
     try {
-      Method newInstance = dataClass.getMethod("newInstance", byte[].class, int.class, int.class);
-      return (DnsRData) newInstance.invoke(null, rawData, offset, length);
-    } catch (SecurityException e) {
-      throw new IllegalStateException(e);
-    } catch (NoSuchMethodException e) {
-      throw new IllegalStateException(e);
-    } catch (IllegalArgumentException e) {
-      throw new IllegalStateException(e);
-    } catch (IllegalAccessException e) {
-      throw new IllegalStateException(e);
-    } catch (InvocationTargetException e) {
-      if (e.getTargetException() instanceof IllegalRawDataException) {
-        return IllegalDnsRData.newInstance(rawData, offset, length);
-      }
+      return instantiater.newInstance(rawData, offset, length);
+    } catch (IllegalRawDataException e) {
+      return IllegalDnsRData.newInstance(rawData, offset, length);
+    } catch (RuntimeException e) {
       throw new IllegalArgumentException(e);
     }
   }
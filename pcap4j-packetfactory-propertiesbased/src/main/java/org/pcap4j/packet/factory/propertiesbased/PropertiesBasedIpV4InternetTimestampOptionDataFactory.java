@@ -7,12 +7,11 @@
 
 package org.pcap4j.packet.factory.propertiesbased;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import org.pcap4j.packet.IllegalIpV4InternetTimestampOptionData;
 import org.pcap4j.packet.IllegalRawDataException;
 import org.pcap4j.packet.IpV4InternetTimestampOption.IpV4InternetTimestampOptionData;
 import org.pcap4j.packet.factory.PacketFactory;
+import org.pcap4j.packet.factory.propertiesbased.Instantiaters.RawDataInstantiater;
 import org.pcap4j.packet.namednumber.IpV4InternetTimestampOptionFlag;
 
 /**
@@ -25,6 +24,9 @@ public final class PropertiesBasedIpV4InternetTimestampOptionDataFactory
   private static final PropertiesBasedIpV4InternetTimestampOptionDataFactory INSTANCE =
       new PropertiesBasedIpV4InternetTimestampOptionDataFactory();
 
+  private final Instantiaters<RawDataInstantiater<IpV4InternetTimestampOptionData>> instantiaters =
+      Instantiaters.forRawData("newInstance");
+
   private PropertiesBasedIpV4InternetTimestampOptionDataFactory() {}
 
   /** @return the singleton instance of PropertiesBasedIpV4InternetTimestampDataFactory. */
@@ -35,12 +37,22 @@ public final class PropertiesBasedIpV4InternetTimestampOptionDataFactory
   @Override
   public IpV4InternetTimestampOptionData newInstance(
       byte[] rawData, int offset, int length, IpV4InternetTimestampOptionFlag flag) {
-    return newInstance(rawData, offset, length, getTargetClass(flag));
+    RawDataInstantiater<IpV4InternetTimestampOptionData> instantiater = instantiaters.get(flag);
+    if (instantiater == null) {
+      instantiater = instantiaters.get(getTargetClass(flag));
+      instantiaters.put(flag, instantiater);
+    }
+    return instantiate(rawData, offset, length, instantiater);
   }
 
   @Override
   public IpV4InternetTimestampOptionData newInstance(byte[] rawData, int offset, int length) {
-    return newInstance(rawData, offset, length, getTargetClass());
+    RawDataInstantiater<IpV4InternetTimestampOptionData> instantiater = instantiaters.getDefault();
+    if (instantiater == null) {
+      instantiater = instantiaters.get(getTargetClass());
+      instantiaters.putDefault(instantiater);
+    }
+    return instantiate(rawData, offset, length, instantiater);
   }
 
   /**
@@ -65,21 +77,23 @@ public final class PropertiesBasedIpV4InternetTimestampOptionDataFactory
       throw new NullPointerException(sb.toString());
     }
 
+    return instantiate(rawData, offset, length, instantiaters.get(dataClass));
+  }
+
+  private IpV4InternetTimestampOptionData instantiate(
+      byte[] rawData,
+      int offset,
+      int length,
+      RawDataInstantiater<IpV4InternetTimestampOptionData> instantiater) {
+    if (rawData == null) {
+      throw new NullPointerException("rawData is null.");
+    }
+
     try {
-      Method newInstance = dataClass.getMethod("newInstance", byte[].class, int.class, int.class);
-      return (IpV4InternetTimestampOptionData) newInstance.invoke(null, rawData, offset, length);
-    } catch (SecurityException e) {
-      throw new IllegalStateException(e);
-    } catch (NoSuchMethodException e) {
-      throw new IllegalStateException(e);
-    } catch (IllegalArgumentException e) {
-      throw new IllegalStateException(e);
-    } catch (IllegalAccessException e) {
-      throw new IllegalStateException(e);
-    } catch (InvocationTargetException e) {
-      if (e.getTargetException() instanceof IllegalRawDataException) {
-        return IllegalIpV4InternetTimestampOptionData.newInstance(rawData, offset, length);
-      }
+      return instantiater.newInstance(rawData, offset, length);
+    } catch (IllegalRawDataException e) {
+      return IllegalIpV4InternetTimestampOptionData.newInstance(rawData, offset, length);
+    } catch (RuntimeException e) {
       throw new IllegalArgumentException(e);
     }
   }
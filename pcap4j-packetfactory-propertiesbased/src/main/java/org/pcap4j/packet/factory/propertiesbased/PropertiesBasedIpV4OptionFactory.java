@@ -7,12 +7,11 @@
 
 package org.pcap4j.packet.factory.propertiesbased;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import org.pcap4j.packet.IllegalIpV4Option;
 import org.pcap4j.packet.IllegalRawDataException;
 import org.pcap4j.packet.IpV4Packet.IpV4Option;
 import org.pcap4j.packet.factory.PacketFactory;
+import org.pcap4j.packet.factory.propertiesbased.Instantiaters.RawDataInstantiater;
 import org.pcap4j.packet.namednumber.IpV4OptionType;
 
 /**
@@ -25,6 +24,9 @@ public final class PropertiesBasedIpV4OptionFactory
   private static final PropertiesBasedIpV4OptionFactory INSTANCE =
       new PropertiesBasedIpV4OptionFactory();
 
+  private final Instantiaters<RawDataInstantiater<IpV4Option>> instantiaters =
+      Instantiaters.forRawData("newInstance");
+
   private PropertiesBasedIpV4OptionFactory() {}
 
   /** @return the singleton instance of PropertiesBasedIpV4OptionFactory. */
@@ -34,12 +36,22 @@ public final class PropertiesBasedIpV4OptionFactory
 
   @Override
   public IpV4Option newInstance(byte[] rawData, int offset, int length, IpV4OptionType number) {
-    return newInstance(rawData, offset, length, getTargetClass(number));
+    RawDataInstantiater<IpV4Option> instantiater = instantiaters.get(number);
+    if (instantiater == null) {
+      instantiater = instantiaters.get(getTargetClass(number));
+      instantiaters.put(number, instantiater);
+    }
+    return instantiate(rawData, offset, length, instantiater);
   }
 
   @Override
   public IpV4Option newInstance(byte[] rawData, int offset, int length) {
-    return newInstance(rawData, offset, length, getTargetClass());
+    RawDataInstantiater<IpV4Option> instantiater = instantiaters.getDefault();
+    if (instantiater == null) {
+      instantiater = instantiaters.get(getTargetClass());
+      instantiaters.putDefault(instantiater);
+    }
+    return instantiate(rawData, offset, length, instantiater);
   }
 
   /**
@@ -61,21 +73,20 @@ public final class PropertiesBasedIpV4OptionFactory
       throw new NullPointerException(sb.toString());
     }
 
+    return instantiate(rawData, offset, length, instantiaters.get(dataClass));
+  }
+
+  private IpV4Option instantiate(
+      byte[] rawData, int offset, int length, RawDataInstantiater<IpV4Option> instantiater) {
+    if (rawData == null) {
+      throw new NullPointerException("rawData is null.");
+    }
+
     try {
-      Method newInstance = dataClass.getMethod("newInstance", byte[].class, int.class, int.class);
-      return (IpV4Option) newInstance.invoke(null, rawData, offset, length);
-    } catch (SecurityException e) {
-      throw new IllegalStateException(e);
-    } catch (NoSuchMethodException e) {
-      throw new IllegalStateException(e);
-    } catch (IllegalArgumentException e) {
-      throw new IllegalStateException(e);
-    } catch (IllegalAccessException e) {
-      throw new IllegalStateException(e);
-    } catch (InvocationTargetException e) {
-      if (e.getTargetException() instanceof IllegalRawDataException) {
-        return IllegalIpV4Option.newInstance(rawData, offset, length);
-      }
+      return instantiater.newInstance(rawData, offset, length);
+    } catch (IllegalRawDataException e) {
+      return IllegalIpV4Option.newInstance(rawData, offset, length);
+    } catch (RuntimeException e) {
       throw new IllegalArgumentException(e);
     }
   }
@@ -7,10 +7,9 @@
 
 package org.pcap4j.packet.factory.propertiesbased;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import org.pcap4j.packet.IpV4Packet.IpV4Tos;
 import org.pcap4j.packet.factory.PacketFactory;
+import org.pcap4j.packet.factory.propertiesbased.Instantiaters.ByteInstantiater;
 import org.pcap4j.packet.namednumber.NotApplicable;
 import org.pcap4j.util.ByteArrays;
 
@@ -22,6 +21,9 @@ public final class PropertiesBasedIpV4TosFactory implements PacketFactory<IpV4To
 
   private static final PropertiesBasedIpV4TosFactory INSTANCE = new PropertiesBasedIpV4TosFactory();
 
+  private final Instantiaters<ByteInstantiater<IpV4Tos>> instantiaters =
+      Instantiaters.forByte("newInstance");
+
   private PropertiesBasedIpV4TosFactory() {}
 
   /** @return the singleton instance of PropertiesBasedIpV4TosFactory */
@@ -37,7 +39,12 @@ public final class PropertiesBasedIpV4TosFactory implements PacketFactory<IpV4To
 
   @Override
   public IpV4Tos newInstance(byte[] rawData, int offset, int length) {
-    return newInstance(rawData, offset, length, getTargetClass());
+    ByteInstantiater<IpV4Tos> instantiater = instantiaters.getDefault();
+    if (instantiater == null) {
+      instantiater = instantiaters.get(getTargetClass());
+      instantiaters.putDefault(instantiater);
+    }
+    return instantiate(rawData, offset, length, instantiater);
   }
 
   /**
@@ -56,23 +63,20 @@ public final class PropertiesBasedIpV4TosFactory implements PacketFactory<IpV4To
    */
   public IpV4Tos newInstance(
       byte[] rawData, int offset, int length, Class<? extends IpV4Tos> tosClass) {
-    ByteArrays.validateBounds(rawData, offset, length);
     if (tosClass == null) {
       throw new NullPointerException("tosClass is null.");
     }
 
+    return instantiate(rawData, offset, length, instantiaters.get(tosClass));
+  }
+
+  private IpV4Tos instantiate(
+      byte[] rawData, int offset, int length, ByteInstantiater<IpV4Tos> instantiater) {
+    ByteArrays.validateBounds(rawData, offset, length);
+
     try {
-      Method newInstance = tosClass.getMethod("newInstance", byte.class);
-      return (IpV4Tos) newInstance.invoke(null, rawData[offset]);
-    } catch (SecurityException e) {
-      throw new IllegalStateException(e);
-    } catch (NoSuchMethodException e) {
-      throw new IllegalStateException(e);
-    } catch (IllegalArgumentException e) {
-      throw new IllegalStateException(e);
-    } catch (IllegalAccessException e) {
-      throw new IllegalStateException(e);
-    } catch (InvocationTargetException e) {
+      return instantiater.newInstance(rawData[offset]);
+    } catch (RuntimeException e) {
       throw new IllegalArgumentException(e);
     }
   }
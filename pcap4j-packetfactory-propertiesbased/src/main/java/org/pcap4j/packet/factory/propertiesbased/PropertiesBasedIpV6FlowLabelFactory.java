@@ -9,10 +9,9 @@ package org.pcap4j.packet.factory.propertiesbased;
 
 import static org.pcap4j.util.ByteArrays.INT_SIZE_IN_BYTES;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import org.pcap4j.packet.IpV6Packet.IpV6FlowLabel;
 import org.pcap4j.packet.factory.PacketFactory;
+import org.pcap4j.packet.factory.propertiesbased.Instantiaters.IntInstantiater;
 import org.pcap4j.packet.namednumber.NotApplicable;
 import org.pcap4j.util.ByteArrays;
 
@@ -26,6 +25,9 @@ public final class PropertiesBasedIpV6FlowLabelFactory
   private static final PropertiesBasedIpV6FlowLabelFactory INSTANCE =
       new PropertiesBasedIpV6FlowLabelFactory();
 
+  private final Instantiaters<IntInstantiater<IpV6FlowLabel>> instantiaters =
+      Instantiaters.forInt("newInstance");
+
   private PropertiesBasedIpV6FlowLabelFactory() {}
 
   /** @return the singleton instance of PropertiesBasedIpV6FlowLabelFactory. */
@@ -41,7 +43,12 @@ public final class PropertiesBasedIpV6FlowLabelFactory
 
   @Override
   public IpV6FlowLabel newInstance(byte[] rawData, int offset, int length) {
-    return newInstance(rawData, offset, length, getTargetClass());
+    IntInstantiater<IpV6FlowLabel> instantiater = instantiaters.getDefault();
+    if (instantiater == null) {
+      instantiater = instantiaters.get(getTargetClass());
+      instantiaters.putDefault(instantiater);
+    }
+    return instantiate(rawData, offset, length, instantiater);
   }
 
   /**
@@ -59,26 +66,23 @@ public final class PropertiesBasedIpV6FlowLabelFactory
    */
   public IpV6FlowLabel newInstance(
       byte[] rawData, int offset, int length, Class<? extends IpV6FlowLabel> clazz) {
-    ByteArrays.validateBounds(rawData, offset, length);
     if (clazz == null) {
       throw new NullPointerException("clazz is null.");
     }
+
+    return instantiate(rawData, offset, length, instantiaters.get(clazz));
+  }
+
+  private IpV6FlowLabel instantiate(
+      byte[] rawData, int offset, int length, IntInstantiater<IpV6FlowLabel> instantiater) {
+    ByteArrays.validateBounds(rawData, offset, length);
     if (length < INT_SIZE_IN_BYTES) {
       throw new IllegalArgumentException("rawData is too short: " + length);
     }
 
     try {
-      Method newInstance = clazz.getMethod("newInstance", int.class);
-      return (IpV6FlowLabel) newInstance.invoke(null, ByteArrays.getInt(rawData, offset));
-    } catch (SecurityException e) {
-      throw new IllegalStateException(e);
-    } catch (NoSuchMethodException e) {
-      throw new IllegalStateException(e);
-    } catch (IllegalArgumentException e) {
-      throw new IllegalStateException(e);
-    } catch (IllegalAccessException e) {
-      throw new IllegalStateException(e);
-    } catch (InvocationTargetException e) {
+      return instantiater.newInstance(ByteArrays.getInt(rawData, offset));
+    } catch (RuntimeException e) {
       throw new IllegalArgumentException(e);
     }
   }
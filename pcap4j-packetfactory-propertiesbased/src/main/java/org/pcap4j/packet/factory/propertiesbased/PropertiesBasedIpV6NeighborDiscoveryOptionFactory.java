@@ -7,12 +7,11 @@
 
 package org.pcap4j.packet.factory.propertiesbased;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import org.pcap4j.packet.IcmpV6CommonPacket.IpV6NeighborDiscoveryOption;
 import org.pcap4j.packet.IllegalIpV6NeighborDiscoveryOption;
 import org.pcap4j.packet.IllegalRawDataException;
 import org.pcap4j.packet.factory.PacketFactory;
+import org.pcap4j.packet.factory.propertiesbased.Instantiaters.RawDataInstantiater;
 import org.pcap4j.packet.namednumber.IpV6NeighborDiscoveryOptionType;
 
 /**
@@ -25,6 +24,9 @@ public final class PropertiesBasedIpV6NeighborDiscoveryOptionFactory
   private static final PropertiesBasedIpV6NeighborDiscoveryOptionFactory INSTANCE =
       new PropertiesBasedIpV6NeighborDiscoveryOptionFactory();
 
+  private final Instantiaters<RawDataInstantiater<IpV6NeighborDiscoveryOption>> instantiaters =
+      Instantiaters.forRawData("newInstance");
+
   private PropertiesBasedIpV6NeighborDiscoveryOptionFactory() {}
 
   /** @return the singleton instance of PropertiesBasedIpV6NeighborDiscoveryOptionFactory. */
@@ -35,12 +37,22 @@ public final class PropertiesBasedIpV6NeighborDiscoveryOptionFactory
   @Override
   public IpV6NeighborDiscoveryOption newInstance(
       byte[] rawData, int offset, int length, IpV6NeighborDiscoveryOptionType type) {
-    return newInstance(rawData, offset, length, getTargetClass(type));
+    RawDataInstantiater<IpV6NeighborDiscoveryOption> instantiater = instantiaters.get(type);
+    if (instantiater == null) {
+      instantiater = instantiaters.get(getTargetClass(type));
+      instantiaters.put(type, instantiater);
+    }
+    return instantiate(rawData, offset, length, instantiater);
   }
 
   @Override
   public IpV6NeighborDiscoveryOption newInstance(byte[] rawData, int offset, int length) {
-    return newInstance(rawData, offset, length, getTargetClass());
+    RawDataInstantiater<IpV6NeighborDiscoveryOption> instantiater = instantiaters.getDefault();
+    if (instantiater == null) {
+      instantiater = instantiaters.get(getTargetClass());
+      instantiaters.putDefault(instantiater);
+    }
+    return instantiate(rawData, offset, length, instantiater);
   }
 
   /**
@@ -65,21 +77,23 @@ public final class PropertiesBasedIpV6NeighborDiscoveryOptionFactory
       throw new NullPointerException(sb.toString());
     }
 
+    return instantiate(rawData, offset, length, instantiaters.get(dataClass));
+  }
+
+  private IpV6NeighborDiscoveryOption instantiate(
+      byte[] rawData,
+      int offset,
+      int length,
+      RawDataInstantiater<IpV6NeighborDiscoveryOption> instantiater) {
+    if (rawData == null) {
+      throw new NullPointerException("rawData is null.");
+    }
+
     try {
-      Method newInstance = dataClass.getMethod("newInstance", byte[].class, int.class, int.class);
-      return (IpV6NeighborDiscoveryOption) newInstance.invoke(null, rawData, offset, length);
-    } catch (SecurityException e) {
-      throw new IllegalStateException(e);
-    } catch (NoSuchMethodException e) {
-      throw new IllegalStateException(e);
-    } catch (IllegalArgumentException e) {
-      throw new IllegalStateException(e);
-    } catch (IllegalAccessException e) {
-      throw new IllegalStateException(e);
-    } catch (InvocationTargetException e) {
-      if (e.getTargetException() instanceof IllegalRawDataException) {
-        return IllegalIpV6NeighborDiscoveryOption.newInstance(rawData, offset, length);
-      }
+      return instantiater.newInstance(rawData, offset, length);
+    } catch (IllegalRawDataException e) {
+      return IllegalIpV6NeighborDiscoveryOption.newInstance(rawData, offset, length);
+    } catch (RuntimeException e) {
       throw new IllegalArgumentException(e);
     }
   }
@@ -7,12 +7,11 @@
 
 package org.pcap4j.packet.factory.propertiesbased;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import org.pcap4j.packet.IllegalIpV6Option;
 import org.pcap4j.packet.IllegalRawDataException;
 import org.pcap4j.packet.IpV6ExtOptionsPacket.IpV6Option;
 import org.pcap4j.packet.factory.PacketFactory;
+import org.pcap4j.packet.factory.propertiesbased.Instantiaters.RawDataInstantiater;
 import org.pcap4j.packet.namednumber.IpV6OptionType;
 
 /**
@@ -25,6 +24,9 @@ public final class PropertiesBasedIpV6OptionFactory
   private static final PropertiesBasedIpV6OptionFactory INSTANCE =
       new PropertiesBasedIpV6OptionFactory();
 
+  private final Instantiaters<RawDataInstantiater<IpV6Option>> instantiaters =
+      Instantiaters.forRawData("newInstance");
+
   private PropertiesBasedIpV6OptionFactory() {}
 
   /** @return the singleton instance of PropertiesBasedIpV6OptionFactory. */
@@ -34,12 +36,22 @@ public final class PropertiesBasedIpV6OptionFactory
 
   @Override
   public IpV6Option newInstance(byte[] rawData, int offset, int length, IpV6OptionType number) {
-    return newInstance(rawData, offset, length, getTargetClass(number));
+    RawDataInstantiater<IpV6Option> instantiater = instantiaters.get(number);
+    if (instantiater == null) {
+      instantiater = instantiaters.get(getTargetClass(number));
+      instantiaters.put(number, instantiater);
+    }
+    return instantiate(rawData, offset, length, instantiater);
   }
 
   @Override
   public IpV6Option newInstance(byte[] rawData, int offset, int length) {
-    return newInstance(rawData, offset, length, getTargetClass());
+    RawDataInstantiater<IpV6Option> instantiater = instantiaters.getDefault();
+    if (instantiater == null) {
+      instantiater = instantiaters.get(getTargetClass());
+      instantiaters.putDefault(instantiater);
+    }
+    return instantiate(rawData, offset, length, instantiater);
   }
 
   /**
@@ -61,21 +73,20 @@ public final class PropertiesBasedIpV6OptionFactory
       throw new NullPointerException(sb.toString());
     }
 
+    return instantiate(rawData, offset, length, instantiaters.get(dataClass));
+  }
+
+  private IpV6Option instantiate(
+      byte[] rawData, int offset, int length, RawDataInstantiater<IpV6Option> instantiater) {
+    if (rawData == null) {
+      throw new NullPointerException("rawData is null.");
+    }
+
     try {
-      Method newInstance = dataClass.getMethod("newInstance", byte[].class, int.class, int.class);
-      return (IpV6Option) newInstance.invoke(null, rawData, offset, length);
-    } catch (SecurityException e) {
-      throw new IllegalStateException(e);
-    } catch (NoSuchMethodException e) {
-      throw new IllegalStateException(e);
-    } catch (IllegalArgumentException e) {
-      throw new IllegalStateException(e);
-    } catch (IllegalAccessException e) {
-      throw new IllegalStateException(e);
-    } catch (InvocationTargetException e) {
-      if (e.getTargetException() instanceof IllegalRawDataException) {
-        return IllegalIpV6Option.newInstance(rawData, offset, length);
-      }
+      return instantiater.newInstance(rawData, offset, length);
+    } catch (IllegalRawDataException e) {
+      return IllegalIpV6Option.newInstance(rawData, offset, length);
+    } catch (RuntimeException e) {
       throw new IllegalArgumentException(e);
     }
   }
@@ -7,12 +7,11 @@
 
 package org.pcap4j.packet.factory.propertiesbased;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import org.pcap4j.packet.IllegalIpV6RoutingData;
 import org.pcap4j.packet.IllegalRawDataException;
 import org.pcap4j.packet.IpV6ExtRoutingPacket.IpV6RoutingData;
 import org.pcap4j.packet.factory.PacketFactory;
+import org.pcap4j.packet.factory.propertiesbased.Instantiaters.RawDataInstantiater;
 import org.pcap4j.packet.namednumber.IpV6RoutingType;
 
 /**
@@ -25,6 +24,9 @@ public final class PropertiesBasedIpV6RoutingDataFactory
   private static final PropertiesBasedIpV6RoutingDataFactory INSTANCE =
       new PropertiesBasedIpV6RoutingDataFactory();
 
+  private final Instantiaters<RawDataInstantiater<IpV6RoutingData>> instantiaters =
+      Instantiaters.forRawData("newInstance");
+
   private PropertiesBasedIpV6RoutingDataFactory() {}
 
   /** @return the singleton instance of PropertiesBasedIpV6RoutingDataFactory. */
@@ -34,12 +36,22 @@ public final class PropertiesBasedIpV6RoutingDataFactory
 
   @Override
   public IpV6RoutingData newInstance(byte[] rawData, int offset, int length, IpV6RoutingType type) {
-    return newInstance(rawData, offset, length, getTargetClass(type));
+    RawDataInstantiater<IpV6RoutingData> instantiater = instantiaters.get(type);
+    if (instantiater == null) {
+      instantiater = instantiaters.get(getTargetClass(type));
+      instantiaters.put(type, instantiater);
+    }
+    return instantiate(rawData, offset, length, instantiater);
   }
 
   @Override
   public IpV6RoutingData newInstance(byte[] rawData, int offset, int length) {
-    return newInstance(rawData, offset, length, getTargetClass());
+    RawDataInstantiater<IpV6RoutingData> instantiater = instantiaters.getDefault();
+    if (instantiater == null) {
+      instantiater = instantiaters.get(getTargetClass());
+      instantiaters.putDefault(instantiater);
+    }
+    return instantiate(rawData, offset, length, instantiater);
   }
 
   /**
@@ -61,21 +73,20 @@ public final class PropertiesBasedIpV6RoutingDataFactory
       throw new NullPointerException(sb.toString());
     }
 
+    return instantiate(rawData, offset, length, instantiaters.get(dataClass));
+  }
+
+  private IpV6RoutingData instantiate(
+      byte[] rawData, int offset, int length, RawDataInstantiater<IpV6RoutingData> instantiater) {
+    if (rawData == null) {
+      throw new NullPointerException("rawData is null.");
+    }
+
     try {
-      Method newInstance = dataClass.getMethod("newInstance", byte[].class, int.class, int.class);
-      return (IpV6RoutingData) newInstance.invoke(null, rawData, offset, length);
-    } catch (SecurityException e) {
-      throw new IllegalStateException(e);
-    } catch (NoSuchMethodException e) {
-      throw new IllegalStateException(e);
-    } catch (IllegalArgumentException e) {
-      throw new IllegalStateException(e);
-    } catch (IllegalAccessException e) {
-      throw new IllegalStateException(e);
-    } catch (InvocationTargetException e) {
-      if (e.getTargetException() instanceof IllegalRawDataException) {
-        return IllegalIpV6RoutingData.newInstance(rawData, offset, length);
-      }
+      return instantiater.newInstance(rawData, offset, length);
+    } catch (IllegalRawDataException e) {
+      return IllegalIpV6RoutingData.newInstance(rawData, offset, length);
+    } catch (RuntimeException e) {
       throw new IllegalArgumentException(e);
     }
   }
@@ -7,10 +7,9 @@
 
 package org.pcap4j.packet.factory.propertiesbased;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import org.pcap4j.packet.IpV6Packet.IpV6TrafficClass;
 import org.pcap4j.packet.factory.PacketFactory;
+import org.pcap4j.packet.factory.propertiesbased.Instantiaters.ByteInstantiater;
 import org.pcap4j.packet.namednumber.NotApplicable;
 import org.pcap4j.util.ByteArrays;
 
@@ -24,6 +23,9 @@ public final class PropertiesBasedIpV6TrafficClassFactory
   private static final PropertiesBasedIpV6TrafficClassFactory INSTANCE =
       new PropertiesBasedIpV6TrafficClassFactory();
 
+  private final Instantiaters<ByteInstantiater<IpV6TrafficClass>> instantiaters =
+      Instantiaters.forByte("newInstance");
+
   private PropertiesBasedIpV6TrafficClassFactory() {}
 
   /** @return the singleton instance of PropertiesBasedIpV6TrafficClassFactory. */
@@ -40,7 +42,12 @@ public final class PropertiesBasedIpV6TrafficClassFactory
 
   @Override
   public IpV6TrafficClass newInstance(byte[] rawData, int offset, int length) {
-    return newInstance(rawData, offset, length, getTargetClass());
+    ByteInstantiater<IpV6TrafficClass> instantiater = instantiaters.getDefault();
+    if (instantiater == null) {
+      instantiater = instantiaters.get(getTargetClass());
+      instantiaters.putDefault(instantiater);
+    }
+    return instantiate(rawData, offset, length, instantiater);
   }
 
   /**
@@ -58,23 +65,20 @@ public final class PropertiesBasedIpV6TrafficClassFactory
    */
   public IpV6TrafficClass newInstance(
       byte[] rawData, int offset, int length, Class<? extends IpV6TrafficClass> clazz) {
-    ByteArrays.validateBounds(rawData, offset, length);
     if (clazz == null) {
       throw new NullPointerException("clazz is null.");
     }
 
+    return instantiate(rawData, offset, length, instantiaters.get(clazz));
+  }
+
+  private IpV6TrafficClass instantiate(
+      byte[] rawData, int offset, int length, ByteInstantiater<IpV6TrafficClass> instantiater) {
+    ByteArrays.validateBounds(rawData, offset, length);
+
     try {
-      Method newInstance = clazz.getMethod("newInstance", byte.class);
-      return (IpV6TrafficClass) newInstance.invoke(null, rawData[offset]);
-    } catch (SecurityException e) {
-      throw new IllegalStateException(e);
-    } catch (NoSuchMethodException e) {
-      throw new IllegalStateException(e);
-    } catch (IllegalArgumentException e) {
-      throw new IllegalStateException(e);
-    } catch (IllegalAccessException e) {
-      throw new IllegalStateException(e);
-    } catch (InvocationTargetException e) {
+      return instantiater.newInstance(rawData[offset]);
+    } catch (RuntimeException e) {
       throw new IllegalArgumentException(e);
     }
   }
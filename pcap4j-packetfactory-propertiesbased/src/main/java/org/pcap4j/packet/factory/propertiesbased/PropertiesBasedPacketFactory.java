@@ -7,12 +7,11 @@
 
 package org.pcap4j.packet.factory.propertiesbased;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import org.pcap4j.packet.IllegalPacket;
 import org.pcap4j.packet.IllegalRawDataException;
 import org.pcap4j.packet.Packet;
 import org.pcap4j.packet.factory.PacketFactory;
+import org.pcap4j.packet.factory.propertiesbased.Instantiaters.RawDataInstantiater;
 import org.pcap4j.packet.namednumber.NamedNumber;
 
 /**
@@ -24,6 +23,9 @@ public final class PropertiesBasedPacketFactory
 
   private static final PropertiesBasedPacketFactory INSTANCE = new PropertiesBasedPacketFactory();
 
+  private final Instantiaters<RawDataInstantiater<Packet>> instantiaters =
+      Instantiaters.forRawData("newPacket");
+
   private PropertiesBasedPacketFactory() {}
 
   /** @return the singleton instance of PropertiesBasedPacketFactory. */
@@ -33,12 +35,22 @@ public final class PropertiesBasedPacketFactory
 
   @Override
   public Packet newInstance(byte[] rawData, int offset, int length, NamedNumber<?, ?> number) {
-    return newInstance(rawData, offset, length, getTargetClass(number));
+    RawDataInstantiater<Packet> instantiater = instantiaters.get(number);
+    if (instantiater == null) {
+      instantiater = instantiaters.get(getTargetClass(number));
+      instantiaters.put(number, instantiater);
+    }
+    return instantiate(rawData, offset, length, instantiater);
   }
 
   @Override
   public Packet newInstance(byte[] rawData, int offset, int length) {
-    return newInstance(rawData, offset, length, getTargetClass());
+    RawDataInstantiater<Packet> instantiater = instantiaters.getDefault();
+    if (instantiater == null) {
+      instantiater = instantiaters.get(getTargetClass());
+      instantiaters.putDefault(instantiater);
+    }
+    return instantiate(rawData, offset, length, instantiater);
   }
 
   /**
@@ -60,21 +72,20 @@ public final class PropertiesBasedPacketFactory
       throw new NullPointerException(sb.toString());
     }
 
+    return instantiate(rawData, offset, length, instantiaters.get(packetClass));
+  }
+
+  private Packet instantiate(
+      byte[] rawData, int offset, int length, RawDataInstantiater<Packet> instantiater) {
+    if (rawData == null) {
+      throw new NullPointerException("rawData is null.");
+    }
+
     try {
-      Method newPacket = packetClass.getMethod("newPacket", byte[].class, int.class, int.class);
-      return (Packet) newPacket.invoke(null, rawData, offset, length);
-    } catch (SecurityException e) {
-      throw new IllegalStateException(e);
-    } catch (NoSuchMethodException e) {
-      throw new IllegalStateException(e);
-    } catch (IllegalArgumentException e) {
-      throw new IllegalStateException(e);
-    } catch (IllegalAccessException e) {
-      throw new IllegalStateException(e);
-    } catch (InvocationTargetException e) {
-      if (e.getTargetException() instanceof IllegalRawDataException) {
-        return IllegalPacket.newPacket(rawData, offset, length);
-      }
+      return instantiater.newInstance(rawData, offset, length);
+    } catch (IllegalRawDataException e) {
+      return IllegalPacket.newPacket(rawData, offset, length);
+    } catch (RuntimeException e) {
       throw new IllegalArgumentException(e);
     }
   }
@@ -7,12 +7,11 @@
 
 package org.pcap4j.packet.factory.propertiesbased;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import org.pcap4j.packet.IllegalRadiotapData;
 import org.pcap4j.packet.IllegalRawDataException;
 import org.pcap4j.packet.RadiotapPacket.RadiotapData;
 import org.pcap4j.packet.factory.PacketFactory;
+import org.pcap4j.packet.factory.propertiesbased.Instantiaters.RawDataInstantiater;
 import org.pcap4j.packet.namednumber.RadiotapPresentBitNumber;
 
 /**
@@ -25,6 +24,9 @@ public final class PropertiesBasedRadiotapDataFactory
   private static final PropertiesBasedRadiotapDataFactory INSTANCE =
       new PropertiesBasedRadiotapDataFactory();
 
+  private final Instantiaters<RawDataInstantiater<RadiotapData>> instantiaters =
+      Instantiaters.forRawData("newInstance");
+
   private PropertiesBasedRadiotapDataFactory() {}
 
   /** @return the singleton instance of PropertiesBasedRadiotapDataFactory. */
@@ -35,12 +37,22 @@ public final class PropertiesBasedRadiotapDataFactory
   @Override
   public RadiotapData newInstance(
       byte[] rawData, int offset, int length, RadiotapPresentBitNumber num) {
-    return newInstance(rawData, offset, length, getTargetClass(num));
+    RawDataInstantiater<RadiotapData> instantiater = instantiaters.get(num);
+    if (instantiater == null) {
+      instantiater = instantiaters.get(getTargetClass(num));
+      instantiaters.put(num, instantiater);
+    }
+    return instantiate(rawData, offset, length, instantiater);
   }
 
   @Override
   public RadiotapData newInstance(byte[] rawData, int offset, int length) {
-    return newInstance(rawData, offset, length, getTargetClass());
+    RawDataInstantiater<RadiotapData> instantiater = instantiaters.getDefault();
+    if (instantiater == null) {
+      instantiater = instantiaters.get(getTargetClass());
+      instantiaters.putDefault(instantiater);
+    }
+    return instantiate(rawData, offset, length, instantiater);
   }
 
   /**
@@ -62,21 +74,20 @@ public final class PropertiesBasedRadiotapDataFactory
       throw new NullPointerException(sb.toString());
     }
 
+    return instantiate(rawData, offset, length, instantiaters.get(dataClass));
+  }
+
+  private RadiotapData instantiate(
+      byte[] rawData, int offset, int length, RawDataInstantiater<RadiotapData> instantiater) {
+    if (rawData == null) {
+      throw new NullPointerException("rawData is null.");
+    }
+
     try {
-      Method newInstance = dataClass.getMethod("newInstance", byte[].class, int.class, int.class);
-      return (RadiotapData) newInstance.invoke(null, rawData, offset, length);
-    } catch (SecurityException e) {
-      throw new IllegalStateException(e);
-    } catch (NoSuchMethodException e) {
-      throw new IllegalStateException(e);
-    } catch (IllegalArgumentException e) {
-      throw new IllegalStateException(e);
-    } catch (IllegalAccessException e) {
-      throw new IllegalStateException(e);
-    } catch (InvocationTargetException e) {
-      if (e.getTargetException() instanceof IllegalRawDataException) {
-        return IllegalRadiotapData.newInstance(rawData, offset, length);
-      }
+      return instantiater.newInstance(rawData, offset, length);
+    } catch (IllegalRawDataException e) {
+      return IllegalRadiotapData.newInstance(rawData, offset, length);
+    } catch (RuntimeException e) {
       throw new IllegalArgumentException(e);
     }
   }
@@ -7,12 +7,11 @@
 
 package org.pcap4j.packet.factory.propertiesbased;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import org.pcap4j.packet.IllegalRawDataException;
 import org.pcap4j.packet.IllegalSctpChunk;
 import org.pcap4j.packet.SctpPacket.SctpChunk;
 import org.pcap4j.packet.factory.PacketFactory;
+import org.pcap4j.packet.factory.propertiesbased.Instantiaters.RawDataInstantiater;
 import org.pcap4j.packet.namednumber.SctpChunkType;
 
 /**
@@ -25,6 +24,9 @@ public final class PropertiesBasedSctpChunkFactory
   private static final PropertiesBasedSctpChunkFactory INSTANCE =
       new PropertiesBasedSctpChunkFactory();
 
+  private final Instantiaters<RawDataInstantiater<SctpChunk>> instantiaters =
+      Instantiaters.forRawData("newInstance");
+
   private PropertiesBasedSctpChunkFactory() {}
 
   /** @return the singleton instance of PropertiesBasedSctpChunkFactory. */
@@ -34,12 +36,22 @@ public final class PropertiesBasedSctpChunkFactory
 
   @Override
   public SctpChunk newInstance(byte[] rawData, int offset, int length, SctpChunkType number) {
-    return newInstance(rawData, offset, length, getTargetClass(number));
+    RawDataInstantiater<SctpChunk> instantiater = instantiaters.get(number);
+    if (instantiater == null) {
+      instantiater = instantiaters.get(getTargetClass(number));
+      instantiaters.put(number, instantiater);
+    }
+    return instantiate(rawData, offset, length, instantiater);
   }
 
   @Override
   public SctpChunk newInstance(byte[] rawData, int offset, int length) {
-    return newInstance(rawData, offset, length, getTargetClass());
+    RawDataInstantiater<SctpChunk> instantiater = instantiaters.getDefault();
+    if (instantiater == null) {
+      instantiater = instantiaters.get(getTargetClass());
+      instantiaters.putDefault(instantiater);
+    }
+    return instantiate(rawData, offset, length, instantiater);
   }
 
   /**
@@ -61,21 +73,20 @@ public final class PropertiesBasedSctpChunkFactory
       throw new NullPointerException(sb.toString());
     }
 
+    return instantiate(rawData, offset, length, instantiaters.get(dataClass));
+  }
+
+  private SctpChunk instantiate(
+      byte[] rawData, int offset, int length, RawDataInstantiater<SctpChunk> instantiater) {
+    if (rawData == null) {
+      throw new NullPointerException("rawData is null.");
+    }
+
     try {
-      Method newInstance = dataClass.getMethod("newInstance", byte[].class, int.class, int.class);
-      return (SctpChunk) newInstance.invoke(null, rawData, offset, length);
-    } catch (SecurityException e) {
-      throw new IllegalStateException(e);
-    } catch (NoSuchMethodException e) {
-      throw new IllegalStateException(e);
-    } catch (IllegalArgumentException e) {
-      throw new IllegalStateException(e);
-    } catch (IllegalAccessException e) {
-      throw new IllegalStateException(e);
-    } catch (InvocationTargetException e) {
-      if (e.getTargetException() instanceof IllegalRawDataException) {
-        return IllegalSctpChunk.newInstance(rawData, offset, length);
-      }
+      return instantiater.newInstance(rawData, offset, length);
+    } catch (IllegalRawDataException e) {
+      return IllegalSctpChunk.newInstance(rawData, offset, length);
+    } catch (RuntimeException e) {
       throw new IllegalArgumentException(e);
     }
   }
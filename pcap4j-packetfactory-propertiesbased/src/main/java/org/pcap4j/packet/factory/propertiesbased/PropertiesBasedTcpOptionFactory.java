@@ -7,12 +7,11 @@
 
 package org.pcap4j.packet.factory.propertiesbased;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import org.pcap4j.packet.IllegalRawDataException;
 import org.pcap4j.packet.IllegalTcpOption;
 import org.pcap4j.packet.TcpPacket.TcpOption;
 import org.pcap4j.packet.factory.PacketFactory;
+import org.pcap4j.packet.factory.propertiesbased.Instantiaters.RawDataInstantiater;
 import org.pcap4j.packet.namednumber.TcpOptionKind;
 
 /**
@@ -25,6 +24,9 @@ public final class PropertiesBasedTcpOptionFactory
   private static final PropertiesBasedTcpOptionFactory INSTANCE =
       new PropertiesBasedTcpOptionFactory();
 
+  private final Instantiaters<RawDataInstantiater<TcpOption>> instantiaters =
+      Instantiaters.forRawData("newInstance");
+
   private PropertiesBasedTcpOptionFactory() {}
 
   /** @return the singleton instance of PropertiesBasedTcpOptionFactory. */
@@ -34,12 +36,22 @@ public final class PropertiesBasedTcpOptionFactory
 
   @Override
   public TcpOption newInstance(byte[] rawData, int offset, int length, TcpOptionKind number) {
-    return newInstance(rawData, offset, length, getTargetClass(number));
+    RawDataInstantiater<TcpOption> instantiater = instantiaters.get(number);
+    if (instantiater == null) {
+      instantiater = instantiaters.get(getTargetClass(number));
+      instantiaters.put(number, instantiater);
+    }
+    return instantiate(rawData, offset, length, instantiater);
   }
 
   @Override
   public TcpOption newInstance(byte[] rawData, int offset, int length) {
-    return newInstance(rawData, offset, length, getTargetClass());
+    RawDataInstantiater<TcpOption> instantiater = instantiaters.getDefault();
+    if (instantiater == null) {
+      instantiater = instantiaters.get(getTargetClass());
+      instantiaters.putDefault(instantiater);
+    }
+    return instantiate(rawData, offset, length, instantiater);
   }
 
   /**
@@ -61,21 +73,20 @@ public final class PropertiesBasedTcpOptionFactory
       throw new NullPointerException(sb.toString());
     }
 
+    return instantiate(rawData, offset, length, instantiaters.get(dataClass));
+  }
+
+  private TcpOption instantiate(
+      byte[] rawData, int offset, int length, RawDataInstantiater<TcpOption> instantiater) {
+    if (rawData == null) {
+      throw new NullPointerException("rawData is null.");
+    }
+
     try {
-      Method newInstance = dataClass.getMethod("newInstance", byte[].class, int.class, int.class);
-      return (TcpOption) newInstance.invoke(null, rawData, offset, length);
-    } catch (SecurityException e) {
-      throw new IllegalStateException(e);
-    } catch (NoSuchMethodException e) {
-      throw new IllegalStateException(e);
-    } catch (IllegalArgumentException e) {
-      throw new IllegalStateException(e);
-    } catch (IllegalAccessException e) {
-      throw new IllegalStateException(e);
-    } catch (InvocationTargetException e) {
-      if (e.getTargetException() instanceof IllegalRawDataException) {
-        return IllegalTcpOption.newInstance(rawData, offset, length);
-      }
+      return instantiater.newInstance(rawData, offset, length);
+    } catch (IllegalRawDataException e) {
+      return IllegalTcpOption.newInstance(rawData, offset, length);
+    } catch (RuntimeException e) {
       throw new IllegalArgumentException(e);
     }
   }
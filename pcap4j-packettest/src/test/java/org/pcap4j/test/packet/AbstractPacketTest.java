@@ -3,6 +3,7 @@ package org.pcap4j.test.packet;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
 
 import java.io.BufferedReader;
 import java.io.File;
@@ -13,7 +14,10 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.StringReader;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.sql.Timestamp;
+import java.util.Arrays;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -73,6 +77,38 @@ public abstract class AbstractPacketTest {
     assertEquals(getPacket().getRawData().length, getPacket().length());
   }
 
+  @Test
+  public void testWriteTo() throws Exception {
+    Packet packet = getPacket();
+    byte[] expected = packet.getRawData();
+
+    byte[] array = new byte[expected.length + 3];
+    assertEquals(expected.length, packet.writeTo(array, 2));
+    assertArrayEquals(expected, Arrays.copyOfRange(array, 2, 2 + expected.length));
+
+    ByteBuffer direct = ByteBuffer.allocateDirect(expected.length);
+    assertEquals(expected.length, packet.writeTo(direct));
+    assertEquals(0, direct.remaining());
+    byte[] written = new byte[expected.length];
+    direct.flip();
+    direct.get(written);
+    assertArrayEquals(expected, written);
+
+    expected = getPacket().getRawData();
+    written = new byte[expected.length];
+    assertEquals(expected.length, getPacket().getBuilder().writeTo(written, 0));
+    assertArrayEquals(expected, written);
+
+    if (expected.length != 0) {
+      try {
+        getPacket().writeTo(new byte[expected.length - 1], 0);
+        fail();
+      } catch (BufferOverflowException e) {
+        // expected
+      }
+    }
+  }
+
   @Test
   public void testToString() throws Exception {
     FileReader fr =
@@ -0,0 +1,135 @@
+package org.pcap4j.test.packet;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.pcap4j.packet.DnsPacket;
+import org.pcap4j.packet.Dot11ProbeRequestPacket;
+import org.pcap4j.packet.Dot1qVlanTagPacket;
+import org.pcap4j.packet.IpV4Packet;
+import org.pcap4j.packet.IpV6Packet;
+import org.pcap4j.packet.Packet;
+import org.pcap4j.packet.RadiotapPacket;
+import org.pcap4j.packet.TcpPacket;
+import org.pcap4j.packet.UdpPacket;
+import org.pcap4j.packet.factory.PacketFactories;
+import org.pcap4j.packet.factory.PacketFactory;
+import org.pcap4j.packet.namednumber.DataLinkType;
+import org.pcap4j.util.ByteArrays;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounds the bytes allocated to decode a frame, so that a change to a packet class or a packet
+ * factory which makes decoding produce more garbage fails the build. The budgets are about 1.5
+ * times the amount measured with each packet factory, pcap4j-packetfactory-static and
+ * pcap4j-packetfactory-propertiesbased, and should be lowered along with optimizations.
+ */
+@SuppressWarnings("javadoc")
+public class DecodingAllocationTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(DecodingAllocationTest.class);
+
+  private static final int WARMUP_ITERATIONS = 20000;
+  private static final int MEASUREMENT_ITERATIONS = 10000;
+
+  // Ethernet/IPv4/TCP with the timestamps option and an HTTP request
+  private static final byte[] ETHERNET_IPV4_TCP =
+      ByteArrays.parseByteArray(
+          "00005e00530100005e0053020800450000590064400040064e05c0000201c63364019c4000500012d687"
+              + "0074cbb18018ffff8a1800000101080a0012d6870000a1b2474554202f20485454502f312e310d0a"
+              + "486f73743a206578616d706c652e636f6d0d0a0d0a",
+          "");
+
+  // Ethernet/802.1Q/IPv6/UDP/DNS query for www.example.com
+  private static final byte[] VLAN_IPV6_UDP_DNS =
+      ByteArrays.parseByteArray(
+          "00005e00530100005e0053028100006486dd600000000029114020010db800000000000000000000000120"
+              + "010db80000000000000000000000029c4000350029ab2112340100000100000000000003777777076578"
+              + "616d706c6503636f6d0000010001",
+          "");
+
+  // Radiotap with flags, rate, channel and antenna signal/802.11 probe request
+  private static final byte[] RADIOTAP_DOT11 =
+      ByteArrays.parseByteArray(
+          "00000f002e00000000026c09a000c4"
+              + "4089d204aabbccddeeffffaaffaaffaa112233445566caabd6f69f720008686f6765686f67650105"
+              + "90ffa07f300a036c447032027fef0301993b06ee05040302012d1aa659b621841042082184104288e8"
+              + "93982449929492646c6b8c244801e47f0924499224494c921234541b000561626364650012666f6f6f"
+              + "6f6f6f6f6f6f6f6f6f6f6f6f6f6f6f6107000110022003306b09a002040a0b0c0d0e0f720650403020"
+              + "1000dd050101010101dd06020202020202",
+          "");
+
+  private static com.sun.management.ThreadMXBean threadMXBean;
+  private static PacketFactory<Packet, DataLinkType> factory;
+  private static boolean staticFactory;
+
+  private Packet sink;
+
+  @BeforeClass
+  public static void setUpBeforeClass() {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+    threadMXBean = (com.sun.management.ThreadMXBean) bean;
+    assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+    threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    factory = PacketFactories.getFactory(Packet.class, DataLinkType.class);
+    staticFactory = factory.getClass().getName().startsWith("org.pcap4j.packet.factory.statik.");
+  }
+
+  @Test
+  public void testEthernetIpV4Tcp() {
+    Packet packet =
+        factory.newInstance(ETHERNET_IPV4_TCP, 0, ETHERNET_IPV4_TCP.length, DataLinkType.EN10MB);
+    assertNotNull(packet.get(IpV4Packet.class));
+    assertNotNull(packet.get(TcpPacket.class));
+    assertAllocation(ETHERNET_IPV4_TCP, DataLinkType.EN10MB, 4500L, 17000L);
+  }
+
+  @Test
+  public void testVlanIpV6UdpDns() {
+    Packet packet =
+        factory.newInstance(VLAN_IPV6_UDP_DNS, 0, VLAN_IPV6_UDP_DNS.length, DataLinkType.EN10MB);
+    assertNotNull(packet.get(Dot1qVlanTagPacket.class));
+    assertNotNull(packet.get(IpV6Packet.class));
+    assertNotNull(packet.get(UdpPacket.class));
+    assertNotNull(packet.get(DnsPacket.class));
+    assertAllocation(VLAN_IPV6_UDP_DNS, DataLinkType.EN10MB, 7000L, 30000L);
+  }
+
+  @Test
+  public void testRadiotapDot11() {
+    Packet packet =
+        factory.newInstance(
+            RADIOTAP_DOT11, 0, RADIOTAP_DOT11.length, DataLinkType.IEEE802_11_RADIO);
+    assertNotNull(packet.get(RadiotapPacket.class));
+    assertNotNull(packet.get(Dot11ProbeRequestPacket.class));
+    assertAllocation(RADIOTAP_DOT11, DataLinkType.IEEE802_11_RADIO, 7500L, 12000L);
+  }
+
+  private void assertAllocation(
+      byte[] frame, DataLinkType dlt, long staticBudget, long propertiesBasedBudget) {
+    long budget = staticFactory ? staticBudget : propertiesBasedBudget;
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      sink = factory.newInstance(frame, 0, frame.length, dlt);
+    }
+
+    long threadId = Thread.currentThread().getId();
+    long before = threadMXBean.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+      sink = factory.newInstance(frame, 0, frame.length, dlt);
+    }
+    long perPacket =
+        (threadMXBean.getThreadAllocatedBytes(threadId) - before) / MEASUREMENT_ITERATIONS;
+    logger.info("{} bytes allocated per {} packet by {}", perPacket, dlt, factory.getClass());
+
+    assertNotNull(sink);
+    assertTrue(
+        perPacket + " bytes allocated per packet exceeds the budget " + budget,
+        perPacket <= budget);
+  }
+}
@@ -0,0 +1,300 @@
+package org.pcap4j.test.packet;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.Test;
+import org.pcap4j.packet.EthernetPacket;
+import org.pcap4j.packet.IcmpV4CommonPacket;
+import org.pcap4j.packet.IcmpV4EchoPacket;
+import org.pcap4j.packet.IpV4NoOperationOption;
+import org.pcap4j.packet.IpV4Packet;
+import org.pcap4j.packet.IpV4Packet.IpV4Option;
+import org.pcap4j.packet.IpV4Rfc1349Tos;
+import org.pcap4j.packet.Packet;
+import org.pcap4j.packet.TcpMaximumSegmentSizeOption;
+import org.pcap4j.packet.TcpNoOperationOption;
+import org.pcap4j.packet.TcpPacket;
+import org.pcap4j.packet.TcpPacket.TcpOption;
+import org.pcap4j.packet.UnknownPacket;
+import org.pcap4j.packet.factory.ChecksumCounters;
+import org.pcap4j.packet.factory.DecodingProfile;
+import org.pcap4j.packet.factory.PacketFactories;
+import org.pcap4j.packet.factory.PacketFactoryBinder;
+import org.pcap4j.packet.namednumber.DataLinkType;
+import org.pcap4j.packet.namednumber.EtherType;
+import org.pcap4j.packet.namednumber.IcmpV4Code;
+import org.pcap4j.packet.namednumber.IcmpV4Type;
+import org.pcap4j.packet.namednumber.IpNumber;
+import org.pcap4j.packet.namednumber.IpVersion;
+import org.pcap4j.packet.namednumber.TcpPort;
+import org.pcap4j.util.Checksums;
+import org.pcap4j.util.MacAddress;
+
+@SuppressWarnings("javadoc")
+public class DecodingProfileTest {
+
+  private final byte[] rawData;
+
+  public DecodingProfileTest() throws Exception {
+    IcmpV4EchoPacket.Builder echob = new IcmpV4EchoPacket.Builder();
+    echob
+        .identifier((short) 1)
+        .sequenceNumber((short) 2)
+        .payloadBuilder(new UnknownPacket.Builder().rawData(new byte[] {0, 1, 2, 3}));
+
+    IcmpV4CommonPacket.Builder icmpV4b = new IcmpV4CommonPacket.Builder();
+    icmpV4b
+        .type(IcmpV4Type.ECHO)
+        .code(IcmpV4Code.NO_CODE)
+        .payloadBuilder(echob)
+        .correctChecksumAtBuild(true);
+
+    IpV4Packet.Builder ipv4b = new IpV4Packet.Builder();
+    ipv4b
+        .version(IpVersion.IPV4)
+        .tos(IpV4Rfc1349Tos.newInstance((byte) 0))
+        .identification((short) 100)
+        .ttl((byte) 100)
+        .protocol(IpNumber.ICMPV4)
+        .srcAddr((Inet4Address) InetAddress.getByName("192.0.2.1"))
+        .dstAddr((Inet4Address) InetAddress.getByName("192.0.2.2"))
+        .payloadBuilder(icmpV4b)
+        .correctChecksumAtBuild(true)
+        .correctLengthAtBuild(true);
+
+    EthernetPacket.Builder eb = new EthernetPacket.Builder();
+    eb.dstAddr(MacAddress.getByName("fe:00:00:00:00:02"))
+        .srcAddr(MacAddress.getByName("fe:00:00:00:00:01"))
+        .type(EtherType.IPV4)
+        .payloadBuilder(ipv4b)
+        .paddingAtBuild(true);
+    this.rawData = eb.build().getRawData();
+  }
+
+  @After
+  public void tearDown() {
+    PacketFactories.setDecodingProfile(null);
+  }
+
+  private Packet decode() {
+    return PacketFactories.getFactory(Packet.class, DataLinkType.class)
+        .newInstance(rawData, 0, rawData.length, DataLinkType.EN10MB);
+  }
+
+  @Test
+  public void testFull() {
+    PacketFactories.setDecodingProfile(DecodingProfile.FULL);
+    assertEquals(DecodingProfile.FULL, PacketFactories.getDecodingProfile());
+    assertTrue(decode().contains(IcmpV4EchoPacket.class));
+  }
+
+  @Test
+  public void testProtocols() {
+    DecodingProfile profile =
+        new DecodingProfile.Builder()
+            .addProtocol(EthernetPacket.class)
+            .addProtocol(IpV4Packet.class)
+            .build();
+    PacketFactories.setDecodingProfile(profile);
+    assertEquals(profile, PacketFactories.getDecodingProfile());
+
+    Packet packet = decode();
+    assertTrue(packet instanceof EthernetPacket);
+    assertTrue(packet.getPayload() instanceof IpV4Packet);
+    assertTrue(packet.getPayload().getPayload() instanceof UnknownPacket);
+    assertEquals(12, packet.getPayload().getPayload().length());
+  }
+
+  @Test
+  public void testMaxDepth() {
+    PacketFactories.setDecodingProfile(new DecodingProfile.Builder().maxDepth(3).build());
+
+    Packet packet = decode();
+    assertTrue(packet.getPayload().getPayload() instanceof IcmpV4CommonPacket);
+    assertTrue(packet.getPayload().getPayload().getPayload() instanceof UnknownPacket);
+
+    PacketFactories.setDecodingProfile(null);
+    assertTrue(decode().getPayload().getPayload().getPayload() instanceof IcmpV4EchoPacket);
+  }
+
+  @Test
+  public void testBinder() {
+    PacketFactoryBinder binder =
+        PacketFactories.getBinder(
+            new DecodingProfile.Builder()
+                .addProtocol(EthernetPacket.class)
+                .addProtocol(IpV4Packet.class)
+                .build());
+    assertSame(PacketFactories.getBinder(), PacketFactories.getBinder(DecodingProfile.FULL));
+
+    Packet packet =
+        PacketFactories.newInstance(
+            binder,
+            Packet.class,
+            DataLinkType.class,
+            rawData,
+            0,
+            rawData.length,
+            DataLinkType.EN10MB);
+    assertTrue(packet.getPayload() instanceof IpV4Packet);
+    assertTrue(packet.getPayload().getPayload() instanceof UnknownPacket);
+
+    // The binder doesn't affect the other decoding.
+    assertTrue(decode().contains(IcmpV4EchoPacket.class));
+
+    PacketFactories.setDecodingProfile(new DecodingProfile.Builder().maxDepth(1).build());
+    packet =
+        PacketFactories.newInstance(
+            PacketFactories.getBinder(DecodingProfile.FULL),
+            Packet.class,
+            DataLinkType.class,
+            rawData,
+            0,
+            rawData.length,
+            DataLinkType.EN10MB);
+    assertTrue(packet.contains(IcmpV4EchoPacket.class));
+    assertTrue(decode().getPayload() instanceof UnknownPacket);
+  }
+
+  @Test
+  public void testLazyOptions() throws Exception {
+    TcpPacket.Builder tcpb = new TcpPacket.Builder();
+    tcpb.srcPort(TcpPort.getInstance((short) 40000))
+        .dstPort(TcpPort.HTTP)
+        .sequenceNumber(1234)
+        .syn(true)
+        .window((short) 65535)
+        .options(
+            Arrays.<TcpOption>asList(
+                new TcpMaximumSegmentSizeOption.Builder()
+                    .maxSegSize((short) 1460)
+                    .correctLengthAtBuild(true)
+                    .build(),
+                TcpNoOperationOption.getInstance()))
+        .paddingAtBuild(true)
+        .srcAddr((Inet4Address) InetAddress.getByName("192.0.2.1"))
+        .dstAddr((Inet4Address) InetAddress.getByName("192.0.2.2"))
+        .correctChecksumAtBuild(true)
+        .correctLengthAtBuild(true);
+
+    IpV4Packet.Builder ipv4b = new IpV4Packet.Builder();
+    ipv4b
+        .version(IpVersion.IPV4)
+        .tos(IpV4Rfc1349Tos.newInstance((byte) 0))
+        .ttl((byte) 64)
+        .protocol(IpNumber.TCP)
+        .srcAddr((Inet4Address) InetAddress.getByName("192.0.2.1"))
+        .dstAddr((Inet4Address) InetAddress.getByName("192.0.2.2"))
+        .options(Arrays.<IpV4Option>asList(IpV4NoOperationOption.getInstance()))
+        .paddingAtBuild(true)
+        .payloadBuilder(tcpb)
+        .correctChecksumAtBuild(true)
+        .correctLengthAtBuild(true);
+    byte[] syn = ipv4b.build().getRawData();
+
+    Packet eager =
+        PacketFactories.getFactory(Packet.class, DataLinkType.class)
+            .newInstance(syn, 0, syn.length, DataLinkType.RAW);
+    PacketFactoryBinder binder =
+        PacketFactories.getBinder(new DecodingProfile.Builder().lazyOptions(true).build());
+    Packet lazy =
+        PacketFactories.newInstance(
+            binder, Packet.class, DataLinkType.class, syn, 0, syn.length, DataLinkType.RAW);
+
+    assertArrayEquals(syn, lazy.getRawData());
+    assertEquals(eager.length(), lazy.length());
+    assertTrue(lazy.get(IpV4Packet.class).getHeader().hasValidChecksum(false));
+    assertEquals(
+        eager.get(TcpPacket.class).getHeader().getOptions(),
+        lazy.get(TcpPacket.class).getHeader().getOptions());
+    assertArrayEquals(
+        eager.get(TcpPacket.class).getHeader().getPadding(),
+        lazy.get(TcpPacket.class).getHeader().getPadding());
+    assertEquals(
+        eager.get(IpV4Packet.class).getHeader().getOptions(),
+        lazy.get(IpV4Packet.class).getHeader().getOptions());
+    assertEquals(eager, lazy);
+    assertEquals(eager.hashCode(), lazy.hashCode());
+  }
+
+  @Test
+  public void testChecksumCounters() throws Exception {
+    ChecksumCounters counters = new ChecksumCounters();
+    PacketFactoryBinder binder =
+        PacketFactories.getBinder(new DecodingProfile.Builder().checksumCounters(counters).build());
+
+    // Valid, with Ethernet padding after the IPv4 packet
+    decode(binder, rawData, DataLinkType.EN10MB);
+
+    byte[] badIcmp = rawData.clone();
+    badIcmp[42]++;
+    decode(binder, badIcmp, DataLinkType.EN10MB);
+
+    byte[] offloadedIpV4 = rawData.clone();
+    offloadedIpV4[24] = 0;
+    offloadedIpV4[25] = 0;
+    decode(binder, offloadedIpV4, DataLinkType.EN10MB);
+
+    byte[] badIpV4 = rawData.clone();
+    badIpV4[22]++;
+    decode(binder, badIpV4, DataLinkType.EN10MB);
+
+    byte[] truncated = Arrays.copyOf(rawData, 40);
+    decode(binder, truncated, DataLinkType.EN10MB);
+
+    assertEquals(3, counters.getValid(IpV4Packet.class));
+    assertEquals(1, counters.getBad(IpV4Packet.class));
+    assertEquals(1, counters.getOffloaded(IpV4Packet.class));
+    assertEquals(3, counters.getValid(IcmpV4CommonPacket.class));
+    assertEquals(1, counters.getBad(IcmpV4CommonPacket.class));
+    assertEquals(1, counters.getUnverified(IcmpV4CommonPacket.class));
+
+    // A TCP segment captured before checksum offload has the sum of the pseudo header in it.
+    TcpPacket.Builder tcpb = new TcpPacket.Builder();
+    tcpb.srcPort(TcpPort.getInstance((short) 40000))
+        .dstPort(TcpPort.HTTP)
+        .syn(true)
+        .window((short) 65535)
+        .dataOffset((byte) 5);
+    IpV4Packet.Builder ipv4b = new IpV4Packet.Builder();
+    ipv4b
+        .version(IpVersion.IPV4)
+        .tos(IpV4Rfc1349Tos.newInstance((byte) 0))
+        .ttl((byte) 64)
+        .protocol(IpNumber.TCP)
+        .srcAddr((Inet4Address) InetAddress.getByName("192.0.2.1"))
+        .dstAddr((Inet4Address) InetAddress.getByName("192.0.2.2"))
+        .payloadBuilder(tcpb)
+        .correctChecksumAtBuild(true)
+        .correctLengthAtBuild(true);
+    byte[] syn = ipv4b.build().getRawData();
+    short pseudoHeaderSum = Checksums.fold(Checksums.sum(syn, 12, 8) + 6 + 20);
+    syn[36] = (byte) (pseudoHeaderSum >> 8);
+    syn[37] = (byte) pseudoHeaderSum;
+    decode(binder, syn, DataLinkType.RAW);
+    assertEquals(1, counters.getOffloaded(TcpPacket.class));
+
+    // A TCP segment captured before segmentation offload has a total length of zero.
+    syn[2] = 0;
+    syn[3] = 0;
+    decode(binder, syn, DataLinkType.RAW);
+    assertEquals(2, counters.getOffloaded(IpV4Packet.class));
+    assertEquals(2, counters.getOffloaded(TcpPacket.class));
+    assertEquals(0, counters.getBad(TcpPacket.class));
+
+    counters.reset();
+    assertEquals(0, counters.getValid(IpV4Packet.class));
+  }
+
+  private static Packet decode(PacketFactoryBinder binder, byte[] data, DataLinkType dlt) {
+    return PacketFactories.newInstance(
+        binder, Packet.class, DataLinkType.class, data, 0, data.length, dlt);
+  }
+}
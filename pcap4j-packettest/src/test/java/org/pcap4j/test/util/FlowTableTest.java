@@ -0,0 +1,317 @@
+package org.pcap4j.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.pcap4j.packet.ArpPacket;
+import org.pcap4j.packet.Dot1qVlanTagPacket;
+import org.pcap4j.packet.EthernetPacket;
+import org.pcap4j.packet.IpV4Packet;
+import org.pcap4j.packet.IpV4Rfc1349Tos;
+import org.pcap4j.packet.IpV6ExtFragmentPacket;
+import org.pcap4j.packet.IpV6Packet;
+import org.pcap4j.packet.IpV6SimpleFlowLabel;
+import org.pcap4j.packet.IpV6SimpleTrafficClass;
+import org.pcap4j.packet.Packet;
+import org.pcap4j.packet.TcpPacket;
+import org.pcap4j.packet.TcpPacket.TcpOption;
+import org.pcap4j.packet.UdpPacket;
+import org.pcap4j.packet.UnknownPacket;
+import org.pcap4j.packet.namednumber.ArpHardwareType;
+import org.pcap4j.packet.namednumber.ArpOperation;
+import org.pcap4j.packet.namednumber.DataLinkType;
+import org.pcap4j.packet.namednumber.EtherType;
+import org.pcap4j.packet.namednumber.IpNumber;
+import org.pcap4j.packet.namednumber.IpVersion;
+import org.pcap4j.packet.namednumber.TcpPort;
+import org.pcap4j.packet.namednumber.UdpPort;
+import org.pcap4j.util.FlowRecord;
+import org.pcap4j.util.FlowRecordListener;
+import org.pcap4j.util.FlowTable;
+import org.pcap4j.util.MacAddress;
+
+@SuppressWarnings("javadoc")
+public class FlowTableTest {
+
+  private static final long IDLE_TIMEOUT = 3000L;
+  private static final long ACTIVE_TIMEOUT = 8000L;
+
+  private Inet4Address addr1;
+  private Inet4Address addr2;
+  private List<String> records;
+  private FlowRecordListener listener;
+  private FlowTable table;
+
+  @Before
+  public void setUp() throws Exception {
+    addr1 = (Inet4Address) InetAddress.getByName("192.0.2.1");
+    addr2 = (Inet4Address) InetAddress.getByName("192.0.2.2");
+    records = new ArrayList<String>();
+    listener =
+        new FlowRecordListener() {
+          @Override
+          public void gotFlowRecord(FlowRecord record) {
+            records.add(format(record));
+          }
+        };
+    table = new FlowTable(listener, 100, IDLE_TIMEOUT, ACTIVE_TIMEOUT);
+  }
+
+  private static String format(FlowRecord record) {
+    StringBuilder sb = new StringBuilder();
+    sb.append(record.getEndReason())
+        .append(" ")
+        .append(record.getSrcAddr().getHostAddress())
+        .append(":")
+        .append(record.getSrcPort())
+        .append(">")
+        .append(record.getDstAddr().getHostAddress())
+        .append(":")
+        .append(record.getDstPort())
+        .append(" p")
+        .append(record.getProtocol())
+        .append(" v")
+        .append(record.getVlanId())
+        .append(" ")
+        .append(record.getPackets())
+        .append("/")
+        .append(record.getBytes())
+        .append(" ")
+        .append(record.getFirstSeen())
+        .append("-")
+        .append(record.getLastSeen())
+        .append(" 0x")
+        .append(Integer.toHexString(record.getTcpFlags()));
+    return sb.toString();
+  }
+
+  private static byte[] ethernet(EtherType type, Packet.Builder payload) throws Exception {
+    EthernetPacket.Builder eb = new EthernetPacket.Builder();
+    eb.dstAddr(MacAddress.getByName("fe:00:00:00:00:02"))
+        .srcAddr(MacAddress.getByName("fe:00:00:00:00:01"))
+        .type(type)
+        .payloadBuilder(payload)
+        .paddingAtBuild(true);
+    return eb.build().getRawData();
+  }
+
+  private static IpV4Packet.Builder ipV4(
+      Inet4Address srcAddr, Inet4Address dstAddr, IpNumber protocol, Packet.Builder payload) {
+    IpV4Packet.Builder ipv4b = new IpV4Packet.Builder();
+    ipv4b
+        .version(IpVersion.IPV4)
+        .tos(IpV4Rfc1349Tos.newInstance((byte) 0))
+        .ttl((byte) 100)
+        .protocol(protocol)
+        .srcAddr(srcAddr)
+        .dstAddr(dstAddr)
+        .payloadBuilder(payload)
+        .correctChecksumAtBuild(true)
+        .correctLengthAtBuild(true);
+    return ipv4b;
+  }
+
+  private byte[] udp(int srcPort, int dstPort, int payloadLength) throws Exception {
+    UdpPacket.Builder udpb = new UdpPacket.Builder();
+    udpb.srcPort(UdpPort.getInstance((short) srcPort))
+        .dstPort(UdpPort.getInstance((short) dstPort))
+        .srcAddr(addr1)
+        .dstAddr(addr2)
+        .payloadBuilder(new UnknownPacket.Builder().rawData(new byte[payloadLength]))
+        .correctChecksumAtBuild(true)
+        .correctLengthAtBuild(true);
+    return ethernet(EtherType.IPV4, ipV4(addr1, addr2, IpNumber.UDP, udpb));
+  }
+
+  private byte[] tcp(boolean syn, boolean ack, boolean fin, int payloadLength) throws Exception {
+    TcpPacket.Builder tcpb = new TcpPacket.Builder();
+    tcpb.srcPort(TcpPort.getInstance((short) 50000))
+        .dstPort(TcpPort.HTTP)
+        .syn(syn)
+        .ack(ack)
+        .fin(fin)
+        .window((short) 65535)
+        .options(new ArrayList<TcpOption>())
+        .srcAddr(addr1)
+        .dstAddr(addr2)
+        .paddingAtBuild(true)
+        .correctChecksumAtBuild(true)
+        .correctLengthAtBuild(true);
+    if (payloadLength != 0) {
+      tcpb.payloadBuilder(new UnknownPacket.Builder().rawData(new byte[payloadLength]));
+    }
+    return ethernet(EtherType.IPV4, ipV4(addr1, addr2, IpNumber.TCP, tcpb));
+  }
+
+  @Test
+  public void testTcp() throws Exception {
+    assertTrue(table.update(DataLinkType.EN10MB, tcp(true, false, false, 0), 10));
+    assertTrue(table.update(DataLinkType.EN10MB, tcp(false, true, false, 100), 20));
+    assertEquals(1, table.size());
+    assertTrue(records.isEmpty());
+
+    table.update(DataLinkType.EN10MB, tcp(false, true, true, 0), 30);
+    assertEquals(
+        Arrays.asList("END_OF_FLOW 192.0.2.1:50000>192.0.2.2:80 p6 v0 3/220 10-30 0x13"), records);
+    assertEquals(0, table.size());
+  }
+
+  @Test
+  public void testVlanAndIpV6() throws Exception {
+    Inet6Address srcAddr = (Inet6Address) InetAddress.getByName("2001:db8::1");
+    Inet6Address dstAddr = (Inet6Address) InetAddress.getByName("2001:db8::2");
+    UdpPacket.Builder udpb = new UdpPacket.Builder();
+    udpb.srcPort(UdpPort.SNMP_TRAP)
+        .dstPort(UdpPort.SNMP)
+        .srcAddr(srcAddr)
+        .dstAddr(dstAddr)
+        .payloadBuilder(new UnknownPacket.Builder().rawData(new byte[10]))
+        .correctChecksumAtBuild(true)
+        .correctLengthAtBuild(true);
+    // An atomic fragment is skipped to reach the ports.
+    IpV6ExtFragmentPacket.Builder fragb = new IpV6ExtFragmentPacket.Builder();
+    fragb
+        .nextHeader(IpNumber.UDP)
+        .fragmentOffset((short) 0)
+        .m(false)
+        .identification(1)
+        .payloadBuilder(udpb);
+    IpV6Packet.Builder ipV6b = new IpV6Packet.Builder();
+    ipV6b
+        .version(IpVersion.IPV6)
+        .trafficClass(IpV6SimpleTrafficClass.newInstance((byte) 0))
+        .flowLabel(IpV6SimpleFlowLabel.newInstance(0))
+        .nextHeader(IpNumber.IPV6_FRAG)
+        .hopLimit((byte) 100)
+        .srcAddr(srcAddr)
+        .dstAddr(dstAddr)
+        .payloadBuilder(fragb)
+        .correctLengthAtBuild(true);
+    Dot1qVlanTagPacket.Builder innerb = new Dot1qVlanTagPacket.Builder();
+    innerb
+        .priority((byte) 0)
+        .cfi(false)
+        .vid((short) 200)
+        .type(EtherType.IPV6)
+        .payloadBuilder(ipV6b);
+    Dot1qVlanTagPacket.Builder outerb = new Dot1qVlanTagPacket.Builder();
+    outerb
+        .priority((byte) 0)
+        .cfi(false)
+        .vid((short) 100)
+        .type(EtherType.DOT1Q_VLAN_TAGGED_FRAMES)
+        .payloadBuilder(innerb);
+    byte[] frame = ethernet(EtherType.DOT1Q_VLAN_TAGGED_FRAMES, outerb);
+
+    assertTrue(table.update(DataLinkType.EN10MB, frame, 0));
+    assertTrue(table.update(DataLinkType.EN10MB, frame, 1));
+    table.flush();
+    assertEquals(
+        Arrays.asList(
+            "FORCED_END 2001:db8:0:0:0:0:0:1:162>2001:db8:0:0:0:0:0:2:161 p17 v100 2/132 0-1 0x0"),
+        records);
+  }
+
+  @Test
+  public void testRawIcmp() throws Exception {
+    UnknownPacket.Builder echo =
+        new UnknownPacket.Builder().rawData(new byte[] {8, 0, 0, 0, 0, 1, 0, 1});
+    byte[] packet = ipV4(addr1, addr2, IpNumber.ICMPV4, echo).build().getRawData();
+    assertTrue(table.update(DataLinkType.RAW, packet, 0));
+    table.flush();
+    assertEquals(
+        Arrays.asList("FORCED_END 192.0.2.1:0>192.0.2.2:2048 p1 v0 1/28 0-0 0x0"), records);
+  }
+
+  @Test
+  public void testTimeouts() throws Exception {
+    table.update(DataLinkType.EN10MB, udp(1, 2, 10), 0);
+    for (long t = 0; t <= 6000; t += 2000) {
+      table.update(DataLinkType.EN10MB, udp(3, 4, 10), t);
+    }
+    assertEquals(
+        Arrays.asList("IDLE_TIMEOUT 192.0.2.1:1>192.0.2.2:2 p17 v0 1/38 0-0 0x0"), records);
+
+    records.clear();
+    table.update(DataLinkType.EN10MB, udp(3, 4, 10), 8000);
+    assertEquals(
+        Arrays.asList("ACTIVE_TIMEOUT 192.0.2.1:3>192.0.2.2:4 p17 v0 4/152 0-6000 0x0"), records);
+    assertEquals(1, table.size());
+
+    records.clear();
+    assertEquals(0, table.expire(10999));
+    assertEquals(1, table.expire(11000));
+    assertEquals(
+        Arrays.asList("IDLE_TIMEOUT 192.0.2.1:3>192.0.2.2:4 p17 v0 1/38 8000-8000 0x0"), records);
+  }
+
+  @Test
+  public void testEviction() throws Exception {
+    table = new FlowTable(listener, 2, IDLE_TIMEOUT, ACTIVE_TIMEOUT);
+    table.update(DataLinkType.EN10MB, udp(1, 2, 10), 0);
+    table.update(DataLinkType.EN10MB, udp(3, 4, 10), 1);
+    table.update(DataLinkType.EN10MB, udp(1, 2, 10), 2);
+    table.update(DataLinkType.EN10MB, udp(5, 6, 10), 3);
+
+    assertEquals(
+        Arrays.asList("LACK_OF_RESOURCES 192.0.2.1:3>192.0.2.2:4 p17 v0 1/38 1-1 0x0"), records);
+    assertEquals(1L, table.getEvictionCount());
+    assertEquals(2, table.size());
+  }
+
+  @Test
+  public void testManyFlows() throws Exception {
+    table = new FlowTable(listener, 1000, IDLE_TIMEOUT, ACTIVE_TIMEOUT);
+    for (int i = 0; i < 1000; i++) {
+      table.update(DataLinkType.EN10MB, udp(i, 53, 0), 0);
+    }
+    for (int i = 0; i < 1000; i += 2) {
+      table.update(DataLinkType.EN10MB, udp(i, 53, 0), 2000);
+    }
+    // The odd flows end, and the even flows must still be found.
+    for (int i = 0; i < 1000; i += 2) {
+      table.update(DataLinkType.EN10MB, udp(i, 53, 0), 4000);
+    }
+    assertEquals(500, records.size());
+    assertEquals(500, table.size());
+
+    records.clear();
+    assertEquals(500, table.flush());
+    for (String record : records) {
+      assertTrue(record, record.contains(" 3/84 0-4000 "));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooManyMaxFlows() {
+    // Without the bound, maxFlows * 5 overflows and fails with NegativeArraySizeException.
+    new FlowTable(listener, 1 << 29, IDLE_TIMEOUT, ACTIVE_TIMEOUT);
+  }
+
+  @Test
+  public void testNotIp() throws Exception {
+    ArpPacket.Builder arpb = new ArpPacket.Builder();
+    arpb.hardwareType(ArpHardwareType.ETHERNET)
+        .protocolType(EtherType.IPV4)
+        .hardwareAddrLength((byte) MacAddress.SIZE_IN_BYTES)
+        .protocolAddrLength((byte) 4)
+        .operation(ArpOperation.REQUEST)
+        .srcHardwareAddr(MacAddress.getByName("fe:00:00:00:00:01"))
+        .srcProtocolAddr(addr1)
+        .dstHardwareAddr(MacAddress.ETHER_BROADCAST_ADDRESS)
+        .dstProtocolAddr(addr2);
+    assertFalse(table.update(DataLinkType.EN10MB, ethernet(EtherType.ARP, arpb), 0));
+    assertFalse(table.update(DataLinkType.EN10MB, new byte[] {1, 2, 3}, 0));
+    assertFalse(table.update(DataLinkType.IEEE802_11, udp(1, 2, 10), 0));
+    assertEquals(0, table.size());
+  }
+}
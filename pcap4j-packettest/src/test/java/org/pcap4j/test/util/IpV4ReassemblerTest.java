@@ -0,0 +1,242 @@
+package org.pcap4j.test.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import org.pcap4j.packet.IcmpV4CommonPacket;
+import org.pcap4j.packet.IcmpV4EchoPacket;
+import org.pcap4j.packet.IpV4Packet;
+import org.pcap4j.packet.IpV4Rfc1349Tos;
+import org.pcap4j.packet.UnknownPacket;
+import org.pcap4j.packet.namednumber.IcmpV4Code;
+import org.pcap4j.packet.namednumber.IcmpV4Type;
+import org.pcap4j.packet.namednumber.IpNumber;
+import org.pcap4j.packet.namednumber.IpVersion;
+import org.pcap4j.util.IpV4Helper;
+import org.pcap4j.util.IpV4Reassembler;
+
+@SuppressWarnings("javadoc")
+public class IpV4ReassemblerTest {
+
+  private static final long TIMEOUT = 30000L;
+
+  private IpV4Reassembler reassembler;
+
+  @Before
+  public void setUp() throws Exception {
+    reassembler = new IpV4Reassembler(TIMEOUT, 1024 * 1024);
+  }
+
+  private static IpV4Packet newEcho(short identification, int payloadLength) throws Exception {
+    byte[] payload = new byte[payloadLength];
+    new Random(identification).nextBytes(payload);
+
+    IcmpV4EchoPacket.Builder echob = new IcmpV4EchoPacket.Builder();
+    echob
+        .identifier((short) 1234)
+        .sequenceNumber((short) 4321)
+        .payloadBuilder(new UnknownPacket.Builder().rawData(payload));
+
+    IcmpV4CommonPacket.Builder icmpV4b = new IcmpV4CommonPacket.Builder();
+    icmpV4b
+        .type(IcmpV4Type.ECHO)
+        .code(IcmpV4Code.NO_CODE)
+        .payloadBuilder(echob)
+        .correctChecksumAtBuild(true);
+
+    IpV4Packet.Builder ipv4b = new IpV4Packet.Builder();
+    ipv4b
+        .version(IpVersion.IPV4)
+        .tos(IpV4Rfc1349Tos.newInstance((byte) 0))
+        .identification(identification)
+        .ttl((byte) 100)
+        .protocol(IpNumber.ICMPV4)
+        .srcAddr((Inet4Address) InetAddress.getByName("192.0.2.1"))
+        .dstAddr((Inet4Address) InetAddress.getByName("192.0.2.2"))
+        .payloadBuilder(icmpV4b)
+        .correctChecksumAtBuild(true)
+        .correctLengthAtBuild(true);
+    return ipv4b.build();
+  }
+
+  @Test
+  public void testReassembleShuffled() throws Exception {
+    IpV4Packet orgPacket = newEcho((short) 100, 4000);
+    List<IpV4Packet> fragments = IpV4Helper.fragment(orgPacket, 987);
+    assertEquals(5, fragments.size());
+    Collections.shuffle(fragments, new Random(1));
+
+    for (int i = 0; i < fragments.size() - 1; i++) {
+      assertNull(reassembler.reassemble(fragments.get(i), i));
+    }
+    assertEquals(1, reassembler.size());
+
+    IpV4Packet reassembled = reassembler.reassemble(fragments.get(fragments.size() - 1), 10);
+    assertEquals(orgPacket, reassembled);
+    assertEquals(0, reassembler.size());
+    assertEquals(0L, reassembler.getBufferedBytes());
+    assertEquals(1L, reassembler.getReassembledCount());
+  }
+
+  @Test
+  public void testReassembleInterleaved() throws Exception {
+    IpV4Packet orgPacket1 = newEcho((short) 1, 3000);
+    IpV4Packet orgPacket2 = newEcho((short) 2, 3000);
+    List<IpV4Packet> fragments1 = IpV4Helper.fragment(orgPacket1, 1500);
+    List<IpV4Packet> fragments2 = IpV4Helper.fragment(orgPacket2, 1500);
+    assertEquals(3, fragments1.size());
+
+    for (int i = 2; i > 0; i--) {
+      assertNull(reassembler.reassemble(fragments1.get(i), 0));
+      assertNull(reassembler.reassemble(fragments2.get(i), 0));
+    }
+    assertEquals(2, reassembler.size());
+    assertEquals(orgPacket2, reassembler.reassemble(fragments2.get(0), 0));
+    assertEquals(orgPacket1, reassembler.reassemble(fragments1.get(0), 0));
+  }
+
+  @Test
+  public void testRaw() throws Exception {
+    IpV4Packet orgPacket = newEcho((short) 100, 2000);
+    List<IpV4Packet> fragments = IpV4Helper.fragment(orgPacket, 1500);
+
+    byte[] buffer = new byte[2000];
+    byte[] reassembled = null;
+    for (IpV4Packet fragment : fragments) {
+      byte[] rawData = fragment.getRawData();
+      System.arraycopy(rawData, 0, buffer, 10, rawData.length);
+      // a trailer is ignored.
+      reassembled = reassembler.reassemble(buffer, 10, rawData.length + 4, 0);
+    }
+    assertArrayEquals(orgPacket.getRawData(), reassembled);
+
+    byte[] notFragment = orgPacket.getRawData();
+    assertArrayEquals(notFragment, reassembler.reassemble(notFragment, 0, notFragment.length, 0));
+
+    byte[] notIpV4 = notFragment.clone();
+    notIpV4[0] = 0x65;
+    assertNull(reassembler.reassemble(notIpV4, 0, notIpV4.length, 0));
+  }
+
+  @Test
+  public void testNotFragment() throws Exception {
+    IpV4Packet orgPacket = newEcho((short) 100, 100);
+    assertSame(orgPacket, reassembler.reassemble(orgPacket, 0));
+    assertEquals(0, reassembler.size());
+  }
+
+  @Test
+  public void testDuplicate() throws Exception {
+    IpV4Packet orgPacket = newEcho((short) 100, 3000);
+    List<IpV4Packet> fragments = IpV4Helper.fragment(orgPacket, 1500);
+
+    assertNull(reassembler.reassemble(fragments.get(0), 0));
+    assertNull(reassembler.reassemble(fragments.get(0), 1));
+    assertNull(reassembler.reassemble(fragments.get(1), 2));
+    assertNull(reassembler.reassemble(fragments.get(1), 3));
+    assertEquals(orgPacket, reassembler.reassemble(fragments.get(2), 4));
+    assertEquals(0L, reassembler.getOverlapCount());
+  }
+
+  @Test
+  public void testOverlap() throws Exception {
+    IpV4Packet orgPacket = newEcho((short) 100, 3000);
+    List<IpV4Packet> fragments = IpV4Helper.fragment(orgPacket, 1500);
+    IpV4Packet overlapping =
+        fragments
+            .get(1)
+            .getBuilder()
+            .fragmentOffset((short) 100)
+            .payloadBuilder(new UnknownPacket.Builder().rawData(new byte[80]))
+            .correctChecksumAtBuild(true)
+            .correctLengthAtBuild(true)
+            .build();
+
+    assertNull(reassembler.reassemble(fragments.get(0), 0));
+    assertNull(reassembler.reassemble(overlapping, 1));
+    assertEquals(1L, reassembler.getOverlapCount());
+    assertEquals(0L, reassembler.getBufferedBytes());
+
+    // The rest of the fragments are ignored until the timeout.
+    assertNull(reassembler.reassemble(fragments.get(1), 2));
+    assertNull(reassembler.reassemble(fragments.get(2), 3));
+    assertEquals(1, reassembler.size());
+    assertEquals(0, reassembler.expire(TIMEOUT));
+    assertEquals(0, reassembler.size());
+
+    for (IpV4Packet fragment : fragments) {
+      reassembler.reassemble(fragment, TIMEOUT);
+    }
+    assertEquals(1L, reassembler.getReassembledCount());
+  }
+
+  @Test
+  public void testTimeout() throws Exception {
+    IpV4Packet orgPacket = newEcho((short) 100, 3000);
+    List<IpV4Packet> fragments = IpV4Helper.fragment(orgPacket, 1500);
+
+    assertNull(reassembler.reassemble(fragments.get(0), 0));
+    assertNull(reassembler.reassemble(fragments.get(1), TIMEOUT - 1));
+    assertNull(reassembler.reassemble(fragments.get(2), TIMEOUT));
+    assertEquals(1L, reassembler.getTimeoutCount());
+    assertEquals(1, reassembler.size());
+
+    assertEquals(1, reassembler.expire(TIMEOUT * 2));
+    assertEquals(0, reassembler.size());
+    assertEquals(0L, reassembler.getBufferedBytes());
+    assertEquals(0L, reassembler.getReassembledCount());
+  }
+
+  @Test
+  public void testByteBudget() throws Exception {
+    reassembler = new IpV4Reassembler(TIMEOUT, 4000);
+    IpV4Packet orgPacket1 = newEcho((short) 1, 3000);
+    IpV4Packet orgPacket2 = newEcho((short) 2, 3000);
+    List<IpV4Packet> fragments1 = IpV4Helper.fragment(orgPacket1, 1500);
+    List<IpV4Packet> fragments2 = IpV4Helper.fragment(orgPacket2, 1500);
+
+    assertNull(reassembler.reassemble(fragments1.get(0), 0));
+    assertNull(reassembler.reassemble(fragments2.get(0), 1));
+    assertEquals(2, reassembler.size());
+    assertEquals(0L, reassembler.getEvictionCount());
+
+    // The buffer of the second datagram grows to hold the last fragment.
+    assertNull(reassembler.reassemble(fragments2.get(2), 2));
+    assertEquals(1L, reassembler.getEvictionCount());
+    assertEquals(1, reassembler.size());
+
+    assertEquals(orgPacket2, reassembler.reassemble(fragments2.get(1), 3));
+    assertNull(reassembler.reassemble(fragments1.get(1), 4));
+    assertNull(reassembler.reassemble(fragments1.get(2), 5));
+    assertEquals(1, reassembler.size());
+  }
+
+  @Test
+  public void testInvalid() throws Exception {
+    IpV4Packet orgPacket = newEcho((short) 100, 3000);
+    List<IpV4Packet> fragments = IpV4Helper.fragment(orgPacket, 1500);
+    IpV4Packet shortLast =
+        fragments
+            .get(2)
+            .getBuilder()
+            .payloadBuilder(new UnknownPacket.Builder().rawData(new byte[8]))
+            .correctChecksumAtBuild(true)
+            .correctLengthAtBuild(true)
+            .build();
+
+    assertNull(reassembler.reassemble(fragments.get(2), 0));
+    assertNull(reassembler.reassemble(shortLast, 1));
+    assertEquals(1L, reassembler.getInvalidCount());
+    assertNull(reassembler.reassemble(fragments.get(1), 2));
+    assertEquals(orgPacket, reassembler.reassemble(fragments.get(0), 3));
+  }
+}
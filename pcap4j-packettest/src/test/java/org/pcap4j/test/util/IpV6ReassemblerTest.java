@@ -0,0 +1,258 @@
+package org.pcap4j.test.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import org.pcap4j.packet.EthernetPacket;
+import org.pcap4j.packet.FragmentedPacket;
+import org.pcap4j.packet.IpV6ExtFragmentPacket;
+import org.pcap4j.packet.IpV6Packet;
+import org.pcap4j.packet.IpV6SimpleFlowLabel;
+import org.pcap4j.packet.IpV6SimpleTrafficClass;
+import org.pcap4j.packet.UdpPacket;
+import org.pcap4j.packet.UnknownPacket;
+import org.pcap4j.packet.namednumber.DataLinkType;
+import org.pcap4j.packet.namednumber.IpNumber;
+import org.pcap4j.packet.namednumber.IpVersion;
+import org.pcap4j.packet.namednumber.UdpPort;
+import org.pcap4j.test.packet.AbstractPacketTest;
+import org.pcap4j.util.ByteArrays;
+import org.pcap4j.util.IpV6Reassembler;
+
+@SuppressWarnings("javadoc")
+public class IpV6ReassemblerTest {
+
+  private static final long TIMEOUT = 60000L;
+
+  private String resourceDir;
+  private IpV6Reassembler reassembler;
+
+  @Before
+  public void setUp() throws Exception {
+    resourceDir = System.getProperty(AbstractPacketTest.RESOURCE_DIR_PROP, "src/test/resources");
+    reassembler = new IpV6Reassembler(TIMEOUT, 1024 * 1024);
+  }
+
+  private static IpV6Packet newUdp(int payloadLength) throws Exception {
+    byte[] payload = new byte[payloadLength];
+    new Random(payloadLength).nextBytes(payload);
+    Inet6Address srcAddr = (Inet6Address) InetAddress.getByName("2001:db8::3:2:1");
+    Inet6Address dstAddr = (Inet6Address) InetAddress.getByName("2001:db8::3:2:2");
+
+    UdpPacket.Builder udpb = new UdpPacket.Builder();
+    udpb.srcPort(UdpPort.SNMP_TRAP)
+        .dstPort(UdpPort.SNMP)
+        .srcAddr(srcAddr)
+        .dstAddr(dstAddr)
+        .payloadBuilder(new UnknownPacket.Builder().rawData(payload))
+        .correctChecksumAtBuild(true)
+        .correctLengthAtBuild(true);
+
+    IpV6Packet.Builder ipV6b = new IpV6Packet.Builder();
+    ipV6b
+        .version(IpVersion.IPV6)
+        .trafficClass(IpV6SimpleTrafficClass.newInstance((byte) 0x12))
+        .flowLabel(IpV6SimpleFlowLabel.newInstance(0x12345))
+        .nextHeader(IpNumber.UDP)
+        .hopLimit((byte) 100)
+        .srcAddr(srcAddr)
+        .dstAddr(dstAddr)
+        .payloadBuilder(udpb)
+        .correctLengthAtBuild(true);
+    return ipV6b.build();
+  }
+
+  private static List<IpV6Packet> fragment(
+      IpV6Packet packet, int fragmentLength, int identification) {
+    byte[] payload = packet.getPayload().getRawData();
+    List<IpV6Packet> fragments = new ArrayList<IpV6Packet>();
+    for (int offset = 0; offset < payload.length; offset += fragmentLength) {
+      int length = Math.min(fragmentLength, payload.length - offset);
+      fragments.add(
+          newFragment(
+              packet,
+              offset,
+              offset + length < payload.length,
+              identification,
+              ByteArrays.getSubArray(payload, offset, length)));
+    }
+    return fragments;
+  }
+
+  private static IpV6Packet newFragment(
+      IpV6Packet packet, int offset, boolean m, int identification, byte[] data) {
+    IpV6ExtFragmentPacket.Builder fragb = new IpV6ExtFragmentPacket.Builder();
+    fragb
+        .nextHeader(packet.getHeader().getNextHeader())
+        .fragmentOffset((short) (offset / 8))
+        .m(m)
+        .identification(identification)
+        .payloadBuilder(new FragmentedPacket.Builder().rawData(data));
+    return packet
+        .getBuilder()
+        .nextHeader(IpNumber.IPV6_FRAG)
+        .payloadBuilder(fragb)
+        .correctLengthAtBuild(true)
+        .build();
+  }
+
+  @Test
+  public void testReassembleFixture() throws Exception {
+    List<byte[]> frames =
+        PcapFileReader.readFrames(
+            new File(resourceDir, "IpV6ExtFragmentPacketTest.pcap"), DataLinkType.EN10MB);
+    assertEquals(2, frames.size());
+
+    IpV6Packet first =
+        EthernetPacket.newPacket(frames.get(0), 0, frames.get(0).length).get(IpV6Packet.class);
+    IpV6Packet last =
+        EthernetPacket.newPacket(frames.get(1), 0, frames.get(1).length).get(IpV6Packet.class);
+    assertTrue(last.getPayload().getPayload() instanceof FragmentedPacket);
+
+    assertNull(reassembler.reassemble(first, 0));
+    IpV6Packet reassembled = reassembler.reassemble(last, 0);
+
+    assertEquals(IpNumber.UDP, reassembled.getHeader().getNextHeader());
+    assertEquals((short) 16, reassembled.getHeader().getPayloadLength());
+    assertEquals(first.getHeader().getSrcAddr(), reassembled.getHeader().getSrcAddr());
+    assertFalse(reassembled.contains(IpV6ExtFragmentPacket.class));
+
+    UdpPacket udp = reassembled.get(UdpPacket.class);
+    assertEquals(UdpPort.SNMP_TRAP, udp.getHeader().getSrcPort());
+    assertTrue(
+        udp.hasValidChecksum(
+            reassembled.getHeader().getSrcAddr(), reassembled.getHeader().getDstAddr(), true));
+    assertArrayEquals(new byte[] {0, 1, 2, 3, 4, 5, 6, 7}, udp.getPayload().getRawData());
+    assertEquals(0, reassembler.size());
+  }
+
+  @Test
+  public void testReassembleShuffled() throws Exception {
+    IpV6Packet orgPacket = newUdp(5000);
+    List<IpV6Packet> fragments = fragment(orgPacket, 1232, 1);
+    assertEquals(5, fragments.size());
+    Collections.shuffle(fragments, new Random(1));
+
+    for (int i = 0; i < fragments.size() - 1; i++) {
+      assertNull(reassembler.reassemble(fragments.get(i), i));
+    }
+    assertEquals(orgPacket, reassembler.reassemble(fragments.get(fragments.size() - 1), 10));
+    assertEquals(0, reassembler.size());
+    assertEquals(0L, reassembler.getBufferedBytes());
+    assertEquals(1L, reassembler.getReassembledCount());
+  }
+
+  @Test
+  public void testReassembleRaw() throws Exception {
+    IpV6Packet orgPacket = newUdp(3000);
+    List<IpV6Packet> fragments = fragment(orgPacket, 1232, 1);
+
+    byte[] reassembled = null;
+    for (int i = fragments.size() - 1; i >= 0; i--) {
+      byte[] rawData = fragments.get(i).getRawData();
+      reassembled = reassembler.reassemble(rawData, 0, rawData.length, 0);
+    }
+    assertArrayEquals(orgPacket.getRawData(), reassembled);
+  }
+
+  @Test
+  public void testNotFragment() throws Exception {
+    IpV6Packet orgPacket = newUdp(100);
+    assertSame(orgPacket, reassembler.reassemble(orgPacket, 0));
+
+    byte[] rawData = orgPacket.getRawData();
+    assertArrayEquals(rawData, reassembler.reassemble(rawData, 0, rawData.length, 0));
+    assertEquals(0, reassembler.size());
+  }
+
+  @Test
+  public void testAtomicFragment() throws Exception {
+    IpV6Packet orgPacket = newUdp(100);
+    IpV6Packet atomic = fragment(orgPacket, 1232, 1).get(0);
+    assertFalse(atomic.get(IpV6ExtFragmentPacket.class).getHeader().getM());
+
+    // An atomic fragment doesn't interfere with the fragments of the same identification.
+    IpV6Packet largePacket = newUdp(3000);
+    List<IpV6Packet> fragments = fragment(largePacket, 1232, 1);
+    assertNull(reassembler.reassemble(fragments.get(0), 0));
+
+    assertEquals(orgPacket, reassembler.reassemble(atomic, 1));
+    assertEquals(1, reassembler.size());
+    assertNull(reassembler.reassemble(fragments.get(1), 2));
+    assertEquals(largePacket, reassembler.reassemble(fragments.get(2), 3));
+  }
+
+  @Test
+  public void testDuplicate() throws Exception {
+    IpV6Packet orgPacket = newUdp(3000);
+    List<IpV6Packet> fragments = fragment(orgPacket, 1232, 1);
+
+    assertNull(reassembler.reassemble(fragments.get(1), 0));
+    assertNull(reassembler.reassemble(fragments.get(1), 1));
+    assertNull(reassembler.reassemble(fragments.get(0), 2));
+    assertEquals(orgPacket, reassembler.reassemble(fragments.get(2), 3));
+    assertEquals(0L, reassembler.getOverlapCount());
+  }
+
+  @Test
+  public void testOverlap() throws Exception {
+    IpV6Packet orgPacket = newUdp(3000);
+    List<IpV6Packet> fragments = fragment(orgPacket, 1232, 1);
+    byte[] payload = orgPacket.getPayload().getRawData();
+    // The same data as the original at an overlapping offset.
+    IpV6Packet overlapping =
+        newFragment(orgPacket, 1224, true, 1, ByteArrays.getSubArray(payload, 1224, 16));
+
+    assertNull(reassembler.reassemble(fragments.get(0), 0));
+    assertNull(reassembler.reassemble(overlapping, 1));
+    assertEquals(1L, reassembler.getOverlapCount());
+    assertEquals(0L, reassembler.getBufferedBytes());
+
+    // RFC 5722: the fragments not yet received are also discarded.
+    assertNull(reassembler.reassemble(fragments.get(1), 2));
+    assertNull(reassembler.reassemble(fragments.get(2), 3));
+    assertEquals(1, reassembler.size());
+    assertEquals(0L, reassembler.getReassembledCount());
+
+    assertEquals(0, reassembler.expire(TIMEOUT));
+    assertEquals(0, reassembler.size());
+    for (IpV6Packet fragment : fragments) {
+      reassembler.reassemble(fragment, TIMEOUT);
+    }
+    assertEquals(1L, reassembler.getReassembledCount());
+  }
+
+  @Test
+  public void testTimeoutAndByteBudget() throws Exception {
+    reassembler = new IpV6Reassembler(TIMEOUT, 3500);
+    List<IpV6Packet> fragments1 = fragment(newUdp(3000), 1232, 1);
+    List<IpV6Packet> fragments2 = fragment(newUdp(3000), 1232, 2);
+
+    assertNull(reassembler.reassemble(fragments1.get(0), 0));
+    assertNull(reassembler.reassemble(fragments2.get(0), 1));
+    assertEquals(2, reassembler.size());
+
+    // The buffer of the second packet grows to hold the last fragment.
+    assertNull(reassembler.reassemble(fragments2.get(2), 2));
+    assertEquals(1L, reassembler.getEvictionCount());
+    assertEquals(1, reassembler.size());
+
+    assertEquals(1, reassembler.expire(TIMEOUT + 1));
+    assertEquals(1L, reassembler.getTimeoutCount());
+    assertEquals(0, reassembler.size());
+    assertEquals(0L, reassembler.getBufferedBytes());
+  }
+}
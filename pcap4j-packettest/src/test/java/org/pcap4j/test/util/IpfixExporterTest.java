@@ -0,0 +1,238 @@
+package org.pcap4j.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.pcap4j.packet.EthernetPacket;
+import org.pcap4j.packet.IpV4Packet;
+import org.pcap4j.packet.IpV4Rfc1349Tos;
+import org.pcap4j.packet.Packet;
+import org.pcap4j.packet.UdpPacket;
+import org.pcap4j.packet.UnknownPacket;
+import org.pcap4j.packet.namednumber.DataLinkType;
+import org.pcap4j.packet.namednumber.EtherType;
+import org.pcap4j.packet.namednumber.IpNumber;
+import org.pcap4j.packet.namednumber.IpVersion;
+import org.pcap4j.packet.namednumber.UdpPort;
+import org.pcap4j.test.packet.AbstractPacketTest;
+import org.pcap4j.util.FlowRecord;
+import org.pcap4j.util.FlowRecordListener;
+import org.pcap4j.util.FlowTable;
+import org.pcap4j.util.IpfixExporter;
+import org.pcap4j.util.MacAddress;
+
+@SuppressWarnings("javadoc")
+public class IpfixExporterTest {
+
+  private static final long TIMEOUT = 60000L;
+
+  private String resourceDir;
+  private Inet4Address addr1;
+  private Inet4Address addr2;
+
+  @Before
+  public void setUp() throws Exception {
+    resourceDir = System.getProperty(AbstractPacketTest.RESOURCE_DIR_PROP, "src/test/resources");
+    addr1 = (Inet4Address) InetAddress.getByName("192.0.2.1");
+    addr2 = (Inet4Address) InetAddress.getByName("192.0.2.2");
+  }
+
+  private IpV4Packet.Builder ipV4(IpNumber protocol, Packet.Builder payload) {
+    IpV4Packet.Builder ipv4b = new IpV4Packet.Builder();
+    ipv4b
+        .version(IpVersion.IPV4)
+        .tos(IpV4Rfc1349Tos.newInstance((byte) 0))
+        .ttl((byte) 100)
+        .protocol(protocol)
+        .srcAddr(addr1)
+        .dstAddr(addr2)
+        .payloadBuilder(payload)
+        .correctChecksumAtBuild(true)
+        .correctLengthAtBuild(true);
+    return ipv4b;
+  }
+
+  private byte[] udp() throws Exception {
+    UdpPacket.Builder udpb = new UdpPacket.Builder();
+    udpb.srcPort(UdpPort.SNMP_TRAP)
+        .dstPort(UdpPort.SNMP)
+        .srcAddr(addr1)
+        .dstAddr(addr2)
+        .payloadBuilder(new UnknownPacket.Builder().rawData(new byte[10]))
+        .correctChecksumAtBuild(true)
+        .correctLengthAtBuild(true);
+    EthernetPacket.Builder eb = new EthernetPacket.Builder();
+    eb.dstAddr(MacAddress.getByName("fe:00:00:00:00:02"))
+        .srcAddr(MacAddress.getByName("fe:00:00:00:00:01"))
+        .type(EtherType.IPV4)
+        .payloadBuilder(ipV4(IpNumber.UDP, udpb))
+        .paddingAtBuild(true);
+    return eb.build().getRawData();
+  }
+
+  private byte[] icmp() throws Exception {
+    UnknownPacket.Builder unreachable =
+        new UnknownPacket.Builder().rawData(new byte[] {3, 1, 0, 0, 0, 0, 0, 0});
+    return ipV4(IpNumber.ICMPV4, unreachable).build().getRawData();
+  }
+
+  /** Decodes the data records in the messages, checking the headers and the templates. */
+  private static List<String> decode(List<ByteBuffer> messages, long observationDomainId)
+      throws Exception {
+    List<String> records = new ArrayList<String>();
+    int templateSets = 0;
+    for (ByteBuffer msg : messages) {
+      assertEquals(10, msg.getShort(0));
+      assertEquals(msg.limit(), msg.getShort(2) & 0xFFFF);
+      assertEquals(records.size(), msg.getInt(8));
+      assertEquals(observationDomainId, msg.getInt(12) & 0xFFFFFFFFL);
+
+      int pos = 16;
+      while (pos < msg.limit()) {
+        int setId = msg.getShort(pos) & 0xFFFF;
+        int setLength = msg.getShort(pos + 2) & 0xFFFF;
+        assertTrue(setLength > 4);
+        if (setId == 2) {
+          templateSets++;
+          assertEquals(256, msg.getShort(pos + 4));
+          assertEquals(13, msg.getShort(pos + 6));
+        } else {
+          int addrLength = setId == 256 ? 4 : 16;
+          int recordLength = addrLength * 2 + 44;
+          assertEquals(0, (setLength - 4) % recordLength);
+          for (int r = pos + 4; r < pos + setLength; r += recordLength) {
+            byte[] addr = new byte[addrLength];
+            msg.position(r);
+            StringBuilder sb = new StringBuilder();
+            msg.get(addr);
+            sb.append(InetAddress.getByAddress(addr).getHostAddress());
+            msg.get(addr);
+            sb.append(">").append(InetAddress.getByAddress(addr).getHostAddress());
+            sb.append(" p").append(msg.get() & 0xFF);
+            sb.append(" ").append(msg.getShort() & 0xFFFF);
+            sb.append(">").append(msg.getShort() & 0xFFFF);
+            sb.append(" icmp").append(msg.getShort() & 0xFFFF);
+            sb.append(" v").append(msg.getShort());
+            sb.append(" ").append(msg.getLong());
+            sb.append("/").append(msg.getLong());
+            sb.append(" ").append(msg.getLong());
+            sb.append("-").append(msg.getLong());
+            sb.append(" 0x").append(Integer.toHexString(msg.getShort()));
+            sb.append(" ").append(msg.get());
+            records.add(sb.toString());
+          }
+        }
+        pos += setLength;
+      }
+      assertEquals(msg.limit(), pos);
+    }
+    assertTrue(templateSets >= 1);
+    return records;
+  }
+
+  @Test
+  public void testFile() throws Exception {
+    File file = File.createTempFile("pcap4j", ".ipfix");
+    file.deleteOnExit();
+    FileChannel channel =
+        FileChannel.open(
+            file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    IpfixExporter exporter = new IpfixExporter(channel, 123L, 65535, 0L);
+    FlowTable table = new FlowTable(exporter, 100, TIMEOUT, TIMEOUT);
+    table.update(DataLinkType.EN10MB, udp(), 1000);
+    table.update(DataLinkType.EN10MB, udp(), 2000);
+    table.update(DataLinkType.RAW, icmp(), 3000);
+    table.flush();
+    exporter.close();
+    assertEquals(1L, exporter.getMessageCount());
+    assertEquals(2L, exporter.getRecordCount());
+
+    List<ByteBuffer> messages = new ArrayList<ByteBuffer>();
+    messages.add(ByteBuffer.wrap(Files.readAllBytes(file.toPath())));
+    assertEquals(
+        Arrays.asList(
+            "192.0.2.1>192.0.2.2 p17 162>161 icmp0 v0 2/76 1000-2000 0x0 4",
+            "192.0.2.1>192.0.2.2 p1 0>0 icmp769 v0 1/28 3000-3000 0x0 4"),
+        decode(messages, 123L));
+  }
+
+  @Test
+  public void testUdpCollector() throws Exception {
+    DatagramSocket collector = new DatagramSocket(0, InetAddress.getByName("127.0.0.1"));
+    collector.setSoTimeout(5000);
+    collector.setReceiveBufferSize(1024 * 1024);
+    DatagramChannel channel = DatagramChannel.open();
+    channel.connect(collector.getLocalSocketAddress());
+    final IpfixExporter exporter =
+        new IpfixExporter(channel, 0xFFFFFFFFL, IpfixExporter.MIN_MESSAGE_LENGTH, 0L);
+    final long[] exported = new long[2];
+    FlowTable table =
+        new FlowTable(
+            new FlowRecordListener() {
+              @Override
+              public void gotFlowRecord(FlowRecord record) {
+                exported[0]++;
+                exported[1] += record.getPackets();
+                exporter.gotFlowRecord(record);
+              }
+            },
+            1000,
+            TIMEOUT,
+            TIMEOUT);
+
+    // Meters all the capture files.
+    File[] files = new File(resourceDir).listFiles();
+    Arrays.sort(files);
+    long timestamp = 0;
+    long ipFrames = 0;
+    for (File file : files) {
+      if (!file.getName().endsWith(".pcap")) {
+        continue;
+      }
+      PcapFileReader.PcapFile pcap = PcapFileReader.read(file);
+      for (byte[] frame : pcap.getFrames()) {
+        if (table.update(pcap.getDataLinkType(), frame, 0, frame.length, timestamp++)) {
+          ipFrames++;
+        }
+      }
+    }
+    table.flush();
+    exporter.close();
+    assertTrue(exported[0] > 10);
+    assertEquals(ipFrames, exported[1]);
+    assertTrue(exporter.getMessageCount() > 1);
+
+    List<ByteBuffer> messages = new ArrayList<ByteBuffer>();
+    for (long i = 0; i < exporter.getMessageCount(); i++) {
+      byte[] data = new byte[IpfixExporter.MAX_MESSAGE_LENGTH];
+      DatagramPacket datagram = new DatagramPacket(data, data.length);
+      collector.receive(datagram);
+      assertTrue(datagram.getLength() <= IpfixExporter.MIN_MESSAGE_LENGTH);
+      messages.add(ByteBuffer.wrap(data, 0, datagram.getLength()).slice());
+    }
+    collector.close();
+
+    List<String> records = decode(messages, 0xFFFFFFFFL);
+    assertEquals(exported[0], records.size());
+    long packets = 0;
+    for (String record : records) {
+      packets += Long.parseLong(record.split(" ")[5].split("/")[0]);
+    }
+    assertEquals(ipFrames, packets);
+  }
+}
@@ -0,0 +1,91 @@
+package org.pcap4j.test.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.pcap4j.packet.namednumber.DataLinkType;
+
+/** A reader of pcap savefiles for the tests which don't want libpcap to read their fixtures. */
+@SuppressWarnings("javadoc")
+final class PcapFileReader {
+
+  private static final int MAGIC = 0xa1b2c3d4;
+  private static final int MAGIC_NANO = 0xa1b23c4d;
+  private static final int GLOBAL_HEADER_SIZE = 24;
+  private static final int RECORD_HEADER_SIZE = 16;
+
+  private PcapFileReader() {
+    throw new AssertionError();
+  }
+
+  static PcapFile read(File file) throws IOException {
+    ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+    if (buf.remaining() < GLOBAL_HEADER_SIZE) {
+      throw new IOException(file + " is too short.");
+    }
+
+    buf.order(ByteOrder.BIG_ENDIAN);
+    int magic = buf.getInt(0);
+    if (magic != MAGIC && magic != MAGIC_NANO) {
+      buf.order(ByteOrder.LITTLE_ENDIAN);
+      magic = buf.getInt(0);
+      if (magic != MAGIC && magic != MAGIC_NANO) {
+        throw new IOException(file + " is not a pcap savefile.");
+      }
+    }
+
+    DataLinkType dlt = DataLinkType.getInstance(buf.getInt(20));
+    buf.position(GLOBAL_HEADER_SIZE);
+    List<byte[]> frames = new ArrayList<byte[]>();
+    while (buf.hasRemaining()) {
+      if (buf.remaining() < RECORD_HEADER_SIZE) {
+        throw new IOException(file + " is truncated.");
+      }
+      buf.position(buf.position() + 8);
+      int capLen = buf.getInt();
+      buf.getInt();
+      if (capLen < 0 || capLen > buf.remaining()) {
+        throw new IOException(file + " is truncated.");
+      }
+      byte[] frame = new byte[capLen];
+      buf.get(frame);
+      frames.add(frame);
+    }
+    return new PcapFile(dlt, frames);
+  }
+
+  static List<byte[]> readFrames(File file, DataLinkType dlt) throws IOException {
+    PcapFile pcap = read(file);
+    if (!pcap.getDataLinkType().equals(dlt)) {
+      StringBuilder sb = new StringBuilder();
+      sb.append(file).append(" has the link type ").append(pcap.getDataLinkType());
+      sb.append(" but ").append(dlt).append(" is expected.");
+      throw new IOException(sb.toString());
+    }
+    return pcap.getFrames();
+  }
+
+  static final class PcapFile {
+
+    private final DataLinkType dlt;
+    private final List<byte[]> frames;
+
+    private PcapFile(DataLinkType dlt, List<byte[]> frames) {
+      this.dlt = dlt;
+      this.frames = Collections.unmodifiableList(frames);
+    }
+
+    DataLinkType getDataLinkType() {
+      return dlt;
+    }
+
+    List<byte[]> getFrames() {
+      return frames;
+    }
+  }
+}
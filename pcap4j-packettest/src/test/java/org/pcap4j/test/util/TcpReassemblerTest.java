@@ -0,0 +1,315 @@
+package org.pcap4j.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.pcap4j.packet.IpV4Packet;
+import org.pcap4j.packet.IpV4Rfc1349Tos;
+import org.pcap4j.packet.Packet;
+import org.pcap4j.packet.TcpPacket;
+import org.pcap4j.packet.TcpPacket.TcpOption;
+import org.pcap4j.packet.TcpSackOption;
+import org.pcap4j.packet.TcpSackOption.Sack;
+import org.pcap4j.packet.TcpWindowScaleOption;
+import org.pcap4j.packet.UdpPacket;
+import org.pcap4j.packet.UnknownPacket;
+import org.pcap4j.packet.namednumber.IpNumber;
+import org.pcap4j.packet.namednumber.IpVersion;
+import org.pcap4j.packet.namednumber.TcpPort;
+import org.pcap4j.packet.namednumber.UdpPort;
+import org.pcap4j.util.TcpReassembler;
+import org.pcap4j.util.TcpStream;
+import org.pcap4j.util.TcpStreamListener;
+
+@SuppressWarnings("javadoc")
+public class TcpReassemblerTest {
+
+  private static final int CLIENT_ISN = 1000;
+  private static final int SERVER_ISN = -10; // wraps around
+  private static final long TIMEOUT = 60000L;
+
+  private Inet4Address clientAddr;
+  private Inet4Address serverAddr;
+  private TcpPort clientPort;
+  private TcpPort serverPort;
+  private List<String> events;
+  private TcpStreamListener listener;
+  private TcpReassembler reassembler;
+
+  @Before
+  public void setUp() throws Exception {
+    clientAddr = (Inet4Address) InetAddress.getByName("192.0.2.1");
+    serverAddr = (Inet4Address) InetAddress.getByName("192.0.2.2");
+    clientPort = TcpPort.getInstance((short) 50000);
+    serverPort = TcpPort.HTTP;
+    events = new ArrayList<String>();
+    listener =
+        new TcpStreamListener() {
+          @Override
+          public void gotData(TcpStream stream, byte[] data, int offset, int length) {
+            events.add(side(stream) + " " + new String(data, offset, length));
+          }
+
+          @Override
+          public void gotGap(TcpStream stream, int length) {
+            events.add(side(stream) + " gap " + length);
+          }
+
+          @Override
+          public void gotEnd(TcpStream stream) {
+            events.add(side(stream) + " end");
+          }
+        };
+    reassembler = new TcpReassembler(listener, TIMEOUT, 100, 1024);
+  }
+
+  private String side(TcpStream stream) {
+    return stream.getSrcPort().equals(serverPort) ? "server" : "client";
+  }
+
+  private Packet segment(
+      boolean fromClient,
+      int seq,
+      int ack,
+      String flags,
+      int window,
+      List<TcpOption> options,
+      String data) {
+    TcpPacket.Builder tcpb = new TcpPacket.Builder();
+    tcpb.srcPort(fromClient ? clientPort : serverPort)
+        .dstPort(fromClient ? serverPort : clientPort)
+        .sequenceNumber(seq)
+        .acknowledgmentNumber(ack)
+        .syn(flags.contains("S"))
+        .ack(flags.contains("A"))
+        .fin(flags.contains("F"))
+        .rst(flags.contains("R"))
+        .window((short) window)
+        .options(options)
+        .srcAddr(fromClient ? clientAddr : serverAddr)
+        .dstAddr(fromClient ? serverAddr : clientAddr)
+        .paddingAtBuild(true)
+        .correctChecksumAtBuild(true)
+        .correctLengthAtBuild(true);
+    if (data.length() != 0) {
+      tcpb.payloadBuilder(new UnknownPacket.Builder().rawData(data.getBytes()));
+    }
+
+    IpV4Packet.Builder ipv4b = new IpV4Packet.Builder();
+    ipv4b
+        .version(IpVersion.IPV4)
+        .tos(IpV4Rfc1349Tos.newInstance((byte) 0))
+        .ttl((byte) 100)
+        .protocol(IpNumber.TCP)
+        .srcAddr(fromClient ? clientAddr : serverAddr)
+        .dstAddr(fromClient ? serverAddr : clientAddr)
+        .payloadBuilder(tcpb)
+        .correctChecksumAtBuild(true)
+        .correctLengthAtBuild(true);
+    return ipv4b.build();
+  }
+
+  private Packet client(int seq, String flags, String data) {
+    return segment(
+        true, CLIENT_ISN + 1 + seq, SERVER_ISN + 1, flags, 65535, new ArrayList<TcpOption>(), data);
+  }
+
+  private Packet server(int seq, int ack, String flags, String data) {
+    return segment(
+        false,
+        SERVER_ISN + 1 + seq,
+        CLIENT_ISN + 1 + ack,
+        flags,
+        65535,
+        new ArrayList<TcpOption>(),
+        data);
+  }
+
+  private Packet serverSack(int ack, int left, int right) {
+    List<Sack> sacks = new ArrayList<Sack>();
+    sacks.add(new Sack(CLIENT_ISN + 1 + left, CLIENT_ISN + 1 + right));
+    List<TcpOption> options = new ArrayList<TcpOption>();
+    options.add(new TcpSackOption.Builder().sacks(sacks).correctLengthAtBuild(true).build());
+    return segment(false, SERVER_ISN + 1, CLIENT_ISN + 1 + ack, "A", 65535, options, "");
+  }
+
+  private void handshake() {
+    assertTrue(
+        reassembler.add(
+            segment(true, CLIENT_ISN, 0, "S", 65535, new ArrayList<TcpOption>(), ""), 0));
+    assertTrue(
+        reassembler.add(
+            segment(false, SERVER_ISN, CLIENT_ISN + 1, "SA", 65535, new ArrayList<TcpOption>(), ""),
+            0));
+    assertTrue(reassembler.add(client(0, "A", ""), 0));
+  }
+
+  @Test
+  public void testInOrder() throws Exception {
+    handshake();
+    reassembler.add(client(0, "A", "hello "), 1);
+    reassembler.add(client(6, "A", "world"), 2);
+    reassembler.add(server(0, 11, "A", "ok"), 3);
+    reassembler.add(client(11, "FA", ""), 4);
+    assertEquals(1, reassembler.size());
+    reassembler.add(server(2, 12, "FA", ""), 5);
+
+    assertEquals(
+        Arrays.asList("client hello ", "client world", "server ok", "client end", "server end"),
+        events);
+    assertEquals(0, reassembler.size());
+  }
+
+  @Test
+  public void testOutOfOrderAndRetransmission() throws Exception {
+    handshake();
+    reassembler.add(client(6, "A", "ghi"), 1);
+    reassembler.add(client(3, "A", "def"), 2);
+    assertTrue(events.isEmpty());
+    reassembler.add(client(0, "A", "abc"), 3);
+    reassembler.add(client(3, "A", "def"), 4);
+
+    assertEquals(Arrays.asList("client abc", "client def", "client ghi"), events);
+    assertEquals(1L, reassembler.getRetransmissionCount());
+  }
+
+  @Test
+  public void testOverlap() throws Exception {
+    handshake();
+    reassembler.add(client(5, "A", "fghij"), 1);
+    // The data received first is taken.
+    reassembler.add(client(3, "A", "DEFGHIJKL"), 2);
+    assertEquals(1L, reassembler.getInconsistentOverlapCount());
+    reassembler.add(client(0, "A", "abc"), 3);
+
+    assertEquals(Arrays.asList("client abc", "client DE", "client fghij", "client KL"), events);
+  }
+
+  @Test
+  public void testGapAcknowledged() throws Exception {
+    handshake();
+    // "abcde" is lost in the capture, and "fghij" is lost in the network.
+    reassembler.add(client(10, "A", "klmno"), 1);
+    reassembler.add(serverSack(5, 10, 15), 2);
+    assertEquals(Arrays.asList("client gap 5"), events);
+
+    reassembler.add(client(5, "A", "fghij"), 3);
+    assertEquals(Arrays.asList("client gap 5", "client fghij", "client klmno"), events);
+  }
+
+  @Test
+  public void testGapSacked() throws Exception {
+    handshake();
+    // "abcde" is lost in the network, and "fghij" is lost in the capture.
+    reassembler.add(client(10, "A", "klmno"), 1);
+    reassembler.add(serverSack(0, 5, 15), 2);
+    assertTrue(events.isEmpty());
+
+    reassembler.add(client(0, "A", "abcde"), 3);
+    assertEquals(Arrays.asList("client abcde", "client gap 5", "client klmno"), events);
+  }
+
+  @Test
+  public void testWindowScale() throws Exception {
+    List<TcpOption> clientOptions = new ArrayList<TcpOption>();
+    clientOptions.add(
+        new TcpWindowScaleOption.Builder().shiftCount((byte) 0).correctLengthAtBuild(true).build());
+    List<TcpOption> serverOptions = new ArrayList<TcpOption>();
+    serverOptions.add(
+        new TcpWindowScaleOption.Builder().shiftCount((byte) 2).correctLengthAtBuild(true).build());
+    reassembler.add(segment(true, CLIENT_ISN, 0, "S", 65535, clientOptions, ""), 0);
+    reassembler.add(segment(false, SERVER_ISN, CLIENT_ISN + 1, "SA", 10, serverOptions, ""), 0);
+    reassembler.add(client(0, "A", ""), 0);
+    // The server's window is 10 << 2.
+    reassembler.add(
+        segment(false, SERVER_ISN + 1, CLIENT_ISN + 1, "A", 10, new ArrayList<TcpOption>(), ""), 1);
+
+    reassembler.add(client(30, "A", "in"), 2);
+    reassembler.add(client(40, "A", "out"), 3);
+    assertEquals(1L, reassembler.getOutOfWindowCount());
+
+    char[] filler = new char[30];
+    Arrays.fill(filler, 'x');
+    reassembler.add(client(0, "A", new String(filler)), 4);
+    assertEquals(Arrays.asList("client " + new String(filler), "client in"), events);
+  }
+
+  @Test
+  public void testBufferLimit() throws Exception {
+    reassembler = new TcpReassembler(listener, TIMEOUT, 100, 10);
+    handshake();
+    reassembler.add(client(5, "A", "fghijklm"), 1);
+    assertTrue(events.isEmpty());
+    reassembler.add(client(20, "A", "uvwxy"), 2);
+
+    assertEquals(Arrays.asList("client gap 5", "client fghijklm"), events);
+    assertEquals(1, reassembler.size());
+  }
+
+  @Test
+  public void testReset() throws Exception {
+    handshake();
+    reassembler.add(client(0, "A", "abc"), 1);
+    reassembler.add(client(6, "A", "ghi"), 2);
+    reassembler.add(server(0, 3, "RA", ""), 3);
+
+    assertEquals(
+        Arrays.asList("client abc", "client gap 3", "client ghi", "client end", "server end"),
+        events);
+    assertEquals(0, reassembler.size());
+  }
+
+  @Test
+  public void testTimeoutAndLimit() throws Exception {
+    reassembler = new TcpReassembler(listener, TIMEOUT, 1, 1024);
+    handshake();
+    reassembler.add(client(0, "A", "abc"), 1);
+    assertEquals(0, reassembler.expire(TIMEOUT));
+    assertEquals(1, reassembler.expire(TIMEOUT + 1));
+    assertEquals(Arrays.asList("client abc", "client end", "server end"), events);
+
+    events.clear();
+    handshake();
+    clientPort = TcpPort.getInstance((short) 50001);
+    handshake();
+    assertEquals(Arrays.asList("client end", "server end"), events);
+    assertEquals(1, reassembler.size());
+
+    events.clear();
+    reassembler.clear();
+    assertEquals(Arrays.asList("client end", "server end"), events);
+    assertEquals(0, reassembler.size());
+  }
+
+  @Test
+  public void testNotTcp() throws Exception {
+    UdpPacket.Builder udpb = new UdpPacket.Builder();
+    udpb.srcPort(UdpPort.DOMAIN)
+        .dstPort(UdpPort.DOMAIN)
+        .srcAddr(clientAddr)
+        .dstAddr(serverAddr)
+        .correctChecksumAtBuild(true)
+        .correctLengthAtBuild(true);
+    IpV4Packet.Builder ipv4b = new IpV4Packet.Builder();
+    ipv4b
+        .version(IpVersion.IPV4)
+        .tos(IpV4Rfc1349Tos.newInstance((byte) 0))
+        .protocol(IpNumber.UDP)
+        .srcAddr(clientAddr)
+        .dstAddr(serverAddr)
+        .payloadBuilder(udpb)
+        .correctChecksumAtBuild(true)
+        .correctLengthAtBuild(true);
+    assertFalse(reassembler.add(ipv4b.build(), 0));
+    assertEquals(Collections.emptyList(), events);
+  }
+}
@@ -1,10 +1,6 @@
 package org.pcap4j.sample;
 
 import java.io.EOFException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.concurrent.TimeoutException;
 import org.pcap4j.core.NotOpenException;
 import org.pcap4j.core.PcapHandle;
@@ -13,7 +9,7 @@ import org.pcap4j.core.Pcaps;
 import org.pcap4j.packet.IpV4Packet;
 import org.pcap4j.packet.Packet;
 import org.pcap4j.packet.SimpleBuilder;
-import org.pcap4j.util.IpV4Helper;
+import org.pcap4j.util.IpV4Reassembler;
 
 @SuppressWarnings("javadoc")
 public class DefragmentEcho {
@@ -26,22 +22,28 @@ public class DefragmentEcho {
 
   public static void main(String[] args) throws PcapNativeException, NotOpenException {
     PcapHandle handle = Pcaps.openOffline(PCAP_FILE);
-
-    Map<Short, List<IpV4Packet>> ipV4Packets = new HashMap<Short, List<IpV4Packet>>();
-    Map<Short, Packet> originalPackets = new HashMap<Short, Packet>();
+    IpV4Reassembler reassembler = new IpV4Reassembler(30000L, 1024 * 1024);
 
     while (true) {
       try {
         Packet packet = handle.getNextPacketEx();
-        Short id = packet.get(IpV4Packet.class).getHeader().getIdentification();
-        if (ipV4Packets.containsKey(id)) {
-          ipV4Packets.get(id).add(packet.get(IpV4Packet.class));
-        } else {
-          List<IpV4Packet> list = new ArrayList<IpV4Packet>();
-          list.add(packet.get(IpV4Packet.class));
-          ipV4Packets.put(id, list);
-          originalPackets.put(id, packet);
+        IpV4Packet ipV4Packet = packet.get(IpV4Packet.class);
+        if (ipV4Packet == null) {
+          continue;
+        }
+
+        final IpV4Packet defragmentedIpV4Packet =
+            reassembler.reassemble(ipV4Packet, handle.getTimestamp().getTime());
+        if (defragmentedIpV4Packet == null) {
+          continue;
         }
+
+        Packet.Builder builder = packet.getBuilder();
+        builder
+            .getOuterOf(IpV4Packet.Builder.class)
+            .payloadBuilder(new SimpleBuilder(defragmentedIpV4Packet));
+
+        System.out.println(builder.build());
       } catch (TimeoutException e) {
         continue;
       } catch (EOFException e) {
@@ -49,18 +51,6 @@ public class DefragmentEcho {
       }
     }
 
-    for (Short id : ipV4Packets.keySet()) {
-      List<IpV4Packet> list = ipV4Packets.get(id);
-      final IpV4Packet defragmentedIpV4Packet = IpV4Helper.defragment(list);
-
-      Packet.Builder builder = originalPackets.get(id).getBuilder();
-      builder
-          .getOuterOf(IpV4Packet.Builder.class)
-          .payloadBuilder(new SimpleBuilder(defragmentedIpV4Packet));
-
-      System.out.println(builder.build());
-    }
-
     handle.close();
   }
 }
@@ -0,0 +1,62 @@
+package org.pcap4j.sample;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.DatagramChannel;
+import java.util.concurrent.TimeoutException;
+import org.pcap4j.core.NotOpenException;
+import org.pcap4j.core.PcapHandle;
+import org.pcap4j.core.PcapNativeException;
+import org.pcap4j.core.Pcaps;
+import org.pcap4j.util.FlowTable;
+import org.pcap4j.util.IpfixExporter;
+
+@SuppressWarnings("javadoc")
+public class ExportFlows {
+
+  private static final String PCAP_FILE_KEY = ExportFlows.class.getName() + ".pcapFile";
+  private static final String PCAP_FILE =
+      System.getProperty(PCAP_FILE_KEY, "src/main/resources/echoAndEchoReply.pcap");
+
+  private static final String COLLECTOR_KEY = ExportFlows.class.getName() + ".collector";
+  private static final String COLLECTOR = System.getProperty(COLLECTOR_KEY, "127.0.0.1");
+
+  private static final String PORT_KEY = ExportFlows.class.getName() + ".port";
+  private static final int PORT = Integer.getInteger(PORT_KEY, 4739); // IPFIX
+
+  private static final String MAX_FLOWS_KEY = ExportFlows.class.getName() + ".maxFlows";
+  private static final int MAX_FLOWS = Integer.getInteger(MAX_FLOWS_KEY, 100000);
+
+  private ExportFlows() {}
+
+  public static void main(String[] args) throws PcapNativeException, NotOpenException, IOException {
+    System.out.println(PCAP_FILE_KEY + ": " + PCAP_FILE);
+    System.out.println(COLLECTOR_KEY + ": " + COLLECTOR);
+    System.out.println(PORT_KEY + ": " + PORT);
+    System.out.println(MAX_FLOWS_KEY + ": " + MAX_FLOWS);
+    System.out.println("\n");
+
+    DatagramChannel channel = DatagramChannel.open();
+    channel.connect(new InetSocketAddress(COLLECTOR, PORT));
+    IpfixExporter exporter = new IpfixExporter(channel, 1L, 1400, 60000L);
+    FlowTable table = new FlowTable(exporter, MAX_FLOWS, 15000L, 1800000L);
+
+    PcapHandle handle = Pcaps.openOffline(PCAP_FILE);
+    while (true) {
+      try {
+        byte[] frame = handle.getNextRawPacketEx();
+        table.update(handle.getDlt(), frame, handle.getTimestamp().getTime());
+      } catch (TimeoutException e) {
+      } catch (EOFException e) {
+        break;
+      }
+    }
+    handle.close();
+
+    table.flush();
+    exporter.close();
+    System.out.println(
+        exporter.getRecordCount() + " records in " + exporter.getMessageCount() + " messages");
+  }
+}